@@ -86,6 +86,27 @@ public class ExampleBasedFootprintConfiguration extends
 	/** Abstand paralleler Strahlen in der Regelberechnung */
 	private transient Float mParallelRayDistanceRuleComputation = 17.7f;
 
+	/**
+	 * Anzahl unabhaengiger Syntheselaeufe, aus denen die Ergebnisgrundrisse
+	 * ausgewaehlt werden
+	 */
+	private transient Integer mNumberOfCandidates = 1;
+
+	/** Anzahl der besten Kandidaten, die als Ergebnis geliefert werden */
+	private transient Integer mNumberOfResults = 1;
+
+	/**
+	 * Anzahl der Threads fuer die Kandidatenberechnung, Werte <= 0 verwenden
+	 * die Anzahl der verfuegbaren Prozessoren
+	 */
+	private transient Integer mNumberOfThreads = 0;
+
+	/**
+	 * Startwert fuer die Zufallsgeneratoren der Kandidaten, null fuer
+	 * zufaellige Startwerte
+	 */
+	private transient Integer mSeed = null;
+
 	// -------------------------------------------------------------------------------------
 
 	@Override
@@ -150,6 +171,13 @@ public class ExampleBasedFootprintConfiguration extends
 				mParallelRayDistanceRuleComputation);
 		mUseRandomGrowth = parsing.getBoolean(configRoot, "randomGrowth",
 				namespace, mUseRandomGrowth);
+		mNumberOfCandidates = parsing.getInteger(configRoot,
+				"numberOfCandidates", namespace, mNumberOfCandidates);
+		mNumberOfResults = parsing.getInteger(configRoot, "numberOfResults",
+				namespace, mNumberOfResults);
+		mNumberOfThreads = parsing.getInteger(configRoot, "numberOfThreads",
+				namespace, mNumberOfThreads);
+		mSeed = parsing.getInteger(configRoot, "seed", namespace, mSeed);
 
 		LOGGER.debug("Example-Based-Footprint: " + this);
 	}
@@ -187,7 +215,10 @@ public class ExampleBasedFootprintConfiguration extends
 				+ ", NumberOfParallelRays:" + mNumberOfParallelRays
 				+ ", ParallelRayDistance:" + mParallelRayDistance
 				+ ", ParallelRayDistanceRuleComputation:"
-				+ mParallelRayDistanceRuleComputation;
+				+ mParallelRayDistanceRuleComputation
+				+ ", NumberOfCandidates:" + mNumberOfCandidates
+				+ ", NumberOfResults:" + mNumberOfResults
+				+ ", NumberOfThreads:" + mNumberOfThreads + ", Seed:" + mSeed;
 	}
 
 	// -------------------------------------------------------------------------------------
@@ -398,4 +429,50 @@ public class ExampleBasedFootprintConfiguration extends
 
 	// -------------------------------------------------------------------------------------
 
+	/**
+	 * @return the mNumberOfCandidates
+	 */
+	public Integer getNumberOfCandidates() {
+		return mNumberOfCandidates;
+	}
+
+	// -------------------------------------------------------------------------------------
+
+	/**
+	 * @return the mNumberOfResults
+	 */
+	public Integer getNumberOfResults() {
+		return mNumberOfResults;
+	}
+
+	// -------------------------------------------------------------------------------------
+
+	/**
+	 * @return the mNumberOfThreads
+	 */
+	public Integer getNumberOfThreads() {
+		return mNumberOfThreads;
+	}
+
+	// -------------------------------------------------------------------------------------
+
+	/**
+	 * @return the mSeed
+	 */
+	public Integer getSeed() {
+		return mSeed;
+	}
+
+	// -------------------------------------------------------------------------------------
+
+	/**
+	 * @param seed
+	 *            the mSeed to set, null fuer zufaellige Startwerte
+	 */
+	public void setSeed(final Integer seed) {
+		mSeed = seed;
+	}
+
+	// -------------------------------------------------------------------------------------
+
 }
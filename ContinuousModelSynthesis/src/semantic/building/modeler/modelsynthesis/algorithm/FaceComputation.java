@@ -2,13 +2,11 @@ package semantic.building.modeler.modelsynthesis.algorithm;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.PriorityQueue;
 import java.util.Set;
 
 import org.apache.log4j.Logger;
@@ -43,19 +41,52 @@ public class FaceComputation {
 	/** Liste enthaelt die Ergebnisse der Berechnungen */
 	private transient List<Face> mFaces = null;
 
+	/** Zuordnung der Vertex-IDs zu ihren Indices in mVertices */
+	private transient Map<Integer, Integer> mVertexIndices = null;
+
+	/**
+	 * Adjazenzstruktur im CSR-Format: die Nachbarn von Vertex i stehen in
+	 * mAdjacentVertices an den Positionen mAdjacencyOffsets[i] bis
+	 * mAdjacencyOffsets[i + 1] - 1, in der Reihenfolge von getNeighbours()
+	 */
+	private transient int[] mAdjacencyOffsets = null;
+
+	/** Indices der Nachbarvertices */
+	private transient int[] mAdjacentVertices = null;
+
+	/** Kantenindex je Adjazenzeintrag, beide Richtungen teilen einen Index */
+	private transient int[] mAdjacentEdges = null;
+
+	/** Anzahl der ungerichteten Kanten */
+	private transient int mNumberOfEdges = 0;
+
 	/**
-	 * Map-Struktur speichert Kantengewichte ueber die String-Indices der Kanten
+	 * Kantengewichte, die vom Standardgewicht abweichen. Gueltig sind nur
+	 * Eintraege, deren Stempel der aktuellen Suche entspricht
 	 */
-	private transient Map<String, Integer> mWeights = null;
+	private transient int[] mWeights = null;
+
+	/** Suchstempel der Kantengewichte */
+	private transient int[] mWeightStamps = null;
 
-	/** Map zur Verwaltung der Abstaende */
-	private transient Map<Integer, Integer> mDistances = null;
+	/** Abstaende der Vertices zum Startknoten */
+	private transient int[] mDistances = null;
 
 	/**
-	 * Map zur Verwaltung der Vorgaenger auf den jeweils kuerzesten Wegen zum
-	 * Zielknoten
+	 * Vorgaenger auf den jeweils kuerzesten Wegen zum Zielknoten, -1 falls
+	 * kein Vorgaenger existiert
 	 */
-	private transient Map<VertexWrapper, VertexWrapper> mPrevious = null;
+	private transient int[] mPrevious = null;
+
+	/**
+	 * Suchstempel der Abstaende, Vorgaenger und Heap-Positionen. Vertices mit
+	 * abweichendem Stempel gelten als unbesucht, dadurch entfaellt das
+	 * Zuruecksetzen aller Arrays vor jeder Suche
+	 */
+	private transient int[] mVertexStamps = null;
+
+	/** Aktueller Suchstempel */
+	private transient int mSearchStamp = 0;
 
 	/** Standardkantengewicht */
 	private static final int mStandardWeight = 1;
@@ -66,24 +97,39 @@ public class FaceComputation {
 	/** Halbes maximales Kantengewicht */
 	private static final int mHalfMaxWeight = mMaxWeight / 2;
 
-	/** PriorityQueue zur Verwaltung der Knoten, die bereits besucht wurden */
-	private transient PriorityQueue<VertexWrapper> mUnsettledNodes = null;
+	/**
+	 * Binaerer Min-Heap mit den Indices der Knoten, fuer die noch kein
+	 * kuerzester Weg gefunden wurde
+	 */
+	private transient int[] mUnsettledNodes = null;
+
+	/** Anzahl der Knoten im Heap */
+	private transient int mNumberOfUnsettledNodes = 0;
 
-	/** Liste mit Kanten, die bereits getestet wurden */
-	private transient Set<String> mComputedEdges = null;
+	/** Position jedes Knotens im Heap, -1 falls nicht enthalten */
+	private transient int[] mHeapPositions = null;
+
+	/** Markiert Kanten, die bereits getestet wurden */
+	private transient boolean[] mComputedEdges = null;
 
 	/**
 	 * Wenn eine Kante im ersten Durchlauf des Verfahrens verwendet wurde, wird
 	 * sie als genutzt markiert, damit das Verfahren im zweiten Durchlauf das
 	 * zweite adjazente Polygon errechnet
 	 */
-	private transient Map<String, Integer> mUsedEdges = null;
+	private transient int[] mUsedEdges = null;
+
+	/** Indices der Kanten mit mUsedEdges > 0 in Reihenfolge der Markierung */
+	private transient int[] mUsedEdgeList = null;
+
+	/** Anzahl der Eintraege in mUsedEdgeList */
+	private transient int mNumberOfUsedEdges = 0;
 
 	/**
 	 * Zaehlt, wie oft Kanten schon in berechneten Polygonen vorkamen => kommt
 	 * eine Kante in zwei Polygonen vor, wird ihre Berechnung uebersprungen
 	 */
-	private transient Map<String, Integer> mEdgeCounter = null;
+	private transient int[] mEdgeCounter = null;
 
 	/**
 	 * Speichert die Mittelpunkte aller Polygone, die bereits berechnet wurden.
@@ -91,8 +137,8 @@ public class FaceComputation {
 	 */
 	private transient List<MyVector3f> mPolyCenter = null;
 
-	/** Liste mit konkatenierten Polygondeskriptoren */
-	private transient List<String> mPolyDescriptors = null;
+	/** Menge mit konkatenierten Polygondeskriptoren */
+	private transient Set<String> mPolyDescriptors = null;
 
 	/**
 	 * Maximale Anzahl an Strahlen in einem gueltigen Polygon, das berechnet
@@ -117,13 +163,75 @@ public class FaceComputation {
 
 		// Groesse ist eine reine Schaetzung
 		this.mFaces = new ArrayList<Face>(mVertices.size());
-		this.mComputedEdges = new HashSet<String>(mVertices.size());
-		this.mUsedEdges = new HashMap<String, Integer>();
-		this.mEdgeCounter = new HashMap<String, Integer>();
 
 		this.mPolyCenter = new ArrayList<MyVector3f>();
-		this.mPolyDescriptors = new ArrayList<String>();
+		this.mPolyDescriptors = new HashSet<String>(mVertices.size() * 2);
 		this.mMaxNumberOfWaypointsInValidPoly = numberOfSourceRays * 2;
+
+		buildAdjacency();
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode uebersetzt die Nachbarschaften der Vertices einmalig in eine
+	 * CSR-Adjazenzstruktur mit ganzzahligen Kantenindices und legt die
+	 * Arrays an, die von allen nachfolgenden Suchen wiederverwendet werden
+	 */
+	private void buildAdjacency() {
+
+		final int numberOfVertices = mVertices.size();
+		mVertexIndices = new HashMap<Integer, Integer>(numberOfVertices * 2);
+		for (int i = 0; i < numberOfVertices; i++) {
+			mVertexIndices.put(mVertices.get(i).getID(), i);
+		}
+
+		mAdjacencyOffsets = new int[numberOfVertices + 1];
+		for (int i = 0; i < numberOfVertices; i++) {
+			mAdjacencyOffsets[i + 1] = mAdjacencyOffsets[i]
+					+ mVertices.get(i).getNeighbours().size();
+		}
+
+		final int numberOfEntries = mAdjacencyOffsets[numberOfVertices];
+		mAdjacentVertices = new int[numberOfEntries];
+		mAdjacentEdges = new int[numberOfEntries];
+
+		// beide Richtungen einer Kante erhalten ueber das normalisierte
+		// Indexpaar denselben Kantenindex
+		final Map<Long, Integer> edgeIndices = new HashMap<Long, Integer>(
+				numberOfEntries);
+		List<VertexWrapper> neighbours = null;
+		VertexWrapper currentNeighbour = null;
+		for (int i = 0; i < numberOfVertices; i++) {
+			neighbours = mVertices.get(i).getNeighbours();
+			for (int j = 0; j < neighbours.size(); j++) {
+				currentNeighbour = neighbours.get(j);
+				assert currentNeighbour != null : "FEHLER: Kein Nachbar gesetzt fuer Vertex "
+						+ mVertices.get(i).getVertex();
+				final int neighbourIndex = getVertexIndex(currentNeighbour);
+				final long key = (long) Math.min(i, neighbourIndex)
+						* numberOfVertices + Math.max(i, neighbourIndex);
+				Integer edge = edgeIndices.get(key);
+				if (edge == null) {
+					edge = mNumberOfEdges++;
+					edgeIndices.put(key, edge);
+				}
+				mAdjacentVertices[mAdjacencyOffsets[i] + j] = neighbourIndex;
+				mAdjacentEdges[mAdjacencyOffsets[i] + j] = edge;
+			}
+		}
+
+		mWeights = new int[mNumberOfEdges];
+		mWeightStamps = new int[mNumberOfEdges];
+		mComputedEdges = new boolean[mNumberOfEdges];
+		mUsedEdges = new int[mNumberOfEdges];
+		mUsedEdgeList = new int[mNumberOfEdges];
+		mEdgeCounter = new int[mNumberOfEdges];
+
+		mDistances = new int[numberOfVertices];
+		mPrevious = new int[numberOfVertices];
+		mVertexStamps = new int[numberOfVertices];
+		mUnsettledNodes = new int[numberOfVertices];
+		mHeapPositions = new int[numberOfVertices];
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -186,8 +294,8 @@ public class FaceComputation {
 					// auch hier, nur vernwenden, wenn 4 Nachbarn gesetzt sind
 					// und die Kante nicht bereits vollstaendig berechnet wurde
 					if (neighbourNeighbours.size() < 4
-							|| mComputedEdges.contains(getNormalizedID(
-									currentStart, currentEnd)))
+							|| mComputedEdges[getEdgeIndex(currentStart,
+									currentEnd)])
 						continue;
 					else {
 
@@ -233,11 +341,10 @@ public class FaceComputation {
 									+ currentEnd.getID());
 						}
 						// Visitcounter zuruecksetzen
-						mUsedEdges.clear();
+						clearVisits();
 
 						// Kante wurde vollstaendig verarbeitet
-						mComputedEdges.add(getNormalizedID(currentStart,
-								currentEnd));
+						mComputedEdges[getEdgeIndex(currentStart, currentEnd)] = true;
 					}
 				}
 			}
@@ -497,43 +604,43 @@ public class FaceComputation {
 
 		// initialisiere saemtliche erforderlichen Datenstrutkuren
 		initAlgorithm(start, targetEdge);
-		VertexWrapper currentVertex = null;
+		final int targetIndex = getVertexIndex(target);
+		int currentVertex = -1;
 
-		while (mUnsettledNodes.size() > 0) {
+		while (mNumberOfUnsettledNodes > 0) {
 
 			// hole das Vertex mit minimalem Abstand
-			currentVertex = mUnsettledNodes.poll();
-			LOGGER.trace("Current Polled: "
-					+ currentVertex.getVertex().getPositionPtr() + " Dist: "
-					+ currentVertex.getCurrentDistance());
+			currentVertex = pollUnsettledNode();
+			LOGGER.trace("Current Polled: " + currentVertex + " Dist: "
+					+ mDistances[currentVertex]);
 
 			// wenn das Vertex dem Zielvertex entspricht, breche ab
-			if (currentVertex == target) {
+			if (currentVertex == targetIndex) {
 				break;
 			}
 
 			// Nachbarschaft des Vertex aktualisieren
 			updateNeighbourDistances(currentVertex);
 		}
+		final int targetDistance = getDistance(targetIndex);
 
 		// wenn die Distanz zu Zielvertex groesser als das halbe maximale
 		// Kantengewicht ist, wurde eine Kante verwendet, die bereits besucht
 		// wurde
 		// lehne in diesem Fall den berechneten Weg ab (dies kann nur beim
 		// jeweils zweiten Durchlauf der Fall sein
-		if (mDistances.get(target.getID()) > mHalfMaxWeight) {
+		if (targetDistance > mHalfMaxWeight) {
 			LOGGER.debug("Weg abgelehent wegen Distanz > MaxDistance: "
 					+ start.getID() + ": " + start.getVertex() + " zum Ziel: "
 					+ target.getID() + ": " + target.getVertex()
-					+ " besitzt Laenge: " + mDistances.get(target.getID()));
+					+ " besitzt Laenge: " + targetDistance);
 			return null;
 		}
 
 		// Algorithmus terminiert. extrahiere die Wegpunkte aus dem Ergebnis
 		LOGGER.info("Kuerzester Weg von " + start.getID() + ": "
 				+ start.getVertex() + " zum Ziel: " + target.getID() + ": "
-				+ target.getVertex() + " besitzt Laenge: "
-				+ mDistances.get(target.getID()));
+				+ target.getVertex() + " besitzt Laenge: " + targetDistance);
 		return extractWayPointsFromShortestPath(start, target);
 	}
 
@@ -544,13 +651,15 @@ public class FaceComputation {
 	public boolean isValid(final VertexWrapper currentVertex) {
 
 		// vorgaenger des aktuellen Vertex
-		VertexWrapper prev = mPrevious.get(currentVertex);
-		if (prev == null)
+		final int prevIndex = getPrevious(getVertexIndex(currentVertex));
+		if (prevIndex == -1)
 			return true;
+		VertexWrapper prev = mVertices.get(prevIndex);
 
-		VertexWrapper prevPrev = mPrevious.get(prev);
-		if (prevPrev == null)
+		final int prevPrevIndex = getPrevious(prevIndex);
+		if (prevPrevIndex == -1)
 			return true;
+		VertexWrapper prevPrev = mVertices.get(prevPrevIndex);
 
 		// teste nun, ob die 3 Vertices auf einer Kante liegen
 		Ray testRay = new Ray(prevPrev.getVertex(), currentVertex.getVertex());
@@ -582,9 +691,11 @@ public class FaceComputation {
 		List<VertexWrapper> polyVerts = new ArrayList<VertexWrapper>();
 
 		// durchlaufe die Vorgaenger, bis der Startknoten erreicht wurde
-		VertexWrapper previous = mPrevious.get(end);
+		int previousIndex = getPrevious(getVertexIndex(end));
+		VertexWrapper previous = null;
 		polyVerts.add(end);
-		while (previous != start) {
+		while (previousIndex != -1
+				&& (previous = mVertices.get(previousIndex)) != start) {
 
 			// 1. Abbruchkriterium: innerhalb des Polygons kommt ein Vertex mit
 			// Start- oder End-Label vor
@@ -601,7 +712,11 @@ public class FaceComputation {
 			}
 
 			polyVerts.add(previous);
-			previous = mPrevious.get(previous);
+			previousIndex = getPrevious(previousIndex);
+		}
+		if (previousIndex == -1) {
+			LOGGER.debug("Polygon abgelehnt wegen unterbrochener Vorgaengerkette.");
+			return null;
 		}
 
 		if (polyVerts.contains(start)) {
@@ -703,12 +818,21 @@ public class FaceComputation {
 	 *            Endvertex der Kante
 	 */
 	private void addVisit(VertexWrapper start, VertexWrapper end) {
-		String index = getNormalizedID(start, end);
-		Integer visits = mUsedEdges.get(index);
-		if (visits == null)
-			visits = 0;
-		visits++;
-		mUsedEdges.put(index, visits);
+		final int edge = getEdgeIndex(start, end);
+		if (mUsedEdges[edge] == 0)
+			mUsedEdgeList[mNumberOfUsedEdges++] = edge;
+		mUsedEdges[edge]++;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode setzt die Besuchszaehler aller lokal markierten Kanten zurueck
+	 */
+	private void clearVisits() {
+		for (int i = 0; i < mNumberOfUsedEdges; i++) {
+			mUsedEdges[mUsedEdgeList[i]] = 0;
+		}
+		mNumberOfUsedEdges = 0;
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -724,17 +848,13 @@ public class FaceComputation {
 	 *            Endvertex der Kante
 	 */
 	private void incrementUsedEdgeCounter(VertexWrapper start, VertexWrapper end) {
-		String index = getNormalizedID(start, end);
-		Integer visits = mEdgeCounter.get(index);
-		if (visits == null)
-			visits = 0;
-		visits++;
-		mEdgeCounter.put(index, visits);
+		final int edge = getEdgeIndex(start, end);
+		final int visits = ++mEdgeCounter[edge];
 
 		// wenn die Kante bereits zweimal verwendet wurde, wird sie in der
 		// Hauptschleife uebersprungen
 		if (visits >= 2)
-			mComputedEdges.add(index);
+			mComputedEdges[edge] = true;
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -742,111 +862,57 @@ public class FaceComputation {
 	 * Methode aktualisiert die Distanzen der Nachbarn des uebergebenen Vertex
 	 * 
 	 * @param vertex
-	 *            Vertex, dessen Nachbarn aktualisiert werden
+	 *            Index des Vertex, dessen Nachbarn aktualisiert werden
 	 */
-	private void updateNeighbourDistances(VertexWrapper vertex) {
-
-		List<VertexWrapper> neighbours = vertex.getNeighbours();
-		Integer currentDistance = null, newDistance = null;
+	private void updateNeighbourDistances(final int vertex) {
 
-		Integer vertexDistance = mDistances.get(vertex.getID());
-		VertexWrapper currentNeighbour = null;
+		final int vertexDistance = mDistances[vertex];
+		int currentNeighbour, newDistance;
 
-		LOGGER.trace("Update Neighbours fuer Vertex: " + vertex.getVertex()
-				+ " Distance: " + vertex.getCurrentDistance());
+		LOGGER.trace("Update Neighbours fuer Vertex: " + vertex
+				+ " Distance: " + vertexDistance);
 
-		for (int i = 0; i < neighbours.size(); i++) {
+		for (int i = mAdjacencyOffsets[vertex]; i < mAdjacencyOffsets[vertex + 1]; i++) {
 
-			currentNeighbour = neighbours.get(i);
-
-			// aktuelle Distanz des Nachbarn zum Startknoten holen
-			currentDistance = mDistances.get(currentNeighbour.getID());
+			currentNeighbour = mAdjacentVertices[i];
 
 			// potentiell kuerzere Entfernung: Weg zum Vorgaenger + Kante
-			newDistance = vertexDistance
-					+ mWeights.get(getNormalizedID(vertex, currentNeighbour));
+			newDistance = vertexDistance + getWeight(mAdjacentEdges[i]);
 
 			// wenn der neue Weg kuerzer ist, als der bisher gespeicherte,
-			// verwende diesen
-			if (newDistance < currentDistance) {
-
-				// neue Distanz speichern
-				mDistances.put(currentNeighbour.getID(), newDistance);
-
-				// Vorgaenger aktualisieren
-				mPrevious.put(currentNeighbour, vertex);
-
-				// Distanz im Vertex selber aktualisieren
-				currentNeighbour.setCurrentDistance(newDistance);
-
-				// zur Liste adden
-				mUnsettledNodes.add(currentNeighbour);
-
+			// verwende diesen und aktualisiere den Vorgaenger
+			if (newDistance < getDistance(currentNeighbour)) {
+				setDistance(currentNeighbour, newDistance, vertex);
 			}
 		}
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Methode initialisiert die verschiedenen waehrend der Berechnung
-	 * verwendeten Mapstrukturen
+	 * Methode initialisiert die waehrend der Berechnung verwendeten
+	 * Strukturen. Abstaende, Vorgaenger und Gewichte werden nicht
+	 * zurueckgesetzt, sondern ueber einen neuen Suchstempel invalidiert
 	 * 
-	 * @param startVert
+	 * @param start
 	 *            Vertex, mit dem das Verfahren startet
+	 * @param targetEdge
+	 *            Kante zwischen Start- und Zielknoten
 	 */
 	private void initAlgorithm(final VertexWrapper start,
 			final RayWrapper targetEdge) {
 
-		// Mapstrukturen initialisieren
-		mDistances = new HashMap<Integer, Integer>(mVertices.size());
-		mPrevious = new HashMap<VertexWrapper, VertexWrapper>(mVertices.size());
-
-		for (int i = 0; i < mVertices.size(); i++) {
-
-			// aktualisiere die Distanzen der Vertices auf die Maximaldistanz
-			mVertices.get(i).setCurrentDistance(mMaxWeight);
-			mDistances.put(mVertices.get(i).getID(), mMaxWeight);
-			mPrevious.put(mVertices.get(i), null);
-		}
-
-		// Distanz des Startknotens zu sich selber auf 0
-		mDistances.put(start.getID(), 0);
-
-		// Kantengewichte initialisieren
-		List<VertexWrapper> neighbours = null;
-		mWeights = new HashMap<String, Integer>(mVertices.size() * 2);
-		VertexWrapper currentVertex = null, currentNeighbour = null;
-
-		for (int i = 0; i < mVertices.size(); i++) {
-			currentVertex = mVertices.get(i);
-			neighbours = currentVertex.getNeighbours();
-
-			for (int j = 0; j < neighbours.size(); j++) {
-				currentNeighbour = neighbours.get(j);
-				assert currentNeighbour != null : "FEHLER: Kein Nachbar gesetzt fuer Vertex "
-						+ currentVertex.getVertex();
-				mWeights.put(getNormalizedID(currentVertex, currentNeighbour),
-						mStandardWeight);
-			}
-		}
+		// alle Vertices erhalten implizit die Maximaldistanz, alle Kanten das
+		// Standardgewicht
+		mSearchStamp++;
+		mNumberOfUnsettledNodes = 0;
 
 		// setze das Gewicht der direkten Verbindung von start auf target auf
 		// unendlich
-		mWeights.put(
-				getNormalizedID(targetEdge.getStartVert(),
-						targetEdge.getEndVert()), mMaxWeight);
+		setWeight(getEdgeIndex(targetEdge.getStartVert(),
+				targetEdge.getEndVert()), mMaxWeight);
 
 		// erhoehe ebenfalls das Gewicht der Kante, die auf dem gleichen Strahl
 		// liegt, wie die Testkante
-		// berechne den Strahl zwischen Start und Ziel
-		neighbours = start.getNeighbours();
-
-		/*
-		 * LOGGER.info("Nachbarn von Vertex: " + start.getID()); for(int i = 0;
-		 * i < neighbours.size(); i++) LOGGER.info(i + ": " +
-		 * neighbours.get(i).getID());
-		 */
-
 		List<RayWrapper> neighbourRays = start.getRays();
 		RayWrapper curRay = null;
 
@@ -871,8 +937,8 @@ public class FaceComputation {
 					// erhoehe das Gewicht der Kante => dadurch soll vermieden
 					// werden, dass Strahlen ueber mehrere Segmente hinweg
 					// verfolgt werden
-					mWeights.put(
-							getNormalizedID(curRay.getStartVert(),
+					setWeight(
+							getEdgeIndex(curRay.getStartVert(),
 									curRay.getEndVert()), mHalfMaxWeight);
 				}
 			}
@@ -881,47 +947,215 @@ public class FaceComputation {
 		// und setze die Gewichte aller Kanten entsprechend ihrer Besuche hoch
 		// => jede Kante sollte nur in 2 Polygonen vorkommen => 2 Besuche <=>
 		// max Weight
-		Iterator<String> visitedEdgesIter = mUsedEdges.keySet().iterator();
-		String currentEdgeIndex = null;
-		while (visitedEdgesIter.hasNext()) {
-			currentEdgeIndex = visitedEdgesIter.next();
-			mWeights.put(currentEdgeIndex, mUsedEdges.get(currentEdgeIndex)
-					* mHalfMaxWeight);
+		int currentEdge;
+		for (int i = 0; i < mNumberOfUsedEdges; i++) {
+			currentEdge = mUsedEdgeList[i];
+			setWeight(currentEdge, mUsedEdges[currentEdge] * mHalfMaxWeight);
 		}
 
-		// Liste mit allen Knoten, fuer die noch kein kuerzester Weg gefunden
-		// wurde
-		mUnsettledNodes = new PriorityQueue<VertexWrapper>(mVertices.size(),
-				new VertexComparator());
+		// Distanz des Startknotens zu sich selber auf 0, der Startknoten wird
+		// direkt abgeschlossen, seine Nachbarn erhalten die Kantengewichte
+		final int startIndex = getVertexIndex(start);
+		setDistance(startIndex, 0, -1);
+		pollUnsettledNode();
+		updateNeighbourDistances(startIndex);
+	}
 
-		// setze die Gewichte der direkten Nachbarn auf die Kantengewichte
-		// dadurch wird die direkte Verbindung von Anfang an ausgeschlossen
-		neighbours = start.getNeighbours();
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param vertex
+	 *            Vertex
+	 * @return Index des Vertex in mVertices
+	 */
+	private int getVertexIndex(final VertexWrapper vertex) {
+		final Integer index = mVertexIndices.get(vertex.getID());
+		assert index != null : "FEHLER: Unbekanntes Vertex " + vertex;
+		return index;
+	}
 
-		for (int i = 0; i < neighbours.size(); i++) {
-			currentNeighbour = neighbours.get(i);
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode sucht den Index der Kante zwischen den beiden Vertices in der
+	 * Adjazenzliste des ersten Vertex
+	 * 
+	 * @param vert1
+	 *            Erstes Vertex
+	 * @param vert2
+	 *            Zweites Vertex
+	 * @return Index der Kante zwischen den beiden Vertices
+	 */
+	private int getEdgeIndex(final VertexWrapper vert1,
+			final VertexWrapper vert2) {
+		final int index1 = getVertexIndex(vert1);
+		final int index2 = getVertexIndex(vert2);
+		for (int i = mAdjacencyOffsets[index1]; i < mAdjacencyOffsets[index1 + 1]; i++) {
+			if (mAdjacentVertices[i] == index2)
+				return mAdjacentEdges[i];
+		}
+		assert false : "FEHLER: Es existiert keine Kante zwischen " + vert1
+				+ " und " + vert2;
+		return -1;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param edge
+	 *            Kantenindex
+	 * @return Gewicht der Kante in der aktuellen Suche
+	 */
+	private int getWeight(final int edge) {
+		if (mWeightStamps[edge] == mSearchStamp)
+			return mWeights[edge];
+		return mStandardWeight;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param edge
+	 *            Kantenindex
+	 * @param weight
+	 *            Gewicht der Kante fuer die aktuelle Suche
+	 */
+	private void setWeight(final int edge, final int weight) {
+		mWeights[edge] = weight;
+		mWeightStamps[edge] = mSearchStamp;
+	}
 
-			int neighbourDistance = mWeights.get(getNormalizedID(start,
-					currentNeighbour));
-			currentNeighbour.setCurrentDistance(neighbourDistance);
-			mDistances.put(currentNeighbour.getID(), neighbourDistance);
-			mPrevious.put(currentNeighbour, start);
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param vertex
+	 *            Vertexindex
+	 * @return Abstand des Vertex zum Startknoten in der aktuellen Suche
+	 */
+	private int getDistance(final int vertex) {
+		if (mVertexStamps[vertex] == mSearchStamp)
+			return mDistances[vertex];
+		return mMaxWeight;
+	}
 
-			// fuege die Nachbarn zur Liste hinzu
-			mUnsettledNodes.add(currentNeighbour);
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param vertex
+	 *            Vertexindex
+	 * @return Index des Vorgaengers auf dem kuerzesten Weg oder -1
+	 */
+	private int getPrevious(final int vertex) {
+		if (mVertexStamps[vertex] == mSearchStamp)
+			return mPrevious[vertex];
+		return -1;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode setzt den Abstand und den Vorgaenger eines Vertex und fuegt es
+	 * in den Heap ein bzw. verschiebt es innerhalb des Heaps
+	 * 
+	 * @param vertex
+	 *            Vertexindex
+	 * @param distance
+	 *            Neuer, kleinerer Abstand zum Startknoten
+	 * @param previous
+	 *            Vorgaenger auf dem kuerzesten Weg
+	 */
+	private void setDistance(final int vertex, final int distance,
+			final int previous) {
+		if (mVertexStamps[vertex] != mSearchStamp) {
+			mVertexStamps[vertex] = mSearchStamp;
+			mHeapPositions[vertex] = -1;
+		}
+		mDistances[vertex] = distance;
+		mPrevious[vertex] = previous;
+
+		int position = mHeapPositions[vertex];
+		if (position == -1) {
+			position = mNumberOfUnsettledNodes++;
+			mUnsettledNodes[position] = vertex;
+			mHeapPositions[vertex] = position;
+		}
+		siftUp(position);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode entfernt das Vertex mit minimalem Abstand aus dem Heap
+	 * 
+	 * @return Index des Vertex
+	 */
+	private int pollUnsettledNode() {
+		final int result = mUnsettledNodes[0];
+		mHeapPositions[result] = -1;
+		mNumberOfUnsettledNodes--;
+		if (mNumberOfUnsettledNodes > 0) {
+			final int last = mUnsettledNodes[mNumberOfUnsettledNodes];
+			mUnsettledNodes[0] = last;
+			mHeapPositions[last] = 0;
+			siftDown(0);
 		}
+		return result;
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Comparator-Klasse fuer die Verwendung einer PriorityQueue fuer die
-	 * Dijkstra-Implementation
+	 * @param vertex1
+	 *            Erster Vertexindex
+	 * @param vertex2
+	 *            Zweiter Vertexindex
+	 * @return True, falls vertex1 vor vertex2 aus dem Heap entnommen wird.
+	 *         Gleiche Abstaende werden ueber den Index aufgeloest, damit die
+	 *         Reihenfolge deterministisch ist
 	 */
-	private class VertexComparator implements Comparator<VertexWrapper> {
+	private boolean isLess(final int vertex1, final int vertex2) {
+		final int distance1 = mDistances[vertex1];
+		final int distance2 = mDistances[vertex2];
+		return distance1 < distance2
+				|| (distance1 == distance2 && vertex1 < vertex2);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param position
+	 *            Heap-Position, deren Eintrag nach oben verschoben wird
+	 */
+	private void siftUp(int position) {
+		final int vertex = mUnsettledNodes[position];
+		while (position > 0) {
+			final int parentPosition = (position - 1) >>> 1;
+			final int parent = mUnsettledNodes[parentPosition];
+			if (!isLess(vertex, parent))
+				break;
+			mUnsettledNodes[position] = parent;
+			mHeapPositions[parent] = position;
+			position = parentPosition;
+		}
+		mUnsettledNodes[position] = vertex;
+		mHeapPositions[vertex] = position;
+	}
 
-		public int compare(VertexWrapper o1, VertexWrapper o2) {
-			return o1.getCurrentDistance().compareTo(o2.getCurrentDistance());
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param position
+	 *            Heap-Position, deren Eintrag nach unten verschoben wird
+	 */
+	private void siftDown(int position) {
+		final int vertex = mUnsettledNodes[position];
+		final int half = mNumberOfUnsettledNodes >>> 1;
+		while (position < half) {
+			int childPosition = 2 * position + 1;
+			int child = mUnsettledNodes[childPosition];
+			final int rightPosition = childPosition + 1;
+			if (rightPosition < mNumberOfUnsettledNodes
+					&& isLess(mUnsettledNodes[rightPosition], child)) {
+				childPosition = rightPosition;
+				child = mUnsettledNodes[childPosition];
+			}
+			if (!isLess(child, vertex))
+				break;
+			mUnsettledNodes[position] = child;
+			mHeapPositions[child] = position;
+			position = childPosition;
 		}
+		mUnsettledNodes[position] = vertex;
+		mHeapPositions[vertex] = position;
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -950,15 +1184,17 @@ public class FaceComputation {
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Methode gibt alle gesetzten Gewichte aus
+	 * Methode gibt alle in der aktuellen Suche gesetzten Gewichte aus
 	 */
 	private void printWeights() {
-		Iterator<String> weightIter = mWeights.keySet().iterator();
-		String currentID = null;
-
-		while (weightIter.hasNext()) {
-			currentID = weightIter.next();
-			LOGGER.info(currentID + ": " + mWeights.get(currentID));
+		for (int i = 0; i < mVertices.size(); i++) {
+			for (int j = mAdjacencyOffsets[i]; j < mAdjacencyOffsets[i + 1]; j++) {
+				if (mAdjacentVertices[j] > i)
+					LOGGER.info(getNormalizedID(mVertices.get(i),
+							mVertices.get(mAdjacentVertices[j]))
+							+ ": "
+							+ getWeight(mAdjacentEdges[j]));
+			}
 		}
 	}
 
@@ -1,9 +1,12 @@
 package semantic.building.modeler.modelsynthesis.algorithm;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Klasse modelliert eine ID-Erzeugung ueber fortlaufende Indices. Sobald ein
  * Objekt erzeugt wird, fordert es eine ID von dieser Klasse an. Implementiert
- * als Singleton.
+ * als Singleton. Die Zaehler sind threadsicher, parallel laufende Synthesen
+ * erhalten dadurch disjunkte, innerhalb eines Threads aufsteigende IDs.
  * 
  * @author Patrick Gunia
  * 
@@ -15,10 +18,10 @@ public class IDGenerator {
 	private static IDGenerator mInstance = null;
 
 	/** ID-Index */
-	private transient int nextID = 0;
+	private final AtomicInteger nextID = new AtomicInteger(0);
 
 	/** Label Index */
-	private transient int nextLabelIndex = 0;
+	private final AtomicInteger nextLabelIndex = new AtomicInteger(0);
 
 	// ------------------------------------------------------------------------------------------
 
@@ -35,7 +38,7 @@ public class IDGenerator {
 	 * 
 	 * @return Singleton-Instance
 	 */
-	public static IDGenerator getInstance() {
+	public static synchronized IDGenerator getInstance() {
 		if (mInstance == null)
 			mInstance = new IDGenerator();
 		return mInstance;
@@ -48,7 +51,7 @@ public class IDGenerator {
 	 * @return Naechste fortlaufende ID innerhalb der Singleton-Klasse
 	 */
 	public int getID() {
-		return nextID++;
+		return nextID.getAndIncrement();
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -58,7 +61,7 @@ public class IDGenerator {
 	 * @return Naechste fortlaufende ID fuer das naechste Label
 	 */
 	public int getLabelID() {
-		return nextLabelIndex++;
+		return nextLabelIndex.getAndIncrement();
 	}
 	// ------------------------------------------------------------------------------------------
 
@@ -1,9 +1,11 @@
 package semantic.building.modeler.modelsynthesis.algorithm;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -20,16 +22,26 @@ import semantic.building.modeler.modelsynthesis.model.Face;
 import semantic.building.modeler.modelsynthesis.model.FacePosition;
 import semantic.building.modeler.modelsynthesis.model.ModelSynthesisBaseGeometry;
 import semantic.building.modeler.modelsynthesis.model.RayWrapper;
-import semantic.building.modeler.modelsynthesis.model.RuleApplication;
 import semantic.building.modeler.modelsynthesis.model.State;
 import semantic.building.modeler.modelsynthesis.model.VertexWrapper;
 
 /**
  * Klasse fuehrt die eigentlichen Berechnungen durch, die fuer die Erzeugung der
  * neuen Strukturen basierend auf dem Synthesis-Algorithmus erforderlich sind.
- * 
+ *
+ * Komponenten, Faces und Regeln werden bei der Konstruktion fortlaufend
+ * nummeriert. Die noch moeglichen Zuweisungen einer Komponente (Domaene)
+ * werden als long[]-Bitset ueber die Regelliste ihres Labels gespeichert, der
+ * Katalog und die inverse Zuordnung von Regeln zu Komponenten als Bitsets ueber
+ * die Komponentenindices. Je Label, Face-Position und Face-Status existiert
+ * eine vorberechnete Maske der Regeln, die diesen Status an dieser Position
+ * setzen, Zulaessigkeitstests und Propagation sind dadurch reine
+ * Bitoperationen. Die Komponentenindices folgen der ID-Reihenfolge, die
+ * Auswahlreihenfolge entspricht somit der des urspruenglichen
+ * TreeMap-Katalogs.
+ *
  * @author Patrick Gunia
- * 
+ *
  */
 public class SynthesisProcessing {
 
@@ -37,37 +49,112 @@ public class SynthesisProcessing {
 	protected final static Logger LOGGER = Logger
 			.getLogger(SynthesisProcessing.class);
 
+	/** Anzahl der Statuswerte inklusive "keine Zuweisung" */
+	private final static int NUMBER_OF_STATE_VALUES = State.values().length + 1;
+
+	/** Index fuer fehlende Statuszuweisungen innerhalb der Masken */
+	private final static int NO_STATE = State.values().length;
+
+	/** Anzahl der Face-Positionen */
+	private final static int NUMBER_OF_FACE_POSITIONS = FacePosition.values().length;
+
+	/** Alle Komponenten, sortiert nach ihrer ID */
+	private transient ModelSynthesisBaseGeometry[] mComponents = null;
+
+	/** Flag je Komponente, gibt an, ob es sich um einen Strahl handelt */
+	private transient boolean[] mIsRay = null;
+
+	/** Index der Labelgruppe je Komponente, -1 falls keine Regeln existieren */
+	private transient int[] mComponentGroup = null;
+
+	/** Adjazente Faces je Komponente */
+	private transient int[][] mComponentFaces = null;
+
 	/**
-	 * Map-Struktur speichert fuer saemtliche Eingabekomponenten alle moeglichen
-	 * Status, die diesen zugewiesen werden koennen. Diese Liste wird waehrend
-	 * der Bearbeitung fortlaufend modifiziert, da Zuweisungen direkte
-	 * Auswirkungen auf die Stati benachbarter Komponenten besitzen.
+	 * Position der adjazenten Faces in Bezug auf die jeweilige Komponente
+	 * (Ordinalwert), -1 falls keine Position ermittelt werden kann
+	 */
+	private transient int[][] mComponentFacePositions = null;
+
+	/** Face je Komponente und Face-Position, -1 falls nicht besetzt */
+	private transient int[][] mComponentFaceByPosition = null;
+
+	/**
+	 * Fuer Vertices die adjazenten Strahlen, fuer Strahlen Start- und
+	 * Endvertex
 	 */
-	private transient Map<ModelSynthesisBaseGeometry, List<ComponentState>> mCatalog = null;
+	private transient int[][] mComponentNeighbours = null;
+
+	/** Alle Faces */
+	private transient Face[] mFaces = null;
+
+	/** Adjazente Komponenten je Face */
+	private transient int[][] mFaceComponents = null;
+
+	/**
+	 * Position des Faces in Bezug auf die jeweilige adjazente Komponente,
+	 * parallel zu mFaceComponents
+	 */
+	private transient int[][] mFaceComponentPositions = null;
+
+	/** Regellisten je Labelgruppe */
+	private transient ComponentState[][] mGroupStates = null;
+
+	/** Globaler Regelindex je Labelgruppe und lokalem Regelindex */
+	private transient int[][] mGroupGlobalStates = null;
 
 	/**
-	 * Regeltyp-basierter Katalog Fuer jede Art von Regel existiert eine Liste
-	 * mit RuleApplication-Instanzen, die solche Komponenten umsetzen
+	 * Lokaler Regelindex je Labelgruppe und globalem Regelindex, -1 falls die
+	 * Regel nicht in der Gruppe vorkommt
 	 */
-	private transient Map<RuleType, List<RuleApplication>> mInverseCatalog = null;
+	private transient int[][] mGroupLocalStates = null;
 
 	/**
-	 * Mapstruktur. die fuer jede Regel die globale Anzahl ihrer Anwendungen
-	 * speichert.
+	 * Masken je Labelgruppe, Face-Position und Statuswert: gesetzt sind alle
+	 * lokalen Regeln, die dem Face an dieser Position diesen Status zuweisen
 	 */
-	private transient Map<Integer, Integer> mRuleApplicationCount = new TreeMap<Integer, Integer>();
+	private transient long[][][][] mGroupMasks = null;
 
 	/**
-	 * Map enthaelt fuer jedes vorkommend Face saemtliche zu diesem adjazenten
+	 * Noch moegliche Zuweisungen je Komponente als Bitset ueber die lokalen
+	 * Regelindices der Labelgruppe. Diese Domaenen werden waehrend der
+	 * Bearbeitung fortlaufend eingeschraenkt, da Zuweisungen direkte
+	 * Auswirkungen auf die Stati benachbarter Komponenten besitzen.
+	 */
+	private transient long[][] mDomains = null;
+
+	/** Katalog: Bitset aller Komponenten, die noch Zuweisungen besitzen */
+	private transient long[] mCatalog = null;
+
+	/** Anzahl der Komponenten im Katalog */
+	private transient int mCatalogSize = 0;
+
+	/** Alle Regeln, Index ist der globale Regelindex */
+	private transient ComponentState[] mStates = null;
+
+	/**
+	 * Inverser Katalog: je Regel ein Bitset aller Katalogkomponenten, auf die
+	 * die Regel noch angewendet werden kann
+	 */
+	private transient long[][] mRuleComponents = null;
+
+	/** Anzahl der Komponenten je Regel im inversen Katalog */
+	private transient int[] mRuleComponentCount = null;
+
+	/** Regeln je Regeltyp in der Reihenfolge des inversen Katalogs */
+	private transient Map<RuleType, int[]> mRulesByType = null;
+
+	/**
+	 * Verbleibende Anzahl von Anwendungen je Regel, null fuer Regeln ohne
 	 * Komponenten
 	 */
-	private transient Map<Face, Set<ModelSynthesisBaseGeometry>> mFaceConnectivities = null;
+	private transient Integer[] mRuleApplicationCount = null;
 
-	/** Liste mit saemtlichen direkt oder indirekt beruehrten Komponenten */
-	private transient List<ModelSynthesisBaseGeometry> mTouchedComponents = null;
+	/** Worklist mit saemtlichen direkt oder indirekt beruehrten Komponenten */
+	private transient ComponentWorklist mTouchedComponents = null;
 
 	/** Zufallsgenerator */
-	private transient Random mRand = new Random();
+	private transient Random mRand = null;
 
 	/** Soll versucht werden, moeglichst geschlossene Strukturen zu erzeugen? */
 	private Boolean mUseConsistencyConstraint = null;
@@ -102,7 +189,7 @@ public class SynthesisProcessing {
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Konstruktor mit Uebergabe der Grundkomponenten, Vertices und Rays
-	 * 
+	 *
 	 * @param vertices
 	 *            Eckpunkte des Rasters
 	 * @param rays
@@ -112,7 +199,29 @@ public class SynthesisProcessing {
 			final List<RayWrapper> rays,
 			final Map<String, List<ComponentState>> rules,
 			final ExampleBasedFootprintConfiguration conf) {
+		this(vertices, rays, rules, conf, new Random());
+	}
 
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Konstruktor mit Uebergabe der Grundkomponenten und eines
+	 * Zufallsgenerators, parallel laufende Synthesen verwenden jeweils eigene
+	 * Generatoren mit festem Startwert
+	 *
+	 * @param vertices
+	 *            Eckpunkte des Rasters
+	 * @param rays
+	 *            Strahlensegmente innerhalb des Rasters
+	 * @param rand
+	 *            Zufallsgenerator fuer saemtliche zufallsbasierten
+	 *            Entscheidungen
+	 */
+	public SynthesisProcessing(final List<VertexWrapper> vertices,
+			final List<RayWrapper> rays,
+			final Map<String, List<ComponentState>> rules,
+			final ExampleBasedFootprintConfiguration conf, final Random rand) {
+
+		mRand = rand;
 		List<ModelSynthesisBaseGeometry> components = new ArrayList<ModelSynthesisBaseGeometry>(
 				vertices.size() + rays.size());
 		components.addAll(vertices);
@@ -127,46 +236,141 @@ public class SynthesisProcessing {
 				.getUseOnlyVertexComponents();
 		mUseRandomGrowth = mSynthesisConfiguration.getUseRandomGrowth();
 
-		// berechne den komponentenbasierten Regelkatalog
-		computeCatalog(rules, components);
+		// nummeriere Komponenten und Faces und berechne die Nachbarschaften
+		computeTopology(components, rays);
 
-		// printCatalogState();
+		// berechne den komponentenbasierten Regelkatalog
+		computeCatalog(rules);
 
 		// berechne den regeltypbasierten Regelkatalog
 		computeInverseCatalog();
 
-		// erzeuge eine Liste, die fuer jedes Face alle zu diesem Face
-		// adjazenten Komponenten enthaelt
-		computeFaceConnectivity(rays);
-
 		// erzeuge einen Zaehlkatalog, der fuer jede Regel die Haeufigkeit ihrer
 		// Anwendungen enthaelt
 		computeRuleApplicationCount();
 
-		assert mCatalog != null && mInverseCatalog != null
-				&& mFaceConnectivities != null && mRuleApplicationCount != null : "FEHLER: Es wurden nicht alle benoetigten Datenstrukturen erezeugt!";
+		assert mDomains != null && mRuleComponents != null
+				&& mFaceComponents != null && mRuleApplicationCount != null : "FEHLER: Es wurden nicht alle benoetigten Datenstrukturen erezeugt!";
 
-		mTouchedComponents = new ArrayList<ModelSynthesisBaseGeometry>();
-
-		// printVertexStates(vertices);
+		mTouchedComponents = new ComponentWorklist(mComponents.length);
 
 		components.clear();
 		components = null;
 	}
 
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode nummeriert alle Komponenten in ID-Reihenfolge sowie alle Faces
+	 * und speichert saemtliche Nachbarschaften als Indexarrays. Die
+	 * Reihenfolgen innerhalb der Arrays entsprechen der Iterationsreihenfolge
+	 * der Set-Strukturen der Komponenten.
+	 *
+	 * @param components
+	 *            Alle Vertices und Strahlen
+	 * @param rays
+	 *            Liste mit allen Strahlen
+	 */
+	private void computeTopology(
+			final List<ModelSynthesisBaseGeometry> components,
+			final List<RayWrapper> rays) {
+
+		// Komponenten in ID-Reihenfolge nummerieren
+		final TreeMap<ModelSynthesisBaseGeometry, Integer> sortedComponents = new TreeMap<ModelSynthesisBaseGeometry, Integer>(
+				new ComponentComparator());
+		for (ModelSynthesisBaseGeometry curComp : components)
+			sortedComponents.put(curComp, 0);
+
+		mComponents = sortedComponents.keySet().toArray(
+				new ModelSynthesisBaseGeometry[sortedComponents.size()]);
+		final Map<ModelSynthesisBaseGeometry, Integer> componentIndices = new IdentityHashMap<ModelSynthesisBaseGeometry, Integer>(
+				mComponents.length);
+		for (int i = 0; i < mComponents.length; i++)
+			componentIndices.put(mComponents[i], i);
+
+		// Faces nummerieren, Faces werden wie im Katalog ueber ihre ID
+		// identifiziert
+		final Map<Face, Integer> faceIndices = new TreeMap<Face, Integer>(
+				new ComponentComparator());
+		final List<Face> faces = new ArrayList<Face>();
+
+		mIsRay = new boolean[mComponents.length];
+		mComponentFaces = new int[mComponents.length][];
+		mComponentFacePositions = new int[mComponents.length][];
+		mComponentFaceByPosition = new int[mComponents.length][NUMBER_OF_FACE_POSITIONS];
+		mComponentNeighbours = new int[mComponents.length][];
+
+		for (int i = 0; i < mComponents.length; i++) {
+			final ModelSynthesisBaseGeometry curComp = mComponents[i];
+			mIsRay[i] = curComp instanceof RayWrapper;
+
+			final Set<Face> adjacentFaces = curComp.getAdjacentFaces();
+			mComponentFaces[i] = new int[adjacentFaces.size()];
+			mComponentFacePositions[i] = new int[adjacentFaces.size()];
+			int j = 0;
+			for (Face curFace : adjacentFaces) {
+				mComponentFaces[i][j] = getFaceIndex(curFace, faceIndices,
+						faces);
+				mComponentFacePositions[i][j] = getPositionIndex(curComp,
+						curFace);
+				j++;
+			}
+
+			for (FacePosition curPos : FacePosition.values()) {
+				final Face curFace = curComp.getFace(curPos);
+				mComponentFaceByPosition[i][curPos.ordinal()] = curFace != null ? getFaceIndex(
+						curFace, faceIndices, faces) : -1;
+			}
+
+			// Vertices: adjazente Strahlen, Strahlen: Start- und Endvertex
+			final List<ModelSynthesisBaseGeometry> neighbours = new ArrayList<ModelSynthesisBaseGeometry>();
+			if (curComp instanceof VertexWrapper)
+				neighbours.addAll(((VertexWrapper) curComp).getRays());
+			else
+				neighbours.addAll(curComp.getAdjacentComponents());
+			mComponentNeighbours[i] = toIndices(neighbours, componentIndices);
+		}
+
+		// Face-Konnektivitaet wie bisher ueber die Strahlen aufbauen
+		final Map<Face, Set<ModelSynthesisBaseGeometry>> faceConnectivities = computeFaceConnectivity(rays);
+		for (Face curFace : faceConnectivities.keySet())
+			getFaceIndex(curFace, faceIndices, faces);
+
+		mFaces = faces.toArray(new Face[faces.size()]);
+		mFaceComponents = new int[mFaces.length][];
+		mFaceComponentPositions = new int[mFaces.length][];
+		for (int f = 0; f < mFaces.length; f++) {
+			final Set<ModelSynthesisBaseGeometry> adjacentComponents = faceConnectivities
+					.get(mFaces[f]);
+			if (adjacentComponents == null) {
+				mFaceComponents[f] = new int[0];
+				mFaceComponentPositions[f] = new int[0];
+				continue;
+			}
+			mFaceComponents[f] = toIndices(adjacentComponents,
+					componentIndices);
+			mFaceComponentPositions[f] = new int[mFaceComponents[f].length];
+			for (int j = 0; j < mFaceComponents[f].length; j++) {
+				mFaceComponentPositions[f][j] = getPositionIndex(
+						mComponents[mFaceComponents[f][j]], mFaces[f]);
+			}
+		}
+	}
+
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Methode berechnet fuer jedes vorkommende Face saemtliche zu diesem
 	 * adjazenten Komponenten. Zu diesem Zweck werden saemtliche Strahlen
 	 * durchlaufen und fuer jeden Strahl der Strahl selber und sein Start- und
 	 * Endvertex zur Liste hinzugefuegt
-	 * 
+	 *
 	 * @param rays
 	 *            Liste mit allen Strahlen
+	 * @return Map mit allen adjazenten Komponenten je Face
 	 */
-	private void computeFaceConnectivity(final List<RayWrapper> rays) {
+	private Map<Face, Set<ModelSynthesisBaseGeometry>> computeFaceConnectivity(
+			final List<RayWrapper> rays) {
 
-		mFaceConnectivities = new TreeMap<Face, Set<ModelSynthesisBaseGeometry>>(
+		final Map<Face, Set<ModelSynthesisBaseGeometry>> faceConnectivities = new TreeMap<Face, Set<ModelSynthesisBaseGeometry>>(
 				new ComponentComparator());
 
 		Face curFace = null;
@@ -176,10 +380,14 @@ public class SynthesisProcessing {
 		for (int i = 0; i < rays.size(); i++) {
 			curRay = rays.get(i);
 
-			// zunaechst oberes Face verarbeiten
-			curFace = curRay.getFace(FacePosition.UPPER);
-			if (curFace != null) {
-				adjacentComponents = mFaceConnectivities.get(curFace);
+			// zunaechst oberes, dann unteres Face verarbeiten
+			for (FacePosition curPos : new FacePosition[] { FacePosition.UPPER,
+					FacePosition.LOWER }) {
+				curFace = curRay.getFace(curPos);
+				if (curFace == null)
+					continue;
+
+				adjacentComponents = faceConnectivities.get(curFace);
 				if (adjacentComponents == null)
 					adjacentComponents = new HashSet<ModelSynthesisBaseGeometry>();
 
@@ -188,40 +396,76 @@ public class SynthesisProcessing {
 				adjacentComponents.add(curRay);
 				adjacentComponents.add(curRay.getStartVert());
 				adjacentComponents.add(curRay.getEndVert());
-				mFaceConnectivities.put(curFace, adjacentComponents);
+				faceConnectivities.put(curFace, adjacentComponents);
 			}
+		}
+		return faceConnectivities;
+	}
 
-			// das gleiche fuer das untere Face durchfuehren
-			curFace = curRay.getFace(FacePosition.LOWER);
-			if (curFace != null) {
-				adjacentComponents = mFaceConnectivities.get(curFace);
-				if (adjacentComponents == null)
-					adjacentComponents = new HashSet<ModelSynthesisBaseGeometry>();
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Index des uebergebenen Faces, unbekannte Faces werden neu
+	 *         nummeriert
+	 */
+	private int getFaceIndex(final Face face,
+			final Map<Face, Integer> faceIndices, final List<Face> faces) {
+		Integer index = faceIndices.get(face);
+		if (index == null) {
+			index = faces.size();
+			faceIndices.put(face, index);
+			faces.add(face);
+		}
+		return index;
+	}
 
-				// Strahl und Vertices adden => Set sorgt dafuer, dass keine
-				// doppelten Komponenten geadded werden
-				adjacentComponents.add(curRay);
-				adjacentComponents.add(curRay.getStartVert());
-				adjacentComponents.add(curRay.getEndVert());
-				mFaceConnectivities.put(curFace, adjacentComponents);
-			}
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Ordinalwert der Position des Faces in Bezug auf die Komponente,
+	 *         -1 falls das Face nicht adjazent ist
+	 */
+	private int getPositionIndex(final ModelSynthesisBaseGeometry component,
+			final Face face) {
+		final FacePosition position = component.getFacePosition(face);
+		return position != null ? position.ordinal() : -1;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Indices der uebergebenen Komponenten in Iterationsreihenfolge,
+	 *         unbekannte Komponenten werden uebersprungen
+	 */
+	private int[] toIndices(
+			final Iterable<? extends ModelSynthesisBaseGeometry> components,
+			final Map<ModelSynthesisBaseGeometry, Integer> componentIndices) {
+		final List<Integer> indices = new ArrayList<Integer>();
+		for (ModelSynthesisBaseGeometry curComp : components) {
+			final Integer index = componentIndices.get(curComp);
+			if (index != null)
+				indices.add(index);
+			else
+				LOGGER.error("Komponente " + curComp
+						+ " ist nicht Teil des Rasters!");
 		}
+		final int[] result = new int[indices.size()];
+		for (int i = 0; i < result.length; i++)
+			result[i] = indices.get(i);
+		return result;
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Methode realisiert eine Step-by-Step-Umsetzung des Verfahrens, die fuer
 	 * Debugging-Zwecke eingesetzt werden soll
-	 * 
+	 *
 	 * @param nextIndex
 	 *            Index des naechsten zu verwendenden Elements
 	 */
 	public void nextStep(int nextIndex) {
 
 		LOGGER.info("Next Step: " + nextIndex);
-		ModelSynthesisBaseGeometry curComp = null;
-		ComponentState curState = null;
-		Random rand = new Random();
+		int curComp = -1;
+		int curState = -1;
+		Random rand = mRand;
 
 		if (firstStep) {
 
@@ -229,31 +473,26 @@ public class SynthesisProcessing {
 
 			// waehle zunaechst eine Regel, die eine Ecke erzeugt aus dem
 			// inversen Katalog
-			List<RuleApplication> possibleStartRules = mInverseCatalog
-					.get(mSynthesisConfiguration.getFirstRuleType());
-
-			LOGGER.info("#Potentieller Startregeln fuer Komponententyp: "
-					+ mSynthesisConfiguration.getFirstRuleType() + ": "
-					+ possibleStartRules.size());
-			RuleApplication rule = null;
+			final int rule = getFirstRule(mSynthesisConfiguration
+					.getFirstRuleType());
+			if (rule == -1)
+				return;
 
 			// waehle jetzt die erste passende Regel (kann auch noch
 			// zufallsbasiert erfolgen)
 			if (mSynthesisConfiguration.getRandomComponentChoice()) {
-				rule = possibleStartRules.get(rand.nextInt(possibleStartRules
-						.size()));
-				curComp = rule.getComponents().get(
-						rand.nextInt(rule.getComponents().size()));
+				curComp = nthSetBit(mRuleComponents[rule],
+						rand.nextInt(mRuleComponentCount[rule]));
 			} else {
-				rule = possibleStartRules.get(0);
-				curComp = rule.getComponents().get(5);
+				curComp = nthSetBit(mRuleComponents[rule],
+						Math.min(5, mRuleComponentCount[rule] - 1));
 			}
-			curState = rule.getRule();
+			curState = rule;
 			firstStep = false;
 		} else {
 			// waehle eine Komponente basierend auf dem Index
 			curComp = chooseComponent(nextIndex);
-			if (curComp == null) {
+			if (curComp == -1) {
 				// wenn keine Komponente gefunden werden konnte, terminiere das
 				// Verfahren!
 				return;
@@ -264,211 +503,163 @@ public class SynthesisProcessing {
 
 			// wenn kein Status gefunden werden konnte, versuche es mit einem
 			// anderen Index
-			if (curState == null) {
+			if (curState == -1) {
 				nextIndex++;
 				nextStep(nextIndex);
 			}
 		}
 
 		// wenn kein State gefunden wurde, terminiere die Berechnung
-		if (curState == null)
+		if (curState == -1)
 			return;
 
+		final ModelSynthesisBaseGeometry component = mComponents[curComp];
+
 		// teste, ob der ausgewaehlte Status gueltig ist
 		if (isStateAssignable(curComp, curState)) {
 
 			// Status zuweisen
-			LOGGER.info("Assigne State " + curState + " zu Komponente: "
-					+ curComp.getID() + " mit Label: " + curComp.getLabel());
+			LOGGER.info("Assigne State " + mStates[curState]
+					+ " zu Komponente: " + component.getID() + " mit Label: "
+					+ component.getLabel());
 
 			assignStateToComponent(curComp, curState);
 
 			// festgelegte Komponente wird aus dem Katalog entfernt
-			LOGGER.info("Entferne Komponente " + curComp.getID()
+			LOGGER.info("Entferne Komponente " + component.getID()
 					+ " aus dem Katalog!");
 
 			// Komponente ist gesetzt => aus Liste entfernen
-			removeAssignedState(curComp, curState);
+			removeComponentFromLists(curComp);
 		} else {
 
-			LOGGER.info("State " + curState + " konnte Komponente "
-					+ curComp.getID() + " nicht zugewiesen werden.");
+			LOGGER.info("State " + mStates[curState]
+					+ " konnte Komponente " + component.getID()
+					+ " nicht zugewiesen werden.");
 			// Zuweisung nicht moeglich, somit auch zu keinem spaeteren
 			// Zeitpunkt => wird aus der Liste moeglicher Assignments entfernt
 			removeUnassignableState(curComp, curState);
 		}
 	}
 
-	// ------------------------------------------------------------------------------------------
-	/**
-	 * Wurde eine Regel erfolgreich auf eine Komponente angewendet, entfernt
-	 * diese Methode Regel und Komponente aus allen Verwaltungslisten
-	 * 
-	 * @param component
-	 *            Komponente, auf die die Regel angewendet wurde
-	 * @param state
-	 *            Regel, die auf die Komponente angewendet wurde
-	 */
-	private void removeAssignedState(
-			final ModelSynthesisBaseGeometry component,
-			final ComponentState state) {
-
-		// Komponente aus dem inversen Katalog loeschen
-		removeComponentFromInverseCatalog(component);
-
-		// Eintrag fuer die Komponente im Hauptkatalog entfernen
-		mCatalog.remove(component);
-
-		// aus der Liste der beruehrten Objekte entfernen
-		mTouchedComponents.remove(component);
-	}
-
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Wenn ein State fuer eine Komponente nicht zuweisbar ist, muss dieser
 	 * ebenfalls aus den Verwaltungsstrukturen geloescht werden
-	 * 
+	 *
 	 * @param component
 	 *            Komponente, der der Status zugewiesen werden sollte
 	 * @param state
-	 *            Status, der zugewiesen werden sollte
+	 *            Globaler Index des Status, der zugewiesen werden sollte
 	 */
-	private void removeUnassignableState(
-			final ModelSynthesisBaseGeometry component,
-			final ComponentState state) {
+	private void removeUnassignableState(final int component, final int state) {
+
+		final int group = mComponentGroup[component];
+		assert group != -1 && isInCatalog(component) : "FEHLER: Fuer Komponente "
+				+ mComponents[component]
+				+ " existiert kein Eintrag im Hauptkatalog!";
 
 		// entferne den State-Eintrag im Hauptkatalog
-		removeStateFromComponent(component, state);
+		final int localState = mGroupLocalStates[group][state];
+		if (localState != -1) {
+			LOGGER.debug("Entferne State " + mStates[state].getID()
+					+ " aus dem Katalog fuer Komponente "
+					+ mComponents[component].getID());
+			clearBit(mDomains[component], localState);
+		}
+
+		// wenn fuer die Komponente keine weiteren Zuweisungen mehr existieren,
+		// loesche den Eintrag im Katalog
+		if (isEmpty(mDomains[component]))
+			removeFromCatalog(component);
 
 		// entferne den Eintrag der Komponente im inversen Katalog
-		removeComponentFromRuleInInverseCatalog(component, state);
+		removeComponentFromRule(component, state);
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Methode entfernt den uebergebenen Status aus der Liste der uebergebenen
-	 * Komponente im Hauptkatalog
-	 * 
+	 * Methode entfernt die uebergebene Komponente aus ALLEN Regeln im inversen
+	 * Katalog sowie aus dem Hauptkatalog
+	 *
 	 * @param component
-	 *            Komponente, fuer die der Status entfernt wird
-	 * @param state
-	 *            Status, der entfernt wird
+	 *            Komponente, die vollstaendig entfernt werden soll
 	 */
-	private void removeStateFromComponent(
-			final ModelSynthesisBaseGeometry component,
-			final ComponentState state) {
+	private void removeComponentFromCatalogs(final int component) {
 
-		List<ComponentState> states = mCatalog.get(component);
-		assert states != null : "FEHLER: Fuer Komponente " + component
-				+ " existiert kein Eintrag im Hauptkatalog!";
-
-		Iterator<ComponentState> stateIter = states.iterator();
-		ComponentState curState = null;
+		final int group = mComponentGroup[component];
+		if (group == -1)
+			return;
 
-		while (stateIter.hasNext()) {
-			curState = stateIter.next();
-			if (curState.getID() == state.getID()) {
-				LOGGER.debug("Entferne State " + state.getID()
-						+ " aus dem Katalog fuer Komponente "
-						+ component.getID());
-				stateIter.remove();
-				break;
+		// alle Regeln, die der Komponente zugewiesen werden koennen
+		final long[] domain = mDomains[component];
+		for (int word = 0; word < domain.length; word++) {
+			long bits = domain[word];
+			while (bits != 0) {
+				final int localState = (word << 6)
+						+ Long.numberOfTrailingZeros(bits);
+				bits &= bits - 1;
+				removeComponentFromRule(component,
+						mGroupGlobalStates[group][localState]);
 			}
+			domain[word] = 0L;
 		}
-
-		// wenn fuer die Komponente keine weiteren Zuweisungen mehr existieren,
-		// loesche den Eintrag im Katalog
-		if (states.isEmpty())
-			mCatalog.remove(component);
-
+		removeFromCatalog(component);
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Methode entfernt die uebergebene Komponente aus ALLEN Regeln im inversen
-	 * Katalog
-	 * 
+	 * Methode entfernt die Komponente aus dem Katalog, ohne den inversen
+	 * Katalog zu veraendern
+	 *
 	 * @param component
-	 *            Komponente, die vollstaendig entfernt werden soll
+	 *            Komponente
 	 */
-	private void removeComponentFromInverseCatalog(
-			final ModelSynthesisBaseGeometry component) {
-
-		// hole alle Regeln, die der Komponente zugewiesen werden koennen ueber
-		// den Hauptkatalog
-		List<ComponentState> states = mCatalog.get(component);
-
-		if (states != null) {
-			ComponentState curState = null;
-
-			for (int i = 0; i < states.size(); i++) {
-				curState = states.get(i);
-				removeComponentFromRuleInInverseCatalog(component, curState);
-			}
+	private void removeFromCatalog(final int component) {
+		if (isSet(mCatalog, component)) {
+			clearBit(mCatalog, component);
+			mCatalogSize--;
 		}
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Methode entfernt den uebergebenen Komponenteneintrag aus der Liste der
-	 * RuleApplication-Instanz, die das uebergebene State-Objekt enthaelt
-	 * 
+	 * Methode entfernt den uebergebenen Komponenteneintrag aus der Menge der
+	 * Komponenten, auf die die Regel angewendet werden kann
+	 *
 	 * @param component
-	 *            Komponente, die aus der Liste der Regel entfernt wird
+	 *            Komponente, die aus der Menge der Regel entfernt wird
 	 * @param state
-	 *            Regel
+	 *            Globaler Regelindex
 	 */
-	private void removeComponentFromRuleInInverseCatalog(
-			final ModelSynthesisBaseGeometry component,
-			final ComponentState state) {
-
-		// finde zunaechst die RuleApplication-Instanz, die der uebergebenen
-		// Regel entspricht
-		Iterator<RuleApplication> ruleIter = mInverseCatalog.get(
-				state.getRuleType()).iterator();
-		RuleApplication curRule = null;
-
-		// durchlaufe alle Regeln
-		while (ruleIter.hasNext()) {
-			curRule = ruleIter.next();
-
-			// wenn die richtige Regel gefunden wurde, loesche die Komponente
-			// aus der Liste
-			if (curRule.getRuleID() == state.getID()) {
-				LOGGER.trace("Entferne Komponente: " + component.getID()
-						+ " aus der Regelliste von Regel "
-						+ curRule.getRuleID());
-				curRule.getComponents().remove(component);
-
-				// wenn die Liste leer ist, loesche die Regel direkt hinterher
-				if (curRule.getComponents().isEmpty())
-					ruleIter.remove();
-				break;
-			}
+	private void removeComponentFromRule(final int component, final int state) {
+		if (isSet(mRuleComponents[state], component)) {
+			LOGGER.trace("Entferne Komponente: "
+					+ mComponents[component].getID()
+					+ " aus der Regelliste von Regel "
+					+ mStates[state].getID());
+			clearBit(mRuleComponents[state], component);
+			mRuleComponentCount[state]--;
 		}
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Methode entfernt die uebergebene Komponente aus saemtlichen Listen.
-	 * 
+	 *
 	 * @param component
 	 *            Komponente, die aus den Listen entfernt werden soll
 	 */
-	private void removeComponentFromLists(
-			final ModelSynthesisBaseGeometry component) {
-		LOGGER.trace("Komponente " + component.getID()
+	private void removeComponentFromLists(final int component) {
+		LOGGER.trace("Komponente " + mComponents[component].getID()
 				+ " wird aus dem Katalog entfernt!");
 
 		// entferne saemtliche Verweise auf die aktuelle Komponente aus dem
-		// inversen Katalog
-		removeComponentFromInverseCatalog(component);
+		// inversen Katalog und dem Hauptkatalog
+		removeComponentFromCatalogs(component);
 
-		// entferne die Komponente aus dem Hauptkatalog und der Liste der
-		// beruehrten Komponenten
-		mCatalog.remove(component);
+		// und aus der Liste der beruehrten Komponenten
 		mTouchedComponents.remove(component);
-
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -476,19 +667,16 @@ public class SynthesisProcessing {
 	 * Methode gibt den aktuellen Zustand des Katalogs aus
 	 */
 	private void printCatalogState() {
-		Iterator<ModelSynthesisBaseGeometry> compIter = mCatalog.keySet()
-				.iterator();
-		ModelSynthesisBaseGeometry curComp = null;
-		while (compIter.hasNext()) {
-			curComp = compIter.next();
-			LOGGER.info("Comp: " + curComp.getID() + " #Assignments: "
-					+ mCatalog.get(curComp).size() + " Type: "
-					+ curComp.getClass().getSimpleName());
-
-			List<ComponentState> states = mCatalog.get(curComp);
+		for (int i = nextSetBit(mCatalog, 0); i != -1; i = nextSetBit(
+				mCatalog, i + 1)) {
+			final List<ComponentState> states = getDomainStates(i);
+			LOGGER.info("Comp: " + mComponents[i].getID() + " #Assignments: "
+					+ states.size() + " Type: "
+					+ mComponents[i].getClass().getSimpleName());
+
 			String possibleStates = "";
-			for (int i = 0; i < states.size(); i++)
-				possibleStates += " " + states.get(i).getID();
+			for (int j = 0; j < states.size(); j++)
+				possibleStates += " " + states.get(j).getID();
 			LOGGER.info("......................." + possibleStates);
 		}
 	}
@@ -498,117 +686,184 @@ public class SynthesisProcessing {
 	 * Methode berechnet den initialen Katalog basierend auf den Regeln, die
 	 * vorab berechnet wurden. Der Katalog enthaelt fuer jede Komponente
 	 * saemtliche moeglichen Assignments, die basierend auf dem Eingabepolygon
-	 * ermittelt wurden.
-	 * 
+	 * ermittelt wurden. Komponenten mit gleichem Label teilen sich Regelliste
+	 * und Masken.
+	 *
 	 * @param rules
 	 *            Regeln fuer die initialen Komponenten
-	 * @param components
-	 *            Alle Komponenten des Eingaberasters
 	 */
-	private void computeCatalog(final Map<String, List<ComponentState>> rules,
-			final List<ModelSynthesisBaseGeometry> components) {
+	private void computeCatalog(final Map<String, List<ComponentState>> rules) {
 
-		mCatalog = new TreeMap<ModelSynthesisBaseGeometry, List<ComponentState>>(
-				new ComponentComparator());
+		// Regeln global ueber ihre ID nummerieren
+		final Map<Integer, Integer> stateIndices = new HashMap<Integer, Integer>();
+		final List<ComponentState> states = new ArrayList<ComponentState>();
+		final Map<String, Integer> groupIndices = new HashMap<String, Integer>();
+		final List<List<ComponentState>> groups = new ArrayList<List<ComponentState>>();
 
-		// durchlaufe alle Komponenten, fuege fuer jede Komponente saemtliche
-		// gueltigen Assignments zur Map hinzu
-		ModelSynthesisBaseGeometry curComp = null;
-		List<ComponentState> curStates = null;
-		for (int i = 0; i < components.size(); i++) {
-			curComp = components.get(i);
+		mComponentGroup = new int[mComponents.length];
+		for (int i = 0; i < mComponents.length; i++) {
+			final ModelSynthesisBaseGeometry curComp = mComponents[i];
 
 			assert curComp.getLabel() != null : "FEHLER: Komponente "
 					+ curComp.getID() + ", Typ: " + curComp.getClass()
 					+ " besitzt kein Label!";
+
 			// indiiziere die Regelmap mit dem Komponentenlabel
-			curStates = rules.get(curComp.getLabel());
-			if (curStates == null) {
+			final List<ComponentState> curStates = rules.get(curComp
+					.getLabel());
+			if (curStates == null || curStates.isEmpty()) {
 				LOGGER.trace("Skipped Label: " + curComp.getLabel());
+				mComponentGroup[i] = -1;
 				continue;
 			}
 
-			// kopiere die States in eine neue Liste (Seiteneffekte beim
-			// Entfernen ungueltiger Stati vermeiden)
-			List<ComponentState> clonedList = new ArrayList<ComponentState>(
-					curStates.size());
-			clonedList.addAll(curStates);
-			mCatalog.put(curComp, clonedList);
+			Integer group = groupIndices.get(curComp.getLabel());
+			if (group == null) {
+				group = groups.size();
+				groupIndices.put(curComp.getLabel(), group);
+				groups.add(curStates);
+				for (ComponentState curState : curStates) {
+					if (!stateIndices.containsKey(curState.getID())) {
+						stateIndices.put(curState.getID(), states.size());
+						states.add(curState);
+					}
+				}
+			}
+			mComponentGroup[i] = group;
+		}
+
+		mStates = states.toArray(new ComponentState[states.size()]);
+
+		// Regellisten und Masken je Labelgruppe
+		mGroupStates = new ComponentState[groups.size()][];
+		mGroupGlobalStates = new int[groups.size()][];
+		mGroupLocalStates = new int[groups.size()][mStates.length];
+		mGroupMasks = new long[groups.size()][NUMBER_OF_FACE_POSITIONS][NUMBER_OF_STATE_VALUES][];
+
+		for (int g = 0; g < groups.size(); g++) {
+			final List<ComponentState> groupStates = groups.get(g);
+			final int words = numberOfWords(groupStates.size());
+
+			mGroupStates[g] = groupStates
+					.toArray(new ComponentState[groupStates.size()]);
+			mGroupGlobalStates[g] = new int[groupStates.size()];
+			Arrays.fill(mGroupLocalStates[g], -1);
+			for (int pos = 0; pos < NUMBER_OF_FACE_POSITIONS; pos++)
+				for (int value = 0; value < NUMBER_OF_STATE_VALUES; value++)
+					mGroupMasks[g][pos][value] = new long[words];
+
+			for (int i = 0; i < groupStates.size(); i++) {
+				final ComponentState curState = groupStates.get(i);
+				final int globalState = stateIndices.get(curState.getID());
+				mGroupGlobalStates[g][i] = globalState;
+				if (mGroupLocalStates[g][globalState] == -1)
+					mGroupLocalStates[g][globalState] = i;
+
+				for (FacePosition curPos : FacePosition.values()) {
+					setBit(mGroupMasks[g][curPos.ordinal()][getStateValue(curState
+							.getAssignmentByIndex(curPos))], i);
+				}
+			}
+		}
+
+		// Domaenen und Katalog initialisieren
+		mDomains = new long[mComponents.length][];
+		mCatalog = new long[numberOfWords(mComponents.length)];
+		mCatalogSize = 0;
+		for (int i = 0; i < mComponents.length; i++) {
+			final int group = mComponentGroup[i];
+			if (group == -1) {
+				mDomains[i] = new long[0];
+				continue;
+			}
+			final int numberOfStates = mGroupStates[group].length;
+			mDomains[i] = new long[numberOfWords(numberOfStates)];
+			for (int j = 0; j < numberOfStates; j++) {
+				// doppelte Regeln innerhalb einer Liste nur einmal verwenden
+				if (mGroupLocalStates[group][mGroupGlobalStates[group][j]] == j)
+					setBit(mDomains[i], j);
+			}
+			setBit(mCatalog, i);
+			mCatalogSize++;
 		}
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Methode berechnet basierend auf dem vorab errechneten Hauptkatalog den
-	 * inversen Katalog, der ueber die Art der Komponenten indiziert wird, die
-	 * durch eine Regel erzeugt werden
+	 * inversen Katalog, der fuer jede Regel die Komponenten enthaelt, auf die
+	 * diese angewendet werden kann. Zusaetzlich werden die Regeln nach dem Typ
+	 * der Komponenten gruppiert, die durch sie erzeugt werden
 	 */
 	private void computeInverseCatalog() {
 
-		assert mCatalog != null : "FEHLER: Es wurde noch kein Katalog berechnet!";
-
-		// Buffer speichert fuer jede Regelinstanz alle Komponenten, die diese
-		// anwenden koennen
-		Map<ComponentState, List<ModelSynthesisBaseGeometry>> tempBuffer = new HashMap<ComponentState, List<ModelSynthesisBaseGeometry>>();
-		Iterator<ModelSynthesisBaseGeometry> componentIter = mCatalog.keySet()
-				.iterator();
-		ModelSynthesisBaseGeometry curComp = null;
-		List<ComponentState> curRules = null;
-		ComponentState curRule = null;
-		List<ModelSynthesisBaseGeometry> componentList = null;
-
-		while (componentIter.hasNext()) {
-			curComp = componentIter.next();
-			curRules = mCatalog.get(curComp);
-
-			// fuer jedes Regel- / Komponenten-Paar wird ein Eintrag im Buffer
-			// angelegt
-			for (int i = 0; i < curRules.size(); i++) {
-				curRule = curRules.get(i);
-
-				// wurde bereits ein Eintrag fuer die Regel angelegt?
-				componentList = tempBuffer.get(curRule);
-				if (componentList == null) {
-					componentList = new ArrayList<ModelSynthesisBaseGeometry>();
-					tempBuffer.put(curRule, componentList);
-				}
-				componentList.add(curComp);
+		assert mDomains != null : "FEHLER: Es wurde noch kein Katalog berechnet!";
+
+		final int words = numberOfWords(mComponents.length);
+		mRuleComponents = new long[mStates.length][words];
+		mRuleComponentCount = new int[mStates.length];
+
+		for (int i = nextSetBit(mCatalog, 0); i != -1; i = nextSetBit(
+				mCatalog, i + 1)) {
+			final int group = mComponentGroup[i];
+			final long[] domain = mDomains[i];
+			for (int j = nextSetBit(domain, 0); j != -1; j = nextSetBit(domain,
+					j + 1)) {
+				final int state = mGroupGlobalStates[group][j];
+				setBit(mRuleComponents[state], i);
+				mRuleComponentCount[state]++;
 			}
 		}
 
-		// verwende jetzt den temporaeren Buffer als Ausgangspunkt fuer die
-		// Erzeugung des inversen Katalogs
-		Iterator<ComponentState> ruleIter = tempBuffer.keySet().iterator();
-		RuleApplication applicationInst = null;
-
-		mInverseCatalog = new HashMap<RuleType, List<RuleApplication>>();
-		List<RuleApplication> ruleApplicationList = null;
-		while (ruleIter.hasNext()) {
-			curRule = ruleIter.next();
-			// erzeuge fuer jede Regel eine RuleApplication-Instanz
-			applicationInst = new RuleApplication(curRule,
-					tempBuffer.get(curRule));
-
-			// wurde fuer den aktuellen Regeltyp bereits eine Liste im Katalog
-			// erstellt
-			ruleApplicationList = mInverseCatalog.get(applicationInst
-					.getRuleType());
-			if (ruleApplicationList == null) {
-				ruleApplicationList = new ArrayList<RuleApplication>();
-				mInverseCatalog.put(applicationInst.getRuleType(),
-						ruleApplicationList);
+		// Regeln mit Komponenten nach Typ gruppieren, die Reihenfolge je Typ
+		// entspricht der Iterationsreihenfolge einer nach Regeln indizierten
+		// HashMap und bestimmt die Wahl der Startregel
+		final Map<ComponentState, Integer> ruleBuffer = new HashMap<ComponentState, Integer>();
+		for (int s = 0; s < mStates.length; s++) {
+			if (mRuleComponentCount[s] > 0)
+				ruleBuffer.put(mStates[s], s);
+		}
+
+		final Map<RuleType, List<Integer>> rulesByType = new HashMap<RuleType, List<Integer>>();
+		for (Integer state : ruleBuffer.values()) {
+			final RuleType type = mStates[state].getRuleType();
+			List<Integer> typeRules = rulesByType.get(type);
+			if (typeRules == null) {
+				typeRules = new ArrayList<Integer>();
+				rulesByType.put(type, typeRules);
 			}
-			ruleApplicationList.add(applicationInst);
+			typeRules.add(state);
 		}
 
-		// Testausgabe
-		/*
-		 * Iterator<RuleType> ruleTypeIter =
-		 * mInverseCatalog.keySet().iterator(); RuleType curRuleType = null;
-		 * while(ruleTypeIter.hasNext()) { curRuleType = ruleTypeIter.next();
-		 * LOGGER.info(curRuleType + ": " +
-		 * mInverseCatalog.get(curRuleType).size() + " Regeln"); }
-		 */
+		mRulesByType = new HashMap<RuleType, int[]>();
+		for (Map.Entry<RuleType, List<Integer>> entry : rulesByType.entrySet()) {
+			final int[] typeRules = new int[entry.getValue().size()];
+			for (int i = 0; i < typeRules.length; i++)
+				typeRules[i] = entry.getValue().get(i);
+			mRulesByType.put(entry.getKey(), typeRules);
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode liefert die erste Regel des uebergebenen Typs, die noch auf
+	 * mindestens eine Komponente angewendet werden kann
+	 *
+	 * @param type
+	 *            Regeltyp
+	 * @return Globaler Regelindex oder -1, falls keine solche Regel existiert
+	 */
+	private int getFirstRule(final RuleType type) {
+		final int[] typeRules = mRulesByType.get(type);
+		if (typeRules != null) {
+			for (int rule : typeRules) {
+				if (mRuleComponentCount[rule] > 0)
+					return rule;
+			}
+		}
+		LOGGER.error("Es existieren keine Startregeln fuer Komponententyp: "
+				+ type);
+		return -1;
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -617,58 +872,61 @@ public class SynthesisProcessing {
 	 */
 	public void compute() {
 
-		int maxNumberOfIterations = mCatalog.size() * 10;
+		int maxNumberOfIterations = mCatalogSize * 10;
 		int count = 0;
-		ModelSynthesisBaseGeometry curComp = null;
-		ComponentState curState = null;
+		int curComp = -1;
+		int curState = -1;
+
+		LOGGER.info("#Elemente: " + mCatalogSize);
 
-		// printFaceStates();
-		LOGGER.info("#Elemente: " + mCatalog.size());
+		while (mCatalogSize > 0 && count < maxNumberOfIterations) {
 
-		while (!mCatalog.isEmpty() && count < maxNumberOfIterations) {
+			// abgebrochene Kandidatenberechnungen beenden
+			if (Thread.currentThread().isInterrupted()) {
+				LOGGER.info("Berechnung wurde abgebrochen!");
+				break;
+			}
 
 			count++;
 			if ((count % 100) == 0)
 				LOGGER.info("Iteration: " + count + " max. Iteration: "
-						+ maxNumberOfIterations + " Katalog: "
-						+ mCatalog.size());
+						+ maxNumberOfIterations + " Katalog: " + mCatalogSize);
 
 			// Sonderverarbeitung fuer erstes positioniertes Element
 			if (firstStep) {
 
 				// waehle zunaechst eine Regel, die eine Ecke erzeugt aus dem
 				// inversen Katalog
-				List<RuleApplication> possibleStartRules = mInverseCatalog
-						.get(mSynthesisConfiguration.getFirstRuleType());
-
-				// waehle jetzt die erste passende Regel (kann auch noch
-				// zufallsbasiert erfolgen)
-				RuleApplication rule = possibleStartRules.get(0);
+				final int rule = getFirstRule(mSynthesisConfiguration
+						.getFirstRuleType());
+				if (rule == -1)
+					break;
 
 				// wenn zufallsbasiert gewaehlt werden soll, waehle zufaellig
 				// aus der Menge
 				if (mSynthesisConfiguration.getRandomComponentChoice())
-					curComp = rule.getComponents().get(
-							mRand.nextInt(rule.getComponents().size()));
+					curComp = nthSetBit(mRuleComponents[rule],
+							mRand.nextInt(mRuleComponentCount[rule]));
 				else
-					curComp = rule.getComponents().get(20);
+					curComp = nthSetBit(mRuleComponents[rule],
+							Math.min(20, mRuleComponentCount[rule] - 1));
 
-				curState = rule.getRule();
+				curState = rule;
 				firstStep = false;
 			} else {
 				curComp = chooseComponent(0);
-				if (curComp == null)
+				if (curComp == -1)
 					continue;
 
 				curState = chooseState(curComp);
-				if (curState == null)
+				if (curState == -1)
 					continue;
 			}
 
 			// Status zuweisen, falls es sich um eine gueltige Zuweisung handelt
 			if (isStateAssignable(curComp, curState)) {
 				assignStateToComponent(curComp, curState);
-				removeAssignedState(curComp, curState);
+				removeComponentFromLists(curComp);
 			}
 
 			// sonst entferne die Statuszuweisung => wenn diese zu diesem
@@ -689,64 +947,54 @@ public class SynthesisProcessing {
 	/**
 	 * Methode ermittelt die naechste Komponente, fuer die eine Statuszuweisung
 	 * vorgenommen werden soll und gibt diese zurueck.
-	 * 
+	 *
 	 * @param nextIndex
 	 *            Wird ein schrittweises Vorgehen eingesetzt, wird der
 	 *            Uebergabeindex verwendet, um die Komponenten zu iterieren
-	 * @return Komponente, der im darauffolgenden Schritt ein Status zugewiesen
-	 *         wird
+	 * @return Index der Komponente, der im darauffolgenden Schritt ein Status
+	 *         zugewiesen wird, -1 falls keine Komponente gewaehlt werden kann
 	 */
-	private ModelSynthesisBaseGeometry chooseComponent(final int nextIndex) {
+	private int chooseComponent(final int nextIndex) {
 
 		// bei der Komponentenauswahl sollte fuer geschlossene Strukturen auf
 		// die zufallsbasierte Auswahl verzichtet werden
 		boolean useRand = mSynthesisConfiguration.getRandomComponentChoice();
-		ModelSynthesisBaseGeometry curComp = null;
+		int curComp = -1;
 
 		// versuche zuerst, Komponenten aus der Liste der bereits angefassten
 		// Komponenten zu waehlen
-		if (mTouchedComponents.size() > 0) {
-			ModelSynthesisBaseGeometry[] curTouchedComponents = (ModelSynthesisBaseGeometry[]) mTouchedComponents
-					.toArray(new ModelSynthesisBaseGeometry[mTouchedComponents
-							.size()]);
-
-			// wenn eine Komponente in direkter Nachbarschaft gefunden wird,
-			// verwende diese
-			if (nextIndex < mTouchedComponents.size()) {
-				curComp = curTouchedComponents[nextIndex];
-				return curComp;
-			}
-		}
+		// wenn eine Komponente in direkter Nachbarschaft gefunden wird,
+		// verwende diese
+		if (nextIndex < mTouchedComponents.size())
+			return mTouchedComponents.get(nextIndex);
 
 		// sonst waehle Komponenten aus dem Katalog aus
-		// hole die Keys als Array => dadurch kann man ueber Indices auf sie
-		// zugreifen
-		final ModelSynthesisBaseGeometry[] curKeys = (ModelSynthesisBaseGeometry[]) mCatalog
-				.keySet().toArray(
-						new ModelSynthesisBaseGeometry[mCatalog.size()]);
+		if (mCatalogSize == 0) {
+			LOGGER.error("Es konnte kein Assignment gefunden werden!");
+			return -1;
+		}
 
 		// wenn das Verfahren deterministisch arbeiten soll, nehme immer das
 		// jeweils naechste Element
 		if (!useRand) {
-			if (nextIndex >= curKeys.length) {
+			if (nextIndex >= mCatalogSize) {
 				LOGGER.error("Es konnte kein Assignment gefunden werden!");
-				return null;
+				return -1;
 			}
-			curComp = curKeys[nextIndex];
+			curComp = nthSetBit(mCatalog, nextIndex);
 		}
 		// sonst waehle zufallsbasiert
 		else {
-			curComp = curKeys[mRand.nextInt(curKeys.length)];
+			curComp = nthSetBit(mCatalog, mRand.nextInt(mCatalogSize));
 		}
 
 		// wenn nur ein bestimmter Komponententyp verwendet werden darf (Kante
 		// oder Vertex), teste, ob die Auswahl mit dieser Konfiguration
 		// kompatibel ist
-		if (mUseOnlyRayComponents && !(curComp instanceof RayWrapper))
-			return null;
-		else if (mUseOnlyVertexComponents
-				&& !(curComp instanceof VertexWrapper))
-			return null;
+		if (mUseOnlyRayComponents && !mIsRay[curComp])
+			return -1;
+		else if (mUseOnlyVertexComponents && mIsRay[curComp])
+			return -1;
 
 		LOGGER.warn("Gewaehlte Komponente stammt nicht aus der Liste bereits angefasster Komponenten!");
 		return curComp;
@@ -756,34 +1004,75 @@ public class SynthesisProcessing {
 	/**
 	 * Methode dient der Auswahl eines Status, der der uebergebenen Komponente
 	 * zugewiesen wird
-	 * 
+	 *
 	 * @param component
-	 * @return
+	 *            Index der Komponente
+	 * @return Globaler Index des gewaehlten Status, -1 falls kein Status
+	 *         gewaehlt werden kann
 	 */
-	private ComponentState chooseState(
-			final ModelSynthesisBaseGeometry component) {
+	private int chooseState(final int component) {
 
+		final ModelSynthesisBaseGeometry curComp = mComponents[component];
 		boolean useRand = mSynthesisConfiguration.getRandomStateChoice();
-		List<ComponentState> curAssignments = mCatalog.get(component);
-		if (curAssignments == null) {
-			LOGGER.error("Keine Zuweisungen fuer Komponente "
-					+ component.getID() + " Typ: "
-					+ component.getClass().getSimpleName());
-			// mTouchedComponents.remove(component);
+		if (!isInCatalog(component)) {
+			LOGGER.error("Keine Zuweisungen fuer Komponente " + curComp.getID()
+					+ " Typ: " + curComp.getClass().getSimpleName());
 			removeComponentFromLists(component);
-			return null;
+			return -1;
 		}
+		final List<ComponentState> curAssignments = getDomainStates(component);
+
+		ComponentState result = null;
 
 		// soll versucht werden, geschlossene Strukturen zu entwickeln?
 		if (mUseConsistencyConstraint) {
-			if (component instanceof RayWrapper)
-				return chooseConsistentStateForRay((RayWrapper) component,
+			if (curComp instanceof RayWrapper)
+				result = chooseConsistentStateForRay((RayWrapper) curComp,
 						useRand, curAssignments);
 			else
-				return chooseConsistentStateForVertex(
-						(VertexWrapper) component, useRand, curAssignments);
+				result = chooseConsistentStateForVertex(
+						(VertexWrapper) curComp, useRand, curAssignments);
 		} else
-			return makeSimpleChoice(curAssignments, useRand);
+			result = makeSimpleChoice(curAssignments, useRand);
+
+		return mGroupGlobalStates[mComponentGroup[component]][indexOfState(
+				component, result)];
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param component
+	 *            Index der Komponente
+	 * @return Liste mit allen noch moeglichen Zuweisungen der Komponente in der
+	 *         Reihenfolge der Regelliste ihres Labels
+	 */
+	private List<ComponentState> getDomainStates(final int component) {
+		final ComponentState[] groupStates = mGroupStates[mComponentGroup[component]];
+		final long[] domain = mDomains[component];
+		final List<ComponentState> result = new ArrayList<ComponentState>(
+				bitCount(domain));
+		for (int i = nextSetBit(domain, 0); i != -1; i = nextSetBit(domain,
+				i + 1))
+			result.add(groupStates[i]);
+		return result;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Lokaler Index des uebergebenen Status innerhalb der Domaene der
+	 *         Komponente
+	 */
+	private int indexOfState(final int component, final ComponentState state) {
+		final ComponentState[] groupStates = mGroupStates[mComponentGroup[component]];
+		final long[] domain = mDomains[component];
+		for (int i = nextSetBit(domain, 0); i != -1; i = nextSetBit(domain,
+				i + 1)) {
+			if (groupStates[i] == state)
+				return i;
+		}
+		assert false : "FEHLER: Status " + state
+				+ " ist nicht Teil der Domaene!";
+		return -1;
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -1066,94 +1355,82 @@ public class SynthesisProcessing {
 	 * uebergebenen Status zuzuweisen, indem geprueft wird, ob die
 	 * Statuszuweisungen mit den Statuszuweisungen der adjazenten Komponenten
 	 * kompatibel sind.
-	 * 
-	 * @param curComp
+	 *
+	 * @param component
 	 *            Komponente, fuer die eine Zuweisung vorgenommen wird
-	 * @param curState
-	 *            Status, der zugewiesen wird
+	 * @param state
+	 *            Globaler Index des Status, der zugewiesen wird
 	 * @return True, falls die Zuweisung moeglich ist, false sonst
 	 */
-	private boolean isStateAssignable(final ModelSynthesisBaseGeometry curComp,
-			final ComponentState curState) {
+	private boolean isStateAssignable(final int component, final int state) {
 
-		// hole alle adjazenten Faces der aktuellen Komponente
-		Set<Face> adjacentFaces = curComp.getAdjacentFaces();
+		final int[] faces = mComponentFaces[component];
+		final int[] positions = mComponentFacePositions[component];
 
-		Iterator<Face> faceIter = adjacentFaces.iterator();
-		Face curFace = null;
-		FacePosition facePosition = null;
-		State stateToAssign = null;
-
-		while (faceIter.hasNext()) {
-			curFace = faceIter.next();
+		for (int i = 0; i < faces.length; i++) {
 
 			// ermittle den Index des Faces in Bezug auf die aktuelle Komponente
-			facePosition = curComp.getFacePosition(curFace);
-			if (facePosition == null) {
+			if (positions[i] == -1) {
 				LOGGER.error("Das verarbeitete Face ist nicht adjazent zur verarbeiteten Komponente.");
 				return false;
 			}
-			assert facePosition != null : "FEHLER: Ungueltiges Face!";
 
 			// und hole den Status, der diesem Face zugewiesen werden soll
-			stateToAssign = curState.getAssignmentByIndex(facePosition);
-
-			// LOGGER.info("Teste Zuweisung: " + stateToAssign + " zu Face " +
-			// curFace.getID() + " auf Position " + facePosition);
+			final int stateToAssign = getStateValue(mStates[state]
+					.getAssignmentByIndex(FacePosition.values()[positions[i]]));
 
 			// sobald ein Face gefunden wurde, fuer das die Zuweisung
 			// inkompatibel ist, breche ab
-			if (!isStateAssignableToFace(curFace, stateToAssign)) {
+			if (!isStateAssignableToFace(faces[i], stateToAssign)) {
 				LOGGER.trace("Status " + stateToAssign + " konnte Face "
-						+ curFace.getID() + " nicht zugewiesen werden!");
+						+ mFaces[faces[i]].getID() + " nicht zugewiesen werden!");
 				return false;
 			}
 		}
 
 		// die Zuweisung ist fuer alle adjazenten Faces gueltig
 		return true;
-
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Methode prueft, ob der uebergebene Status dem uebergebenen Face
-	 * zugewiesen werden kann. Dafuer wird geprueft, ob die Zuweisung kompatibel
-	 * zu den Zuweisungen der adjazenten Komponenten ist
-	 * 
+	 * zugewiesen werden kann. Dafuer wird fuer jede adjazente Komponente
+	 * geprueft, ob ihre Domaene mindestens eine Regel enthaelt, die dem Face
+	 * den Status zuweist
+	 *
 	 * @param face
-	 *            Face, dem ein Status zugewiesen werden soll
+	 *            Index des Faces, dem ein Status zugewiesen werden soll
 	 * @param state
-	 *            Status
+	 *            Statuswert (Ordinalwert oder NO_STATE)
 	 * @return True, falls die Zuweisung moeglich ist, False sonst
 	 */
-	private boolean isStateAssignableToFace(final Face face, final State state) {
-
-		assert face != null : "FEHLER: Uebergebenes Face ist null!";
+	private boolean isStateAssignableToFace(final int face, final int state) {
 
-		Set<ModelSynthesisBaseGeometry> adjacentComponents = mFaceConnectivities
-				.get(face);
-		assert adjacentComponents != null : "FEHLER: Fuer das Face "
-				+ face.getID() + " existieren keine adjazenten Komponenten!";
+		final int[] adjacentComponents = mFaceComponents[face];
+		final int[] positions = mFaceComponentPositions[face];
 
-		// sonst durchlaufe alle Komponenten und pruefe, ob die Zuweisung
-		// funktioniert
-		ModelSynthesisBaseGeometry curComp = null;
-		Iterator<ModelSynthesisBaseGeometry> adjIter = adjacentComponents
-				.iterator();
+		for (int i = 0; i < adjacentComponents.length; i++) {
+			final int curComp = adjacentComponents[i];
 
-		// LOGGER.info("Teste adjazente Komnponenten fuer Face " +
-		// face.getID());
-		while (adjIter.hasNext()) {
-			curComp = adjIter.next();
+			// wenn sich die angefragte Komponente nicht mehr im Katalog
+			// befindet, wurde sie in einem vorherigen Durchlauf bereits gesetzt
+			if (!isInCatalog(curComp))
+				continue;
 
-			// LOGGER.info("Komponente: " + curComp.getClass().getSimpleName() +
-			// ": " + curComp.getID());
+			if (positions[i] == -1) {
+				LOGGER.error("Es konnte keine Position fuer das Face "
+						+ mFaces[face].getID() + " in Komponente "
+						+ mComponents[curComp].getID() + " ermittelt werden!");
+				return false;
+			}
 
 			// sobald eine inkompatible Komponente gefunden wird, breche ab
-			if (!isStateAssignableToComponent(curComp, face, state)) {
-				LOGGER.trace("Status " + state + " konnte Face " + face.getID()
-						+ " fuer Komponente " + curComp.getID()
+			if (!intersects(mDomains[curComp],
+					mGroupMasks[mComponentGroup[curComp]][positions[i]][state])) {
+				LOGGER.trace("Status " + state + " konnte Face "
+						+ mFaces[face].getID() + " fuer Komponente "
+						+ mComponents[curComp].getID()
 						+ " nicht zugewiesen werden!");
 				return false;
 			}
@@ -1161,131 +1438,47 @@ public class SynthesisProcessing {
 
 		// alle Komponenten besitzen kompatible Zuweisungen
 		return true;
-
-	}
-
-	// ------------------------------------------------------------------------------------------
-	/**
-	 * Methode prueft, ob es in Bezug auf die Komponentenzuweisungen der
-	 * uebergebenen Komponente moeglich ist, dem uebergebenen Face den
-	 * uebergebenen Status zuzuweisen
-	 * 
-	 * @param comp
-	 *            Komponente, fuer die die Zuweisung geprueft werden soll
-	 * @param face
-	 *            Face, das assigned werden soll
-	 * @param state
-	 *            Status, der zugewiesen werden soll
-	 * @return True, falls die Zuweisung moeglich ist, False sonst
-	 */
-	private boolean isStateAssignableToComponent(
-			final ModelSynthesisBaseGeometry comp, final Face face,
-			final State state) {
-
-		// hole die fuer die Komponente moeglichen Zuweisungen
-		List<ComponentState> validStates = mCatalog.get(comp);
-
-		// wenn sich die angefragte Komponente nicht mehr im Katalog befindet,
-		// wurde sie in einem vorherigen Durchlauf bereits gesetzt
-		// durch das Durchreichen muesste es sich somit um eine gueltige
-		// Zuweisung handeln
-		if (validStates == null) {
-			LOGGER.trace("Komponente "
-					+ comp.getID()
-					+ " wurde aus dem Katalog entfernt. Zuweisung wird als gueltig aufgefasst!");
-			return true;
-		}
-
-		// hole den Index des Faces in Bezug auf die Komponente
-		FacePosition facePosition = comp.getFacePosition(face);
-		if (facePosition == null) {
-			LOGGER.error("Es konnte keine Position fuer das Face "
-					+ face.getID() + " in Komponente " + comp.getID()
-					+ " ermittelt werden!");
-			return false;
-		}
-
-		assert facePosition != null : "FEHLER: Es konnte keine Position fuer das Face "
-				+ face.getID()
-				+ " in Komponente "
-				+ comp.getID()
-				+ " ermittelt werden!";
-		LOGGER.trace("Teste Zuweisungen fuer Komponente: " + comp.getID());
-
-		// durchlaufe alle moeglichen Zuweisungen und pruefe, ob eine gueltige
-		// dabei ist
-		ComponentState curState = null;
-		for (int i = 0; i < validStates.size(); i++) {
-
-			// sobald eine gueltige Zuweisung gefunden wurde, breche ab
-			curState = validStates.get(i);
-
-			LOGGER.trace("CurState: " + curState);
-
-			if (curState.getAssignmentByIndex(facePosition) == state)
-				return true;
-		}
-		LOGGER.trace("Fuer Komponente: " + comp.getID()
-				+ " konnte keine kompatible Zuordnung gefunden werden!");
-		return false;
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Methode aktualisiert den Katalog fuer alle Komponenten, die adjazent zum
 	 * jeweiligen Face sind
-	 * 
+	 *
 	 * @param face
-	 *            Face, dem ein Status zugewiesen wurde
+	 *            Index des Faces, dem ein Status zugewiesen wurde
 	 */
-	private void updateNeighbourStates(final Face face) {
-
-		Set<ModelSynthesisBaseGeometry> adjacentComponents = mFaceConnectivities
-				.get(face);
-		assert adjacentComponents != null : "FEHLER: Fuer Face " + face.getID()
-				+ " existieren keine adjazenten Komponenten!";
+	private void updateNeighbourStates(final int face) {
 
-		// fuege saemtliche adjazenten Komponenten des aktuell verarbeiteten
-		// Faces zur Liste hinzun
-		Iterator<ModelSynthesisBaseGeometry> compIter = adjacentComponents
-				.iterator();
-		ModelSynthesisBaseGeometry curComp = null;
+		final int[] adjacentComponents = mFaceComponents[face];
+		final int[] positions = mFaceComponentPositions[face];
 
 		// wenn ein gleichmaessiges Wachstum angestrebt wird, adde die
 		// Komponenten zur Liste der angefassten Komponenten
 		if (!mUseRandomGrowth) {
-			while (compIter.hasNext()) {
-				curComp = compIter.next();
+			for (int curComp : adjacentComponents) {
 
 				// Kanten werden zur Liste geadded, wenn sie keine Randkanten
-				// sind
-				// und nicht nur Vertex-Komponenten verwendet werden sollen
-				if (curComp instanceof RayWrapper
-						&& curComp.getAdjacentFaces().size() == 2) {
-					if (!mUseOnlyVertexComponents
-							&& !mTouchedComponents.contains(curComp))
-						mTouchedComponents.add(curComp);
-				}
-
-				// analog fuer Vertexkomponenten
-				if (curComp instanceof VertexWrapper
-						&& curComp.getAdjacentFaces().size() == 4) {
-					if (!mUseOnlyRayComponents
-							&& !mTouchedComponents.contains(curComp))
+				// sind und nicht nur Vertex-Komponenten verwendet werden
+				// sollen, analog fuer Vertexkomponenten
+				if (mIsRay[curComp]) {
+					if (mComponentFaces[curComp].length == 2
+							&& !mUseOnlyVertexComponents)
 						mTouchedComponents.add(curComp);
+				} else if (mComponentFaces[curComp].length == 4
+						&& !mUseOnlyRayComponents) {
+					mTouchedComponents.add(curComp);
 				}
 			}
 		}
 
-		Iterator<ModelSynthesisBaseGeometry> adjacentCompIter = adjacentComponents
-				.iterator();
-
 		// durchlaufe alle adjazenten Komponenten und aktualisiere deren Status
-		while (adjacentCompIter.hasNext()) {
-			curComp = adjacentCompIter.next();
-			LOGGER.trace("Aktualisiere Komponente: " + curComp.getID()
-					+ " fuer Face: " + face.getID());
-			updateNeighbourStatesForComponent(curComp, face);
+		for (int i = 0; i < adjacentComponents.length; i++) {
+			LOGGER.trace("Aktualisiere Komponente: "
+					+ mComponents[adjacentComponents[i]].getID()
+					+ " fuer Face: " + mFaces[face].getID());
+			updateNeighbourStatesForComponent(adjacentComponents[i], face,
+					positions[i]);
 		}
 	}
 
@@ -1293,191 +1486,160 @@ public class SynthesisProcessing {
 	/**
 	 * Methode aktualisiert den Katalog fuer die aktuelle Komponente und
 	 * entfernt saemtliche Statuszuweisungen, die mit der vorherigen Zuweisung
-	 * inkompatibel sind
-	 * 
+	 * inkompatibel sind. Die Domaene wird dafuer mit der Maske der Regeln
+	 * geschnitten, die dem Face an seiner Position den gesetzten Status
+	 * zuweisen.
+	 *
 	 * @param component
 	 *            Komponente, fuer die das Update durchgefuehrt wird
 	 * @param face
 	 *            Face, dem ein Status zugewiesen wurde
+	 * @param position
+	 *            Position des Faces in Bezug auf die Komponente
 	 */
-	private void updateNeighbourStatesForComponent(
-			final ModelSynthesisBaseGeometry component, final Face face) {
-
-		LOGGER.trace("Aktualisiere Neighbour-States fuer Komponente "
-				+ component.getID());
+	private void updateNeighbourStatesForComponent(final int component,
+			final int face, final int position) {
 
 		// teste zunaechst, ob saemtliche adjazenten Faces der Komponente
 		// bereits gesetzt sind, in diesem Fall kann die Komponente aus allen
 		// Katalogen entfernt werden
-		Iterator<Face> adjacentFaceIter = component.getAdjacentFaces()
-				.iterator();
-		Face curFace = null;
-		boolean incomplete = false;
-		while (adjacentFaceIter.hasNext()) {
-			curFace = adjacentFaceIter.next();
-			if (curFace.getState() == State.UNDEFINED) {
-				incomplete = true;
-				break;
-			}
-		}
-
-		// wenn kein Face gefunden wurde, dem noch kein Face zugewiesen wurde,
-		// so ist die Komponente vollstaendig gesetzt und kann aus den Listen
-		// entfernt werden
-		if (!incomplete) {
+		if (isComplete(component)) {
 			removeComponentFromLists(component);
 			return;
 		}
 
-		// alle gueltigen Zustaende der Komponente holen
-		List<ComponentState> validCompStates = mCatalog.get(component);
-
 		// es kann vorkommen, dass eine Nachbarkomponente nicht mehr im Katalog
 		// auftaucht, also alle moeglichen Assignments fuer diese bereits
 		// entfernt wurden
 		// dieser Fall ist korrekt
-		if (validCompStates == null)
+		if (!isInCatalog(component))
+			return;
+
+		if (position == -1) {
+			LOGGER.error("Es konnte keine Position fuer das Face "
+					+ mFaces[face].getID() + " in Komponente "
+					+ mComponents[component].getID() + " ermittelt werden!");
 			return;
+		}
 
-		LOGGER.trace("Fuer Komponenten " + component.getID() + " existieren "
-				+ validCompStates.size() + " Zuweisungen.");
-		FacePosition facePos = component.getFacePosition(face);
-
-		// entferne alle Zuweisungen aus der Zuweisungsliste, die nicht mit der
-		// Facefestlegung kompatibel sind
-		Iterator<ComponentState> stateIter = validCompStates.iterator();
-		ComponentState curState = null;
-		while (stateIter.hasNext()) {
-			curState = stateIter.next();
-
-			// wenn das Statusassignment mit der Regel inkompatibel ist,
-			// entferne die Regel aus dem Katalog
-			if (curState.getAssignmentByIndex(facePos) != face.getState()) {
-				LOGGER.trace("Entferne Zuweisung " + curState.getID()
-						+ " fuer Komponente " + component.getID()
-						+ " aus dem Katalog!");
-
-				// Loesche den State im Katalog
-				stateIter.remove();
-
-				// entferne auch den Eintrag im inversen Katalog
-				removeComponentFromRuleInInverseCatalog(component, curState);
+		final int group = mComponentGroup[component];
+		final long[] domain = mDomains[component];
+		final long[] mask = mGroupMasks[group][position][getStateValue(mFaces[face]
+				.getState())];
+
+		// entferne alle Zuweisungen aus der Domaene, die nicht mit der
+		// Facefestlegung kompatibel sind, auch aus dem inversen Katalog
+		for (int word = 0; word < domain.length; word++) {
+			long removed = domain[word] & ~mask[word];
+			while (removed != 0) {
+				final int localState = (word << 6)
+						+ Long.numberOfTrailingZeros(removed);
+				removed &= removed - 1;
+				removeComponentFromRule(component,
+						mGroupGlobalStates[group][localState]);
 			}
+			domain[word] &= mask[word];
 		}
 
-		// wenn es keine gueltigen Zuweisungen mehr fuer den Strahl gibt,
-		// entferne ihn aus dem Katalog und aus der Liste der beruehrten
+		// wenn es keine gueltigen Zuweisungen mehr gibt, entferne die
+		// Komponente aus dem Katalog und aus der Liste der beruehrten
 		// Komponenten
-		if (validCompStates.isEmpty()) {
+		if (isEmpty(domain))
 			removeComponentFromLists(component);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param component
+	 *            Komponente
+	 * @return True, falls saemtlichen adjazenten Faces der Komponente bereits
+	 *         ein Status zugewiesen wurde
+	 */
+	private boolean isComplete(final int component) {
+		for (int face : mComponentFaces[component]) {
+			if (mFaces[face].getState() == State.UNDEFINED)
+				return false;
 		}
+		return true;
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Methode fuehrt die Statuszuweisung durch
-	 * 
-	 * @param comp
+	 *
+	 * @param component
 	 *            Komponente, der ein Status zugewiesen werden soll
 	 * @param state
-	 *            Zuzuweisender Status
+	 *            Globaler Index des zuzuweisenden Status
 	 */
-	private void assignStateToComponent(final ModelSynthesisBaseGeometry comp,
-			final ComponentState state) {
+	private void assignStateToComponent(final int component, final int state) {
+
+		final ComponentState rule = mStates[state];
+		LOGGER.debug("Assigne State " + rule.getID() + " zu Komponente "
+				+ mComponents[component].getID());
 
-		LOGGER.debug("Assigne State " + state.getID() + " zu Komponente "
-				+ comp.getID());
 		for (FacePosition curPos : FacePosition.values()) {
 
-			State curState = state.getAssignmentByIndex(curPos);
-			if (curState != null) {
-
-				Face curFace = comp.getFace(curPos);
-				if (curFace != null) {
-
-					if (curFace.getState() != State.UNDEFINED) {
-						assert curFace.getState() == curState : "FEHLER: Inkompatible Statuszuweisung! Position: "
-								+ curPos
-								+ ", Alter Status: "
-								+ curFace.getState()
-								+ ", Neuer Status: "
-								+ curState;
-					} else {
-						LOGGER.debug("Setze Face " + curFace.getID()
-								+ " auf State " + curState);
-						curFace.setState(curState);
-						updateNeighbourStates(curFace);
-					}
-				}
+			final State curState = rule.getAssignmentByIndex(curPos);
+			if (curState == null)
+				continue;
+
+			final int face = mComponentFaceByPosition[component][curPos
+					.ordinal()];
+			if (face == -1)
+				continue;
+
+			final Face curFace = mFaces[face];
+			if (curFace.getState() != State.UNDEFINED) {
+				assert curFace.getState() == curState : "FEHLER: Inkompatible Statuszuweisung! Position: "
+						+ curPos
+						+ ", Alter Status: "
+						+ curFace.getState()
+						+ ", Neuer Status: " + curState;
+			} else {
+				LOGGER.debug("Setze Face " + curFace.getID() + " auf State "
+						+ curState);
+				curFace.setState(curState);
+				updateNeighbourStates(face);
 			}
 		}
 
 		// wenn es sich bei der verarbeiteten Komponente um ein Vertex handelt,
 		// koennen saemtliche adjazenten Strahlen aus den Listen entfernt werden
 		// durch die Statezuweisungen sind deren adjazente Faces gesetzt
-		if (comp instanceof VertexWrapper) {
-			List<RayWrapper> rays = ((VertexWrapper) comp).getRays();
-			for (int i = 0; i < rays.size(); i++)
-				removeComponentFromLists(rays.get(i));
+		if (!mIsRay[component]) {
+			for (int ray : mComponentNeighbours[component])
+				removeComponentFromLists(ray);
 		} else {
 
 			// wenn es sich um einen Strahl handelt, kann fuer die beiden
-			// adjazenten Vertices getestet werden
-			// ob saemtliche Faces bereits festgelegt wurden. Wenn dies der Fall
-			// ist, koennen die Vertices ebenfalls geloescht werden
-			Set<ModelSynthesisBaseGeometry> adjacentComponents = comp
-					.getAdjacentComponents();
-			Iterator<ModelSynthesisBaseGeometry> compIter = adjacentComponents
-					.iterator();
-			ModelSynthesisBaseGeometry curComp = null;
-			Face curFace = null;
-			while (compIter.hasNext()) {
-				boolean complete = true;
-				curComp = compIter.next();
-				Set<Face> adjacentFaces = curComp.getAdjacentFaces();
-				Iterator<Face> faceIter = adjacentFaces.iterator();
-
-				// durchlaufe alle Faces des aktuellen Vertex
-				// wenn alle Faces gesetzt sind, kann das Vertex aus dem Katalog
-				// entfernt werden
-				while (faceIter.hasNext()) {
-					curFace = faceIter.next();
-					if (curFace.getState() == State.UNDEFINED) {
-						complete = false;
-						break;
-					}
-				}
-				// wenn alle Faces gesetzt sind, kann die Komponente aus dem
-				// Katalog entfernt werden
-				if (complete) {
+			// adjazenten Vertices getestet werden, ob saemtliche Faces bereits
+			// festgelegt wurden. Wenn dies der Fall ist, koennen die Vertices
+			// ebenfalls geloescht werden
+			for (int vertex : mComponentNeighbours[component]) {
+				if (isComplete(vertex)) {
 					LOGGER.debug("Entferne Komponente: "
-							+ curComp
+							+ mComponents[vertex]
 							+ " aus dem Katalog, da saemtliche adjazenten Faces gesetzt wurden!");
-					removeComponentFromLists(curComp);
+					removeComponentFromLists(vertex);
 				}
 			}
 		}
 
 		// verringere den Counter fuer die Anwendung der aktuell verarbeiteten
-		// Regel => Verarbeitung ist beschraenkt auf VertexWrapper-Instanzen
+		// Regel
 		decrementApplicationCount(state);
 
-		Integer numberOfApplications = mRuleSynthesisCounter.get(state
+		Integer numberOfApplications = mRuleSynthesisCounter.get(rule
 				.getRuleType());
 		if (numberOfApplications == null)
 			numberOfApplications = 1;
 		else
 			numberOfApplications++;
-		mRuleSynthesisCounter.put(state.getRuleType(), numberOfApplications);
-
-		// Zaehler erstmal rausnehmen
-		// if(comp instanceof VertexWrapper)
-		// decrementApplicationCount(state.getID());
-
+		mRuleSynthesisCounter.put(rule.getRuleType(), numberOfApplications);
 	}
 
 	// ------------------------------------------------------------------------------------------
-
 	/**
 	 * Methode berechnet den Rule-Application-Katalog, der fuer die Zaehlung der
 	 * Regelanwendungen verwendet wird. Die Haeufigkeitszuweisung basiert dabei
@@ -1498,43 +1660,38 @@ public class SynthesisProcessing {
 		ruleApplications.put(RuleType.INSIDE,
 				mSynthesisConfiguration.getInsideCount());
 
-		assert mInverseCatalog != null : "FEHLER: Der inverse Katalog wurde noch nicht berechnet!";
-
-		// verwende jetzt den inversen Katalog, um den Regelcounter zu berechnen
-		List<RuleApplication> ruleApplicationList = null;
-		Iterator<List<RuleApplication>> ruleListIter = mInverseCatalog.values()
-				.iterator();
-
-		RuleApplication curRule = null;
-		// durchlaufe alle Listen und lege fuer jede Regel einen Wert in der Map
-		// an
-		while (ruleListIter.hasNext()) {
-			ruleApplicationList = ruleListIter.next();
-			for (int i = 0; i < ruleApplicationList.size(); i++) {
-				curRule = ruleApplicationList.get(i);
-				mRuleApplicationCount.put(curRule.getRuleID(),
-						ruleApplications.get(curRule.getRuleType()));
-			}
+		assert mRuleComponents != null : "FEHLER: Der inverse Katalog wurde noch nicht berechnet!";
+
+		// nur Regeln, die auf mindestens eine Komponente anwendbar sind,
+		// erhalten einen Zaehler
+		mRuleApplicationCount = new Integer[mStates.length];
+		for (int s = 0; s < mStates.length; s++) {
+			if (mRuleComponentCount[s] > 0)
+				mRuleApplicationCount[s] = ruleApplications.get(mStates[s]
+						.getRuleType());
 		}
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Methode dekerementiert den Anwendungscounter fuer die Regel mit der
-	 * Uebergabe-ID. Sobald der Counter einer solchen Regel = 0 ist, wird sie
-	 * vollstaendig aus dem Katalog entfernt und kann somit nich mehr angewendet
-	 * werden
-	 * 
-	 * @param rule
-	 *            Regel, fuer die der Counter verringert wird
+	 * Methode dekerementiert den Anwendungscounter fuer die uebergebene Regel.
+	 * Sobald der Counter einer solchen Regel = 0 ist, wird sie vollstaendig
+	 * aus dem Katalog entfernt und kann somit nich mehr angewendet werden
+	 *
+	 * @param state
+	 *            Globaler Index der Regel, fuer die der Counter verringert wird
 	 */
-	private void decrementApplicationCount(final ComponentState rule) {
+	private void decrementApplicationCount(final int state) {
 
-		Integer count = mRuleApplicationCount.get(rule.getID());
-		final Integer ruleID = rule.getID();
-		assert count != null : "Fuer Regel " + rule.getID()
+		Integer count = mRuleApplicationCount[state];
+		assert count != null : "Fuer Regel " + mStates[state].getID()
 				+ " existiert kein Application-Counter!";
 		assert count != 0 : "Regel wurde angewendet, obwohl ihr Counter bereits auf 0 stand!";
+		if (count == null) {
+			LOGGER.error("Fuer Regel " + mStates[state].getID()
+					+ " existiert kein Application-Counter!");
+			return;
+		}
 
 		// dekrementiere
 		--count;
@@ -1542,95 +1699,150 @@ public class SynthesisProcessing {
 		if (count == 0) {
 
 			LOGGER.info("Entferne Regel "
-					+ ruleID
+					+ mStates[state].getID()
 					+ " aus dem Katalog, da die maximale Anzahl an Anwendungen ueberschritten wurde.");
 
-			// hole ueber den inversen Katalog eine Liste mit allen Komponenten,
-			// auf die die Regel anwendbar ist
-			List<RuleApplication> ruleApplications = mInverseCatalog.get(rule
-					.getRuleType());
-
-			assert ruleApplications != null : "FEHLER: Fuer den Regeltyp "
-					+ rule.getRuleType()
-					+ " existiert kein Eintrag im inversen Katalog!";
-
-			// bestimme die RuleApplication-Instanz, die diese Regel enthaelt
-			Iterator<RuleApplication> ruleIter = ruleApplications.iterator();
-			RuleApplication curRule = null;
-			while (ruleIter.hasNext()) {
-				curRule = ruleIter.next();
-				if (curRule.getRuleID() == rule.getID()) {
-
-					ModelSynthesisBaseGeometry curComp = null;
-
-					// durchlaufe alle Komponenten, auf die diese Regel
-					// anwendbar war
-					Iterator<ModelSynthesisBaseGeometry> compIter = curRule
-							.getComponents().iterator();
-
-					// durchlaufe alle Komponenten und entferne die Regel aus
-					// dem Hauptkatalog
-					while (compIter.hasNext()) {
-						curComp = compIter.next();
-
-						List<ComponentState> assignableStates = mCatalog
-								.get(curComp);
-
-						assert assignableStates != null : "FEHLER: Fuer Komponente "
-								+ curComp
-								+ " existieren keine moeglichen Zuweisungen mehr im Katalog!";
-						Iterator<ComponentState> stateIter = assignableStates
-								.iterator();
-
-						ComponentState curState = null;
-
-						// durchlaufe alle Regeln, die fuer die Komponente
-						// anwendbar sind und loesche die Uebergaberegel
-						while (stateIter.hasNext()) {
-							curState = stateIter.next();
-							if (curRule.getRuleID() == curState.getID()) {
-
-								LOGGER.debug("Entferne Regel "
-										+ curRule.getRuleID()
-										+ " aus der Liste der moeglichen Regeln fuer Komponente "
-										+ curComp.getID());
-								// State aus der Liste loeschen
-								stateIter.remove();
-								break;
-							}
-						}
-
-						// wenn nach dem Entfernen der Regel keine weiteren
-						// Regeln mehr fuer die Komponente im Katalog vorhanden
-						// sind
-						// loesche die Komponente aus dem Katalog
-						if (assignableStates.isEmpty()) {
-							LOGGER.debug("Entferne Komponente "
-									+ curComp.getID() + " aus dem Katalog.");
-							mCatalog.remove(curComp);
-						}
-
-						// Komponente aus der Regelliste loeschen
-						compIter.remove();
-					}
-
-					// RuleApplication-Instanz loeschen => die Regel kann nicht
-					// mehr
-					// amgewemdet werden
-					LOGGER.info("Loesche Regel " + curRule.getRuleID()
-							+ " aus dem inversen Katalog.");
-					ruleIter.remove();
-
-					// Schleife verlassen
-					break;
+			// durchlaufe alle Komponenten, auf die die Regel anwendbar war und
+			// entferne die Regel aus deren Domaene
+			final long[] components = mRuleComponents[state];
+			for (int i = nextSetBit(components, 0); i != -1; i = nextSetBit(
+					components, i + 1)) {
+				final int localState = mGroupLocalStates[mComponentGroup[i]][state];
+				LOGGER.debug("Entferne Regel " + mStates[state].getID()
+						+ " aus der Liste der moeglichen Regeln fuer Komponente "
+						+ mComponents[i].getID());
+				clearBit(mDomains[i], localState);
+
+				// wenn nach dem Entfernen der Regel keine weiteren Regeln mehr
+				// fuer die Komponente vorhanden sind, loesche die Komponente
+				// aus dem Katalog
+				if (isEmpty(mDomains[i])) {
+					LOGGER.debug("Entferne Komponente " + mComponents[i].getID()
+							+ " aus dem Katalog.");
+					removeFromCatalog(i);
 				}
 			}
 
+			// die Regel kann nicht mehr angewendet werden
+			LOGGER.info("Loesche Regel " + mStates[state].getID()
+					+ " aus dem inversen Katalog.");
+			Arrays.fill(components, 0L);
+			mRuleComponentCount[state] = 0;
 		} else {
-			mRuleApplicationCount.put(rule.getID(), count);
+			mRuleApplicationCount[state] = count;
 		}
 	}
 
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param component
+	 *            Komponente
+	 * @return True, falls fuer die Komponente noch Zuweisungen im Katalog
+	 *         existieren
+	 */
+	private boolean isInCatalog(final int component) {
+		return isSet(mCatalog, component);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Statuswert fuer die Indizierung der Masken
+	 */
+	private static int getStateValue(final State state) {
+		return state != null ? state.ordinal() : NO_STATE;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Anzahl der long-Werte fuer ein Bitset mit size Bits
+	 */
+	private static int numberOfWords(final int size) {
+		return (size + 63) >>> 6;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	private static void setBit(final long[] bits, final int index) {
+		bits[index >>> 6] |= 1L << index;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	private static void clearBit(final long[] bits, final int index) {
+		bits[index >>> 6] &= ~(1L << index);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	private static boolean isSet(final long[] bits, final int index) {
+		return (bits[index >>> 6] & (1L << index)) != 0;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	private static boolean isEmpty(final long[] bits) {
+		for (long word : bits) {
+			if (word != 0)
+				return false;
+		}
+		return true;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	private static int bitCount(final long[] bits) {
+		int count = 0;
+		for (long word : bits)
+			count += Long.bitCount(word);
+		return count;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return True, falls beide Bitsets mindestens ein gemeinsames Bit besitzen
+	 */
+	private static boolean intersects(final long[] first, final long[] second) {
+		for (int i = 0; i < first.length; i++) {
+			if ((first[i] & second[i]) != 0)
+				return true;
+		}
+		return false;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Index des ersten gesetzten Bits ab from, -1 falls keines
+	 *         existiert
+	 */
+	private static int nextSetBit(final long[] bits, final int from) {
+		int word = from >>> 6;
+		if (word >= bits.length)
+			return -1;
+		long current = bits[word] & (-1L << from);
+		while (true) {
+			if (current != 0)
+				return (word << 6) + Long.numberOfTrailingZeros(current);
+			if (++word == bits.length)
+				return -1;
+			current = bits[word];
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Index des n-ten gesetzten Bits (beginnend bei 0), -1 falls
+	 *         weniger Bits gesetzt sind
+	 */
+	private static int nthSetBit(final long[] bits, int n) {
+		for (int word = 0; word < bits.length; word++) {
+			long current = bits[word];
+			final int count = Long.bitCount(current);
+			if (n >= count) {
+				n -= count;
+				continue;
+			}
+			for (; n > 0; n--)
+				current &= current - 1;
+			return (word << 6) + Long.numberOfTrailingZeros(current);
+		}
+		return -1;
+	}
+
 	// ------------------------------------------------------------------------------------------
 
 	/**
@@ -1648,6 +1860,93 @@ public class SynthesisProcessing {
 
 	// ------------------------------------------------------------------------------------------
 
+	/**
+	 * Worklist der beruehrten Komponenten in Einfuegereihenfolge. Einfuegen,
+	 * Entfernen und Enthaltensein-Tests erfolgen ueber ein Positionsarray in
+	 * konstanter Zeit, entfernte Eintraege werden nur markiert und bei Bedarf
+	 * kompaktiert.
+	 */
+	private static class ComponentWorklist {
+
+		/** Eintraege in Einfuegereihenfolge, -1 fuer entfernte Eintraege */
+		private int[] mEntries = new int[64];
+
+		/** Anzahl der belegten Eintraege inklusive entfernter */
+		private int mEnd = 0;
+
+		/** Index des ersten moeglicherweise gueltigen Eintrags */
+		private int mHead = 0;
+
+		/** Anzahl der gueltigen Eintraege */
+		private int mSize = 0;
+
+		/** Position je Komponente in mEntries, -1 falls nicht enthalten */
+		private final int[] mPositions;
+
+		private ComponentWorklist(final int numberOfComponents) {
+			mPositions = new int[numberOfComponents];
+			Arrays.fill(mPositions, -1);
+		}
+
+		/** Fuegt die Komponente am Ende an, sofern sie nicht enthalten ist */
+		private void add(final int component) {
+			if (mPositions[component] != -1)
+				return;
+			if (mEnd == mEntries.length) {
+				if (mEnd - mSize > mSize)
+					compact();
+				else
+					mEntries = Arrays.copyOf(mEntries,
+							mEntries.length * 2);
+			}
+			mPositions[component] = mEnd;
+			mEntries[mEnd++] = component;
+			mSize++;
+		}
+
+		/** Entfernt die Komponente, sofern sie enthalten ist */
+		private void remove(final int component) {
+			final int position = mPositions[component];
+			if (position == -1)
+				return;
+			mEntries[position] = -1;
+			mPositions[component] = -1;
+			mSize--;
+			while (mHead < mEnd && mEntries[mHead] == -1)
+				mHead++;
+		}
+
+		/** @return Komponente an der index-ten gueltigen Position */
+		private int get(int index) {
+			for (int i = mHead; i < mEnd; i++) {
+				if (mEntries[i] != -1 && index-- == 0)
+					return mEntries[i];
+			}
+			throw new IndexOutOfBoundsException("Index: " + index);
+		}
+
+		/** @return Anzahl der enthaltenen Komponenten */
+		private int size() {
+			return mSize;
+		}
+
+		/** Entfernt alle markierten Eintraege */
+		private void compact() {
+			int target = 0;
+			for (int i = mHead; i < mEnd; i++) {
+				final int component = mEntries[i];
+				if (component == -1)
+					continue;
+				mPositions[component] = target;
+				mEntries[target++] = component;
+			}
+			mEnd = target;
+			mHead = 0;
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+
 	/**
 	 * @return the mRuleSynthesisCounter
 	 */
@@ -0,0 +1,29 @@
+package semantic.building.modeler.modelsynthesis.controller;
+
+import semantic.building.modeler.math.MyPolygon;
+
+/**
+ * Bewertungsfunktion fuer Ergebnisgrundrisse der Modellsynthese. Werden
+ * mehrere Kandidaten berechnet, entscheidet die Bewertung darueber, welche
+ * Grundrisse als Ergebnis geliefert werden.
+ * 
+ * @author Patrick Gunia
+ * 
+ */
+
+public interface FootprintScore {
+
+	/**
+	 * Methode bewertet einen berechneten Grundriss im Vergleich zum
+	 * Eingabepolygon. Die Methode wird aus mehreren Threads gleichzeitig
+	 * aufgerufen und darf darum keine veraenderlichen Zustaende besitzen.
+	 * 
+	 * @param footprint
+	 *            Berechneter Grundriss
+	 * @param inputPolygon
+	 *            Eingabepolygon der Synthese
+	 * @return Bewertung des Grundrisses, hoehere Werte sind besser
+	 */
+	public float computeScore(final MyPolygon footprint,
+			final MyPolygon inputPolygon);
+}
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -11,6 +12,13 @@ import java.util.Random;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.log4j.Logger;
 
@@ -129,6 +137,18 @@ public class ModelSynthesisController {
 	// MyVector3f baseVector = new MyVector3f(600.0f, 500.0f, 0.0f);
 	private static MyVector3f mBaseVector = new MyVector3f(0.0f, 0.0f, 0.0f);
 
+	/**
+	 * Zufallsgenerator fuer die Rasterberechnung und die Synthese, jeder
+	 * Kandidat verwendet einen eigenen Generator mit festem Startwert
+	 */
+	private transient Random mRand = new Random();
+
+	/** Bewertungsfunktion fuer die Auswahl der besten Kandidaten */
+	private transient FootprintScore mScore = null;
+
+	/** Bewertung des Ergebnisgrundrisses dieses Kandidaten */
+	private transient float mCandidateScore = -Float.MAX_VALUE;
+
 	// ------------------------------------------------------------------------------------------
 
 	/**
@@ -374,8 +394,31 @@ public class ModelSynthesisController {
 	 */
 	public ModelSynthesisController(final MyPolygon inputPoly,
 			final ExampleBasedFootprintConfiguration conf) {
+		this(inputPoly, conf, new ShapeSimilarityScore());
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+	/**
+	 * Konstruktor mit Uebergabe eines Eingabepolygons und einer
+	 * Bewertungsfunktion. Fordert die Konfiguration mehrere Kandidaten an,
+	 * werden diese mit unterschiedlichen Startwerten parallel berechnet und
+	 * anhand der Bewertungsfunktion sortiert
+	 * 
+	 * @param inputPoly
+	 *            Eingabepolygon
+	 * @param conf
+	 *            Konfigurationsobjekt mit Steuerparametern fuer die
+	 *            Modellsynthese
+	 * @param score
+	 *            Bewertungsfunktion fuer die berechneten Grundrisse
+	 */
+	public ModelSynthesisController(final MyPolygon inputPoly,
+			final ExampleBasedFootprintConfiguration conf,
+			final FootprintScore score) {
 		mInputPolygon = inputPoly;
 		mSynthesisConfiguration = conf;
+		mScore = score;
 
 		LOGGER.info("INPUT POLY CENTER: " + inputPoly.getCenter());
 
@@ -386,11 +429,51 @@ public class ModelSynthesisController {
 		// Vertices basierend auf dem Eingabepolygon
 		computeRules();
 
+		if (conf.getNumberOfCandidates() > 1) {
+			computeCandidates();
+		} else {
+			if (conf.getSeed() != null)
+				mRand = new Random(conf.getSeed());
+			synthesize();
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Konstruktor fuer einen einzelnen Kandidaten der Mehrfachsynthese.
+	 * Uebernimmt die aus dem Eingabepolygon abgeleiteten Strukturen, die
+	 * waehrend der Kandidatenberechnung nur gelesen werden
+	 * 
+	 * @param parent
+	 *            Controller, der die Regeln berechnet hat
+	 * @param seed
+	 *            Startwert des Zufallsgenerators fuer diesen Kandidaten
+	 */
+	private ModelSynthesisController(final ModelSynthesisController parent,
+			final long seed) {
+		mInputPolygon = parent.mInputPolygon;
+		mInputRays = parent.mInputRays;
+		mSynthesisConfiguration = parent.mSynthesisConfiguration;
+		mScore = parent.mScore;
+		mLabelToStatesMap = parent.mLabelToStatesMap;
+		mSlopeToLabel = parent.mSlopeToLabel;
+		mLabelToComponent = parent.mLabelToComponent;
+		mLabelToRay = parent.mLabelToRay;
+		mRand = new Random(seed);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode berechnet das Raster, fuehrt die Synthese darauf aus und
+	 * extrahiert die Ergebnisgrundrisse
+	 */
+	private void synthesize() {
+
 		// printEdgeStatistics();
 		initAlgorithmStructures();
 
 		processing = new SynthesisProcessing(mVertices, mRays,
-				mLabelToStatesMap, conf);
+				mLabelToStatesMap, mSynthesisConfiguration, mRand);
 		// processing.nextStep(0);
 
 		processing.compute();
@@ -398,7 +481,172 @@ public class ModelSynthesisController {
 		// berechne die Grundrisse basierend auf den berechneten Faces
 		createFootprints();
 		// testFacePoly();
+	}
 
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode berechnet die konfigurierte Anzahl von Kandidaten parallel. Der
+	 * Kandidat i verwendet den Startwert seed + i, ausgewaehlt werden die
+	 * ersten gueltigen Kandidaten in Indexreihenfolge, dadurch ist das
+	 * Ergebnis unabhaengig von der Ausfuehrungsreihenfolge der Threads. Sobald
+	 * diese feststehen, werden die noch laufenden Berechnungen abgebrochen.
+	 * Die Ergebnisse werden anschliessend anhand der Bewertungsfunktion
+	 * sortiert, der beste Kandidat liefert Raster und Ergebnisgrundriss
+	 * 
+	 * @throws IllegalStateException
+	 *             falls keiner der Kandidaten einen gueltigen Grundriss liefert
+	 */
+	private void computeCandidates() {
+
+		final int numberOfCandidates = mSynthesisConfiguration
+				.getNumberOfCandidates();
+		final int numberOfResults = Math.max(1,
+				Math.min(numberOfCandidates,
+						mSynthesisConfiguration.getNumberOfResults()));
+		int numberOfThreads = mSynthesisConfiguration.getNumberOfThreads();
+		if (numberOfThreads <= 0)
+			numberOfThreads = Runtime.getRuntime().availableProcessors();
+		numberOfThreads = Math.min(numberOfThreads, numberOfCandidates);
+
+		final long baseSeed = mSynthesisConfiguration.getSeed() != null ? mSynthesisConfiguration
+				.getSeed() : new Random().nextInt();
+
+		LOGGER.info("Berechne " + numberOfCandidates + " Kandidaten auf "
+				+ numberOfThreads + " Threads, Startwert: " + baseSeed);
+
+		final ExecutorService executor = Executors
+				.newFixedThreadPool(numberOfThreads);
+		final CompletionService<ModelSynthesisController> completion = new ExecutorCompletionService<ModelSynthesisController>(
+				executor);
+		final Map<Future<ModelSynthesisController>, Integer> futureToIndex = new HashMap<Future<ModelSynthesisController>, Integer>(
+				numberOfCandidates * 2);
+
+		final ModelSynthesisController[] candidates = new ModelSynthesisController[numberOfCandidates];
+		final boolean[] finished = new boolean[numberOfCandidates];
+		final List<ModelSynthesisController> validCandidates = new ArrayList<ModelSynthesisController>(
+				numberOfResults);
+
+		try {
+			for (int i = 0; i < numberOfCandidates; i++) {
+				final int index = i;
+				futureToIndex.put(
+						completion
+								.submit(new Callable<ModelSynthesisController>() {
+									@Override
+									public ModelSynthesisController call() {
+										return computeCandidate(index,
+												baseSeed + index);
+									}
+								}), index);
+			}
+
+			// Ergebnisse einsammeln, bis die ersten numberOfResults gueltigen
+			// Kandidaten in Indexreihenfolge feststehen
+			int prefix = 0;
+			while (prefix < numberOfCandidates
+					&& validCandidates.size() < numberOfResults) {
+
+				final Future<ModelSynthesisController> result = completion
+						.take();
+				final int index = futureToIndex.get(result);
+				try {
+					candidates[index] = result.get();
+				} catch (ExecutionException e) {
+					LOGGER.error("Kandidat " + index
+							+ " ist fehlgeschlagen: " + e.getCause());
+				}
+				finished[index] = true;
+
+				while (prefix < numberOfCandidates && finished[prefix]
+						&& validCandidates.size() < numberOfResults) {
+					if (candidates[prefix] != null)
+						validCandidates.add(candidates[prefix]);
+					prefix++;
+				}
+			}
+		} catch (InterruptedException e) {
+			LOGGER.error("Kandidatenberechnung wurde unterbrochen!");
+			Thread.currentThread().interrupt();
+		} finally {
+			for (Future<ModelSynthesisController> future : futureToIndex
+					.keySet()) {
+				future.cancel(true);
+			}
+			executor.shutdownNow();
+		}
+
+		LOGGER.info(validCandidates.size() + " gueltige Kandidaten berechnet.");
+		if (validCandidates.isEmpty()) {
+			final String message = "FEHLER: Keiner der " + numberOfCandidates
+					+ " Kandidaten lieferte einen gueltigen Grundriss, Startwert: "
+					+ baseSeed;
+			LOGGER.error(message);
+			throw new IllegalStateException(message);
+		}
+
+		// stabile Sortierung, gleich bewertete Kandidaten bleiben in
+		// Indexreihenfolge
+		Collections.sort(validCandidates,
+				new Comparator<ModelSynthesisController>() {
+					@Override
+					public int compare(ModelSynthesisController o1,
+							ModelSynthesisController o2) {
+						return Float.compare(o2.mCandidateScore,
+								o1.mCandidateScore);
+					}
+				});
+
+		mResultFootprints = new ArrayList<MyPolygon>(validCandidates.size());
+		for (ModelSynthesisController candidate : validCandidates) {
+			mResultFootprints.add(candidate.mResultFootprint);
+		}
+
+		final ModelSynthesisController best = validCandidates.get(0);
+		mResultFootprint = best.mResultFootprint;
+		mCandidateScore = best.mCandidateScore;
+		mVertices = best.mVertices;
+		mRays = best.mRays;
+		mParallelRays = best.mParallelRays;
+		mFaces = best.mFaces;
+		processing = best.processing;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode berechnet einen einzelnen Kandidaten und bewertet dessen
+	 * Ergebnisgrundriss
+	 * 
+	 * @param index
+	 *            Index des Kandidaten
+	 * @param seed
+	 *            Startwert des Zufallsgenerators
+	 * @return Kandidat oder null, falls die Berechnung fehlgeschlagen ist oder
+	 *         abgebrochen wurde
+	 */
+	private ModelSynthesisController computeCandidate(final int index,
+			final long seed) {
+
+		final ModelSynthesisController candidate = new ModelSynthesisController(
+				this, seed);
+		try {
+			candidate.synthesize();
+		} catch (AssertionError e) {
+			LOGGER.error("Kandidat " + index + " ist ungueltig: " + e);
+			return null;
+		} catch (RuntimeException e) {
+			LOGGER.error("Kandidat " + index + " ist fehlgeschlagen: " + e);
+			return null;
+		}
+
+		if (Thread.currentThread().isInterrupted()
+				|| candidate.mResultFootprint == null)
+			return null;
+
+		candidate.mCandidateScore = mScore.computeScore(
+				candidate.mResultFootprint, mInputPolygon);
+		LOGGER.info("Kandidat " + index + " (Startwert " + seed
+				+ "): Bewertung " + candidate.mCandidateScore);
+		return candidate;
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -619,7 +867,11 @@ public class ModelSynthesisController {
 	/**
 	 * Methode berechnet die Schnittpunkte der parallelen Strahlen, die fuer das
 	 * Ausgangspolygon ermittelt wurden und erzeugt dabei sowohl Vertices als
-	 * auch Kantensegmente zwischen diesen
+	 * auch Kantensegmente zwischen diesen. Strahlen mit gleichem Label sind
+	 * parallel und werden ebenso wie Paare mit disjunkten Bounding-Boxen vor
+	 * der eigentlichen Schnittberechnung verworfen. Die Reihenfolge der
+	 * verbleibenden Paare entspricht dem vollstaendigen Paarvergleich, so dass
+	 * IDs und Labels der erzeugten Vertices unveraendert bleiben
 	 * 
 	 * @param initialComputation
 	 *            Handelt es sich um den ersten Durchlauf zur Bestimmung der
@@ -641,16 +893,38 @@ public class ModelSynthesisController {
 
 		int numberOfIntersections = 0;
 
+		// Broad Phase: Label-Gruppen und Bounding-Boxen aller Strahlen
+		final int numberOfRays = mParallelRays.size();
+		final int[] labelGroups = new int[numberOfRays];
+		final float[] bounds = new float[numberOfRays * 6];
+		final Map<String, Integer> labelToGroup = new HashMap<String, Integer>();
+		for (int i = 0; i < numberOfRays; i++) {
+			currentWrRay = mParallelRays.get(i);
+			Integer group = labelToGroup.get(currentWrRay.getLabel());
+			if (group == null) {
+				group = labelToGroup.size();
+				labelToGroup.put(currentWrRay.getLabel(), group);
+			}
+			labelGroups[i] = group;
+			computeRayBounds(currentWrRay.getRay(), bounds, i * 6);
+		}
+
 		// berechne die Schnittpunkte, speichere diese in einer Liste fuer jeden
 		// vorhandenen Strahl
-		for (int i = 0; i < mParallelRays.size(); i++) {
+		for (int i = 0; i < numberOfRays; i++) {
 			currentWrRay = mParallelRays.get(i);
 
 			LOGGER.trace("Strahl: " + currentWrRay.getID() + ": "
 					+ currentWrRay.getRay());
 
 			currentStartRay = currentWrRay.getRay();
-			for (int j = i + 1; j < mParallelRays.size(); j++) {
+			for (int j = i + 1; j < numberOfRays; j++) {
+
+				// parallele Strahlen und Strahlen mit disjunkten
+				// Bounding-Boxen koennen sich nicht schneiden
+				if (labelGroups[i] == labelGroups[j]
+						|| !boundsOverlap(bounds, i * 6, j * 6))
+					continue;
 
 				currentWrTestRay = mParallelRays.get(j);
 				currentTestRay = currentWrTestRay.getRay();
@@ -702,18 +976,77 @@ public class ModelSynthesisController {
 		LOGGER.info("Es wurden " + numberOfIntersections
 				+ " Schnittpunkte berechnet.");
 
+		// Hash-Indices fuer die Duplikatsuche, bei mehrfach vorkommenden
+		// Eintraegen gilt wie bei List.indexOf() der erste
+		final Map<VertexWrapper, VertexWrapper> vertexIndex = new HashMap<VertexWrapper, VertexWrapper>(
+				(mVertices.size() + numberOfIntersections) * 2);
+		for (int i = 0; i < mVertices.size(); i++) {
+			if (!vertexIndex.containsKey(mVertices.get(i)))
+				vertexIndex.put(mVertices.get(i), mVertices.get(i));
+		}
+		final Set<RayWrapper> segmentIndex = new HashSet<RayWrapper>(mRays);
+
 		// erzeuge basierend auf den Schnittpunktlisten Strahlensegmente auf den
 		// Strahlen
 		Iterator<RayWrapper> rayIter = rayIntersections.keySet().iterator();
 		while (rayIter.hasNext()) {
 			currentWrRay = rayIter.next();
 			computeRaySegments(currentWrRay,
-					rayIntersections.get(currentWrRay), initialComputation);
+					rayIntersections.get(currentWrRay), initialComputation,
+					vertexIndex, segmentIndex);
 		}
 		LOGGER.info("Es wurden " + mVertices.size() + " Vertices und "
 				+ mRays.size() + " Strahlensegmente erzeugt!");
 	}
 
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode berechnet die um eine Toleranz erweiterte Bounding-Box eines
+	 * Strahlensegments. Die Toleranz deckt die Naeherung der Schnittberechnung
+	 * sowie die Rundung des Strahlparameters in isPointOnLineSegment() ab
+	 * 
+	 * @param ray
+	 *            Strahlensegment
+	 * @param bounds
+	 *            Zielarray, erhaelt min x, y, z und max x, y, z
+	 * @param offset
+	 *            Startposition im Zielarray
+	 */
+	private void computeRayBounds(final Ray ray, final float[] bounds,
+			final int offset) {
+
+		final MyVector3f start = ray.getStartPtr();
+		final MyVector3f end = ray.getEndPtr();
+		final float tolerance = 1.0f + ray.getLength() * 0.001f;
+
+		bounds[offset] = Math.min(start.x, end.x) - tolerance;
+		bounds[offset + 1] = Math.min(start.y, end.y) - tolerance;
+		bounds[offset + 2] = Math.min(start.z, end.z) - tolerance;
+		bounds[offset + 3] = Math.max(start.x, end.x) + tolerance;
+		bounds[offset + 4] = Math.max(start.y, end.y) + tolerance;
+		bounds[offset + 5] = Math.max(start.z, end.z) + tolerance;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param bounds
+	 *            Array mit den Bounding-Boxen aller Strahlen
+	 * @param offset1
+	 *            Startposition der ersten Box
+	 * @param offset2
+	 *            Startposition der zweiten Box
+	 * @return True, falls sich die beiden Bounding-Boxen ueberlappen
+	 */
+	private boolean boundsOverlap(final float[] bounds, final int offset1,
+			final int offset2) {
+		for (int axis = 0; axis < 3; axis++) {
+			if (bounds[offset1 + axis] > bounds[offset2 + axis + 3]
+					|| bounds[offset2 + axis] > bounds[offset1 + axis + 3])
+				return false;
+		}
+		return true;
+	}
+
 	// ------------------------------------------------------------------------------------------
 
 	/**
@@ -750,10 +1083,16 @@ public class ModelSynthesisController {
 	 * @param initialComputation
 	 *            Flag gibt an, ob es sich um den Regelberechnungsdurchlauf
 	 *            handelt
+	 * @param vertexIndex
+	 *            Hash-Index ueber mVertices fuer die Duplikatsuche
+	 * @param segmentIndex
+	 *            Hash-Index ueber mRays fuer die Duplikatsuche
 	 */
 	private void computeRaySegments(final RayWrapper ray,
 			final Set<IntersectionWrapper> intersections,
-			final boolean initialComputation) {
+			final boolean initialComputation,
+			final Map<VertexWrapper, VertexWrapper> vertexIndex,
+			final Set<RayWrapper> segmentIndex) {
 
 		assert ray != null : "FEHLER: Uebergebener Strahl ist null!";
 		assert intersections != null & !intersections.isEmpty() : "FEHLER: Keine Intersections uebergeben";
@@ -809,27 +1148,30 @@ public class ModelSynthesisController {
 			startVert = new VertexWrapper(State.UNDEFINED, intersectionHelpers
 					.get(i).getLabel(), new Vertex3d(currentIntersection));
 
-			int index = mVertices.indexOf(startVert);
-			if (index != -1) {
-				startVert = mVertices.get(index);
-			} else
+			VertexWrapper existing = vertexIndex.get(startVert);
+			if (existing != null) {
+				startVert = existing;
+			} else {
 				mVertices.add(startVert);
+				vertexIndex.put(startVert, startVert);
+			}
 
 			endVert = new VertexWrapper(State.UNDEFINED, intersectionHelpers
 					.get(i + 1).getLabel(), new Vertex3d(nextIntersection));
-			index = mVertices.indexOf(endVert);
-			if (index != -1) {
-				endVert = mVertices.get(index);
-
-			} else
+			existing = vertexIndex.get(endVert);
+			if (existing != null) {
+				endVert = existing;
+			} else {
 				mVertices.add(endVert);
+				vertexIndex.put(endVert, endVert);
+			}
 
 			// erzeuge ein Strahlensegment basierend auf den erzeugten Vertices
 			currentRayWrapper = new RayWrapper(State.UNDEFINED, ray.getLabel(),
 					startVert, endVert);
 
 			// teste, ob das Strahlensegment bereits vorkommt
-			if (!mRays.contains(currentRayWrapper))
+			if (segmentIndex.add(currentRayWrapper))
 				mRays.add(currentRayWrapper);
 			if (currentRayWrapper.getRay().getLength() == 0.0f) {
 				LOGGER.trace(i + ": Erzeuge Strahl: "
@@ -900,7 +1242,7 @@ public class ModelSynthesisController {
 			Iterator<String> labelIter = mLabelToRay.keySet().iterator();
 			String curLabel = null;
 			Ray jitteredRay = null, curRay = null;
-			Random rand = new Random();
+			Random rand = mRand;
 
 			// Basisvektor wird auf mit den zufallsbasierten Modifikationen
 			// kombiniert => dadurch erscheint das Koordinatensystem mittig
@@ -0,0 +1,98 @@
+package semantic.building.modeler.modelsynthesis.controller;
+
+import java.util.List;
+
+import semantic.building.modeler.math.MyPolygon;
+import semantic.building.modeler.math.MyVectormath;
+import semantic.building.modeler.math.Ray;
+
+/**
+ * Standardbewertung fuer Ergebnisgrundrisse. Verglichen werden die
+ * Kompaktheit (4 * PI * Flaeche / Umfang^2) und die Anzahl der Eckpunkte des
+ * Grundrisses mit denen des Eingabepolygons. Beide Masse sind
+ * skalierungsinvariant, die Bewertung liegt im Intervall [0, 1].
+ * 
+ * @author Patrick Gunia
+ * 
+ */
+
+public class ShapeSimilarityScore implements FootprintScore {
+
+	/** Gewichtung der Kompaktheit, die Eckpunktanzahl erhaelt den Rest */
+	private final float mCompactnessWeight;
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Standardkonstruktor, Kompaktheit und Eckpunktanzahl werden gleich
+	 * gewichtet
+	 */
+	public ShapeSimilarityScore() {
+		this(0.5f);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param compactnessWeight
+	 *            Gewichtung der Kompaktheit im Intervall [0, 1]
+	 */
+	public ShapeSimilarityScore(final float compactnessWeight) {
+		mCompactnessWeight = Math.max(0.0f, Math.min(1.0f, compactnessWeight));
+	}
+
+	// ------------------------------------------------------------------------------------------
+	@Override
+	public float computeScore(final MyPolygon footprint,
+			final MyPolygon inputPolygon) {
+
+		final float compactnessSimilarity = computeSimilarity(
+				computeCompactness(footprint), computeCompactness(inputPolygon));
+		final float vertexCountSimilarity = computeSimilarity(footprint
+				.getVertices().size(), inputPolygon.getVertices().size());
+
+		return mCompactnessWeight * compactnessSimilarity
+				+ (1.0f - mCompactnessWeight) * vertexCountSimilarity;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode berechnet die Kompaktheit eines Polygons, ein Kreis besitzt die
+	 * Kompaktheit 1
+	 * 
+	 * @param poly
+	 *            Polygon
+	 * @return Kompaktheit des Polygons, 0 bei degenerierten Polygonen
+	 */
+	private float computeCompactness(final MyPolygon poly) {
+
+		final List<Ray> rays = poly.getRays();
+		float perimeter = 0.0f;
+		for (Ray curRay : rays) {
+			perimeter += curRay.getLength();
+		}
+		if (perimeter <= 0.0f)
+			return 0.0f;
+
+		final float area = Math.abs(MyVectormath.getInstance()
+				.computePolygonArea(poly.getVertices()));
+		return (float) (4.0d * Math.PI * area / (perimeter * perimeter));
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param value1
+	 *            Erster Wert
+	 * @param value2
+	 *            Zweiter Wert
+	 * @return Relative Aehnlichkeit zweier nichtnegativer Werte im Intervall
+	 *         [0, 1]
+	 */
+	private float computeSimilarity(final float value1, final float value2) {
+		final float max = Math.max(value1, value2);
+		if (max <= 0.0f)
+			return 1.0f;
+		return 1.0f - Math.abs(value1 - value2) / max;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,810 @@
+package semantic.building.modeler.tesselation.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import semantic.building.modeler.math.Vertex3d;
+
+/**
+ *
+ * @author Patrick Gunia Klasse tesseliert beliebige planare Polygone mit
+ *         Loechern ohne OpenGL-Kontext. Die Konturen werden in die Ebene
+ *         projiziert, in der das Polygon die groesste Ausdehnung besitzt, ueber
+ *         die Odd-Winding-Rule in Umrisse und Loecher eingeteilt, Loecher
+ *         ueber Bruecken-Kanten in ihren Umriss eingehaengt und der so
+ *         entstandene einfache Polygonzug per Ear-Clipping in Dreiecke
+ *         zerlegt. Die Ergebnisdreiecke werden direkt als Indices in die
+ *         Eingabevertices erzeugt, neue Vertices entstehen nicht. Sich selbst
+ *         schneidende Konturen werden im Gegensatz zum GLU-Tesselator nicht
+ *         aufgeloest.
+ *
+ *         Eine Instanz haelt Arbeitspuffer, die zwischen Aufrufen
+ *         wiederverwendet werden, und darf darum nicht von mehreren Threads
+ *         gleichzeitig verwendet werden. getInstance() liefert jedem Thread
+ *         eine eigene Instanz, Aufrufe aus unterschiedlichen Threads sind
+ *         dadurch unabhaengig voneinander.
+ *
+ */
+
+public class PolygonTesselator {
+
+	/** Logging-Instanz */
+	private static Logger LOGGER = Logger.getLogger(PolygonTesselator.class);
+
+	/** Tesselator-Instanz je Thread */
+	private static final ThreadLocal<PolygonTesselator> mInstances = new ThreadLocal<PolygonTesselator>() {
+		@Override
+		protected PolygonTesselator initialValue() {
+			return new PolygonTesselator();
+		}
+	};
+
+	/** Toleranz fuer Flaechen- und Orientierungstests */
+	private static final double EPSILON = 1e-9;
+
+	/** projizierte x-Koordinaten aller Eingabevertices */
+	private double[] mX = new double[64];
+
+	/** projizierte y-Koordinaten aller Eingabevertices */
+	private double[] mY = new double[64];
+
+	/** Vertexindex je Knoten der verketteten Polygonliste */
+	private int[] mNodeVertex = new int[64];
+
+	/** Nachfolger je Knoten */
+	private int[] mNext = new int[64];
+
+	/** Vorgaenger je Knoten */
+	private int[] mPrev = new int[64];
+
+	/** Anzahl der belegten Knoten */
+	private int mNodeCount = 0;
+
+	/** Ergebnisindices, je 3 aufeinanderfolgende Indices bilden ein Dreieck */
+	private int[] mTriangles = new int[192];
+
+	/** Anzahl der belegten Ergebnisindices */
+	private int mTriangleIndexCount = 0;
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Leerer Default-Konstruktor
+	 */
+	public PolygonTesselator() {
+		super();
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Getter fuer die Instanz des aufrufenden Threads
+	 */
+	public static PolygonTesselator getInstance() {
+		return mInstances.get();
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode tesseliert ein durch mehrere Konturen beschriebenes Polygon.
+	 * Schnittstelle entspricht TesselationService.tesselate().
+	 *
+	 * @param polygons
+	 *            Liste mit Polygonkonturen, die zusammen ein Polygon
+	 *            beschreiben
+	 * @return Liste mit Vertices, die Dreiecksstrukturen beschreiben, je 3
+	 *         aufeinanderfolgende Vertices bilden ein Dreieck
+	 */
+	public List<Vertex3d> tesselate(final List<List<Vertex3d>> polygons) {
+
+		final int[] indices = tesselateToIndices(polygons);
+		final List<Vertex3d> result = new ArrayList<Vertex3d>(indices.length);
+
+		// Zuordnung der flachen Indices zu den Konturvertices
+		final List<Vertex3d> flatVertices = new ArrayList<Vertex3d>();
+		for (List<Vertex3d> contour : polygons) {
+			flatVertices.addAll(contour);
+		}
+
+		for (int index : indices) {
+			result.add(new Vertex3d(flatVertices.get(index).getPosition()));
+		}
+		return result;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode tesseliert einen einzelnen Polygonzug ohne Loecher. Schnittstelle
+	 * entspricht TesselationService.tesselateSingleContour().
+	 *
+	 * @param polygon
+	 *            Liste mit Vertices, die einen Polygonkantenzug beschreiben
+	 * @return Liste mit Vertices, die Dreiecksstrukturen beschreiben, je 3
+	 *         aufeinanderfolgende Vertices bilden ein Dreieck
+	 */
+	public List<Vertex3d> tesselateSingleContour(final List<Vertex3d> polygon) {
+		final List<List<Vertex3d>> contours = new ArrayList<List<Vertex3d>>(1);
+		contours.add(polygon);
+		return tesselate(contours);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode tesseliert ein durch mehrere Konturen beschriebenes Polygon und
+	 * liefert die Dreiecke als Indices. Die Indices beziehen sich auf die
+	 * Vertices aller Konturen in der uebergebenen Reihenfolge, also Kontur 0
+	 * beginnend bei Index 0, Kontur 1 im Anschluss usw. Die Dreiecke besitzen
+	 * die gleiche Umlaufrichtung wie der jeweilige aeussere Umriss.
+	 *
+	 * @param polygons
+	 *            Liste mit Polygonkonturen, die zusammen ein Polygon
+	 *            beschreiben
+	 * @return Array mit Vertexindices, je 3 aufeinanderfolgende Indices bilden
+	 *         ein Dreieck
+	 */
+	public int[] tesselateToIndices(final List<List<Vertex3d>> polygons) {
+
+		mTriangleIndexCount = 0;
+		mNodeCount = 0;
+
+		final int numberOfContours = polygons.size();
+		final int[] contourStart = new int[numberOfContours + 1];
+		int numberOfVertices = 0;
+		for (int i = 0; i < numberOfContours; i++) {
+			contourStart[i] = numberOfVertices;
+			numberOfVertices += polygons.get(i).size();
+		}
+		contourStart[numberOfContours] = numberOfVertices;
+
+		if (numberOfVertices < 3)
+			return new int[0];
+
+		if (!projectVertices(polygons, numberOfVertices))
+			return new int[0];
+
+		// Flaechen und Umlaufrichtung aller Konturen
+		final double[] areas = new double[numberOfContours];
+		for (int i = 0; i < numberOfContours; i++) {
+			areas[i] = computeSignedArea(contourStart[i], contourStart[i + 1]);
+		}
+
+		// Konturen wie beim GLU-Tesselator ueber die Odd-Winding-Rule in Umrisse
+		// und Loecher einteilen
+		final List<List<Integer>> groups = classifyContours(contourStart,
+				areas);
+
+		for (List<Integer> group : groups) {
+			tesselateGroup(group, contourStart, areas);
+		}
+
+		return Arrays.copyOf(mTriangles, mTriangleIndexCount);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode tesseliert mehrere voneinander unabhaengige Polygone nacheinander
+	 * mit den Arbeitspuffern dieser Instanz
+	 *
+	 * @param polygons
+	 *            Liste mit Polygonen, jedes Polygon wird durch seine Konturen
+	 *            beschrieben
+	 * @return Liste mit Indexarrays in der Reihenfolge der Eingabepolygone,
+	 *         Indices wie bei tesselateToIndices()
+	 */
+	public List<int[]> tesselateBatch(final List<List<List<Vertex3d>>> polygons) {
+		final List<int[]> result = new ArrayList<int[]>(polygons.size());
+		for (List<List<Vertex3d>> polygon : polygons) {
+			result.add(tesselateToIndices(polygon));
+		}
+		return result;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode projiziert alle Vertices in die Koordinatenebene, in der das
+	 * Polygon die groesste Ausdehnung besitzt. Die Normale wird ueber das
+	 * Newell-Verfahren bestimmt und ist dadurch robust gegen kollineare
+	 * Vertices.
+	 *
+	 * @param polygons
+	 *            Konturen des Polygons
+	 * @param numberOfVertices
+	 *            Gesamtzahl der Vertices aller Konturen
+	 * @return False, falls keine Normale bestimmt werden konnte
+	 */
+	private boolean projectVertices(final List<List<Vertex3d>> polygons,
+			final int numberOfVertices) {
+
+		double nx = 0.0, ny = 0.0, nz = 0.0;
+		for (List<Vertex3d> contour : polygons) {
+			final int size = contour.size();
+			for (int i = 0; i < size; i++) {
+				final Vertex3d current = contour.get(i);
+				final Vertex3d next = contour.get((i + 1) % size);
+				nx += (current.getY() - next.getY())
+						* (current.getZ() + next.getZ());
+				ny += (current.getZ() - next.getZ())
+						* (current.getX() + next.getX());
+				nz += (current.getX() - next.getX())
+						* (current.getY() + next.getY());
+			}
+		}
+
+		final double ax = Math.abs(nx), ay = Math.abs(ny), az = Math.abs(nz);
+		if (ax + ay + az < EPSILON) {
+			LOGGER.debug("Polygon besitzt keine Flaeche, Tesselation wird uebersprungen");
+			return false;
+		}
+
+		ensureVertexCapacity(numberOfVertices);
+
+		int index = 0;
+		for (List<Vertex3d> contour : polygons) {
+			for (Vertex3d vertex : contour) {
+				if (az >= ax && az >= ay) {
+					mX[index] = vertex.getX();
+					mY[index] = vertex.getY();
+				} else if (ax >= ay) {
+					mX[index] = vertex.getY();
+					mY[index] = vertex.getZ();
+				} else {
+					mX[index] = vertex.getZ();
+					mY[index] = vertex.getX();
+				}
+				index++;
+			}
+		}
+		return true;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode teilt die Konturen ueber die Odd-Winding-Rule in Gruppen
+	 * ein. Jede Gruppe besteht aus einem aeusseren Umriss (erster Eintrag) und
+	 * beliebig vielen Loechern. Konturen werden nach absteigender Flaeche
+	 * verarbeitet, die kleinste bereits verarbeitete Kontur, die eine Kontur
+	 * enthaelt, ist deren Elternkontur. Die Windungszahl innerhalb einer
+	 * Kontur ergibt sich aus der Windungszahl der Elternkontur plus der
+	 * eigenen Umlaufrichtung. Entsprechend der Standardeinstellung des
+	 * GLU-Tesselators ist eine Region bei ungerader Windungszahl gefuellt, ein
+	 * Loch mit gleicher Umlaufrichtung wie sein Umriss wird damit ebenfalls
+	 * ausgespart.
+	 *
+	 * @param contourStart
+	 *            Startindices der Konturen
+	 * @param areas
+	 *            Vorzeichenbehaftete Flaechen der Konturen
+	 * @return Liste mit Konturgruppen
+	 */
+	private List<List<Integer>> classifyContours(final int[] contourStart,
+			final double[] areas) {
+
+		final int numberOfContours = areas.length;
+		final List<Integer> order = new ArrayList<Integer>(numberOfContours);
+		for (int i = 0; i < numberOfContours; i++) {
+			if (Math.abs(areas[i]) > EPSILON)
+				order.add(i);
+		}
+		Collections.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(final Integer o1, final Integer o2) {
+				return Double.compare(Math.abs(areas[o2]), Math.abs(areas[o1]));
+			}
+		});
+
+		final List<List<Integer>> groups = new ArrayList<List<Integer>>();
+		final int[] winding = new int[numberOfContours];
+		final int[] groupIndex = new int[numberOfContours];
+		final List<Integer> processed = new ArrayList<Integer>(
+				numberOfContours);
+
+		for (Integer contour : order) {
+
+			// kleinste umschliessende Kontur suchen
+			int parent = -1;
+			for (int i = processed.size() - 1; i >= 0; i--) {
+				final int candidate = processed.get(i);
+				if (isPointInContour(contourStart[contour],
+						contourStart[candidate], contourStart[candidate + 1])) {
+					parent = candidate;
+					break;
+				}
+			}
+
+			final int parentWinding = parent == -1 ? 0 : winding[parent];
+			winding[contour] = parentWinding + (areas[contour] > 0 ? 1 : -1);
+
+			final boolean filled = winding[contour] % 2 != 0;
+			final boolean parentFilled = parentWinding % 2 != 0;
+
+			if (filled && !parentFilled) {
+				// neuer aeusserer Umriss
+				final List<Integer> group = new ArrayList<Integer>();
+				group.add(contour);
+				groupIndex[contour] = groups.size();
+				groups.add(group);
+			} else if (!filled && parentFilled) {
+				// Loch im Umriss der Elternkontur
+				groupIndex[contour] = groupIndex[parent];
+				groups.get(groupIndex[parent]).add(contour);
+			} else {
+				// Kontur aendert den Fuellzustand nicht
+				groupIndex[contour] = parent == -1 ? -1 : groupIndex[parent];
+			}
+			processed.add(contour);
+		}
+		return groups;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode tesseliert einen Umriss mit seinen Loechern
+	 *
+	 * @param group
+	 *            Konturindices, Umriss an erster Stelle
+	 * @param contourStart
+	 *            Startindices der Konturen
+	 * @param areas
+	 *            Vorzeichenbehaftete Flaechen der Konturen
+	 */
+	private void tesselateGroup(final List<Integer> group,
+			final int[] contourStart, final double[] areas) {
+
+		final int outline = group.get(0);
+		final boolean outlineCounterClockwise = areas[outline] > 0;
+
+		// Umriss gegen, Loecher im Uhrzeigersinn verketten
+		final int outerNode = createRing(contourStart[outline],
+				contourStart[outline + 1], !outlineCounterClockwise);
+		if (outerNode == -1)
+			return;
+
+		if (group.size() > 1) {
+			final List<Integer> holeNodes = new ArrayList<Integer>(
+					group.size() - 1);
+			for (int i = 1; i < group.size(); i++) {
+				final int hole = group.get(i);
+				final int holeNode = createRing(contourStart[hole],
+						contourStart[hole + 1], areas[hole] > 0);
+				if (holeNode != -1)
+					holeNodes.add(findMaxXNode(holeNode));
+			}
+
+			// Loecher nach absteigender maximaler x-Koordinate einhaengen,
+			// dadurch kann der Strahl nach rechts kein noch nicht
+			// eingehaengtes Loch kreuzen
+			Collections.sort(holeNodes, new Comparator<Integer>() {
+				@Override
+				public int compare(final Integer o1, final Integer o2) {
+					return Double.compare(x(o2), x(o1));
+				}
+			});
+			for (Integer holeNode : holeNodes) {
+				eliminateHole(holeNode, outerNode);
+			}
+		}
+
+		final int start = mTriangleIndexCount;
+		earClip(outerNode);
+
+		// Dreiecke in die Umlaufrichtung des Eingabeumrisses bringen
+		if (!outlineCounterClockwise) {
+			for (int i = start; i < mTriangleIndexCount; i += 3) {
+				final int swap = mTriangles[i + 1];
+				mTriangles[i + 1] = mTriangles[i + 2];
+				mTriangles[i + 2] = swap;
+			}
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode erzeugt einen zyklisch verketteten Ring aus den Vertices einer
+	 * Kontur. Aufeinanderfolgende identische Vertices werden uebersprungen.
+	 *
+	 * @param start
+	 *            Index des ersten Vertex
+	 * @param end
+	 *            Index hinter dem letzten Vertex
+	 * @param reverse
+	 *            True, falls die Kontur in umgekehrter Reihenfolge verkettet
+	 *            werden soll
+	 * @return Ein Knoten des Rings, -1 falls weniger als 3 Vertices verbleiben
+	 */
+	private int createRing(final int start, final int end,
+			final boolean reverse) {
+
+		int first = -1, last = -1, count = 0;
+		for (int i = 0; i < end - start; i++) {
+			final int vertex = reverse ? end - 1 - i : start + i;
+			if (last != -1 && equalPositions(mNodeVertex[last], vertex))
+				continue;
+			final int node = createNode(vertex);
+			if (last == -1) {
+				first = node;
+			} else {
+				mNext[last] = node;
+				mPrev[node] = last;
+			}
+			last = node;
+			count++;
+		}
+		if (count > 1 && equalPositions(mNodeVertex[first], mNodeVertex[last])) {
+			last = mPrev[last];
+			count--;
+		}
+		if (count < 3)
+			return -1;
+
+		mNext[last] = first;
+		mPrev[first] = last;
+		return first;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode haengt ein Loch ueber eine Brueckenkante in den Umriss ein. Vom
+	 * Lochvertex mit maximaler x-Koordinate wird ein Strahl in positive
+	 * x-Richtung geschossen, die erste getroffene Umrisskante liefert den
+	 * Brueckenpartner. Liegen Reflex-Vertices im Dreieck aus Lochvertex,
+	 * Treffpunkt und Partner, wird stattdessen das Reflex-Vertex mit dem
+	 * kleinsten Winkel zum Strahl verwendet.
+	 *
+	 * @param holeNode
+	 *            Lochknoten mit maximaler x-Koordinate
+	 * @param outerNode
+	 *            Ein Knoten des Umrisses
+	 */
+	private void eliminateHole(final int holeNode, final int outerNode) {
+
+		final double hx = x(holeNode), hy = y(holeNode);
+		double qx = Double.POSITIVE_INFINITY;
+		int bridge = -1;
+
+		int p = outerNode;
+		do {
+			final int q = mNext[p];
+			final double py = y(p), qy = y(q);
+			if ((py <= hy && qy >= hy || qy <= hy && py >= hy) && py != qy) {
+				final double ix = x(p) + (hy - py) * (x(q) - x(p)) / (qy - py);
+				if (ix >= hx && ix < qx) {
+					qx = ix;
+					bridge = x(p) > x(q) ? p : q;
+					if (ix == hx)
+						break;
+				}
+			}
+			p = q;
+		} while (p != outerNode);
+
+		if (bridge == -1) {
+			LOGGER.warn("Fuer ein Loch konnte keine Brueckenkante bestimmt werden, das Loch wird ignoriert");
+			return;
+		}
+
+		// Reflex-Vertices im Dreieck Lochvertex, Treffpunkt, Partner pruefen
+		final double bx = x(bridge), by = y(bridge);
+		double minTan = Double.POSITIVE_INFINITY;
+		final int stop = bridge;
+		p = bridge;
+		do {
+			final double px = x(p), py = y(p);
+			if (hx <= px && px <= bx && p != bridge) {
+				final boolean inside = hy < by ? isPointInTriangle(hx, hy, qx,
+						hy, bx, by, px, py) : isPointInTriangle(hx, hy, bx, by,
+						qx, hy, px, py);
+				if (inside && !isConvex(p)) {
+					final double tan = Math.abs(hy - py) / (px - hx);
+					if (tan < minTan || tan == minTan && px > x(bridge)) {
+						minTan = tan;
+						bridge = p;
+					}
+				}
+			}
+			p = mNext[p];
+		} while (p != stop);
+
+		splitRing(bridge, holeNode);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode verbindet zwei Ringe ueber eine doppelt durchlaufene Kante. Beide
+	 * Endknoten werden dupliziert.
+	 *
+	 * @param a
+	 *            Knoten des Umrisses
+	 * @param b
+	 *            Knoten des Lochs
+	 */
+	private void splitRing(final int a, final int b) {
+		final int a2 = createNode(mNodeVertex[a]);
+		final int b2 = createNode(mNodeVertex[b]);
+		final int an = mNext[a];
+		final int bp = mPrev[b];
+
+		mNext[a] = b;
+		mPrev[b] = a;
+
+		mNext[a2] = an;
+		mPrev[an] = a2;
+
+		mNext[b2] = a2;
+		mPrev[a2] = b2;
+
+		mNext[bp] = b2;
+		mPrev[b2] = bp;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Ear-Clipping auf einem gegen den Uhrzeigersinn verketteten Ring. Findet
+	 * ein vollstaendiger Umlauf kein Ohr (numerisch entartete Eingaben), wird
+	 * das naechste konvexe bzw. beliebige Vertex abgeschnitten, damit die
+	 * Verarbeitung in jedem Fall terminiert.
+	 *
+	 * @param startNode
+	 *            Ein Knoten des Rings
+	 */
+	private void earClip(final int startNode) {
+
+		int ear = startNode;
+		int remaining = countRing(startNode);
+		int stop = ear;
+		boolean force = false;
+
+		while (remaining > 3) {
+			final int prev = mPrev[ear];
+			final int next = mNext[ear];
+
+			if (force || isEar(ear)) {
+				addTriangle(mNodeVertex[prev], mNodeVertex[ear],
+						mNodeVertex[next]);
+
+				// Knoten entfernen
+				mNext[prev] = next;
+				mPrev[next] = prev;
+				remaining--;
+				force = false;
+
+				ear = next;
+				stop = next;
+				continue;
+			}
+
+			ear = next;
+			if (ear == stop) {
+				// kein Ohr gefunden => erzwinge den Fortschritt
+				LOGGER.debug("Ear-Clipping ohne gueltiges Ohr, erzwinge Schnitt");
+				ear = findConvexNode(ear);
+				force = true;
+			}
+		}
+
+		addTriangle(mNodeVertex[mPrev[ear]], mNodeVertex[ear],
+				mNodeVertex[mNext[ear]]);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode testet, ob der uebergebene Knoten ein Ohr bildet, also konvex
+	 * ist und kein anderes Vertex des Rings im Dreieck mit seinen Nachbarn
+	 * liegt
+	 *
+	 * @param node
+	 *            Testknoten
+	 * @return True, falls es sich um ein Ohr handelt
+	 */
+	private boolean isEar(final int node) {
+
+		if (!isConvex(node))
+			return false;
+
+		final int a = mPrev[node], c = mNext[node];
+		final double ax = x(a), ay = y(a), bx = x(node), by = y(node), cx = x(c), cy = y(c);
+
+		final double minX = Math.min(ax, Math.min(bx, cx));
+		final double minY = Math.min(ay, Math.min(by, cy));
+		final double maxX = Math.max(ax, Math.max(bx, cx));
+		final double maxY = Math.max(ay, Math.max(by, cy));
+
+		int p = mNext[c];
+		while (p != a) {
+			final double px = x(p), py = y(p);
+			if (px >= minX && px <= maxX && py >= minY && py <= maxY
+					&& !equalPositions(mNodeVertex[p], mNodeVertex[a])
+					&& !equalPositions(mNodeVertex[p], mNodeVertex[node])
+					&& !equalPositions(mNodeVertex[p], mNodeVertex[c])
+					&& isPointInTriangle(ax, ay, bx, by, cx, cy, px, py)
+					&& !isConvex(p))
+				return false;
+			p = mNext[p];
+		}
+		return true;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param node
+	 *            Testknoten
+	 * @return True, falls der Knoten im gegen den Uhrzeigersinn verketteten
+	 *         Ring konvex ist
+	 */
+	private boolean isConvex(final int node) {
+		final int a = mPrev[node], c = mNext[node];
+		return cross(x(a), y(a), x(node), y(node), x(c), y(c)) > EPSILON;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param startNode
+	 *            Startknoten der Suche
+	 * @return Erster konvexer Knoten ab dem Startknoten, sonst der Startknoten
+	 */
+	private int findConvexNode(final int startNode) {
+		int p = startNode;
+		do {
+			if (isConvex(p))
+				return p;
+			p = mNext[p];
+		} while (p != startNode);
+		return startNode;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param startNode
+	 *            Startknoten
+	 * @return Knoten mit maximaler x-Koordinate
+	 */
+	private int findMaxXNode(final int startNode) {
+		int result = startNode;
+		int p = mNext[startNode];
+		while (p != startNode) {
+			if (x(p) > x(result))
+				result = p;
+			p = mNext[p];
+		}
+		return result;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param startNode
+	 *            Startknoten
+	 * @return Anzahl der Knoten im Ring
+	 */
+	private int countRing(final int startNode) {
+		int count = 1;
+		int p = mNext[startNode];
+		while (p != startNode) {
+			count++;
+			p = mNext[p];
+		}
+		return count;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode testet ueber die Strahlmethode, ob sich das Vertex mit dem
+	 * uebergebenen Index innerhalb der Kontur befindet
+	 *
+	 * @param vertex
+	 *            Index des Testvertex
+	 * @param start
+	 *            Index des ersten Konturvertex
+	 * @param end
+	 *            Index hinter dem letzten Konturvertex
+	 * @return True, falls sich das Vertex innerhalb befindet
+	 */
+	private boolean isPointInContour(final int vertex, final int start,
+			final int end) {
+		final double px = mX[vertex], py = mY[vertex];
+		boolean inside = false;
+		for (int i = start, j = end - 1; i < end; j = i++) {
+			if ((mY[i] > py) != (mY[j] > py)
+					&& px < (mX[j] - mX[i]) * (py - mY[i]) / (mY[j] - mY[i])
+							+ mX[i])
+				inside = !inside;
+		}
+		return inside;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param start
+	 *            Index des ersten Konturvertex
+	 * @param end
+	 *            Index hinter dem letzten Konturvertex
+	 * @return Vorzeichenbehaftete Flaeche der Kontur, positiv fuer Konturen
+	 *         gegen den Uhrzeigersinn
+	 */
+	private double computeSignedArea(final int start, final int end) {
+		double area = 0.0;
+		for (int i = start, j = end - 1; i < end; j = i++) {
+			area += (mX[j] - mX[i]) * (mY[j] + mY[i]);
+		}
+		return area * 0.5;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Inklusiver Punkt-in-Dreieck-Test fuer ein Dreieck gegen den
+	 * Uhrzeigersinn
+	 */
+	private boolean isPointInTriangle(final double ax, final double ay,
+			final double bx, final double by, final double cx,
+			final double cy, final double px, final double py) {
+		return cross(ax, ay, bx, by, px, py) >= -EPSILON
+				&& cross(bx, by, cx, cy, px, py) >= -EPSILON
+				&& cross(cx, cy, ax, ay, px, py) >= -EPSILON;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return z-Komponente des Kreuzprodukts von (b - a) und (c - b)
+	 */
+	private double cross(final double ax, final double ay, final double bx,
+			final double by, final double cx, final double cy) {
+		return (bx - ax) * (cy - by) - (by - ay) * (cx - bx);
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+	private boolean equalPositions(final int vertexA, final int vertexB) {
+		return mX[vertexA] == mX[vertexB] && mY[vertexA] == mY[vertexB];
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+	private double x(final int node) {
+		return mX[mNodeVertex[node]];
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+	private double y(final int node) {
+		return mY[mNodeVertex[node]];
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+	private int createNode(final int vertex) {
+		if (mNodeCount == mNodeVertex.length) {
+			final int capacity = mNodeVertex.length * 2;
+			mNodeVertex = Arrays.copyOf(mNodeVertex, capacity);
+			mNext = Arrays.copyOf(mNext, capacity);
+			mPrev = Arrays.copyOf(mPrev, capacity);
+		}
+		mNodeVertex[mNodeCount] = vertex;
+		mNext[mNodeCount] = mNodeCount;
+		mPrev[mNodeCount] = mNodeCount;
+		return mNodeCount++;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+	private void addTriangle(final int a, final int b, final int c) {
+		if (mTriangleIndexCount + 3 > mTriangles.length)
+			mTriangles = Arrays.copyOf(mTriangles, mTriangles.length * 2);
+		mTriangles[mTriangleIndexCount++] = a;
+		mTriangles[mTriangleIndexCount++] = b;
+		mTriangles[mTriangleIndexCount++] = c;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+	private void ensureVertexCapacity(final int numberOfVertices) {
+		if (mX.length < numberOfVertices) {
+			final int capacity = Math.max(numberOfVertices, mX.length * 2);
+			mX = new double[capacity];
+			mY = new double[capacity];
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+}
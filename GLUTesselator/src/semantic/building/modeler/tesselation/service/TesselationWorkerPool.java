@@ -0,0 +1,258 @@
+package semantic.building.modeler.tesselation.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.log4j.Logger;
+
+import semantic.building.modeler.math.Vertex3d;
+
+/**
+ *
+ * @author Patrick Gunia Klasse verteilt Tesselationsarbeit auf mehrere Threads.
+ *         Jeder Worker verwendet ueber PolygonTesselator.getInstance() eigene
+ *         Arbeitspuffer, gemeinsame Zustaende zwischen den Aufgaben gibt es
+ *         nicht. Aufrufe aus einem Worker-Thread heraus (verschachtelte
+ *         Composite-Objekte) werden direkt im aufrufenden Thread berechnet,
+ *         damit sich der Pool nicht selbst blockiert.
+ *
+ */
+
+public class TesselationWorkerPool {
+
+	/** Logging-Instanz */
+	private static Logger LOGGER = Logger
+			.getLogger(TesselationWorkerPool.class);
+
+	/** Singleton-Instanz */
+	private static TesselationWorkerPool mInstance = null;
+
+	/** Anzahl der Worker-Threads */
+	private int mNumberOfThreads = Runtime.getRuntime().availableProcessors();
+
+	/** Thread-Pool, wird erst bei der ersten parallelen Ausfuehrung erzeugt */
+	private ExecutorService mExecutor = null;
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Versteckter Default-Konstruktor
+	 */
+	private TesselationWorkerPool() {
+		super();
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Singleton-Getter fuer Singleton-Instanz
+	 */
+	public static synchronized TesselationWorkerPool getInstance() {
+		if (mInstance == null)
+			mInstance = new TesselationWorkerPool();
+		return mInstance;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode setzt die Anzahl der Worker-Threads. Ein bereits laufender Pool
+	 * wird beendet und bei der naechsten Verwendung neu erzeugt. Bei Werten <=
+	 * 1 werden alle Aufgaben im aufrufenden Thread berechnet
+	 *
+	 * @param numberOfThreads
+	 *            Anzahl der Threads
+	 */
+	public synchronized void setNumberOfThreads(final int numberOfThreads) {
+		mNumberOfThreads = Math.max(1, numberOfThreads);
+		shutdown();
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Anzahl der Worker-Threads
+	 */
+	public synchronized int getNumberOfThreads() {
+		return mNumberOfThreads;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode tesseliert mehrere voneinander unabhaengige Polygone parallel
+	 *
+	 * @param polygons
+	 *            Liste mit Polygonen, jedes Polygon wird durch seine Konturen
+	 *            beschrieben
+	 * @return Liste mit Indexarrays in der Reihenfolge der Eingabepolygone,
+	 *         Indices wie bei PolygonTesselator.tesselateToIndices()
+	 */
+	public List<int[]> tesselate(final List<List<List<Vertex3d>>> polygons) {
+
+		if (!runsParallel(polygons.size()))
+			return PolygonTesselator.getInstance().tesselateBatch(polygons);
+
+		// Polygone in zusammenhaengende Bloecke je Thread aufteilen
+		final int numberOfBlocks = Math.min(getNumberOfThreads(),
+				polygons.size());
+		final List<Callable<List<int[]>>> tasks = new ArrayList<Callable<List<int[]>>>(
+				numberOfBlocks);
+		for (int i = 0; i < numberOfBlocks; i++) {
+			final List<List<List<Vertex3d>>> block = polygons.subList(i
+					* polygons.size() / numberOfBlocks, (i + 1)
+					* polygons.size() / numberOfBlocks);
+			tasks.add(new Callable<List<int[]>>() {
+				@Override
+				public List<int[]> call() {
+					return PolygonTesselator.getInstance().tesselateBatch(
+							block);
+				}
+			});
+		}
+
+		final List<int[]> result = new ArrayList<int[]>(polygons.size());
+		for (List<int[]> blockResult : invokeAll(tasks)) {
+			result.addAll(blockResult);
+		}
+		return result;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode fuehrt alle uebergebenen Aufgaben aus und kehrt erst zurueck,
+	 * wenn saemtliche Aufgaben beendet sind. Die Aufgaben duerfen keine
+	 * gemeinsamen Daten veraendern. Schlaegt eine Aufgabe fehl, wird der
+	 * Fehler der in der Liste zuerst stehenden fehlgeschlagenen Aufgabe
+	 * weitergereicht.
+	 *
+	 * @param tasks
+	 *            Liste mit unabhaengigen Aufgaben
+	 */
+	public void execute(final List<? extends Runnable> tasks) {
+
+		if (!runsParallel(tasks.size())) {
+			for (Runnable task : tasks) {
+				task.run();
+			}
+			return;
+		}
+
+		final List<Callable<Object>> callables = new ArrayList<Callable<Object>>(
+				tasks.size());
+		for (Runnable task : tasks) {
+			callables.add(Executors.callable(task));
+		}
+		invokeAll(callables);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode beendet den Thread-Pool, bei der naechsten parallelen
+	 * Verwendung wird ein neuer Pool erzeugt
+	 */
+	public synchronized void shutdown() {
+		if (mExecutor != null) {
+			mExecutor.shutdown();
+			mExecutor = null;
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param numberOfTasks
+	 *            Anzahl der zu berechnenden Aufgaben
+	 * @return True, falls die Aufgaben auf den Pool verteilt werden sollen
+	 */
+	private boolean runsParallel(final int numberOfTasks) {
+		return numberOfTasks > 1 && getNumberOfThreads() > 1
+				&& !(Thread.currentThread() instanceof WorkerThread);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode uebergibt alle Aufgaben an den Pool und wartet auf deren Ende
+	 *
+	 * @param tasks
+	 *            Aufgaben
+	 * @return Ergebnisse in der Reihenfolge der Aufgaben
+	 */
+	private <T> List<T> invokeAll(final List<Callable<T>> tasks) {
+
+		LOGGER.debug("Berechne " + tasks.size() + " Tesselationsaufgaben auf "
+				+ getNumberOfThreads() + " Threads");
+
+		final List<Future<T>> futures = new ArrayList<Future<T>>(tasks.size());
+		final ExecutorService executor = getExecutor();
+		for (Callable<T> task : tasks) {
+			futures.add(executor.submit(task));
+		}
+
+		// auf alle Aufgaben warten, bevor ein Fehler weitergereicht wird
+		final List<T> result = new ArrayList<T>(tasks.size());
+		Throwable firstFailure = null;
+		boolean interrupted = false;
+		for (Future<T> future : futures) {
+			while (true) {
+				try {
+					result.add(future.get());
+					break;
+				} catch (ExecutionException e) {
+					if (firstFailure == null)
+						firstFailure = e.getCause();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+
+		if (firstFailure == null)
+			return result;
+		if (firstFailure instanceof RuntimeException)
+			throw (RuntimeException) firstFailure;
+		if (firstFailure instanceof Error)
+			throw (Error) firstFailure;
+		throw new RuntimeException(firstFailure);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode erzeugt den Thread-Pool bei Bedarf
+	 *
+	 * @return Executor fuer die parallele Berechnung
+	 */
+	private synchronized ExecutorService getExecutor() {
+		if (mExecutor == null) {
+			mExecutor = Executors.newFixedThreadPool(mNumberOfThreads,
+					new ThreadFactory() {
+						private int mThreadCounter = 0;
+
+						@Override
+						public synchronized Thread newThread(final Runnable r) {
+							return new WorkerThread(r, "TesselationWorker-"
+									+ mThreadCounter++);
+						}
+					});
+		}
+		return mExecutor;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Daemon-Thread des Pools, dient der Erkennung verschachtelter Aufrufe
+	 */
+	private static class WorkerThread extends Thread {
+
+		private WorkerThread(final Runnable target, final String name) {
+			super(target, name);
+			setDaemon(true);
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+}
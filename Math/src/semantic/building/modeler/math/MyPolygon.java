@@ -29,6 +29,12 @@ public class MyPolygon implements Cloneable {
 	/** Ebene, in der das Polygon enthalten ist */
 	private transient Plane mPlane = null;
 
+	/**
+	 * Vorverarbeitete Repraesentation fuer Punkt-in-Polygon-Tests, wird bei
+	 * Bedarf erzeugt und bei jeder Aenderung des Polygons verworfen
+	 */
+	private transient PreparedPolygon mPreparedPolygon = null;
+
 	// ------------------------------------------------------------------------------------------
 
 	/**
@@ -51,6 +57,7 @@ public class MyPolygon implements Cloneable {
 		this.mVertices.addAll(points);
 		computeRaysForPoints();
 		computePlaneForPolygon();
+		mPreparedPolygon = null;
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -60,6 +67,7 @@ public class MyPolygon implements Cloneable {
 	public void update() {
 		computeRaysForPoints();
 		computePlaneForPolygon();
+		mPreparedPolygon = null;
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -90,6 +98,7 @@ public class MyPolygon implements Cloneable {
 	 */
 	public void setPoints(final List<Vertex3d> mPoints) {
 		this.mVertices = mPoints;
+		mPreparedPolygon = null;
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -123,6 +132,7 @@ public class MyPolygon implements Cloneable {
 			mVertices.add(currentVert);
 		}
 		computePlaneForPolygon();
+		mPreparedPolygon = null;
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -143,6 +153,22 @@ public class MyPolygon implements Cloneable {
 		return mPlane.getNormal();
 	}
 
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Liefert eine vorverarbeitete Repraesentation des Polygons fuer
+	 * wiederholte Punkt-in-Polygon-Tests. Diese wird beim ersten Aufruf
+	 * erzeugt und bis zur naechsten Aenderung des Polygons wiederverwendet.
+	 * Werden Vertices direkt ueber ihre Positionen veraendert, muss vorab
+	 * update() aufgerufen werden
+	 * 
+	 * @return Vorverarbeitetes Polygon
+	 */
+	public PreparedPolygon getPreparedPolygon() {
+		if (mPreparedPolygon == null)
+			mPreparedPolygon = new PreparedPolygon(this);
+		return mPreparedPolygon;
+	}
+
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Methode berechnet eine Repraesentation des Polygons als geschlossener
@@ -274,6 +300,7 @@ public class MyPolygon implements Cloneable {
 	 */
 	public void setPlane(final Plane mPlane) {
 		this.mPlane = mPlane;
+		mPreparedPolygon = null;
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -294,6 +321,7 @@ public class MyPolygon implements Cloneable {
 			centerToPoint.scale(scalingFactor);
 			currentVert.getPositionPtr().add(centerToPoint, center);
 		}
+		mPreparedPolygon = null;
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -337,6 +365,7 @@ public class MyPolygon implements Cloneable {
 		}
 		computeRaysForPoints();
 		computePlaneForPolygon();
+		mPreparedPolygon = null;
 
 	}
 
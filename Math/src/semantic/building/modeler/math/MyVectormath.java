@@ -341,30 +341,12 @@ public class MyVectormath {
 	public MyVector3f calculateRay2RayIntersectionApproximation(Ray ray1,
 			Ray ray2, final float acceptableDistance) {
 
-		// Punkte mit minimalem Abstand berechnen
-		List<MyVector3f> minDistancePoints = calculateMinDistancePointsOnRays(
-				ray1, ray2);
-
-		// wenn keine Punkte bestimmt wurden, so sind die Strahlen parallel,
-		// gebe in diesem Fall keinen Schnittpunkt zurueck
-		if (minDistancePoints.isEmpty())
-			return null;
-
-		MyVector3f vec = new MyVector3f();
-		vec.sub(minDistancePoints.get(0), minDistancePoints.get(1));
-
-		// wenn der Abstand zu gross wird, null zurueck
-		float distance = vec.length();
-		if (distance > acceptableDistance) {
-			// System.out.println("calculateRay2RayIntersectionApproximation: Abstand: "
-			// + distance);
+		// Ergebnis wird nur bei erfolgreicher Berechnung erzeugt
+		final MyVector3f intersection = new MyVector3f();
+		if (!VectorKernel.computeLineIntersectionApproximation(
+				ray1.getStartPtr(), ray1.getDirectionPtr(), ray2.getStartPtr(),
+				ray2.getDirectionPtr(), acceptableDistance, intersection))
 			return null;
-		}
-
-		// halber Vektor beschreibt genau den Mittelpunkt
-		vec.scale(0.5f);
-		MyVector3f intersection = new MyVector3f();
-		intersection.add(minDistancePoints.get(1), vec);
 		return intersection;
 	}
 
@@ -488,78 +470,10 @@ public class MyVectormath {
 	 */
 	public Float calculateRayToRayDistance(Ray ray1, Ray ray2) {
 
-		List<MyVector3f> minDistancePoints = calculateMinDistancePointsOnRays(
-				ray1, ray2);
-
-		// wenn keine Punkte zurueckgegeben wurden, so sind die Strahlen
-		// parallel
-		if (minDistancePoints.isEmpty())
-			return Float.MAX_VALUE;
-
-		MyVector3f vec = new MyVector3f();
-		vec.sub(minDistancePoints.get(0), minDistancePoints.get(1));
-		return vec.length();
-
-	}
-
-	// ------------------------------------------------------------------------------------------
-	/**
-	 * Methode berechnet die zwei Punkte auf den Uebergabestrahlen, die den
-	 * kleinsten senkrechten Abstand voneinander haben. Code stammt aus
-	 * folgendem Artikel:
-	 * http://softsurfer.com/Archive/algorithm_0106/algorithm_0106
-	 * .htm#dist3D_Segment_to_Segment
-	 * 
-	 * @param ray1
-	 *            Eingabestrahl 1
-	 * @param ray2
-	 *            Eingabestrahl 2
-	 * @return 2 Punkte auf den Strahlen, die den minimalen senkrechten Abstand
-	 *         besitzen
-	 */
-	private List<MyVector3f> calculateMinDistancePointsOnRays(Ray ray1, Ray ray2) {
-
-		List<MyVector3f> resultPoints = new ArrayList<MyVector3f>(2);
-
-		MyVector3f u = ray1.getDirection();
-		u.normalize();
-
-		MyVector3f v = ray2.getDirection();
-		v.normalize();
-
-		MyVector3f w = new MyVector3f();
-		w.sub(ray1.getStart(), ray2.getStart());
-
-		float a = u.dot(u);
-		float b = u.dot(v);
-		float c = v.dot(v);
-		float d = u.dot(w);
-		float e = v.dot(w);
-		float D = a * c - b * b;
-		float sc, tc;
-
-		// compute the line parameters of the two closest points
-		if (D < SMALL_NUM) { // the lines are almost parallel
-
-			// wenn die Strahlen parallel sind, gebe keine Naeherungsloesung
-			// zurueck
-			return resultPoints;
-		} else {
-			sc = (b * e - c * d) / D;
-			tc = (a * e - b * d) / D;
-		}
-
-		u.scale(sc);
-		MyVector3f point1 = new MyVector3f();
-		point1.add(ray1.getStart(), u);
-		resultPoints.add(point1);
-
-		v.scale(tc);
-		MyVector3f point2 = new MyVector3f();
-		point2.add(ray2.getStart(), v);
-		resultPoints.add(point2);
-
-		return resultPoints;
+		// bei parallelen Strahlen liefert der Kernel Float.MAX_VALUE
+		return VectorKernel.computeLineDistance(ray1.getStartPtr(),
+				ray1.getDirectionPtr(), ray2.getStartPtr(),
+				ray2.getDirectionPtr());
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -745,9 +659,6 @@ public class MyVectormath {
 		assert axis != null : "Drehachse ist NULL";
 		assert vector != null : "Eingabevektor ist NULL";
 
-		MyVector3f rotationAxis = axis.clone();
-		rotationAxis.normalize();
-
 		boolean negativeAngle = false;
 
 		// bei negativen Winkeln nutzt man die Eigenschaften von Sinus und
@@ -785,7 +696,7 @@ public class MyVectormath {
 		if (negativeAngle)
 			sinAngle *= -1.0f;
 
-		return rotateVector(rotationAxis, vector, cosAngle, sinAngle);
+		return rotateVector(axis, vector, cosAngle, sinAngle);
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -857,9 +768,6 @@ public class MyVectormath {
 		assert axis != null : "Drehachse ist NULL";
 		assert vector != null : "Eingabevektor ist NULL";
 
-		final MyVector3f rotationAxis = axis.clone();
-		rotationAxis.normalize();
-
 		double cosAngle = 0.0d, sinAngle = 0.0d;
 		double pi = Math.PI;
 		Double tempResult;
@@ -916,7 +824,7 @@ public class MyVectormath {
 		// cos (-alpha) = cos (alpha)
 		if (negativeAngle)
 			sinAngle *= -1.0d;
-		return rotateVector(rotationAxis, vector, cosAngle, sinAngle);
+		return rotateVector(axis, vector, cosAngle, sinAngle);
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -936,41 +844,9 @@ public class MyVectormath {
 	 */
 	private MyVector3f rotateVector(MyVector3f rotationAxis, MyVector3f vector,
 			double cosAngle, double sinAngle) {
-		double v1 = rotationAxis.x;
-		double v2 = rotationAxis.y;
-		double v3 = rotationAxis.z;
-
-		// erstelle eine 3*3-Matrix als eindimensionales Array
-		// Zaehlung erfolgt zeileweise, also m00, m01, m02, m10 etc.
-		double[] matrixNumbers = new double[9];
-		matrixNumbers[0] = (cosAngle + Math.pow(v1, 2) * (1 - cosAngle));
-		matrixNumbers[1] = (v1 * v2 * (1 - cosAngle) - v3 * sinAngle);
-		matrixNumbers[2] = (v1 * v3 * (1 - cosAngle) + v2 * sinAngle);
-		matrixNumbers[3] = (v2 * v1 * (1 - cosAngle) + v3 * sinAngle);
-		matrixNumbers[4] = (cosAngle + Math.pow(v2, 2) * (1 - cosAngle));
-		matrixNumbers[5] = (v2 * v3 * (1 - cosAngle) - v1 * sinAngle);
-		matrixNumbers[6] = (v3 * v1 * (1 - cosAngle) - v2 * sinAngle);
-		matrixNumbers[7] = (v3 * v2 * (1 - cosAngle) + v1 * sinAngle);
-		matrixNumbers[8] = (cosAngle + Math.pow(v3, 2) * (1 - cosAngle));
-
-		// initialisiere die Matrix
-		MyMatrix3d matrix = new MyMatrix3d(matrixNumbers);
-
-		// wandle den Eingabevektor in ein Tuple um, um es mit der Matrix zu
-		// transformieren
-		MyVector3d vectorJava3d = new MyVector3d(vector.x, vector.y, vector.z);
-
-		// transformiere den Eingabevektor mittels der Roationsmatrix
-		// matrix.transform(vectorJava3d);S
-		matrix.transform(vectorJava3d);
-
-		// schreibe die Werte zurueck in eine MyVector3f-Struktur
-		// result = new MyVector3f(vectorJava3d.x, vectorJava3d.y,
-		// (vectorJava3d.z* (-1)));
-		MyVector3f result = new MyVector3f(vectorJava3d.x, vectorJava3d.y,
-				vectorJava3d.z);
-
-		// result = roundVector3f(result, 10000.0f);
+
+		final MyVector3f result = new MyVector3f();
+		VectorKernel.rotate(rotationAxis, vector, cosAngle, sinAngle, result);
 		return result;
 	}
 
@@ -1300,7 +1176,7 @@ public class MyVectormath {
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Berechnet den Schnittpunkt 3er Ebenen ueber den JAMA-Matrix-Solver
+	 * Berechnet den Schnittpunkt 3er Ebenen ueber eine LU-Zerlegung (VectorKernel)
 	 * 
 	 * @param plane1
 	 *            Eingabeebene 1
@@ -1313,69 +1189,13 @@ public class MyVectormath {
 	public MyVector3f calculatePlanePlanePlaneIntersection(Plane plane1,
 			Plane plane2, Plane plane3) {
 
-		// verwende die parameterfreien Darstellungen den Ebene, um eine Matrix
-		// aufzustellen
-		final Double[] koeffizienten1 = plane1.getKoeffizienten();
-		final Double[] koeffizienten2 = plane2.getKoeffizienten();
-		final Double[] koeffizienten3 = plane3.getKoeffizienten();
-
-		// Matrix ueber die Koeffizienten befuellen
-		final double[][] matrixInput = new double[3][3];
-
-		// 1. Ebene
-		matrixInput[0][0] = koeffizienten1[0];
-		matrixInput[0][1] = koeffizienten1[1];
-		matrixInput[0][2] = koeffizienten1[2];
-
-		// 2.Ebene
-		matrixInput[1][0] = koeffizienten2[0];
-		matrixInput[1][1] = koeffizienten2[1];
-		matrixInput[1][2] = koeffizienten2[2];
-
-		// 3.Ebene
-		matrixInput[2][0] = koeffizienten3[0];
-		matrixInput[2][1] = koeffizienten3[1];
-		matrixInput[2][2] = koeffizienten3[2];
-
-		// rechte Seite des Gleichungssystems
-		// multipliziere mit -1, um die Werte auf die andere Seite zu holen
-		final double[] rhsVals = new double[3];
-		rhsVals[0] = koeffizienten1[3] * -1;
-		rhsVals[1] = koeffizienten2[3] * -1;
-		rhsVals[2] = koeffizienten3[3] * -1;
-
-		final DoubleMatrix2D lhs = new DenseDoubleMatrix2D(matrixInput);
-		final DoubleMatrix2D rhs = new DenseDoubleMatrix2D(3, 1);
-		rhs.setQuick(0, 0, rhsVals[0]);
-		rhs.setQuick(1, 0, rhsVals[1]);
-		rhs.setQuick(2, 0, rhsVals[2]);
-		final Algebra algebra = new Algebra();
-		DoubleMatrix2D result = null;
-
-		/*
-		 * // erzeuge JAMA-Matrizen Matrix koeffizienten = new
-		 * Matrix(matrixInput); Matrix rhs = new Matrix(rhsVals, 3);
-		 * 
-		 * Matrix result = null;
-		 * 
-		 * try { result = koeffizienten.solve(rhs); }
-		 */
-		try {
-			result = algebra.solve(lhs, rhs);
-		}
-		// wenn diese Exception ausgeloest wurde, dann ist das Gleichungssystem
-		// nicht loesbar
-		catch (RuntimeException e) {
-			return null;
-		}
-
+		// Ergebnis ist null, wenn das Gleichungssystem nicht loesbar ist
 		final MyVector3f schnittpunkt = new MyVector3f();
-		schnittpunkt.x = (float) result.get(0, 0);
-		schnittpunkt.y = (float) result.get(1, 0);
-		schnittpunkt.z = (float) result.get(2, 0);
-
+		if (!VectorKernel.computePlanePlanePlaneIntersection(plane1, plane2,
+				plane3, new double[VectorKernel.PLANE_SYSTEM_SIZE],
+				schnittpunkt))
+			return null;
 		return schnittpunkt;
-
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -0,0 +1,315 @@
+package semantic.building.modeler.math;
+
+import java.util.List;
+
+/**
+ *
+ * @author Patrick Gunia Klasse haelt eine vorverarbeitete Repraesentation
+ *         eines Polygons fuer wiederholte Punkt-in-Polygon- und
+ *         Punkt-auf-Kante-Tests. Projektionsachse, projizierte 2D-Eckpunkte,
+ *         Kantenvektoren und Bounding-Box werden einmalig berechnet, die
+ *         Anfragen selber erzeugen keine Objekte. Die Instanz beschreibt den
+ *         Zustand des Polygons zum Zeitpunkt der Erzeugung, bei Aenderungen
+ *         des Polygons muss eine neue Instanz erzeugt werden (siehe
+ *         MyPolygon.getPreparedPolygon()).
+ *
+ */
+
+public class PreparedPolygon {
+
+	/**
+	 * Standardtoleranz fuer Punkt-auf-Kante-Tests, entspricht der Toleranz in
+	 * MyVectormath.isPointOnRay()
+	 */
+	public static final float EDGE_TOLERANCE = 0.01f;
+
+	/** Achse, die bei der Projektion in die 2D-Ebene ignoriert wird */
+	private final Axis mIgnoredAxis;
+
+	/** Anzahl der Eckpunkte */
+	private final int mSize;
+
+	/** Projizierte Eckpunkte, erste und zweite verbleibende Komponente */
+	private final double[] mU, mV;
+
+	/** Bounding-Box der projizierten Eckpunkte */
+	private double mMinU, mMaxU, mMinV, mMaxV;
+
+	/** Startpunkte der Kanten im 3D-Raum, jeweils x, y, z */
+	private final double[] mEdgeStart;
+
+	/** Richtungsvektoren der Kanten im 3D-Raum, jeweils x, y, z */
+	private final double[] mEdgeDirection;
+
+	/** Inverse quadrierte Laengen der Kanten, 0 fuer degenerierte Kanten */
+	private final double[] mInverseLengthSquared;
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param polygon
+	 *            Polygon, fuer das Anfragen vorbereitet werden
+	 */
+	public PreparedPolygon(final MyPolygon polygon) {
+
+		final List<Vertex3d> vertices = polygon.getVertices();
+		mSize = vertices.size();
+		mIgnoredAxis = MyVectormath.getInstance().getIgnorableAxis(
+				polygon.getNormalPtr(), false);
+
+		mU = new double[mSize];
+		mV = new double[mSize];
+		mEdgeStart = new double[3 * mSize];
+		mEdgeDirection = new double[3 * mSize];
+		mInverseLengthSquared = new double[mSize];
+
+		mMinU = Double.MAX_VALUE;
+		mMinV = Double.MAX_VALUE;
+		mMaxU = -Double.MAX_VALUE;
+		mMaxV = -Double.MAX_VALUE;
+
+		for (int i = 0; i < mSize; i++) {
+			final MyVector3f current = vertices.get(i).getPositionPtr();
+			final MyVector3f next = vertices.get((i + 1) % mSize)
+					.getPositionPtr();
+
+			mU[i] = projectU(current.x, current.y, current.z);
+			mV[i] = projectV(current.x, current.y, current.z);
+			mMinU = Math.min(mMinU, mU[i]);
+			mMaxU = Math.max(mMaxU, mU[i]);
+			mMinV = Math.min(mMinV, mV[i]);
+			mMaxV = Math.max(mMaxV, mV[i]);
+
+			final int offset = 3 * i;
+			mEdgeStart[offset] = current.x;
+			mEdgeStart[offset + 1] = current.y;
+			mEdgeStart[offset + 2] = current.z;
+			mEdgeDirection[offset] = (double) next.x - current.x;
+			mEdgeDirection[offset + 1] = (double) next.y - current.y;
+			mEdgeDirection[offset + 2] = (double) next.z - current.z;
+
+			final double lengthSquared = mEdgeDirection[offset]
+					* mEdgeDirection[offset] + mEdgeDirection[offset + 1]
+					* mEdgeDirection[offset + 1] + mEdgeDirection[offset + 2]
+					* mEdgeDirection[offset + 2];
+			mInverseLengthSquared[i] = lengthSquared > 0.0 ? 1.0 / lengthSquared
+					: 0.0;
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Punkt-in-Polygon-Test ueber die Winding-Number des projizierten
+	 * Polygons. Punkte ausserhalb der Bounding-Box werden ohne Kantentest
+	 * verworfen. Fuer Punkte exakt auf dem Rand ist das Ergebnis nicht
+	 * definiert, hierfuer steht isPointOnEdge() zur Verfuegung
+	 *
+	 * @param point
+	 *            Testpunkt
+	 * @return True, falls sich der Punkt innerhalb des Polygons befindet, False
+	 *         sonst
+	 */
+	public boolean contains(final MyVector3f point) {
+
+		final double u = projectU(point.x, point.y, point.z);
+		final double v = projectV(point.x, point.y, point.z);
+
+		if (u < mMinU || u > mMaxU || v < mMinV || v > mMaxV)
+			return false;
+
+		int windingNumber = 0;
+		for (int i = 0, j = 1; i < mSize; i++, j++) {
+			if (j == mSize)
+				j = 0;
+
+			// aufwaerts verlaufende Kante, Punkt links => +1
+			if (mV[i] <= v) {
+				if (mV[j] > v && isLeft(i, j, u, v) > 0.0)
+					windingNumber++;
+			}
+
+			// abwaerts verlaufende Kante, Punkt rechts => -1
+			else if (mV[j] <= v && isLeft(i, j, u, v) < 0.0)
+				windingNumber--;
+		}
+		return windingNumber != 0;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param point
+	 *            Testpunkt
+	 * @return True, falls sich der Punkt innerhalb des Polygons befindet, False
+	 *         sonst
+	 */
+	public boolean contains(final Vertex3d point) {
+		return contains(point.getPositionPtr());
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Batch-Variante des Punkt-in-Polygon-Tests
+	 *
+	 * @param points
+	 *            Testpunkte
+	 * @param result
+	 *            Array, in das fuer jeden Testpunkt das Testergebnis
+	 *            geschrieben wird, muss mindestens die Laenge des
+	 *            Punkt-Arrays besitzen
+	 * @return Anzahl der Punkte innerhalb des Polygons
+	 */
+	public int contains(final MyVector3f[] points, final boolean[] result) {
+
+		assert result.length >= points.length : "FEHLER: Das Ergebnis-Array ist zu klein";
+		int count = 0;
+		for (int i = 0; i < points.length; i++) {
+			result[i] = contains(points[i]);
+			if (result[i])
+				count++;
+		}
+		return count;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param points
+	 *            Testpunkte
+	 * @return True, falls alle Punkte innerhalb des Polygons liegen, False
+	 *         sonst
+	 */
+	public boolean containsAll(final MyVector3f[] points) {
+		for (int i = 0; i < points.length; i++) {
+			if (!contains(points[i]))
+				return false;
+		}
+		return true;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode testet, ob sich der Punkt auf einer Kante des Polygons befindet.
+	 * Der Abstand wird im 3D-Raum zum jeweiligen Kantensegment berechnet
+	 *
+	 * @param point
+	 *            Testpunkt
+	 * @param tolerance
+	 *            Maximaler Abstand zur Kante
+	 * @return True, falls der Abstand zu mindestens einer Kante kleiner gleich
+	 *         der Toleranz ist, False sonst
+	 */
+	public boolean isPointOnEdge(final MyVector3f point, final float tolerance) {
+
+		final double toleranceSquared = (double) tolerance * tolerance;
+		for (int i = 0; i < mSize; i++) {
+			if (getEdgeDistanceSquared(i, point) <= toleranceSquared)
+				return true;
+		}
+		return false;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param point
+	 *            Testpunkt
+	 * @return True, falls sich der Punkt innerhalb der Standardtoleranz auf
+	 *         einer Kante des Polygons befindet, False sonst
+	 */
+	public boolean isPointOnEdge(final MyVector3f point) {
+		return isPointOnEdge(point, EDGE_TOLERANCE);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Batch-Variante des Punkt-auf-Kante-Tests
+	 *
+	 * @param points
+	 *            Testpunkte
+	 * @param tolerance
+	 *            Maximaler Abstand zur Kante
+	 * @param result
+	 *            Array, in das fuer jeden Testpunkt das Testergebnis
+	 *            geschrieben wird
+	 * @return Anzahl der Punkte auf Kanten des Polygons
+	 */
+	public int isPointOnEdge(final MyVector3f[] points, final float tolerance,
+			final boolean[] result) {
+
+		assert result.length >= points.length : "FEHLER: Das Ergebnis-Array ist zu klein";
+		int count = 0;
+		for (int i = 0; i < points.length; i++) {
+			result[i] = isPointOnEdge(points[i], tolerance);
+			if (result[i])
+				count++;
+		}
+		return count;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Anzahl der Eckpunkte des vorbereiteten Polygons
+	 */
+	public int size() {
+		return mSize;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode berechnet den quadrierten Abstand des Punktes zum Kantensegment
+	 *
+	 * @param edge
+	 *            Index der Kante
+	 * @param point
+	 *            Testpunkt
+	 * @return Quadrierter Abstand
+	 */
+	private double getEdgeDistanceSquared(final int edge, final MyVector3f point) {
+
+		final int offset = 3 * edge;
+		final double px = point.x - mEdgeStart[offset];
+		final double py = point.y - mEdgeStart[offset + 1];
+		final double pz = point.z - mEdgeStart[offset + 2];
+		final double dx = mEdgeDirection[offset];
+		final double dy = mEdgeDirection[offset + 1];
+		final double dz = mEdgeDirection[offset + 2];
+
+		double t = (px * dx + py * dy + pz * dz) * mInverseLengthSquared[edge];
+		if (t < 0.0)
+			t = 0.0;
+		else if (t > 1.0)
+			t = 1.0;
+
+		final double ex = px - t * dx;
+		final double ey = py - t * dy;
+		final double ez = pz - t * dz;
+		return ex * ex + ey * ey + ez * ez;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return > 0 falls der Punkt links der Kante von i nach j liegt, < 0
+	 *         falls er rechts liegt, 0 falls er auf der Geraden liegt
+	 */
+	private double isLeft(final int i, final int j, final double u,
+			final double v) {
+		return (mU[j] - mU[i]) * (v - mV[i]) - (u - mU[i]) * (mV[j] - mV[i]);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Erste Komponente des in die 2D-Ebene projizierten Punktes,
+	 *         Zuordnung entspricht MyVectormath.createXYPlaneProjectionForPoint()
+	 */
+	private double projectU(final float x, final float y, final float z) {
+		return mIgnoredAxis == Axis.X ? z : x;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Zweite Komponente des in die 2D-Ebene projizierten Punktes
+	 */
+	private double projectV(final float x, final float y, final float z) {
+		return mIgnoredAxis == Axis.Y ? z : y;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,367 @@
+package semantic.building.modeler.math;
+
+import java.math.BigDecimal;
+
+/**
+ *
+ * @author Patrick Gunia Robuste geometrische Praedikate nach Shewchuk
+ *         ("Adaptive Precision Floating-Point Arithmetic and Fast Robust
+ *         Geometric Predicates"). Jedes Praedikat wird zunaechst in
+ *         double-Genauigkeit ausgewertet. Liegt der Betrag des Ergebnisses
+ *         oberhalb der Fehlerschranke, ist das Vorzeichen garantiert korrekt,
+ *         sonst wird das Praedikat exakt ueber BigDecimal nachgerechnet. Da die
+ *         Eingaben float- bzw. double-Werte sind, ist diese Auswertung ohne
+ *         Rundung moeglich. Die Praedikate liefern ausschliesslich Vorzeichen
+ *         (-1, 0, 1) und verwenden keine Toleranzen.
+ *
+ */
+
+public final class RobustPredicates {
+
+	/** Halbe Maschinengenauigkeit fuer double, 2^-53 */
+	private static final double EPSILON = Math.ulp(1.0d) / 2.0d;
+
+	/** Fehlerschranke fuer orient2d */
+	private static final double CCW_ERRBOUND = (3.0d + 16.0d * EPSILON)
+			* EPSILON;
+
+	/** Fehlerschranke fuer orient3d */
+	private static final double O3D_ERRBOUND = (7.0d + 56.0d * EPSILON)
+			* EPSILON;
+
+	/** Fehlerschranke fuer incircle */
+	private static final double ICC_ERRBOUND = (10.0d + 96.0d * EPSILON)
+			* EPSILON;
+
+	/**
+	 * Fehlerschranke fuer den Seitentest bzgl. eines Strahls, konservative
+	 * Abschaetzung fuer das Polynom vom Grad 4 (hoechstens 10 aufeinander
+	 * folgende Rundungen je Summand)
+	 */
+	private static final double SIDE_ERRBOUND = (20.0d + 256.0d * EPSILON)
+			* EPSILON;
+
+	// ------------------------------------------------------------------------------------------
+	private RobustPredicates() {
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Orientierungstest in der Ebene
+	 *
+	 * @return 1, falls a, b und c gegen den Uhrzeigersinn angeordnet sind, -1
+	 *         falls sie im Uhrzeigersinn angeordnet sind, 0 falls sie auf einer
+	 *         Geraden liegen
+	 */
+	public static int orient2d(final double ax, final double ay,
+			final double bx, final double by, final double cx, final double cy) {
+
+		final double detLeft = (ax - cx) * (by - cy);
+		final double detRight = (ay - cy) * (bx - cx);
+		final double det = detLeft - detRight;
+
+		double detSum;
+		if (detLeft > 0.0d) {
+			if (detRight <= 0.0d)
+				return signum(det);
+			detSum = detLeft + detRight;
+		} else if (detLeft < 0.0d) {
+			if (detRight >= 0.0d)
+				return signum(det);
+			detSum = -detLeft - detRight;
+		} else
+			return signum(det);
+
+		final double errBound = CCW_ERRBOUND * detSum;
+		if (det >= errBound || -det >= errBound || !isFinite(detSum))
+			return signum(det);
+
+		return orient2dExact(ax, ay, bx, by, cx, cy);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Orientierungstest im Raum
+	 *
+	 * @return 1, falls d unterhalb der Ebene durch a, b und c liegt, wobei a, b
+	 *         und c von oberhalb betrachtet gegen den Uhrzeigersinn angeordnet
+	 *         sind, -1 falls d oberhalb liegt, 0 falls alle Punkte in einer
+	 *         Ebene liegen
+	 */
+	public static int orient3d(final MyVector3f a, final MyVector3f b,
+			final MyVector3f c, final MyVector3f d) {
+		return orient3d(a.x, a.y, a.z, b.x, b.y, b.z, c.x, c.y, c.z, d.x, d.y,
+				d.z);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Orientierungstest im Raum fuer Punkte in double-Koordinaten
+	 *
+	 * @return 1, falls d unterhalb der Ebene durch a, b und c liegt, wobei a, b
+	 *         und c von oberhalb betrachtet gegen den Uhrzeigersinn angeordnet
+	 *         sind, -1 falls d oberhalb liegt, 0 falls alle Punkte in einer
+	 *         Ebene liegen
+	 */
+	public static int orient3d(final double ax, final double ay,
+			final double az, final double bx, final double by,
+			final double bz, final double cx, final double cy,
+			final double cz, final double dx, final double dy,
+			final double dz) {
+
+		final double adx = ax - dx, ady = ay - dy, adz = az - dz;
+		final double bdx = bx - dx, bdy = by - dy, bdz = bz - dz;
+		final double cdx = cx - dx, cdy = cy - dy, cdz = cz - dz;
+
+		final double bdxcdy = bdx * cdy, cdxbdy = cdx * bdy;
+		final double cdxady = cdx * ady, adxcdy = adx * cdy;
+		final double adxbdy = adx * bdy, bdxady = bdx * ady;
+
+		final double det = adz * (bdxcdy - cdxbdy) + bdz * (cdxady - adxcdy)
+				+ cdz * (adxbdy - bdxady);
+
+		final double permanent = (Math.abs(bdxcdy) + Math.abs(cdxbdy))
+				* Math.abs(adz) + (Math.abs(cdxady) + Math.abs(adxcdy))
+				* Math.abs(bdz) + (Math.abs(adxbdy) + Math.abs(bdxady))
+				* Math.abs(cdz);
+		final double errBound = O3D_ERRBOUND * permanent;
+		if (det > errBound || -det > errBound || !isFinite(permanent))
+			return signum(det);
+
+		final BigDecimal eDx = exact(dx), eDy = exact(dy), eDz = exact(dz);
+		return determinantExact(exact(ax).subtract(eDx), exact(ay).subtract(
+				eDy), exact(az).subtract(eDz), exact(bx).subtract(eDx),
+				exact(by).subtract(eDy), exact(bz).subtract(eDz), exact(cx)
+						.subtract(eDx), exact(cy).subtract(eDy), exact(cz)
+						.subtract(eDz));
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Orientierung des Dreiecks a, b, c bei Betrachtung aus Richtung der
+	 * uebergebenen Normalen, entspricht dem Vorzeichen von ((b - a) x (c - a))
+	 * * normal
+	 *
+	 * @return 1, falls das Dreieck bzgl. der Normalen gegen den Uhrzeigersinn
+	 *         orientiert ist, -1 falls es im Uhrzeigersinn orientiert ist, 0
+	 *         falls die Punkte auf einer Geraden liegen oder die Normale in der
+	 *         Dreiecksebene liegt
+	 */
+	public static int orientation(final MyVector3f a, final MyVector3f b,
+			final MyVector3f c, final MyVector3f normal) {
+
+		final double abx = (double) b.x - a.x, aby = (double) b.y - a.y;
+		final double abz = (double) b.z - a.z;
+		final double acx = (double) c.x - a.x, acy = (double) c.y - a.y;
+		final double acz = (double) c.z - a.z;
+		final double nx = normal.x, ny = normal.y, nz = normal.z;
+
+		final double abyacz = aby * acz, abzacy = abz * acy;
+		final double abzacx = abz * acx, abxacz = abx * acz;
+		final double abxacy = abx * acy, abyacx = aby * acx;
+
+		final double det = nx * (abyacz - abzacy) + ny * (abzacx - abxacz)
+				+ nz * (abxacy - abyacx);
+
+		final double permanent = (Math.abs(abyacz) + Math.abs(abzacy))
+				* Math.abs(nx) + (Math.abs(abzacx) + Math.abs(abxacz))
+				* Math.abs(ny) + (Math.abs(abxacy) + Math.abs(abyacx))
+				* Math.abs(nz);
+		final double errBound = O3D_ERRBOUND * permanent;
+		if (det > errBound || -det > errBound || !isFinite(permanent))
+			return signum(det);
+
+		final BigDecimal ax = exact(a.x), ay = exact(a.y), az = exact(a.z);
+		return determinantExact(exact(b.x).subtract(ax), exact(b.y)
+				.subtract(ay), exact(b.z).subtract(az), exact(c.x)
+				.subtract(ax), exact(c.y).subtract(ay), exact(c.z)
+				.subtract(az), exact(nx), exact(ny), exact(nz));
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Kreistest in der Ebene
+	 *
+	 * @return 1, falls d innerhalb des Umkreises der gegen den Uhrzeigersinn
+	 *         orientierten Punkte a, b, c liegt, -1 falls d ausserhalb liegt, 0
+	 *         falls alle vier Punkte auf einem Kreis liegen
+	 */
+	public static int incircle(final double ax, final double ay,
+			final double bx, final double by, final double cx,
+			final double cy, final double dx, final double dy) {
+
+		final double adx = ax - dx, ady = ay - dy;
+		final double bdx = bx - dx, bdy = by - dy;
+		final double cdx = cx - dx, cdy = cy - dy;
+
+		final double bdxcdy = bdx * cdy, cdxbdy = cdx * bdy;
+		final double aLift = adx * adx + ady * ady;
+		final double cdxady = cdx * ady, adxcdy = adx * cdy;
+		final double bLift = bdx * bdx + bdy * bdy;
+		final double adxbdy = adx * bdy, bdxady = bdx * ady;
+		final double cLift = cdx * cdx + cdy * cdy;
+
+		final double det = aLift * (bdxcdy - cdxbdy) + bLift
+				* (cdxady - adxcdy) + cLift * (adxbdy - bdxady);
+
+		final double permanent = (Math.abs(bdxcdy) + Math.abs(cdxbdy)) * aLift
+				+ (Math.abs(cdxady) + Math.abs(adxcdy)) * bLift
+				+ (Math.abs(adxbdy) + Math.abs(bdxady)) * cLift;
+		final double errBound = ICC_ERRBOUND * permanent;
+		if (det > errBound || -det > errBound || !isFinite(permanent))
+			return signum(det);
+
+		final BigDecimal exDx = exact(dx), exDy = exact(dy);
+		final BigDecimal eAdx = exact(ax).subtract(exDx), eAdy = exact(ay)
+				.subtract(exDy);
+		final BigDecimal eBdx = exact(bx).subtract(exDx), eBdy = exact(by)
+				.subtract(exDy);
+		final BigDecimal eCdx = exact(cx).subtract(exDx), eCdy = exact(cy)
+				.subtract(exDy);
+
+		final BigDecimal eALift = eAdx.multiply(eAdx).add(eAdy.multiply(eAdy));
+		final BigDecimal eBLift = eBdx.multiply(eBdx).add(eBdy.multiply(eBdy));
+		final BigDecimal eCLift = eCdx.multiply(eCdx).add(eCdy.multiply(eCdy));
+
+		return determinantExact(eAdx, eAdy, eALift, eBdx, eBdy, eBLift, eCdx,
+				eCdy, eCLift);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Seitentest bzgl. eines Strahls im Raum. Das Ergebnis entspricht dem
+	 * Vorzeichen von (d x (p1 - s)) * (d x (p2 - s)) und wird ueber die
+	 * Identitaet (d * d)(u * v) - (d * u)(d * v) mit u = p1 - s und v = p2 - s
+	 * ausgewertet
+	 *
+	 * @param start
+	 *            Stuetzvektor s des Strahls
+	 * @param direction
+	 *            Richtungsvektor d des Strahls
+	 * @param point1
+	 *            Testpunkt 1
+	 * @param point2
+	 *            Testpunkt 2
+	 * @return 1, falls sich beide Punkte auf der gleichen Seite befinden, -1
+	 *         falls sie sich auf unterschiedlichen Seiten befinden, 0 falls
+	 *         mindestens einer der Punkte auf der Geraden liegt
+	 */
+	public static int sideOfRay(final MyVector3f start,
+			final MyVector3f direction, final MyVector3f point1,
+			final MyVector3f point2) {
+
+		final double dx = direction.x, dy = direction.y, dz = direction.z;
+		final double ux = (double) point1.x - start.x;
+		final double uy = (double) point1.y - start.y;
+		final double uz = (double) point1.z - start.z;
+		final double vx = (double) point2.x - start.x;
+		final double vy = (double) point2.y - start.y;
+		final double vz = (double) point2.z - start.z;
+
+		final double dd = dx * dx + dy * dy + dz * dz;
+		final double uv = ux * vx + uy * vy + uz * vz;
+		final double du = dx * ux + dy * uy + dz * uz;
+		final double dv = dx * vx + dy * vy + dz * vz;
+		final double det = dd * uv - du * dv;
+
+		final double absDu = Math.abs(dx * ux) + Math.abs(dy * uy)
+				+ Math.abs(dz * uz);
+		final double absDv = Math.abs(dx * vx) + Math.abs(dy * vy)
+				+ Math.abs(dz * vz);
+		final double absUv = Math.abs(ux * vx) + Math.abs(uy * vy)
+				+ Math.abs(uz * vz);
+		final double permanent = dd * absUv + absDu * absDv;
+		final double errBound = SIDE_ERRBOUND * permanent;
+		if (det > errBound || -det > errBound || !isFinite(permanent))
+			return signum(det);
+
+		final BigDecimal eDx = exact(dx), eDy = exact(dy), eDz = exact(dz);
+		final BigDecimal sx = exact(start.x), sy = exact(start.y), sz = exact(start.z);
+		final BigDecimal eUx = exact(point1.x).subtract(sx);
+		final BigDecimal eUy = exact(point1.y).subtract(sy);
+		final BigDecimal eUz = exact(point1.z).subtract(sz);
+		final BigDecimal eVx = exact(point2.x).subtract(sx);
+		final BigDecimal eVy = exact(point2.y).subtract(sy);
+		final BigDecimal eVz = exact(point2.z).subtract(sz);
+
+		final BigDecimal eDd = dot(eDx, eDy, eDz, eDx, eDy, eDz);
+		final BigDecimal eUv = dot(eUx, eUy, eUz, eVx, eVy, eVz);
+		final BigDecimal eDu = dot(eDx, eDy, eDz, eUx, eUy, eUz);
+		final BigDecimal eDv = dot(eDx, eDy, eDz, eVx, eVy, eVz);
+		return eDd.multiply(eUv).subtract(eDu.multiply(eDv)).signum();
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Exakte Auswertung von orient2d
+	 */
+	private static int orient2dExact(final double ax, final double ay,
+			final double bx, final double by, final double cx, final double cy) {
+
+		final BigDecimal exCx = exact(cx), exCy = exact(cy);
+		final BigDecimal left = exact(ax).subtract(exCx).multiply(
+				exact(by).subtract(exCy));
+		final BigDecimal right = exact(ay).subtract(exCy).multiply(
+				exact(bx).subtract(exCx));
+		return left.subtract(right).signum();
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Vorzeichen der Determinante der zeilenweise uebergebenen
+	 *         3x3-Matrix
+	 */
+	private static int determinantExact(final BigDecimal m00,
+			final BigDecimal m01, final BigDecimal m02, final BigDecimal m10,
+			final BigDecimal m11, final BigDecimal m12, final BigDecimal m20,
+			final BigDecimal m21, final BigDecimal m22) {
+
+		final BigDecimal minor0 = m11.multiply(m22).subtract(m12.multiply(m21));
+		final BigDecimal minor1 = m12.multiply(m20).subtract(m10.multiply(m22));
+		final BigDecimal minor2 = m10.multiply(m21).subtract(m11.multiply(m20));
+		return m00.multiply(minor0).add(m01.multiply(minor1))
+				.add(m02.multiply(minor2)).signum();
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Exaktes Skalarprodukt zweier Vektoren
+	 */
+	private static BigDecimal dot(final BigDecimal x1, final BigDecimal y1,
+			final BigDecimal z1, final BigDecimal x2, final BigDecimal y2,
+			final BigDecimal z2) {
+		return x1.multiply(x2).add(y1.multiply(y2)).add(z1.multiply(z2));
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Exakte Darstellung des uebergebenen Wertes
+	 */
+	private static BigDecimal exact(final double value) {
+		return new BigDecimal(value);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return True, falls der Wert weder NaN noch unendlich ist. Fuer solche
+	 *         Eingaben ist keine exakte Auswertung moeglich
+	 */
+	private static boolean isFinite(final double value) {
+		return value - value == 0.0d;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Vorzeichen des uebergebenen Wertes als Integer, 0 fuer NaN
+	 */
+	private static int signum(final double value) {
+		if (value > 0.0d)
+			return 1;
+		if (value < 0.0d)
+			return -1;
+		return 0;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+}
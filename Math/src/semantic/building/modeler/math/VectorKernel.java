@@ -0,0 +1,445 @@
+package semantic.building.modeler.math;
+
+/**
+ *
+ * @author Patrick Gunia Allokationsfreie Grundoperationen fuer die
+ *         Vektorberechnungen aus MyVectormath. Alle Methoden arbeiten auf
+ *         primitiven Werten und schreiben ihre Ergebnisse in vom Aufrufer
+ *         uebergebene Vektoren oder Arrays, so dass sie in Schleifen ohne
+ *         Erzeugung temporaerer Objekte verwendet werden koennen. Die
+ *         Rechenschritte entsprechen in Reihenfolge und Genauigkeit den
+ *         bisherigen Implementationen in MyVectormath, deren Methoden nur noch
+ *         Wrapper um diese Klasse sind. Ergebnisvektoren duerfen mit den
+ *         Eingaben identisch sein, sofern nicht anders angegeben.
+ *
+ */
+
+public final class VectorKernel {
+
+	/** Grenzwert, unterhalb dessen Strahlen als parallel gelten */
+	private static final float SMALL_NUM = MyVectormath.SMALL_NUM;
+
+	/**
+	 * Grenzwert fuer Pivotelemente, bis zu dem ein Gleichungssystem als
+	 * singulaer gilt. Der bisher verwendete Colt-Solver (Algebra.solve())
+	 * verwirft nur exakt verschwindende Pivotelemente
+	 */
+	private static final double SINGULARITY_TOLERANCE = 0.0;
+
+	/** Anzahl der Eintraege eines Ebenen-Gleichungssystems */
+	public static final int PLANE_SYSTEM_SIZE = 12;
+
+	// ------------------------------------------------------------------------------------------
+	private VectorKernel() {
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode berechnet die beiden Punkte auf zwei Geraden, die den geringsten
+	 * senkrechten Abstand voneinander haben
+	 *
+	 * @param start1
+	 *            Stuetzvektor der Geraden 1
+	 * @param direction1
+	 *            Richtungsvektor der Geraden 1
+	 * @param start2
+	 *            Stuetzvektor der Geraden 2
+	 * @param direction2
+	 *            Richtungsvektor der Geraden 2
+	 * @param outPoint1
+	 *            Ergebnispunkt auf Gerade 1
+	 * @param outPoint2
+	 *            Ergebnispunkt auf Gerade 2
+	 * @return True, falls die Punkte berechnet wurden, False falls die Geraden
+	 *         parallel sind, die Ausgabevektoren bleiben dann unveraendert
+	 */
+	public static boolean computeClosestPointsOnLines(final MyVector3f start1,
+			final MyVector3f direction1, final MyVector3f start2,
+			final MyVector3f direction2, final MyVector3f outPoint1,
+			final MyVector3f outPoint2) {
+
+		// normalisierte Richtungen
+		final float norm1 = inverseLength(direction1.x, direction1.y,
+				direction1.z);
+		final float ux = direction1.x * norm1, uy = direction1.y * norm1;
+		final float uz = direction1.z * norm1;
+		final float norm2 = inverseLength(direction2.x, direction2.y,
+				direction2.z);
+		final float vx = direction2.x * norm2, vy = direction2.y * norm2;
+		final float vz = direction2.z * norm2;
+
+		final float wx = start1.x - start2.x, wy = start1.y - start2.y;
+		final float wz = start1.z - start2.z;
+
+		final float a = ux * ux + uy * uy + uz * uz;
+		final float b = ux * vx + uy * vy + uz * vz;
+		final float c = vx * vx + vy * vy + vz * vz;
+		final float d = ux * wx + uy * wy + uz * wz;
+		final float e = vx * wx + vy * wy + vz * wz;
+		final float denominator = a * c - b * b;
+
+		// die Geraden sind nahezu parallel
+		if (denominator < SMALL_NUM)
+			return false;
+
+		final float sc = (b * e - c * d) / denominator;
+		final float tc = (a * e - b * d) / denominator;
+
+		final float s1x = start1.x, s1y = start1.y, s1z = start1.z;
+		final float s2x = start2.x, s2y = start2.y, s2z = start2.z;
+		outPoint1.x = s1x + ux * sc;
+		outPoint1.y = s1y + uy * sc;
+		outPoint1.z = s1z + uz * sc;
+		outPoint2.x = s2x + vx * tc;
+		outPoint2.y = s2y + vy * tc;
+		outPoint2.z = s2z + vz * tc;
+		return true;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode approximiert den Schnittpunkt zweier Geraden als Mittelpunkt der
+	 * beiden Punkte mit minimalem senkrechtem Abstand
+	 *
+	 * @param start1
+	 *            Stuetzvektor der Geraden 1
+	 * @param direction1
+	 *            Richtungsvektor der Geraden 1
+	 * @param start2
+	 *            Stuetzvektor der Geraden 2
+	 * @param direction2
+	 *            Richtungsvektor der Geraden 2
+	 * @param acceptableDistance
+	 *            Maximaler Abstand der naechstgelegenen Punkte, bis zu dem ein
+	 *            Schnittpunkt akzeptiert wird
+	 * @param out
+	 *            Ergebnisvektor
+	 * @return True, falls ein Schnittpunkt berechnet wurde, False sonst, der
+	 *         Ergebnisvektor bleibt dann unveraendert
+	 */
+	public static boolean computeLineIntersectionApproximation(
+			final MyVector3f start1, final MyVector3f direction1,
+			final MyVector3f start2, final MyVector3f direction2,
+			final float acceptableDistance, final MyVector3f out) {
+
+		final float s1x = start1.x, s1y = start1.y, s1z = start1.z;
+		final float s2x = start2.x, s2y = start2.y, s2z = start2.z;
+
+		final float norm1 = inverseLength(direction1.x, direction1.y,
+				direction1.z);
+		final float ux = direction1.x * norm1, uy = direction1.y * norm1;
+		final float uz = direction1.z * norm1;
+		final float norm2 = inverseLength(direction2.x, direction2.y,
+				direction2.z);
+		final float vx = direction2.x * norm2, vy = direction2.y * norm2;
+		final float vz = direction2.z * norm2;
+
+		final float wx = s1x - s2x, wy = s1y - s2y, wz = s1z - s2z;
+
+		final float a = ux * ux + uy * uy + uz * uz;
+		final float b = ux * vx + uy * vy + uz * vz;
+		final float c = vx * vx + vy * vy + vz * vz;
+		final float d = ux * wx + uy * wy + uz * wz;
+		final float e = vx * wx + vy * wy + vz * wz;
+		final float denominator = a * c - b * b;
+
+		if (denominator < SMALL_NUM)
+			return false;
+
+		final float sc = (b * e - c * d) / denominator;
+		final float tc = (a * e - b * d) / denominator;
+
+		final float p2x = s2x + vx * tc, p2y = s2y + vy * tc;
+		final float p2z = s2z + vz * tc;
+		float dx = (s1x + ux * sc) - p2x;
+		float dy = (s1y + uy * sc) - p2y;
+		float dz = (s1z + uz * sc) - p2z;
+
+		// wenn der Abstand zu gross wird, kein Schnittpunkt
+		final float distance = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+		if (distance > acceptableDistance)
+			return false;
+
+		// halber Verbindungsvektor beschreibt genau den Mittelpunkt
+		dx *= 0.5f;
+		dy *= 0.5f;
+		dz *= 0.5f;
+		out.x = p2x + dx;
+		out.y = p2y + dy;
+		out.z = p2z + dz;
+		return true;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Minimaler senkrechter Abstand zweier Geraden, Float.MAX_VALUE
+	 *         falls die Geraden parallel sind
+	 */
+	public static float computeLineDistance(final MyVector3f start1,
+			final MyVector3f direction1, final MyVector3f start2,
+			final MyVector3f direction2) {
+
+		final float s1x = start1.x, s1y = start1.y, s1z = start1.z;
+		final float s2x = start2.x, s2y = start2.y, s2z = start2.z;
+
+		final float norm1 = inverseLength(direction1.x, direction1.y,
+				direction1.z);
+		final float ux = direction1.x * norm1, uy = direction1.y * norm1;
+		final float uz = direction1.z * norm1;
+		final float norm2 = inverseLength(direction2.x, direction2.y,
+				direction2.z);
+		final float vx = direction2.x * norm2, vy = direction2.y * norm2;
+		final float vz = direction2.z * norm2;
+
+		final float wx = s1x - s2x, wy = s1y - s2y, wz = s1z - s2z;
+
+		final float a = ux * ux + uy * uy + uz * uz;
+		final float b = ux * vx + uy * vy + uz * vz;
+		final float c = vx * vx + vy * vy + vz * vz;
+		final float d = ux * wx + uy * wy + uz * wz;
+		final float e = vx * wx + vy * wy + vz * wz;
+		final float denominator = a * c - b * b;
+
+		if (denominator < SMALL_NUM)
+			return Float.MAX_VALUE;
+
+		final float sc = (b * e - c * d) / denominator;
+		final float tc = (a * e - b * d) / denominator;
+
+		final float dx = (s1x + ux * sc) - (s2x + vx * tc);
+		final float dy = (s1y + uy * sc) - (s2y + vy * tc);
+		final float dz = (s1z + uz * sc) - (s2z + vz * tc);
+		return (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode rotiert den uebergebenen Vektor um die uebergebene Achse. Die
+	 * Achse wird vorab normalisiert
+	 *
+	 * @param axis
+	 *            Rotationsachse
+	 * @param vector
+	 *            Zu rotierender Vektor
+	 * @param cosAngle
+	 *            Kosinus des Rotationswinkels
+	 * @param sinAngle
+	 *            Sinus des Rotationswinkels
+	 * @param out
+	 *            Ergebnisvektor, darf mit dem Eingabevektor identisch sein
+	 */
+	public static void rotate(final MyVector3f axis, final MyVector3f vector,
+			final double cosAngle, final double sinAngle, final MyVector3f out) {
+
+		final float norm = inverseLength(axis.x, axis.y, axis.z);
+		final double v1 = axis.x * norm;
+		final double v2 = axis.y * norm;
+		final double v3 = axis.z * norm;
+		final double x = vector.x, y = vector.y, z = vector.z;
+		final double oneMinusCos = 1 - cosAngle;
+
+		out.x = (float) ((cosAngle + Math.pow(v1, 2) * oneMinusCos) * x
+				+ (v1 * v2 * oneMinusCos - v3 * sinAngle) * y + (v1 * v3
+				* oneMinusCos + v2 * sinAngle)
+				* z);
+		out.y = (float) ((v2 * v1 * oneMinusCos + v3 * sinAngle) * x
+				+ (cosAngle + Math.pow(v2, 2) * oneMinusCos) * y + (v2 * v3
+				* oneMinusCos - v1 * sinAngle)
+				* z);
+		out.z = (float) ((v3 * v1 * oneMinusCos - v2 * sinAngle) * x
+				+ (v3 * v2 * oneMinusCos + v1 * sinAngle) * y + (cosAngle + Math
+				.pow(v3, 2) * oneMinusCos)
+				* z);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Batch-Variante der Rotation fuer Vektoren, die als x, y, z hintereinander
+	 * in einem Array abgelegt sind. Die Vektoren werden an Ort und Stelle
+	 * rotiert
+	 *
+	 * @param axis
+	 *            Rotationsachse
+	 * @param cosAngle
+	 *            Kosinus des Rotationswinkels
+	 * @param sinAngle
+	 *            Sinus des Rotationswinkels
+	 * @param vectors
+	 *            Array mit den Vektorkomponenten
+	 * @param offset
+	 *            Index der x-Komponente des ersten Vektors
+	 * @param count
+	 *            Anzahl der Vektoren
+	 */
+	public static void rotate(final MyVector3f axis, final double cosAngle,
+			final double sinAngle, final float[] vectors, final int offset,
+			final int count) {
+
+		final float norm = inverseLength(axis.x, axis.y, axis.z);
+		final double v1 = axis.x * norm;
+		final double v2 = axis.y * norm;
+		final double v3 = axis.z * norm;
+		final double oneMinusCos = 1 - cosAngle;
+
+		final double m00 = cosAngle + Math.pow(v1, 2) * oneMinusCos;
+		final double m01 = v1 * v2 * oneMinusCos - v3 * sinAngle;
+		final double m02 = v1 * v3 * oneMinusCos + v2 * sinAngle;
+		final double m10 = v2 * v1 * oneMinusCos + v3 * sinAngle;
+		final double m11 = cosAngle + Math.pow(v2, 2) * oneMinusCos;
+		final double m12 = v2 * v3 * oneMinusCos - v1 * sinAngle;
+		final double m20 = v3 * v1 * oneMinusCos - v2 * sinAngle;
+		final double m21 = v3 * v2 * oneMinusCos + v1 * sinAngle;
+		final double m22 = cosAngle + Math.pow(v3, 2) * oneMinusCos;
+
+		for (int i = offset, end = offset + 3 * count; i < end; i += 3) {
+			final double x = vectors[i], y = vectors[i + 1], z = vectors[i + 2];
+			vectors[i] = (float) (m00 * x + m01 * y + m02 * z);
+			vectors[i + 1] = (float) (m10 * x + m11 * y + m12 * z);
+			vectors[i + 2] = (float) (m20 * x + m21 * y + m22 * z);
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode berechnet den Schnittpunkt dreier Ebenen
+	 *
+	 * @param plane1
+	 *            Eingabeebene 1
+	 * @param plane2
+	 *            Eingabeebene 2
+	 * @param plane3
+	 *            Eingabeebene 3
+	 * @param scratch
+	 *            Hilfsarray der Laenge >= PLANE_SYSTEM_SIZE
+	 * @param out
+	 *            Ergebnisvektor
+	 * @return True, falls ein eindeutiger Schnittpunkt existiert, False sonst,
+	 *         der Ergebnisvektor bleibt dann unveraendert
+	 */
+	public static boolean computePlanePlanePlaneIntersection(
+			final Plane plane1, final Plane plane2, final Plane plane3,
+			final double[] scratch, final MyVector3f out) {
+
+		copyCoefficients(plane1.getKoeffizienten(), scratch, 0);
+		copyCoefficients(plane2.getKoeffizienten(), scratch, 4);
+		copyCoefficients(plane3.getKoeffizienten(), scratch, 8);
+		return solvePlaneSystem(scratch, out);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode loest das Gleichungssystem a * x + b * y + c * z + d = 0 fuer
+	 * drei Ebenen ueber eine LU-Zerlegung mit Spaltenpivotisierung. Die
+	 * Rechenschritte entsprechen dem zuvor verwendeten Colt-Solver
+	 * (Crout/Doolittle mit Skalarprodukten, Multiplikation mit inversen
+	 * Pivotelementen)
+	 *
+	 * @param system
+	 *            Koeffizienten a, b, c, d der drei Ebenen hintereinander,
+	 *            wird waehrend der Berechnung ueberschrieben
+	 * @param out
+	 *            Ergebnisvektor
+	 * @return True, falls das System eindeutig loesbar ist, False sonst
+	 */
+	public static boolean solvePlaneSystem(final double[] system,
+			final MyVector3f out) {
+
+		// rechte Seite in die d-Spalte uebernehmen
+		system[3] = system[3] * -1;
+		system[7] = system[7] * -1;
+		system[11] = system[11] * -1;
+
+		// LU-Zerlegung spaltenweise, Zeilen werden inklusive rechter Seite
+		// getauscht
+		for (int j = 0; j < 3; j++) {
+			for (int i = 0; i < 3; i++) {
+				final int kmax = Math.min(i, j);
+				double s = 0;
+				for (int k = 0; k < kmax; k++)
+					s += system[4 * i + k] * system[4 * k + j];
+				system[4 * i + j] = system[4 * i + j] - s;
+			}
+
+			int p = j;
+			double max = Math.abs(system[4 * p + j]);
+			for (int i = j + 1; i < 3; i++) {
+				final double value = Math.abs(system[4 * i + j]);
+				if (value > max) {
+					p = i;
+					max = value;
+				}
+			}
+			if (p != j) {
+				for (int k = 0; k < 4; k++) {
+					final double temp = system[4 * p + k];
+					system[4 * p + k] = system[4 * j + k];
+					system[4 * j + k] = temp;
+				}
+			}
+
+			final double pivot = system[4 * j + j];
+			if (pivot != 0.0) {
+				final double multiplier = 1.0 / pivot;
+				for (int i = j + 1; i < 3; i++)
+					system[4 * i + j] *= multiplier;
+			}
+		}
+
+		for (int j = 0; j < 3; j++) {
+			if (Math.abs(system[4 * j + j]) <= SINGULARITY_TOLERANCE)
+				return false;
+		}
+
+		// Vorwaertseinsetzen L * y = b
+		for (int k = 0; k < 3; k++) {
+			for (int i = k + 1; i < 3; i++) {
+				final double multiplier = system[4 * i + k];
+				if (multiplier != 0)
+					system[4 * i + 3] = system[4 * i + 3] - system[4 * k + 3]
+							* multiplier;
+			}
+		}
+
+		// Rueckwaertseinsetzen U * x = y
+		for (int k = 2; k >= 0; k--) {
+			double multiplier = 1 / system[4 * k + k];
+			if (multiplier != 1)
+				system[4 * k + 3] = system[4 * k + 3] * multiplier;
+			for (int i = 0; i < k; i++) {
+				multiplier = system[4 * i + k];
+				if (multiplier != 0)
+					system[4 * i + 3] = system[4 * i + 3] - system[4 * k + 3]
+							* multiplier;
+			}
+		}
+
+		out.x = (float) system[3];
+		out.y = (float) system[7];
+		out.z = (float) system[11];
+		return true;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Kopiert die Koeffizienten einer Ebene in das Gleichungssystem
+	 */
+	private static void copyCoefficients(final Double[] coefficients,
+			final double[] target, final int offset) {
+		target[offset] = coefficients[0];
+		target[offset + 1] = coefficients[1];
+		target[offset + 2] = coefficients[2];
+		target[offset + 3] = coefficients[3];
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Normalisierungsfaktor wie in Vector3f.normalize()
+	 */
+	private static float inverseLength(final float x, final float y,
+			final float z) {
+		return (float) (1.0 / Math.sqrt(x * x + y * y + z * z));
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+}
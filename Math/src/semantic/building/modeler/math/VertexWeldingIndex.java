@@ -0,0 +1,256 @@
+package semantic.building.modeler.math;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ *
+ * @author Patrick Gunia Klasse baut einen duplikatfreien Vertexbuffer auf und
+ *         ermittelt fuer jedes eingefuegte Vertex dessen Index im Buffer in
+ *         konstanter Zeit. Ohne Toleranz werden Vertices ueber ihre exakte
+ *         Position (Vertex3d.equals()) identifiziert, mit Toleranz ueber ein
+ *         raeumliches Hashgitter, dessen Zellen die Kantenlaenge der Toleranz
+ *         besitzen. Existieren mehrere passende Vertices, wird immer das zuerst
+ *         eingefuegte verwendet, das Ergebnis entspricht damit
+ *         List.indexOf().
+ *
+ */
+
+public class VertexWeldingIndex {
+
+	/** Duplikatfreier Vertexbuffer */
+	private final List<Vertex3d> mVertices;
+
+	/** Toleranz, innerhalb derer Vertices verschweisst werden, 0 = exakt */
+	private final float mTolerance;
+
+	/** Quadrierte Toleranz fuer Distanzvergleiche */
+	private final float mToleranceSquared;
+
+	/** Index je Position bei exaktem Vergleich */
+	private Map<Vertex3d, Integer> mExactIndex = null;
+
+	/** Indices je Gitterzelle bei toleranzbasiertem Vergleich */
+	private Map<GridCell, List<Integer>> mGridIndex = null;
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Konstruktor fuer exakten Vergleich
+	 *
+	 * @param expectedSize
+	 *            Erwartete Anzahl von Vertices
+	 */
+	public VertexWeldingIndex(final int expectedSize) {
+		this(expectedSize, 0.0f);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param expectedSize
+	 *            Erwartete Anzahl von Vertices
+	 * @param tolerance
+	 *            Maximaler Abstand, innerhalb dessen zwei Vertices als
+	 *            identisch gelten, bei Werten <= 0 wird exakt verglichen
+	 */
+	public VertexWeldingIndex(final int expectedSize, final float tolerance) {
+		mVertices = new ArrayList<Vertex3d>(expectedSize);
+		mTolerance = Math.max(0.0f, tolerance);
+		mToleranceSquared = mTolerance * mTolerance;
+		if (mTolerance > 0.0f) {
+			mGridIndex = new HashMap<GridCell, List<Integer>>(expectedSize * 2);
+		} else {
+			mExactIndex = new HashMap<Vertex3d, Integer>(expectedSize * 2);
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode fuegt das Vertex zum Buffer hinzu, sofern noch kein passendes
+	 * Vertex enthalten ist
+	 *
+	 * @param vertex
+	 *            Einzufuegendes Vertex
+	 * @return Index des Vertex bzw. des passenden, bereits enthaltenen Vertex
+	 */
+	public int add(final Vertex3d vertex) {
+		final int index = indexOf(vertex);
+		if (index != -1)
+			return index;
+		return append(vertex);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode haengt das Vertex ohne Duplikatpruefung an den Buffer an. Wird
+	 * benoetigt, wenn ein bestehender Buffer inklusive eventueller Duplikate
+	 * uebernommen werden muss, da bestehende Indices auf diesen verweisen.
+	 * Duplikate werden bei nachfolgenden Suchen nicht gefunden.
+	 *
+	 * @param vertex
+	 *            Anzuhaengendes Vertex
+	 * @return Index des Vertex im Buffer
+	 */
+	public int append(final Vertex3d vertex) {
+		final int index = mVertices.size();
+		mVertices.add(vertex);
+
+		if (mExactIndex != null) {
+			if (!mExactIndex.containsKey(vertex))
+				mExactIndex.put(vertex, index);
+		} else {
+			final GridCell cell = getCell(vertex, 0, 0, 0);
+			List<Integer> cellIndices = mGridIndex.get(cell);
+			if (cellIndices == null) {
+				cellIndices = new ArrayList<Integer>(2);
+				mGridIndex.put(cell, cellIndices);
+			}
+			cellIndices.add(index);
+		}
+		return index;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param vertex
+	 *            Gesuchtes Vertex
+	 * @return Index des ersten passenden Vertex im Buffer oder -1, falls kein
+	 *         passendes Vertex enthalten ist
+	 */
+	public int indexOf(final Vertex3d vertex) {
+
+		if (mExactIndex != null) {
+			final Integer index = mExactIndex.get(vertex);
+			return index != null ? index : -1;
+		}
+
+		// alle Nachbarzellen durchsuchen, da das passende Vertex jenseits einer
+		// Zellgrenze liegen kann
+		final MyVector3f position = vertex.getPositionPtr();
+		int result = -1;
+		for (int x = -1; x <= 1; x++) {
+			for (int y = -1; y <= 1; y++) {
+				for (int z = -1; z <= 1; z++) {
+					final List<Integer> cellIndices = mGridIndex.get(getCell(
+							vertex, x, y, z));
+					if (cellIndices == null)
+						continue;
+					for (Integer candidate : cellIndices) {
+						if (result != -1 && candidate > result)
+							break;
+						final MyVector3f candidatePosition = mVertices.get(
+								candidate).getPositionPtr();
+						final float dx = candidatePosition.x - position.x;
+						final float dy = candidatePosition.y - position.y;
+						final float dz = candidatePosition.z - position.z;
+						if (dx * dx + dy * dy + dz * dz <= mToleranceSquared) {
+							result = candidate;
+							break;
+						}
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Duplikatfreier Vertexbuffer
+	 */
+	public List<Vertex3d> getVertices() {
+		return mVertices;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Anzahl der Vertices im Buffer
+	 */
+	public int size() {
+		return mVertices.size();
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode berechnet eine Zuordnung der Indices eines Quellbuffers auf die
+	 * Indices des uebergebenen Zielbuffers. Jeder Index verweist auf das erste
+	 * gleiche Vertex im Zielbuffer
+	 *
+	 * @param source
+	 *            Quellbuffer
+	 * @param target
+	 *            Zielbuffer
+	 * @return Array mit dem Zielindex je Quellindex, -1 falls das Vertex im
+	 *         Zielbuffer nicht vorkommt
+	 */
+	public static int[] computeIndexMapping(final List<Vertex3d> source,
+			final List<Vertex3d> target) {
+
+		final VertexWeldingIndex index = new VertexWeldingIndex(target.size());
+		for (Vertex3d vertex : target) {
+			index.append(vertex);
+		}
+
+		final int[] mapping = new int[source.size()];
+		for (int i = 0; i < mapping.length; i++) {
+			mapping[i] = index.indexOf(source.get(i));
+		}
+		return mapping;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param vertex
+	 *            Vertex
+	 * @param offsetX
+	 *            Zellversatz in x-Richtung
+	 * @param offsetY
+	 *            Zellversatz in y-Richtung
+	 * @param offsetZ
+	 *            Zellversatz in z-Richtung
+	 * @return Gitterzelle des Vertex, verschoben um die uebergebenen Offsets
+	 */
+	private GridCell getCell(final Vertex3d vertex, final int offsetX,
+			final int offsetY, final int offsetZ) {
+		final MyVector3f position = vertex.getPositionPtr();
+		return new GridCell(
+				(long) Math.floor(position.x / mTolerance) + offsetX,
+				(long) Math.floor(position.y / mTolerance) + offsetY,
+				(long) Math.floor(position.z / mTolerance) + offsetZ);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Zelle des raeumlichen Hashgitters
+	 */
+	private static final class GridCell {
+
+		private final long mX, mY, mZ;
+
+		private GridCell(final long x, final long y, final long z) {
+			mX = x;
+			mY = y;
+			mZ = z;
+		}
+
+		@Override
+		public int hashCode() {
+			long hash = mX * 73856093L ^ mY * 19349663L ^ mZ * 83492791L;
+			return (int) (hash ^ (hash >>> 32));
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof GridCell))
+				return false;
+			final GridCell other = (GridCell) obj;
+			return mX == other.mX && mY == other.mY && mZ == other.mZ;
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+}
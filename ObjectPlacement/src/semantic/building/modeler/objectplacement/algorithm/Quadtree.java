@@ -1,13 +1,12 @@
 package semantic.building.modeler.objectplacement.algorithm;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import java.util.Set;
 
 import org.apache.log4j.Logger;
 
@@ -21,7 +20,13 @@ import semantic.building.modeler.objectplacement.model.AbstractComponent;
 /**
  * 
  * @author Patrick Gunia Verwaltungsklasse zum Aufbau und zur Kontrolle eines
- *         Quadtree
+ *         Quadtree. Da der Eingabebereich immer uniform unterteilt wird, werden
+ *         keine Knotenobjekte gespeichert, sondern nur die ContentTypes aller
+ *         Knoten in einem Byte-Array, das nach Ebenen und innerhalb der Ebenen
+ *         nach Morton-Codes geordnet ist. Die Geometrie eines Knotens ergibt
+ *         sich aus den Eckpunkten der Wurzel und seiner Position im Raster der
+ *         jeweiligen Ebene, QuadtreeNode-Instanzen sind nur Sichten auf diese
+ *         Daten.
  */
 
 public class Quadtree {
@@ -30,9 +35,60 @@ public class Quadtree {
 	protected static Logger logger = Logger
 			.getLogger("objectplacement.placementalgorithm.quadtree");
 
+	/** Kindpositionen als 2-Bit-Suffix des Morton-Codes (Zeile, Spalte) */
+	static final int UPPERLEFT = 0;
+	static final int UPPERRIGHT = 1;
+	static final int LOWERLEFT = 2;
+	static final int LOWERRIGHT = 3;
+
+	/**
+	 * Maximale Anzahl an Unterteilungsebenen, begrenzt durch die Bitbreite der
+	 * Morton-Codes
+	 */
+	private static final int MAX_DEPTH = 15;
+
+	/**
+	 * Toleranz fuer Punkt-auf-Kante-Tests, angegeben in Anteilen einer Zelle
+	 * der jeweiligen Ebene
+	 */
+	private static final double CELL_TOLERANCE = 1.0E-4;
+
+	/** Alle ContentTypes, Index entspricht dem gespeicherten Byte-Wert */
+	private static final ContentType[] CONTENT_TYPES = ContentType.values();
+
 	/** Wurzelknoten des Quadtrees */
 	private QuadtreeNode mRoot = null;
 
+	/** Polygon des Eingaberechtecks */
+	private MyPolygon mRootPolygon = null;
+
+	/** Linke obere Ecke des Eingaberechtecks */
+	private MyVector3f mOrigin = null;
+
+	/** Obere Kante des Eingaberechtecks, von links oben nach rechts oben */
+	private MyVector3f mUpperEdge = null;
+
+	/** Rechte Kante des Eingaberechtecks, von rechts oben nach rechts unten */
+	private MyVector3f mRightEdge = null;
+
+	/** Breite und Hoehe des Eingaberechtecks */
+	private float mRootWidth, mRootHeight;
+
+	/**
+	 * Eintraege der inversen Gram-Matrix der Kantenvektoren, werden fuer die
+	 * Berechnung lokaler Koordinaten benoetigt
+	 */
+	private double mInverseUU, mInverseUV, mInverseVV;
+
+	/** Anzahl der Unterteilungsebenen unterhalb der Wurzel */
+	private int mDepth = 0;
+
+	/**
+	 * ContentTypes aller Knoten als Ordinalwerte, Ebene l beginnt bei Index
+	 * (4^l - 1) / 3, innerhalb der Ebene wird ueber den Morton-Code adressiert
+	 */
+	private byte[] mContentTypes = null;
+
 	/**
 	 * Minimale Ausdehnung in Hoehe / Breite ab der nicht weiter unterteilt wird
 	 */
@@ -41,12 +97,6 @@ public class Quadtree {
 	/** Instanz der Mathebibliothek */
 	private MyVectormath mMathHelper = null;
 
-	/**
-	 * Set wird bei der Berechnung der Marker-Propagierung verwendet, um
-	 * mehrfaches Processing einzelner Baumknoten zu verhindern
-	 */
-	private Set<QuadtreeNode> processedNodes = null;
-
 	/**
 	 * Map speichert fuer jeden markierten Strahl alle Knoten, die von diesem
 	 * getroffen werden, um mehrfache Berechnungen zu verhinden
@@ -56,8 +106,6 @@ public class Quadtree {
 	/** Zufallsgenerator fuer Sample-Point-Jittering */
 	private Random mRandom = null;
 
-	private int counter = 0;
-
 	/** Statistiken bzgl. der Baumstruktur */
 	private int numberOfNodes = 0;
 
@@ -69,14 +117,35 @@ public class Quadtree {
 	 * Konstruktor mit Uebergabe des initialen, rechteckigen Eingabebereichs
 	 * 
 	 * @param corners
-	 *            Eckpunkte des Eingaberechtecks
+	 *            Eckpunkte des Eingaberechtecks im Uhrzeigersinn, beginnend
+	 *            links oben
 	 */
 	public Quadtree(List<Vertex3d> corners) {
 
 		mMathHelper = MyVectormath.getInstance();
-		mRoot = new QuadtreeNode(corners, 0, NodePosition.ROOT);
+		mRootPolygon = new MyPolygon(corners);
+
+		mOrigin = corners.get(0).getPosition();
+		mUpperEdge = new MyVector3f();
+		mUpperEdge.sub(corners.get(1).getPositionPtr(), mOrigin);
+		mRightEdge = new MyVector3f();
+		mRightEdge.sub(corners.get(2).getPositionPtr(), corners.get(1)
+				.getPositionPtr());
+		mRootWidth = mUpperEdge.length();
+		mRootHeight = mRightEdge.length();
+
+		final double uu = mUpperEdge.dot(mUpperEdge);
+		final double uv = mUpperEdge.dot(mRightEdge);
+		final double vv = mRightEdge.dot(mRightEdge);
+		final double det = uu * vv - uv * uv;
+		assert det > 0 : "FEHLER: Das Eingaberechteck ist degeneriert";
+		mInverseUU = vv / det;
+		mInverseUV = -uv / det;
+		mInverseVV = uu / det;
+
+		mContentTypes = new byte[1];
+		mRoot = new QuadtreeNode(this, 0, 0);
 		numberOfNodes++;
-		processedNodes = new HashSet<QuadtreeNode>();
 		mRayNodeMap = new HashMap<Ray, List<QuadtreeNode>>();
 		mRandom = new Random();
 
@@ -84,17 +153,15 @@ public class Quadtree {
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Erzeugt uniform eine weitere Unterteilungsebene innerhalb des Quadtrees
+	 * Erzeugt uniform eine weitere Unterteilungsebene innerhalb des Quadtrees,
+	 * hierfuer wird nur das ContentType-Array um die neue Ebene erweitert
 	 */
 	private void createNextLevel() {
+		assert mDepth < MAX_DEPTH : "FEHLER: Maximale Unterteilungstiefe erreicht";
 		numberOfLevels++;
-		List<QuadtreeNode> children = mRoot.getLeafs();
-		Iterator<QuadtreeNode> childIter = children.iterator();
-		while (childIter.hasNext()) {
-			numberOfNodes += 4;
-			childIter.next().createNextLevel();
-		}
-
+		mDepth++;
+		numberOfNodes += 1 << (2 * mDepth);
+		mContentTypes = Arrays.copyOf(mContentTypes, getLevelOffset(mDepth + 1));
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -117,14 +184,11 @@ public class Quadtree {
 
 		Float width = mRoot.getWidth(), height = mRoot.getHeight();
 
-		QuadtreeNode node = null;
-
 		while (width > mLowerLimit && height > mLowerLimit) {
 
 			createNextLevel();
-			node = mRoot.getLeafs().get(0);
-			width = node.getWidth();
-			height = node.getHeight();
+			width = getNodeWidth(mDepth);
+			height = getNodeHeight(mDepth);
 		}
 
 	}
@@ -134,9 +198,10 @@ public class Quadtree {
 	 * Setzt alle Flags der Knoten im Baum zurueck auf Empty
 	 */
 	public void resetTree() {
-		mRoot.resetNode();
+		Arrays.fill(mContentTypes, (byte) ContentType.EMPTY.ordinal());
 	}
 
+
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Fassaden-Methode, die alle Unterschritte der Markierungen kapselt
@@ -155,9 +220,9 @@ public class Quadtree {
 			resetTree();
 		markQuadtreeNodes(component);
 		markInside(component, positionedComponents);
-		// nachedm alle Markierungen vorgenommen wurden, propagiere alle
+		// nachdem alle Markierungen vorgenommen wurden, propagiere alle
 		// Markierungen von den Blaettern in Richtung Wurzel
-		propagateMarkerForNodes(getRoot(), false, true);
+		propagateMarkers();
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -174,28 +239,12 @@ public class Quadtree {
 		List<Vertex3d> points = component.getVertices();
 		List<Ray> rays = component.getPolygon().getRays();
 
-		List<QuadtreeNode> children = new ArrayList<QuadtreeNode>();
-
 		QuadtreeNode currentNode = null;
 
 		Iterator<Vertex3d> pointIter = points.iterator();
 		Iterator<Ray> rayIter = rays.iterator();
 		Vertex3d currentPoint = null;
 
-		Ray currentRay = null;
-		Float minDistance = null;
-
-		// bestimme die minimale Ausdehnung auf Ebene der Blattknoten, ist die
-		// Breite oder die Hoehe groesser?
-		// wird fuer die Generierung von Abtastpunkten benoetigt
-		QuadtreeNode leaf = getRoot().getLeafs().get(0);
-		if (leaf.getHeight() > leaf.getWidth())
-			minDistance = leaf.getWidth();
-		else
-			minDistance = leaf.getHeight();
-
-		// verwende 1/5 der Distanz
-		minDistance /= 5;
 		ContentType currentContent = null;
 
 		List<QuadtreeNode> cornerNodes = new ArrayList<QuadtreeNode>(
@@ -205,25 +254,15 @@ public class Quadtree {
 		// Komponente enthalten
 		while (pointIter.hasNext()) {
 
-			children.clear();
 			currentPoint = pointIter.next();
 
 			assert rayIter.hasNext() : "FEHLER: Es existiert kein Strahl mehr im polygonalen Grundriss";
-			currentRay = rayIter.next();
-
-			// hole alle Blaetter, die den uebergebenen Punkt enthalten
-			children = getLeafsContainingPoint(getRoot(), currentPoint);
-			assert children.size() > 0 : "FEHLER: Es konnte kein Blattknoten ermittelt werden, der den Punkt: "
-					+ currentPoint + " enthaelt";
-
-			// Fange Punkt-auf-Kante-Probleme auf Blattebene ab => wenn die
-			// Blattebene erreicht ist, sollte nur ein Knoten
-			// in CurrentNodes sein => sind mehrere Knoten enthalten, waehle
-			// denjenigen mit der geringsten Distanz zum Gesamtmittelpunkt
-			if (children.size() > 1)
-				currentNode = chooseNodeWithMinDistanceToCenter(children);
-			else
-				currentNode = children.get(0);
+			rayIter.next();
+
+			// hole das Blatt, das den uebergebenen Punkt enthaelt,
+			// Punkt-auf-Kante-Probleme werden dabei ueber den Abstand zum
+			// Gesamtmittelpunkt aufgeloest
+			currentNode = getNodeForPoint(currentPoint);
 
 			currentContent = currentNode.getContentType();
 
@@ -239,265 +278,336 @@ public class Quadtree {
 				currentNode.replaceContentType(ContentType.FULL);
 
 			cornerNodes.add(currentNode);
-			/*
-			 * if(!component.isSubComponent())currentNode.replaceContentType(
-			 * ContentType.CORNER);
-			 * 
-			 * // bei Subkomponenten ist der Content-Type immer "FULL" else {
-			 * currentNode.replaceContentType(ContentType.FULL); }
-			 */
-			// markEdges(currentRay, minDistance, currentNode, currentPoint,
-			// component.isSubComponent());
 		}
 
-		// markiere nun die Kanten zwischen den Eckpunkten
+		// markiere nun die Kanten zwischen den Eckpunkten, Strahl i verlaeuft
+		// von Eckpunkt i zu Eckpunkt i + 1
 		for (int i = 0; i < points.size(); i++) {
-			currentNode = cornerNodes.get(i);
-			currentRay = rays.get(i);
-			currentPoint = points.get(i);
-			markEdges(currentRay, minDistance, currentNode, currentPoint,
-					component.isSubComponent());
+			markEdges(rays.get(i), cornerNodes.get(i),
+					cornerNodes.get((i + 1) % cornerNodes.size()));
 		}
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Methode markiert den Verlauf von Kanten innerhalb der QuadtreeNodes und
-	 * legt fest, ob diese eine Kante enthalten
+	 * Methode markiert den Verlauf von Kanten innerhalb der Blattknoten. Die
+	 * Kante wird hierfuer im Raster der Blattebene per DDA (Amanatides / Woo)
+	 * durchlaufen, so dass jede Zelle, die von der Kante geschnitten wird,
+	 * genau einmal besucht wird. Alle besuchten Knoten werden in der Reihenfolge
+	 * ihres Auftretens fuer den Strahl gespeichert
 	 * 
 	 * @param ray
 	 *            Strahl, der den Verlauf der Kante beschreibt
-	 * @param minDistance
-	 *            Abhaengig von Hoehe / Breite-Verhaeltnis der Nodes, wird
-	 *            verwendet, um Abtastwerte auf dem Strahl zu bestimmen, die
-	 *            dann verwendet werden, um Nodes zu identifizieren, die die
-	 *            Kanten enthalten
-	 * @param currentNode
-	 *            Aktueller Knoten innerhalb des Trees, von dem aus die naechste
-	 *            Berechnung erfolgt (wird fuer Durchwandern des Baumes
-	 *            benoetigt)
-	 * @param currentPoint
-	 *            Abtastpunkt innerhalb des uebergebenen Nodes
-	 */
-	private void markEdges(Ray ray, Float minDistance,
-			QuadtreeNode currentNode, Vertex3d currentPoint,
-			boolean isSubComponent) {
+	 * @param startNode
+	 *            Blattknoten, der den Startpunkt des Strahls enthaelt
+	 * @param endNode
+	 *            Blattknoten, der den Endpunkt des Strahls enthaelt
+	 */
+	private void markEdges(Ray ray, QuadtreeNode startNode,
+			QuadtreeNode endNode) {
 
 		logger.trace("AKTUELLER STRAHL: " + ray.getDirection());
 
-		// bestimme den naechsten Abtastpunkt
-		MyVector3f rayDirection = ray.getDirection();
-		rayDirection.normalize();
-		rayDirection.scale(minDistance);
+		final int cells = 1 << mDepth;
+		final double[] start = computeLocalCoordinates(ray.getStartPtr());
+		final double[] end = computeLocalCoordinates(ray.getEndPtr());
+		final double x0 = start[0] * cells, y0 = start[1] * cells;
+		final double dx = end[0] * cells - x0, dy = end[1] * cells - y0;
+
+		// Startzelle ist die Eckpunktzelle, auch wenn der Punkt auf einer
+		// Zellkante liegt
+		int col = compactBits(startNode.getCode());
+		int row = compactBits(startNode.getCode() >>> 1);
+		final int endCode = endNode.getCode();
+
+		final int stepX = dx > 0 ? 1 : (dx < 0 ? -1 : 0);
+		final int stepY = dy > 0 ? 1 : (dy < 0 ? -1 : 0);
+
+		// Parameterwerte der naechsten Zellgrenzen und Abstand zwischen zwei
+		// Grenzen entlang des Strahls
+		double tMaxX = Double.MAX_VALUE, tMaxY = Double.MAX_VALUE;
+		double tDeltaX = Double.MAX_VALUE, tDeltaY = Double.MAX_VALUE;
+		if (stepX != 0) {
+			tMaxX = Math.max(0.0, ((stepX > 0 ? col + 1 : col) - x0) / dx);
+			tDeltaX = 1.0 / Math.abs(dx);
+		}
+		if (stepY != 0) {
+			tMaxY = Math.max(0.0, ((stepY > 0 ? row + 1 : row) - y0) / dy);
+			tDeltaY = 1.0 / Math.abs(dy);
+		}
 
-		Vertex3d samplePoint = null;
+		addNodeToRayMap(ray, startNode);
 
-		// fuege den aktuellen Knoten zur HashMap hinzu
-		addNodeToRayMap(ray, currentNode);
+		// die Anzahl der Schritte ist durch die Anzahl geschnittener
+		// Zellgrenzen beschraenkt
+		int remainingSteps = (int) Math.ceil(Math.abs(dx))
+				+ (int) Math.ceil(Math.abs(dy)) + 2;
+		int code = startNode.getCode();
 
-		// berechne einen Punkt ausserhalb des aktuellen Nodes in Richtung des
-		// uebergebenen Strahls
-		samplePoint = getSamplingPoint(currentNode, currentPoint.getPosition(),
-				ray.getDirection(), true);
-		// breche ab, wenn der Sample-Point nicht mehr auf dem Liniensegment des
-		// Strahls liegt => Rekursions-Abbruch
-		if (!mMathHelper.isPointOnLineSegment(samplePoint.getPosition(), ray)) {
+		while (code != endCode && remainingSteps-- > 0) {
 
-			// pruefe abschliessend immer den Endpunkt des Strahls, damit dieser
-			// beim Sampling nicht verloren geht
-			if (currentPoint.getPosition().equals(ray.getEnd())) {
-				return;
+			if (tMaxX < tMaxY) {
+				if (tMaxX > 1.0)
+					break;
+				col += stepX;
+				tMaxX += tDeltaX;
 			} else {
-				samplePoint.setPosition(ray.getEnd());
+				if (tMaxY > 1.0)
+					break;
+				row += stepY;
+				tMaxY += tDeltaY;
 			}
-		}
+			if (col < 0 || col >= cells || row < 0 || row >= cells)
+				break;
 
-		QuadtreeNode nextNode = getNodeForPoint(currentNode, samplePoint);
-		assert nextNode != null : "FEHLER: Es konnte kein Blattknoten gefunden werden, der den uebergebenen Punkt enthaelt";
+			code = encodeMorton(col, row);
+			markEdgeNode(new QuadtreeNode(this, mDepth, code));
+			addNodeToRayMap(ray, new QuadtreeNode(this, mDepth, code));
+		}
 
-		// markiere den Punkt und alle seine Eltern als Edge-Knoten, sofern sie
-		// noch nicht gekennzeichnet sind
-		QuadtreeNode current = nextNode;
+		// die Zelle des Endpunkts immer beruecksichtigen, auch wenn die
+		// Traversierung durch Punkt-auf-Kante-Faelle eine Nachbarzelle erreicht
+		if (code != endCode) {
+			markEdgeNode(endNode);
+			addNodeToRayMap(ray, endNode);
+		}
+	}
 
-		ContentType currentContentType = current.getContentType();
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode markiert einen Blattknoten, der von einer Kante geschnitten wird.
+	 * Leere Knoten werden auf EDGE gesetzt, nicht-leere Knoten auf FULL, sofern
+	 * es sich nicht um einen Eckpunkt handelt
+	 * 
+	 * @param node
+	 *            Blattknoten auf der Kante
+	 */
+	private void markEdgeNode(QuadtreeNode node) {
 
-		// leere Knoten auf EDGE setzen
+		final ContentType currentContentType = node.getContentType();
 		if (currentContentType == ContentType.EMPTY)
-			current.replaceContentType(ContentType.EDGE);
-
-		// nicht-leere Knoten dann auf FULL setzen, wenn es sich nicht um einen
-		// Eckpunkt handelt
+			node.replaceContentType(ContentType.EDGE);
 		else if (currentContentType != ContentType.CORNER)
-			current.replaceContentType(ContentType.FULL);
-
-		/*
-		 * if(!isSubComponent) current.replaceContentType(ContentType.EDGE);
-		 * else { current.replaceContentType(ContentType.FULL); }
-		 */
-		// starte die Rekursion
-		markEdges(ray, minDistance, nextNode, samplePoint, isSubComponent);
+			node.replaceContentType(ContentType.FULL);
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Methode durchlaeuft den Quadtree bis ein Blattknoten gefunden wird, der
-	 * den uebergebenen Punkt enthaelt. Dieser Knoten wird dann an den Aufrufer
-	 * zurueckgegeben
+	 * Methode liefert den Blattknoten, der den uebergebenen Punkt enthaelt.
+	 * Hierfuer wird der Punkt in das lokale Koordinatensystem des
+	 * Eingaberechtecks transformiert und direkt auf eine Zelle der Blattebene
+	 * abgebildet. Liegt der Punkt auf einer Zellkante, gehoeren mehrere Blaetter
+	 * in Frage, in diesem Fall wird dasjenige gewaehlt, dessen Mittelpunkt den
+	 * geringsten Abstand zum Mittelpunkt des Gesamtbereichs aufweist
 	 * 
-	 * @param startNode
-	 *            Startknoten, von dem ausgehend ein Zielknoten gesucht wird
 	 * @param point
 	 *            Punkt, fuer den ein Knoten innerhalb des Baumes gesucht wird
+	 * @return Blattknoten, der den Punkt enthaelt
 	 */
-	private QuadtreeNode getNodeForPoint(QuadtreeNode startNode, Vertex3d point) {
-
-		// wenn der uebergebene Knoten bereits den Punkt enthaelt, gebe diesen
-		// zurueck
-		if (mMathHelper.isPointInPolygon(startNode.getPolygon(), point))
-			return startNode;
-
-		QuadtreeNode currentNode = startNode;
-		Integer levelsToAdd = 10;
-
-		// suche einen Elternknoten innerhalb des Baumes, der den Testpunkt
-		// enthaelt
-		// leider reicht es nicht aus, nur bis zu diesem Knoten
-		// zurueckzuwandern, da sonst Punkt-Auf-Kante-Probleme nicht ausreichend
-		// geloest werden koennen
-		// gehe eine vordefinierte Anzahl von zusaetzlichen Ebenen weiter in
-		// Richtung Wurzel
-		while (true) {
-			if (mMathHelper.isPointInPolygon(currentNode.getPolygon(), point)) {
-
-				// breche ab, wenn die vordefinierte Anzahl zusaetzlicher Ebenen
-				// oder die Wurzel erreicht wurde
-				if (levelsToAdd == 0 || !currentNode.hasParent())
-					break;
+	private QuadtreeNode getNodeForPoint(Vertex3d point) {
+
+		final QuadtreeNode result = getLeafForPoint(point.getPositionPtr());
+		assert result != null : "FEHLER: Es konnte kein Knoten innerhalb des Baumes gefunden werden, der den gesuchten Punkt: "
+				+ point.getPositionPtr() + " enthaelt";
+		return result;
+	}
 
-				// sonst dekrementiere den Ebenen-Zaehler
-				else {
-					levelsToAdd--;
-					currentNode = currentNode.getParent();
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode bestimmt den Blattknoten, der den uebergebenen Punkt enthaelt
+	 * 
+	 * @param point
+	 *            Testpunkt
+	 * @return Blattknoten, der den Punkt enthaelt oder null, falls der Punkt
+	 *         ausserhalb des Eingabebereichs liegt
+	 */
+	public QuadtreeNode getLeafForPoint(MyVector3f point) {
+
+		final int cells = 1 << mDepth;
+		final double[] local = computeLocalCoordinates(point);
+		final double x = local[0] * cells;
+		final double y = local[1] * cells;
+
+		if (x < -CELL_TOLERANCE || x > cells + CELL_TOLERANCE
+				|| y < -CELL_TOLERANCE || y > cells + CELL_TOLERANCE)
+			return null;
+
+		// alle Spalten und Zeilen bestimmen, in deren Toleranzbereich der Punkt
+		// liegt
+		final int minCol = Math.max(0, (int) Math.floor(x - CELL_TOLERANCE));
+		final int maxCol = Math.min(cells - 1,
+				(int) Math.floor(x + CELL_TOLERANCE));
+		final int minRow = Math.max(0, (int) Math.floor(y - CELL_TOLERANCE));
+		final int maxRow = Math.min(cells - 1,
+				(int) Math.floor(y + CELL_TOLERANCE));
+
+		if (minCol == maxCol && minRow == maxRow)
+			return new QuadtreeNode(this, mDepth, encodeMorton(minCol, minRow));
+
+		// Punkt-auf-Kante: waehle die Zelle mit minimalem Abstand zum
+		// Mittelpunkt des Gesamtbereichs
+		final MyVector3f globalCenter = computeNodePoint(0, 0, 0.5f, 0.5f);
+		QuadtreeNode result = null;
+		float minDistance = Float.MAX_VALUE, currentDistance;
+		for (int row = minRow; row <= maxRow; row++) {
+			for (int col = minCol; col <= maxCol; col++) {
+				final int code = encodeMorton(col, row);
+				currentDistance = mMathHelper.calculatePointPointDistance(
+						computeNodePoint(mDepth, code, 0.5f, 0.5f),
+						globalCenter);
+				if (currentDistance < minDistance) {
+					minDistance = currentDistance;
+					result = new QuadtreeNode(this, mDepth, code);
 				}
-			} else {
-				if (currentNode.hasParent())
-					currentNode = currentNode.getParent();
-				else
-					assert false : "FEHLER: Es konnte kein Knoten innerhalb des Baumes gefunden werden, der den gesuchten Punkt: "
-							+ point.getPositionPtr() + " enthaelt";
 			}
 		}
+		return result;
+	}
 
-		List<QuadtreeNode> children = new ArrayList<QuadtreeNode>();
-
-		// hole alle Blattknoten ausgehend vom berechneten Startknoten, die den
-		// Punkt enthalten
-		children = getLeafsContainingPoint(currentNode, point);
-
-		assert children.size() > 0 : "FEHLER: Fuer den uebergebenen Punkt: "
-				+ point.getPositionPtr()
-				+ " konnten kein Blattknoten ermittelt werden, der den Punkt enthaelt";
-		if (children.size() > 1) {
-			Iterator<QuadtreeNode> nodeIter = children.iterator();
-			while (nodeIter.hasNext()) {
-				currentNode = nodeIter.next();
-				assert mMathHelper.isPointInPolygon(currentNode.getPolygon(),
-						point) : "FEHLER: " + point + " PUNKT: "
-						+ point.getPosition()
-						+ " befindet sich nicht im Polygon: "
-						+ currentNode.getPolygon();
-			}
-		}
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode testet, ob der uebergebene Punkt innerhalb des Rechtecks des
+	 * uebergebenen Knotens liegt, Punkte auf dem Rand gelten als enthalten
+	 * 
+	 * @param node
+	 *            Knoten
+	 * @param point
+	 *            Testpunkt
+	 * @return True, falls der Punkt im Knoten liegt, False sonst
+	 */
+	private boolean isPointInNode(QuadtreeNode node, MyVector3f point) {
+
+		final int level = node.getLevel();
+		final int cells = 1 << level;
+		final double[] local = computeLocalCoordinates(point);
+		final double x = local[0] * cells - compactBits(node.getCode());
+		final double y = local[1] * cells - compactBits(node.getCode() >>> 1);
+		return x >= -CELL_TOLERANCE && x <= 1.0 + CELL_TOLERANCE
+				&& y >= -CELL_TOLERANCE && y <= 1.0 + CELL_TOLERANCE;
+	}
 
-		if (children.size() > 1)
-			return chooseNodeWithMinDistanceToCenter(children);
-		else
-			return children.get(0);
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode berechnet die Koordinaten des Punktes bzgl. der Kanten des
+	 * Eingaberechtecks, Punkte innerhalb des Rechtecks liegen in [0, 1]^2.
+	 * Anteile orthogonal zur Ebene werden dabei ignoriert
+	 * 
+	 * @param point
+	 *            Punkt
+	 * @return Array mit den Koordinaten entlang der oberen und der rechten
+	 *         Kante
+	 */
+	private double[] computeLocalCoordinates(MyVector3f point) {
+
+		final double dx = point.x - mOrigin.x;
+		final double dy = point.y - mOrigin.y;
+		final double dz = point.z - mOrigin.z;
+		final double du = dx * mUpperEdge.x + dy * mUpperEdge.y + dz
+				* mUpperEdge.z;
+		final double dv = dx * mRightEdge.x + dy * mRightEdge.y + dz
+				* mRightEdge.z;
+		return new double[] { mInverseUU * du + mInverseUV * dv,
+				mInverseUV * du + mInverseVV * dv };
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Methode berechnet fuer alle uebergebenen Quadtree-Nodes deren Abstand zum
-	 * Mittelpunkt der Flaeche, die durch den gesamten Quadtree beschrieben wird
-	 * und gibt den Knoten zurueck, dessen Mittelpunkt den geringsten Abstand zu
-	 * diesem Mittelpunkt aufweist
+	 * Methode markiert alle Blattknoten, deren Mittelpunkt innerhalb der
+	 * uebergebenen Komponente liegt. Das Polygon wird hierfuer in das Raster
+	 * der Blattebene transformiert und zeilenweise gescannt: fuer jede Zeile
+	 * werden die Schnittpunkte der Polygonkanten mit der Mittellinie der
+	 * Zeile bestimmt und die Zellen zwischen je zwei Schnittpunkten markiert
+	 * (Even-Odd-Regel)
 	 * 
-	 * @param nodes
-	 *            Liste mit QuadtreeNodes, deren Abstand zum Mittelpunkt
-	 *            errechnet wird
-	 * @return QuadtreeNode, dessen Abstand zum Mittelpunkt des Gesamtbereichs
-	 *         minimal ist in Bezug auf alle anderen uebergebenen Nodes
+	 * @param component
+	 *            Komponente, deren Belegung im Baum markiert werden soll
+	 * @param positionedComponents
+	 *            Liste mit allen bereits vorab positionierten Komponenten
 	 */
-	private QuadtreeNode chooseNodeWithMinDistanceToCenter(
-			List<QuadtreeNode> nodes) {
+	private void markInside(AbstractComponent component,
+			List<AbstractComponent> positionedComponents) {
 
-		QuadtreeNode currentNode = null, currentMinDistanceNode = null;
-		Float currentMinDistance = Float.MAX_VALUE, currentDistance = null;
+		final int cells = 1 << mDepth;
+		final List<Vertex3d> vertices = component.getPolygon().getVertices();
+		final int numberOfVertices = vertices.size();
+
+		// Polygon in Rasterkoordinaten der Blattebene
+		final double[] xs = new double[numberOfVertices];
+		final double[] ys = new double[numberOfVertices];
+		double minY = Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+		for (int i = 0; i < numberOfVertices; i++) {
+			final double[] local = computeLocalCoordinates(vertices.get(i)
+					.getPositionPtr());
+			xs[i] = local[0] * cells;
+			ys[i] = local[1] * cells;
+			minY = Math.min(minY, ys[i]);
+			maxY = Math.max(maxY, ys[i]);
+		}
 
-		MyVector3f globalCenter = getRoot().getCenter();
+		final int firstRow = Math.max(0, (int) Math.floor(minY - 0.5));
+		final int lastRow = Math.min(cells - 1, (int) Math.ceil(maxY - 0.5));
+		final double[] intersections = new double[numberOfVertices];
 
-		Iterator<QuadtreeNode> nodeIter = nodes.iterator();
-		while (nodeIter.hasNext()) {
-			currentNode = nodeIter.next();
+		for (int row = firstRow; row <= lastRow; row++) {
 
-			currentDistance = mMathHelper.calculatePointPointDistance(
-					currentNode.getCenter(), globalCenter);
-			if (currentDistance < currentMinDistance) {
-				currentMinDistance = currentDistance;
-				currentMinDistanceNode = currentNode;
+			// Schnittpunkte der Kanten mit der Zeilenmitte, halboffene
+			// Intervalle verhindern doppelt gezaehlte Eckpunkte
+			final double y = row + 0.5;
+			int count = 0;
+			for (int i = 0, j = numberOfVertices - 1; i < numberOfVertices; j = i++) {
+				if ((ys[i] <= y) != (ys[j] <= y)) {
+					intersections[count++] = xs[i] + (y - ys[i])
+							* (xs[j] - xs[i]) / (ys[j] - ys[i]);
+				}
+			}
+			Arrays.sort(intersections, 0, count);
+
+			// markiere alle Zellen, deren Mittelpunkt zwischen zwei
+			// Schnittpunkten liegt
+			for (int k = 0; k + 1 < count; k += 2) {
+				final int firstCol = Math.max(0,
+						(int) Math.ceil(intersections[k] - 0.5));
+				final int lastCol = Math.min(cells - 1,
+						(int) Math.floor(intersections[k + 1] - 0.5));
+				for (int col = firstCol; col <= lastCol; col++)
+					markInsideNode(encodeMorton(col, row), component,
+							positionedComponents);
 			}
 		}
-
-		return currentMinDistanceNode;
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Methode markiert alle Knoten innerhalb des Baumes, die sich (teilweise)
-	 * innerhalb der uebergebenen Komponente befinden
+	 * Methode markiert einen Blattknoten, dessen Mittelpunkt innerhalb der
+	 * uebergebenen Komponente liegt
 	 * 
+	 * @param code
+	 *            Morton-Code des Blattknotens
 	 * @param component
 	 *            Komponente, deren Belegung im Baum markiert werden soll
 	 * @param positionedComponents
 	 *            Liste mit allen bereits vorab positionierten Komponenten
 	 */
-	private void markInside(AbstractComponent component,
+	private void markInsideNode(int code, AbstractComponent component,
 			List<AbstractComponent> positionedComponents) {
 
-		MyPolygon polygon = component.getPolygon();
-
-		// die Berechnung muss hier bei den Kindknoten beginnen, da man immer
-		// nur die Mittelpunkte sampelt
-		// durchlaeuft man den Baum absteigend, koennen vollstaendige Aeste
-		// abgeschnitten werden, da die Center-Punkte nicht innerhalb des
-		// Polygons liegen
-		List<QuadtreeNode> leafs = getRoot().getLeafs();
-		Iterator<QuadtreeNode> leafIter = leafs.iterator();
-		QuadtreeNode currentLeaf = null;
-
-		while (leafIter.hasNext()) {
-			currentLeaf = leafIter.next();
-			if (mMathHelper.isPointInPolygon(polygon,
-					new Vertex3d(currentLeaf.getCenter()))) {
-
-				if (!component.isSubComponent())
-					currentLeaf.replaceContentType(ContentType.INSIDE);
-				else {
-
-					// teste, ob sich der Abtastpunkt in einer anderen
-					// Komponente befindet, in diesem Fall wird der ContentType
-					// auf FULL gesetzt
-					if (isInsideOtherComponent(currentLeaf.getCenter(),
-							positionedComponents, component))
-						currentLeaf.replaceContentType(ContentType.FULL);
-
-					// sonst als INSIDE markieren, ueberschreibt keine bereits
-					// gesetzten Markierungen wie CORNER oder EDGE, da INSIDE
-					// eine niedrigere Priorität hat
-					else
-						currentLeaf.replaceContentType(ContentType.INSIDE);
-				}
-			}
+		if (!component.isSubComponent())
+			replaceContentType(mDepth, code, ContentType.INSIDE);
+		else {
+
+			// teste, ob sich der Abtastpunkt in einer anderen
+			// Komponente befindet, in diesem Fall wird der ContentType
+			// auf FULL gesetzt
+			if (isInsideOtherComponent(
+					computeNodePoint(mDepth, code, 0.5f, 0.5f),
+					positionedComponents, component))
+				replaceContentType(mDepth, code, ContentType.FULL);
+
+			// sonst als INSIDE markieren, ueberschreibt keine bereits
+			// gesetzten Markierungen wie CORNER oder EDGE, da INSIDE
+			// eine niedrigere Priorität hat
+			else
+				replaceContentType(mDepth, code, ContentType.INSIDE);
 		}
 	}
 
@@ -528,7 +638,7 @@ public class Quadtree {
 			if (current == currentComponent)
 				continue;
 			else {
-				if (mMathHelper.isPointInPolygon(current.getPolygon(), point))
+				if (current.getPolygon().getPreparedPolygon().contains(point))
 					return true;
 			}
 		}
@@ -537,97 +647,27 @@ public class Quadtree {
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Methode durchlaeuft den Baum entweder absteigend oder aufsteigend,
-	 * abhaengig vom backTrack-Flag
-	 * 
-	 * @param node
-	 *            Knoten, von dem ausgehend der Baum durchwandert wird, sofern
-	 *            backtTrack auf false steht, wird die Methode rekursiv fuer die
-	 *            Kinder gecallt, ansonsten werden die Kinder ausgewertet und
-	 *            der Wert des uebergebenen Knotens wird aktualisiert
-	 * @param backTrack
-	 *            Flag legt fest, ob die Rekursion weiterhin eingeleitet wird
-	 *            oder man sich bereits auf dem Rueckweg durch den Baum befindet
-	 * @param firstIteration
-	 *            Flag fuer erste durchgefuehrte Iteration
-	 */
-	private void propagateMarkerForNodes(QuadtreeNode node, boolean backTrack,
-			boolean firstIteration) {
-
-		if (firstIteration)
-			processedNodes.clear();
-
-		boolean firstIterationFlag = false;
-
-		Iterator<QuadtreeNode> nodeIter = null;
-		QuadtreeNode currentParent = null, currentNode = null;
-		List<QuadtreeNode> children = null;
-
-		if (!backTrack) {
-			if (!node.isLeaf()) {
-				children = node.getChildren();
-
-				// wenn die naechste Ebene die Blattebene ist, dann rufe die
-				// Funktion nur noch fuer eines der Kinder auf (Reduktion der
-				// Aufrufe)
-				if (children.get(0).isLeaf()) {
-					propagateMarkerForNodes(children.get(0), false,
-							firstIterationFlag);
-				} else {
-					nodeIter = children.iterator();
-					while (nodeIter.hasNext()) {
-						propagateMarkerForNodes(nodeIter.next(), false,
-								firstIterationFlag);
-					}
-				}
-			}
-			// Blattebene erreicht, Backtracking, falls Elternknoten noch nicht
-			// verarbeitet, reduziert die Anzahl der Aufrufe
-			else {
-				if (node.hasParent()) {
-					QuadtreeNode nextParent = node.getParent();
-					if (!processedNodes.contains(nextParent))
-						propagateMarkerForNodes(node, true, firstIterationFlag);
-				}
-			}
-		}
-
-		// den Baum Richtung Wurzel durchlaufen
-		else {
-			currentParent = node.getParent();
-
-			// adde den aktuellen Parent zur Liste verarbeiteter Knoten
-			processedNodes.add(currentParent);
-
-			children = currentParent.getChildren();
-			int compareResult;
-			ContentType newContentType = null;
-
-			nodeIter = children.iterator();
-
-			// ermittle den Knoten mit dem ContentType hoechster Prioritaet
-			while (nodeIter.hasNext()) {
-				currentNode = nodeIter.next();
-				if (newContentType == null)
-					newContentType = currentNode.getContentType();
-				else {
-					compareResult = newContentType.compareTo(currentNode
-							.getContentType());
-					if (compareResult < 0)
-						newContentType = currentNode.getContentType();
+	 * Methode propagiert die Markierungen der Blaetter in Richtung Wurzel.
+	 * Hierfuer werden die Ebenen von unten nach oben durchlaufen, jeder Knoten
+	 * uebernimmt den ContentType hoechster Prioritaet seiner vier Kinder. Da
+	 * die Kinder eines Knotens im Array direkt aufeinander folgen, ist dies ein
+	 * einzelner linearer Durchlauf
+	 */
+	private void propagateMarkers() {
+
+		for (int level = mDepth - 1; level >= 0; level--) {
+			final int parentOffset = getLevelOffset(level);
+			final int childOffset = getLevelOffset(level + 1);
+			final int numberOfParents = 1 << (2 * level);
+
+			for (int code = 0; code < numberOfParents; code++) {
+				final int firstChild = childOffset + (code << 2);
+				byte max = mContentTypes[parentOffset + code];
+				for (int child = firstChild; child < firstChild + 4; child++) {
+					if (mContentTypes[child] > max)
+						max = mContentTypes[child];
 				}
-			}
-
-			// setze beim Parent den ContentType mit hoechster Prioritaet
-			currentParent.replaceContentType(newContentType);
-
-			// starte die Rekursion aufwaerts nur dann, wenn ein Parent
-			// existiert und dieser noch nicht verarbeitet wurde
-			if (currentParent.hasParent()) {
-				QuadtreeNode nextParent = currentParent.getParent();
-				if (!processedNodes.contains(nextParent))
-					propagateMarkerForNodes(currentParent, true,
-							firstIterationFlag);
+				mContentTypes[parentOffset + code] = max;
 			}
 		}
 	}
@@ -687,7 +727,7 @@ public class Quadtree {
 				orthogonalNormal, true);
 
 		// finde einen Knoten, der den Sample-Punkt enthaelt
-		QuadtreeNode neighbour = getNodeForPoint(sampleNode, samplePoint);
+		QuadtreeNode neighbour = getNodeForPoint(samplePoint);
 
 		// wenn der gesampelte Node Empty als Type hat, hat man einen Knoten
 		// ausserhalb der Geometrie
@@ -696,7 +736,7 @@ public class Quadtree {
 			orthogonalNormal.scale(-1.0f);
 			samplePoint = getSamplingPoint(sampleNode, startPosition,
 					orthogonalNormal, true);
-			neighbour = getNodeForPoint(sampleNode, samplePoint);
+			neighbour = getNodeForPoint(samplePoint);
 			// assert neighbour.getContentType().equals(ContentType.EMPTY):
 			// "FEHLER: Fuer den berechneten Samplepunkt und die Sampledirection wurde kein leerer Knoten gefunden";
 		}
@@ -717,7 +757,7 @@ public class Quadtree {
 			currentNode = nodeIter.next();
 			samplePoint = getSamplingPoint(currentNode,
 					currentNode.getCenter(), sampleVector, false);
-			neighbour = getNodeForPoint(currentNode, samplePoint);
+			neighbour = getNodeForPoint(samplePoint);
 			assert neighbour != null : "FEHLER: Es konnte kein Nachbar bestimmt werden";
 			result.add(neighbour);
 			neighbour.replaceContentType(ContentType.OUTSIDE);
@@ -727,61 +767,6 @@ public class Quadtree {
 	}
 
 	// ------------------------------------------------------------------------------------------
-	/**
-	 * Methode durchlaeuft den Baum und liefert alle Blattknoten, die den
-	 * uebergebenen Punkt enthalten. Im Fall von Punkten, die eine Node-Kante
-	 * treffen, koennen mehr als ein Kind zurueckgeliefert werden.
-	 * 
-	 * @param startNode
-	 *            Knoten von dem ausgehend der Baum durchsucht werden soll
-	 * @param point
-	 *            Punkt, fuer den alle Blaetter gesucht werden, die diesen
-	 *            enthalten
-	 * @return Liste mit Blattknoten, die den uebergebenen Punkt enthalten
-	 */
-	private List<QuadtreeNode> getLeafsContainingPoint(QuadtreeNode startNode,
-			Vertex3d point) {
-
-		List<QuadtreeNode> currentNodes = new ArrayList<QuadtreeNode>();
-		List<QuadtreeNode> children = new ArrayList<QuadtreeNode>();
-		Iterator<QuadtreeNode> nodeIter = null;
-
-		QuadtreeNode current = null;
-		MyPolygon polygon = null;
-
-		currentNodes.add(startNode);
-		while (currentNodes.size() > 0) {
-
-			nodeIter = currentNodes.iterator();
-			while (nodeIter.hasNext()) {
-				current = nodeIter.next();
-				polygon = current.getPolygon();
-				if (mMathHelper.isPointInPolygon(polygon, point)) {
-					children.addAll(current.getChildren());
-				}
-				// Punkt nicht im Polygon, Knoten entfernen
-				else
-					nodeIter.remove();
-			}
-
-			// wenn keine Kinder mehr gefunden wurden, hat man die Blattebene
-			// erreicht, gebe currentNodes zurueck
-			if (children.size() == 0) {
-				assert currentNodes.size() > 0 : "FEHLER: Es konnte kein Blattknoten gefunden werden, der den uebergebenen Punkt: "
-						+ point.getPositionPtr() + " enthaelt";
-				return currentNodes;
-			} else {
-				currentNodes.clear();
-				currentNodes.addAll(children);
-				children.clear();
-			}
-		}
-		assert false : "FEHLER: Es konnten keine Blattknoten innerhalb des Baumes ermittelt werden, die den uebergebenen Punkt: "
-				+ point.getPositionPtr() + " enthalten";
-		return null;
-
-	}
-
 	// ------------------------------------------------------------------------------------------
 	public void printStatistics() {
 		String lineBreak = System.getProperty("line.separator");
@@ -845,13 +830,11 @@ public class Quadtree {
 			MyVector3f direction, boolean scale) {
 
 		Vertex3d startVert = new Vertex3d(start.clone());
-		MyPolygon polygon = node.getPolygon();
 
-		boolean pointInPoly = mMathHelper.isPointInPolygon(polygon, startVert);
-		assert pointInPoly : "FEHLER: Der uebergebene Punkt: "
+		assert isPointInNode(node, startVert.getPositionPtr()) : "FEHLER: Der uebergebene Punkt: "
 				+ startVert.getPositionPtr()
 				+ " befindet sich nicht innerhalb des uebergebenen Knotens: "
-				+ polygon;
+				+ node;
 		MyVector3f clonedDirection = direction.clone();
 
 		// wenn skaliert werden soll, normalisiere und skaliere anschliessend
@@ -880,7 +863,7 @@ public class Quadtree {
 
 		// addiere so lange den skalierten Richtungsvektor auf, bis ein Punkt
 		// ausserhalb des Nodes getroffen wird
-		while (mMathHelper.isPointInPolygon(polygon, startVert)) {
+		while (isPointInNode(node, startVert.getPositionPtr())) {
 			startVert.getPositionPtr().add(clonedDirection);
 		}
 
@@ -907,5 +890,195 @@ public class Quadtree {
 
 	}
 	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Anzahl der Unterteilungsebenen unterhalb der Wurzel
+	 */
+	int getDepth() {
+		return mDepth;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Polygon des Eingaberechtecks
+	 */
+	MyPolygon getRootPolygon() {
+		return mRootPolygon;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param level
+	 *            Ebene
+	 * @return Breite aller Knoten der uebergebenen Ebene
+	 */
+	float getNodeWidth(int level) {
+		return mRootWidth / (1 << level);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param level
+	 *            Ebene
+	 * @return Hoehe aller Knoten der uebergebenen Ebene
+	 */
+	float getNodeHeight(int level) {
+		return mRootHeight / (1 << level);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param level
+	 *            Ebene
+	 * @param horizontal
+	 *            True fuer obere / untere Kante, False fuer rechte / linke
+	 *            Kante
+	 * @param sign
+	 *            1 fuer obere bzw. rechte Kante, -1 fuer untere bzw. linke
+	 *            Kante
+	 * @return Kantenvektor eines Knotens der uebergebenen Ebene
+	 */
+	MyVector3f getEdgeDirection(int level, boolean horizontal, float sign) {
+		final MyVector3f result = horizontal ? mUpperEdge.clone()
+				: mRightEdge.clone();
+		result.scale(sign / (1 << level));
+		return result;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode berechnet einen Punkt innerhalb eines Knotens ueber seine
+	 * relative Position bzgl. der oberen und rechten Knotenkante
+	 * 
+	 * @param level
+	 *            Ebene des Knotens
+	 * @param code
+	 *            Morton-Code des Knotens
+	 * @param fractionX
+	 *            Relative Position entlang der oberen Kante, 0 = links
+	 * @param fractionY
+	 *            Relative Position entlang der rechten Kante, 0 = oben
+	 * @return Punkt im Weltkoordinatensystem
+	 */
+	MyVector3f computeNodePoint(int level, int code, float fractionX,
+			float fractionY) {
+		final float cells = 1 << level;
+		final float s = (compactBits(code) + fractionX) / cells;
+		final float t = (compactBits(code >>> 1) + fractionY) / cells;
+		return new MyVector3f(mOrigin.x + s * mUpperEdge.x + t * mRightEdge.x,
+				mOrigin.y + s * mUpperEdge.y + t * mRightEdge.y, mOrigin.z + s
+						* mUpperEdge.z + t * mRightEdge.z);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return ContentType des uebergebenen Knotens
+	 */
+	ContentType getContentType(int level, int code) {
+		return CONTENT_TYPES[mContentTypes[getLevelOffset(level) + code]];
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Setzt den ContentType des uebergebenen Knotens
+	 */
+	void setContentType(int level, int code, ContentType contentType) {
+		mContentTypes[getLevelOffset(level) + code] = (byte) contentType
+				.ordinal();
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Setzt den ContentType des uebergebenen Knotens nur dann, wenn dieser eine
+	 * hoehere Prioritaet besitzt als der bereits gesetzte
+	 */
+	void replaceContentType(int level, int code, ContentType contentType) {
+		final int index = getLevelOffset(level) + code;
+		if (mContentTypes[index] < contentType.ordinal())
+			mContentTypes[index] = (byte) contentType.ordinal();
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Setzt den uebergebenen Knoten und alle seine Nachfahren auf EMPTY. Durch
+	 * die Morton-Ordnung belegen die Nachfahren auf jeder Ebene einen
+	 * zusammenhaengenden Bereich
+	 */
+	void resetSubtree(int level, int code) {
+		final byte empty = (byte) ContentType.EMPTY.ordinal();
+		for (int l = level; l <= mDepth; l++) {
+			final int shift = 2 * (l - level);
+			final int start = getLevelOffset(l) + (code << shift);
+			Arrays.fill(mContentTypes, start, start + (1 << shift), empty);
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode sammelt alle Blaetter unterhalb des uebergebenen Knotens in der
+	 * Kindreihenfolge links oben, rechts oben, rechts unten, links unten
+	 */
+	void collectLeafs(int level, int code, List<QuadtreeNode> result) {
+		if (level == mDepth) {
+			result.add(new QuadtreeNode(this, level, code));
+			return;
+		}
+		final int childCode = code << 2;
+		collectLeafs(level + 1, childCode | UPPERLEFT, result);
+		collectLeafs(level + 1, childCode | UPPERRIGHT, result);
+		collectLeafs(level + 1, childCode | LOWERRIGHT, result);
+		collectLeafs(level + 1, childCode | LOWERLEFT, result);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param level
+	 *            Ebene
+	 * @return Index des ersten Knotens der Ebene im ContentType-Array
+	 */
+	private static int getLevelOffset(int level) {
+		return ((1 << (2 * level)) - 1) / 3;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param col
+	 *            Spalte
+	 * @param row
+	 *            Zeile
+	 * @return Morton-Code mit der Spalte in den geraden und der Zeile in den
+	 *         ungeraden Bits
+	 */
+	private static int encodeMorton(int col, int row) {
+		return spreadBits(col) | (spreadBits(row) << 1);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Verteilt die unteren 16 Bit des Wertes auf die geraden Bitpositionen
+	 */
+	private static int spreadBits(int value) {
+		value &= 0x0000FFFF;
+		value = (value | (value << 8)) & 0x00FF00FF;
+		value = (value | (value << 4)) & 0x0F0F0F0F;
+		value = (value | (value << 2)) & 0x33333333;
+		value = (value | (value << 1)) & 0x55555555;
+		return value;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Fasst die geraden Bitpositionen des Wertes zusammen, Umkehrung von
+	 * spreadBits()
+	 */
+	private static int compactBits(int value) {
+		value &= 0x55555555;
+		value = (value | (value >>> 1)) & 0x33333333;
+		value = (value | (value >>> 2)) & 0x0F0F0F0F;
+		value = (value | (value >>> 4)) & 0x00FF00FF;
+		value = (value | (value >>> 8)) & 0x0000FFFF;
+		return value;
+	}
+
+	// ------------------------------------------------------------------------------------------
 
 }
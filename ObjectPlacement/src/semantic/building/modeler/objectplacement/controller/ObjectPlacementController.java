@@ -1022,8 +1022,8 @@ public class ObjectPlacementController {
 
 		// teste zunaechst, ob der Mittelpunkt der Quellkomponente innerhalb der
 		// Mainkomponente liegt
-		boolean isSubComponentCenterWithinMainComponent = mMathHelper
-				.isPointInPolygon(mainComponentPoly, sourceComponentCenter);
+		boolean isSubComponentCenterWithinMainComponent = mainComponentPoly
+				.getPreparedPolygon().contains(sourceComponentCenter);
 
 		// berechne den Abstand des Source-Centers zur Quellkante
 		float distanceToRay = mMathHelper.calculatePointEdgeDistance(
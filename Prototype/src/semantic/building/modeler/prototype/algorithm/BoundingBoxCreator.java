@@ -1,9 +1,7 @@
 package semantic.building.modeler.prototype.algorithm;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import org.apache.log4j.Logger;
 
@@ -13,6 +11,7 @@ import semantic.building.modeler.math.MyVector3f;
 import semantic.building.modeler.math.MyVectormath;
 import semantic.building.modeler.math.Plane;
 import semantic.building.modeler.math.Vertex3d;
+import semantic.building.modeler.prototype.enums.OBBQuality;
 import semantic.building.modeler.prototype.graphics.complex.AABB;
 import semantic.building.modeler.prototype.graphics.complex.BoundingBox;
 import semantic.building.modeler.prototype.graphics.complex.OBB;
@@ -37,6 +36,9 @@ public class BoundingBoxCreator {
 	/** Logging-Instanz */
 	protected static Logger LOGGER = Logger.getLogger(BoundingBoxCreator.class);
 
+	/** Standardqualitaet fuer die Berechnung von OBBs */
+	public static final OBBQuality DEFAULT_OBB_QUALITY = OBBQuality.BALANCED;
+
 	/** Eingabepunktwolke */
 	private List<Vertex3d> mVertices = null;
 
@@ -61,6 +63,9 @@ public class BoundingBoxCreator {
 	/** Ergebnis der Eigenwert- und Eigenvektorenberechnung */
 	private EigenvalueDecomposition mEigenvalueDecomp = null;
 
+	/** Qualitaetsstufe fuer computeOBB() und computeOBBBruteForceNoCH() */
+	private OBBQuality mOBBQuality = DEFAULT_OBB_QUALITY;
+
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Standardkonstruktur fuer BB-Factory
@@ -69,6 +74,16 @@ public class BoundingBoxCreator {
 		init();
 	}
 
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param quality
+	 *            Qualitaetsstufe fuer die OBB-Berechnung
+	 */
+	public BoundingBoxCreator(final OBBQuality quality) {
+		this();
+		mOBBQuality = quality;
+	}
+
 	// ------------------------------------------------------------------------------------------
 	private void init() {
 		mVertices = new ArrayList<Vertex3d>();
@@ -105,6 +120,18 @@ public class BoundingBoxCreator {
 
 	// ------------------------------------------------------------------------------------------
 
+	public OBBQuality getOBBQuality() {
+		return mOBBQuality;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+	public void setOBBQuality(final OBBQuality quality) {
+		mOBBQuality = quality;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
 	/**
 	 * Methode berechnet eine OBB fuer den uebergebenen Polyeder. Zunaechst wird
 	 * die konvexe Huelle fuer den Eingabepolyeder mittels QuickHull bestimmt,
@@ -174,61 +201,35 @@ public class BoundingBoxCreator {
 		return extremwerte;
 	}
 
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode berechnet eine OBB mit der eingestellten Qualitaetsstufe. Fuer
+	 * eine Menge von Kandidatenrichtungen (Hauptachsen, Weltachsen und je nach
+	 * Qualitaetsstufe Normalen der konvexen Huelle) wird das minimale
+	 * Boundingrechteck der Projektion per Rotating Calipers bestimmt, die beste
+	 * Box wird anschliessend lokal nachoptimiert.
+	 * 
+	 * @param vertices
+	 *            Eingabepunktwolke
+	 * @return OBB-Instanz fuer die uebergebene Punktwolke
+	 */
+	public BoundingBox computeOBB(List<Vertex3d> vertices) {
+		return computeOBB(vertices, mOBBQuality);
+	}
+
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Methode berechnet die OBB ueber einen Brute-Force-Ansatz basierend auf
-	 * den Faces der konvexen Huelle. Man durchlaeuft alle Faces der konvexen
-	 * Huelle. Fuer jedes Face berechnet man die Projektion aller Punkte der
-	 * konvexen Huelle auf die Faceebene, anschliessend berechnet man das
-	 * minimale Bounding-Rechteck dieser Projektion. Die Achsen dieses Rechtecks
-	 * definieren mit der Face-Normalen die Achsen der OBB.
+	 * den Faces der konvexen Huelle. Fuer jede Flaechenorientierung werden
+	 * alle Punkte der konvexen Huelle auf die Faceebene projiziert und das
+	 * minimale Bounding-Rechteck dieser Projektion per Rotating Calipers
+	 * bestimmt. Die Achsen dieses Rechtecks definieren mit der Face-Normalen
+	 * die Achsen der OBB.
 	 * 
 	 * @return Liste mit Polygonen, die die OBB fuer das Objekt beschreiben
 	 */
 	public BoundingBox computeOBBBruteForce(List<Vertex3d> vertices) {
-		reset();
-		mVertices = vertices;
-
-		LOGGER.debug("Berechnung der konvexen Huelle...");
-		Quickhull3d quickHull = new Quickhull3d(mVertices);
-		mConvexHull = quickHull.computeConvexHull();
-		LOGGER.debug("Berechnung der konvexen Huelle...abgeschlossen");
-
-		List<Vertex3d> chVerts = getVertsFromPolyhedron(mConvexHull);
-
-		MyPolygon currentPoly = null;
-		List<MyVector3f> currentOBBAxis = null, currentBestOBBAxis = null;
-		float currentVolume = 0, minVolume = Float.MAX_VALUE;
-		Set<MyVector3f> usedVectors = new HashSet<MyVector3f>();
-
-		// Durchlaufe alle Faces der konvexen Huelle und verwende diese, um OBBs
-		// zu berechnen
-		for (int i = 0; i < mConvexHull.size(); i++) {
-			currentPoly = mConvexHull.get(i);
-
-			// wenn Faces die gleiche Ausrichtung haben, dann erzeugen sie auch
-			// die gleiche OBB, skippe solche Neuberechnungen
-			if (usedVectors.contains(currentPoly.getNormalPtr()))
-				continue;
-
-			usedVectors.add(currentPoly.getNormalPtr());
-			currentOBBAxis = computeOBBByPoly(currentPoly, chVerts);
-			currentVolume = computeOBBVolume(currentOBBAxis, chVerts);
-			if (currentVolume < minVolume) {
-				minVolume = currentVolume;
-				currentBestOBBAxis = currentOBBAxis;
-			}
-		}
-
-		assert currentBestOBBAxis.size() == 3 : "FEHLER: Es wurden "
-				+ currentBestOBBAxis.size() + " Achsen ermittelt.";
-
-		mOBBAxis = new ArrayList<MyVector3f>(currentBestOBBAxis);
-		// mEigenvektoren.addAll(currentBestOBBAxis);
-		List<Float> extremwerte = projectVertsToAxes(currentBestOBBAxis,
-				chVerts);
-		return new OBB(extremwerte, currentBestOBBAxis);
-
+		return computeOBB(vertices, OBBQuality.EXACT);
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -247,94 +248,36 @@ public class BoundingBoxCreator {
 	 */
 	public BoundingBox computeOBBBruteForceNoCH(List<MyPolygon> faces,
 			List<Vertex3d> vertices) {
-		MyPolygon currentPoly = null;
-		List<MyVector3f> currentOBBAxis = null, currentBestOBBAxis = null;
-		float currentVolume = 0, minVolume = Float.MAX_VALUE;
-		Set<MyVector3f> usedVectors = new HashSet<MyVector3f>();
-
-		// Durchlaufe alle Faces des Objekts und verwende diese, um OBBs zu
-		// berechnen
-		for (int i = 0; i < faces.size(); i++) {
-			currentPoly = faces.get(i);
-
-			// wenn Faces die gleiche Ausrichtung haben, dann erzeugen sie auch
-			// die gleiche OBB, skippe solche Neuberechnungen
-			if (usedVectors.contains(currentPoly.getNormalPtr()))
-				continue;
-
-			usedVectors.add(currentPoly.getNormalPtr());
-			currentOBBAxis = computeOBBByPoly(currentPoly, vertices);
-			currentVolume = computeOBBVolume(currentOBBAxis, vertices);
-			if (currentVolume < minVolume) {
-				minVolume = currentVolume;
-				currentBestOBBAxis = currentOBBAxis;
-			}
-		}
-
-		assert currentBestOBBAxis.size() == 3 : "FEHLER: Es wurden "
-				+ currentBestOBBAxis.size() + " Achsen ermittelt.";
+		reset();
+		mVertices = vertices;
 
-		mOBBAxis = new ArrayList<MyVector3f>(currentBestOBBAxis);
+		final OBBFitter fitter = new OBBFitter(mOBBQuality);
+		mOBBAxis = fitter.computeAxes(faces, vertices);
 
-		// mEigenvektoren.addAll(currentBestOBBAxis);
-		List<Float> extremwerte = projectVertsToAxes(currentBestOBBAxis,
-				vertices);
-		return new OBB(extremwerte, currentBestOBBAxis);
+		List<Float> extremwerte = projectVertsToAxes(mOBBAxis, vertices);
+		return new OBB(extremwerte, new ArrayList<MyVector3f>(mOBBAxis));
 	}
 
 	// ------------------------------------------------------------------------------------------
-
 	/**
-	 * Methode berechnet eine OBB basierend auf dem Uebergabepolygon, indem
-	 * saemtliche Uebergabepunkte auf die Polygonebene projiziert werden. Dann
-	 * berechnet man in dieser Ebene das minimale Boundingrechteck, welches mit
-	 * der Polygonnormale die Achsen der OBB definiert.
+	 * Methode berechnet eine OBB mit der uebergebenen Qualitaetsstufe
 	 * 
-	 * @param poly
-	 *            Polygon auf dem basierend die OBB bestimmt wird
 	 * @param vertices
-	 *            Punkte, die auf die Dreiecksebene projiziert werden
-	 * @return Liste mit den Achsen der OBB
+	 *            Eingabepunktwolke
+	 * @param quality
+	 *            Qualitaetsstufe der Berechnung
+	 * @return OBB-Instanz fuer die uebergebene Punktwolke
 	 */
-	private List<MyVector3f> computeOBBByPoly(MyPolygon poly,
-			List<Vertex3d> vertices) {
-
-		Plane projectionPlane = new Plane(poly.getNormalPtr(), poly
-				.getVertices().get(0).getPositionPtr());
-		List<Vertex3d> projectedPoints = new ArrayList<Vertex3d>(
-				vertices.size());
-		MyVectormath mathHelper = MyVectormath.getInstance();
-		Vertex3d currentVertex = null;
-
-		for (int i = 0; i < vertices.size(); i++) {
-			currentVertex = vertices.get(i).clone();
-			mathHelper.projectPointOntoPlane(projectionPlane, currentVertex);
-			projectedPoints.add(currentVertex);
-		}
-
-		List<MyVector3f> result = new ArrayList<MyVector3f>(3);
-		result.add(poly.getNormal());
+	private BoundingBox computeOBB(List<Vertex3d> vertices, OBBQuality quality) {
+		reset();
+		mVertices = vertices;
 
-		// Achsen des minimalen Boundingrechtsecks berechnen
-		result.addAll(mathHelper.getMinAreaRectAxis(projectedPoints));
-		return result;
-	}
+		final OBBFitter fitter = new OBBFitter(quality);
+		mOBBAxis = fitter.computeAxes(vertices);
+		mConvexHull = fitter.getConvexHull();
 
-	// ------------------------------------------------------------------------------------------
-	/**
-	 * Methode extrahiert alle Vertices aus einer Menge von Uebergabepolygonen
-	 * 
-	 * @param polys
-	 *            Polygone, aus denen die Vertices extrahiert werden
-	 * @return Liste mit Vertices, wobei keien Duplikate in der Liste vorhanden
-	 *         sind
-	 */
-	private List<Vertex3d> getVertsFromPolyhedron(List<MyPolygon> polys) {
-		Set<Vertex3d> vertSet = new HashSet<Vertex3d>();
-		for (int i = 0; i < polys.size(); i++)
-			vertSet.addAll(polys.get(i).getVertices());
-		List<Vertex3d> result = new ArrayList<Vertex3d>(vertSet);
-		return result;
+		List<Float> extremwerte = projectVertsToAxes(mOBBAxis, vertices);
+		return new OBB(extremwerte, new ArrayList<MyVector3f>(mOBBAxis));
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -553,26 +496,6 @@ public class BoundingBoxCreator {
 		mCovarianceMatrix[2][2] = 0.0d;
 	}
 
-	// ------------------------------------------------------------------------------------------
-	/**
-	 * Methode berechnet das Volumen der berechneten OBB durch Projektion aller
-	 * Vertices auf die OBB-Achsen und Bestimmung der Ausdehnungen in den 3
-	 * Dimensionen
-	 * 
-	 * @param axis
-	 *            Achsen der OBB, fuer die das Volumen berechnet werden soll
-	 * @return Volumen des berechneten OBB
-	 */
-	private float computeOBBVolume(List<MyVector3f> axis,
-			List<Vertex3d> vertices) {
-
-		List<Float> axisValues = projectVertsToAxes(axis, vertices);
-		return Math.abs((axisValues.get(0) - axisValues.get(1))
-				* (axisValues.get(3) - axisValues.get(2))
-				* (axisValues.get(5) - axisValues.get(4)));
-
-	}
-
 	// ------------------------------------------------------------------------------------------
 
 	/**
@@ -0,0 +1,811 @@
+package semantic.building.modeler.prototype.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+
+import semantic.building.modeler.math.MyPolygon;
+import semantic.building.modeler.math.MyVector3f;
+import semantic.building.modeler.math.Vertex3d;
+import semantic.building.modeler.prototype.enums.OBBQuality;
+import cern.colt.matrix.DoubleMatrix2D;
+import cern.colt.matrix.impl.DenseDoubleMatrix2D;
+import cern.colt.matrix.linalg.EigenvalueDecomposition;
+
+/**
+ * 
+ * Klasse bestimmt die Achsen einer moeglichst kleinen objektorientierten
+ * Bounding-Box fuer eine Punktwolke. Fuer eine Menge von Kandidatenrichtungen
+ * (PCA-Achsen, Weltachsen und abhaengig von der Qualitaetsstufe die Normalen
+ * der konvexen Huelle) werden alle Punkte auf die senkrechte Ebene projiziert
+ * und dort mittels Rotating Calipers das Rechteck minimalen Flaecheninhalts
+ * bestimmt. Fuer ebene und extrudierte Objekte ist das Ergebnis dadurch
+ * bereits nach wenigen Richtungen optimal. Die beste gefundene Ausrichtung wird
+ * anschliessend durch kleine Drehungen um die Boxachsen lokal verbessert
+ * (Hill-Climbing).
+ * 
+ * @author Patrick Gunia
+ * 
+ */
+
+public class OBBFitter {
+
+	/** Logging-Instanz */
+	protected static Logger LOGGER = Logger.getLogger(OBBFitter.class);
+
+	/**
+	 * Verhaeltnis von kleinster zu groesster Ausdehnung, unterhalb dessen eine
+	 * Punktwolke als eben betrachtet wird
+	 */
+	private static final double PLANAR_TOLERANCE = 1e-5;
+
+	/** Aufloesung, mit der bereits getestete Richtungen erkannt werden */
+	private static final double DIRECTION_RESOLUTION = 1e4;
+
+	/** Startschrittweite der lokalen Nachoptimierung in Radians */
+	private static final double INITIAL_REFINEMENT_ANGLE = 0.1;
+
+	/** Kleinste Schrittweite der lokalen Nachoptimierung in Radians */
+	private static final double MIN_REFINEMENT_ANGLE = 1e-4;
+
+	/** Qualitaetsstufe der Berechnung */
+	private OBBQuality mQuality = null;
+
+	/** Konvexe Huelle der Eingabepunkte, null, falls keine berechnet wurde */
+	private List<MyPolygon> mConvexHull = null;
+
+	/** Punktkoordinaten relativ zum Schwerpunkt, jeweils 3 Werte pro Punkt */
+	private double[] mPoints = null;
+
+	/** Anzahl der verarbeiteten Punkte */
+	private int mNumberOfPoints = 0;
+
+	/** Erste Koordinate der in eine Ebene projizierten Punkte */
+	private double[] mProjectedU = null;
+
+	/** Zweite Koordinate der in eine Ebene projizierten Punkte */
+	private double[] mProjectedV = null;
+
+	/** Sortierschluessel der projizierten Punkte */
+	private long[] mSortKeys = null;
+
+	/** Sortierreihenfolge der projizierten Punkte */
+	private int[] mSortOrder = null;
+
+	/** Indices der Punkte auf der konvexen Huelle der Projektion */
+	private int[] mHull2D = null;
+
+	/** Richtung der Rechteckkante der letzten 2D-Berechnung in der Ebene */
+	private double mRectDirectionU = 1.0, mRectDirectionV = 0.0;
+
+	/** Zeilenweise gespeicherte Achsen der besten bisher gefundenen Box */
+	private double[] mBestAxes = null;
+
+	/** Volumen der besten bisher gefundenen Box */
+	private double mBestVolume = Double.MAX_VALUE;
+
+	/** Schluessel aller bereits getesteten Richtungen */
+	private Set<Long> mTestedDirections = null;
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param quality
+	 *            Qualitaetsstufe, die die Anzahl getesteter Richtungen und die
+	 *            Dauer der Nachoptimierung bestimmt
+	 */
+	public OBBFitter(final OBBQuality quality) {
+		mQuality = quality;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Konvexe Huelle der letzten Eingabe, null, falls die
+	 *         Qualitaetsstufe keine Huellberechnung erfordert hat oder die
+	 *         Punktwolke eben ist
+	 */
+	public List<MyPolygon> getConvexHull() {
+		return mConvexHull;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode berechnet die Achsen einer OBB fuer die uebergebene Punktwolke.
+	 * Ebene Punktwolken werden direkt ueber ihre Hauptachsen behandelt.
+	 * Andernfalls wird abhaengig von der Qualitaetsstufe zunaechst die konvexe
+	 * Huelle bestimmt, deren Vertices die weitere Berechnung beschleunigen und
+	 * deren Flaechennormalen als zusaetzliche Kandidatenrichtungen dienen.
+	 * 
+	 * @param vertices
+	 *            Eingabepunktwolke
+	 * @return Liste mit 3 orthonormalen Achsen
+	 */
+	public List<MyVector3f> computeAxes(final List<Vertex3d> vertices) {
+
+		assert !vertices.isEmpty() : "FEHLER: Keine Vertices uebergeben.";
+
+		mConvexHull = null;
+
+		// ebene Punktwolken benoetigen keine konvexe Huelle
+		init(vertices);
+		if (fitPlanar())
+			return getBestAxes();
+
+		if (mQuality.getMaxFaceDirections() > 0 && vertices.size() > 3) {
+			LOGGER.debug("Berechnung der konvexen Huelle...");
+			mConvexHull = new Quickhull3d(vertices).computeConvexHull();
+			LOGGER.debug("Berechnung der konvexen Huelle...abgeschlossen");
+
+			// weitere Berechnung nur auf den Vertices der Huelle
+			final List<Vertex3d> points = getVertsFromPolyhedron(mConvexHull);
+			if (!points.isEmpty())
+				init(points);
+		}
+
+		testPrincipalAndWorldAxes();
+
+		// Flaechennormalen absteigend nach Flaecheninhalt testen, so dass bei
+		// begrenzter Anzahl die dominanten Flaechen beruecksichtigt werden
+		if (mConvexHull != null) {
+			final double[] areas = new double[mConvexHull.size()];
+			final Integer[] order = new Integer[mConvexHull.size()];
+			for (int i = 0; i < mConvexHull.size(); i++) {
+				areas[i] = computeArea(mConvexHull.get(i));
+				order[i] = i;
+			}
+			Arrays.sort(order, new Comparator<Integer>() {
+				@Override
+				public int compare(Integer first, Integer second) {
+					return Double.compare(areas[second], areas[first]);
+				}
+			});
+			final List<MyPolygon> faces = new ArrayList<MyPolygon>(order.length);
+			for (int i = 0; i < order.length; i++)
+				faces.add(mConvexHull.get(order[i]));
+			testFaceDirections(faces, mQuality.getMaxFaceDirections());
+		}
+
+		refine();
+		return getBestAxes();
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode berechnet die Achsen einer OBB, wobei als Kandidatenrichtungen
+	 * ausschliesslich die Normalen der uebergebenen Flaechen verwendet werden.
+	 * Es wird keine konvexe Huelle berechnet.
+	 * 
+	 * @param faces
+	 *            Flaechen, deren Normalen getestet werden
+	 * @param vertices
+	 *            Eingabepunktwolke
+	 * @return Liste mit 3 orthonormalen Achsen
+	 */
+	public List<MyVector3f> computeAxes(final List<MyPolygon> faces,
+			final List<Vertex3d> vertices) {
+
+		assert !vertices.isEmpty() : "FEHLER: Keine Vertices uebergeben.";
+
+		mConvexHull = null;
+		init(vertices);
+		if (fitPlanar())
+			return getBestAxes();
+
+		testFaceDirections(faces, Integer.MAX_VALUE);
+
+		// ohne verwertbare Flaechennormale auf die PCA-Achsen zurueckfallen
+		if (mBestAxes == null)
+			testPrincipalAndWorldAxes();
+
+		refine();
+		return getBestAxes();
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode uebernimmt die Eingabepunkte relativ zu ihrem Schwerpunkt in ein
+	 * double-Array und setzt den Zustand der vorherigen Berechnung zurueck
+	 * 
+	 * @param vertices
+	 *            Eingabepunkte
+	 */
+	private void init(final List<Vertex3d> vertices) {
+
+		mNumberOfPoints = vertices.size();
+		mPoints = new double[3 * mNumberOfPoints];
+		mProjectedU = new double[mNumberOfPoints];
+		mProjectedV = new double[mNumberOfPoints];
+		mSortKeys = new long[mNumberOfPoints];
+		mSortOrder = new int[mNumberOfPoints];
+		mHull2D = new int[2 * mNumberOfPoints + 1];
+		mBestAxes = null;
+		mBestVolume = Double.MAX_VALUE;
+		mTestedDirections = new HashSet<Long>();
+
+		double centerX = 0.0, centerY = 0.0, centerZ = 0.0;
+		MyVector3f position = null;
+		for (int i = 0; i < mNumberOfPoints; i++) {
+			position = vertices.get(i).getPositionPtr();
+			mPoints[3 * i] = position.x;
+			mPoints[3 * i + 1] = position.y;
+			mPoints[3 * i + 2] = position.z;
+			centerX += position.x;
+			centerY += position.y;
+			centerZ += position.z;
+		}
+		centerX /= mNumberOfPoints;
+		centerY /= mNumberOfPoints;
+		centerZ /= mNumberOfPoints;
+
+		for (int i = 0; i < mNumberOfPoints; i++) {
+			mPoints[3 * i] -= centerX;
+			mPoints[3 * i + 1] -= centerY;
+			mPoints[3 * i + 2] -= centerZ;
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode testet ueber die Hauptachsen, ob alle Punkte in einer Ebene
+	 * liegen. In diesem Fall bestimmt ein einzelner Rotating-Calipers-Durchlauf
+	 * in dieser Ebene bereits das optimale Ergebnis.
+	 * 
+	 * @return True, falls die Punktwolke eben ist und die Achsen bestimmt
+	 *         wurden, False sonst
+	 */
+	private boolean fitPlanar() {
+
+		final double[] principalAxes = computePrincipalAxes();
+		double maxExtent = 0.0;
+		for (int k = 0; k < 3; k++)
+			maxExtent = Math.max(maxExtent, computeExtent(principalAxes[3 * k],
+					principalAxes[3 * k + 1], principalAxes[3 * k + 2]));
+
+		// die Hauptachse mit dem kleinsten Eigenwert steht an erster Stelle
+		final double thickness = computeExtent(principalAxes[0],
+				principalAxes[1], principalAxes[2]);
+		if (thickness > PLANAR_TOLERANCE * maxExtent)
+			return false;
+
+		LOGGER.trace("Ebene Punktwolke, Berechnung per Rotating Calipers");
+		testDirection(principalAxes[0], principalAxes[1], principalAxes[2]);
+		return true;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode testet die Hauptachsen der Punktwolke sowie die Weltachsen als
+	 * Kandidatenrichtungen. Letztere liefern fuer achsenausgerichtet
+	 * extrudierte Objekte direkt das optimale Ergebnis.
+	 */
+	private void testPrincipalAndWorldAxes() {
+
+		final double[] principalAxes = computePrincipalAxes();
+		for (int k = 0; k < 3; k++)
+			testDirection(principalAxes[3 * k], principalAxes[3 * k + 1],
+					principalAxes[3 * k + 2]);
+
+		testDirection(1.0, 0.0, 0.0);
+		testDirection(0.0, 1.0, 0.0);
+		testDirection(0.0, 0.0, 1.0);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode testet die Normalen der uebergebenen Flaechen als
+	 * Kandidatenrichtungen. Gleich und entgegengesetzt ausgerichtete Normalen
+	 * werden nur einmal getestet.
+	 * 
+	 * @param faces
+	 *            Flaechen in der Reihenfolge, in der sie getestet werden
+	 * @param maxDirections
+	 *            Maximale Anzahl neu zu testender Richtungen
+	 */
+	private void testFaceDirections(final List<MyPolygon> faces,
+			final int maxDirections) {
+
+		int numberOfDirections = 0;
+		MyVector3f normal = null;
+		for (int i = 0; i < faces.size()
+				&& numberOfDirections < maxDirections; i++) {
+			normal = faces.get(i).getNormalPtr();
+			if (normal == null || normal.isInvalid())
+				continue;
+			if (testDirection(normal.x, normal.y, normal.z))
+				numberOfDirections++;
+		}
+		LOGGER.trace(numberOfDirections + " Flaechennormalen getestet");
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode berechnet fuer die uebergebene Richtung das minimale
+	 * Boundingrechteck der auf die senkrechte Ebene projizierten Punkte und
+	 * uebernimmt die resultierende Box, falls sie kleiner ist als die bisher
+	 * beste
+	 * 
+	 * @return True, falls die Richtung bisher noch nicht getestet wurde
+	 */
+	private boolean testDirection(double x, double y, double z) {
+
+		final double length = Math.sqrt(x * x + y * y + z * z);
+		if (length == 0.0 || Double.isNaN(length)
+				|| Double.isInfinite(length))
+			return false;
+		x /= length;
+		y /= length;
+		z /= length;
+
+		if (!mTestedDirections.add(getDirectionKey(x, y, z)))
+			return false;
+
+		evaluateDirection(x, y, z);
+		return true;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode fuehrt die Rotating-Calipers-Berechnung fuer eine normierte
+	 * Richtung ohne Duplikattest durch
+	 */
+	private void evaluateDirection(final double x, final double y,
+			final double z) {
+
+		// beliebige Orthonormalbasis der Projektionsebene bestimmen
+		double ux, uy, uz;
+		if (Math.abs(x) < 0.6) {
+			ux = 0.0;
+			uy = -z;
+			uz = y;
+		} else {
+			ux = z;
+			uy = 0.0;
+			uz = -x;
+		}
+		final double uLength = Math.sqrt(ux * ux + uy * uy + uz * uz);
+		ux /= uLength;
+		uy /= uLength;
+		uz /= uLength;
+		final double vx = y * uz - z * uy;
+		final double vy = z * ux - x * uz;
+		final double vz = x * uy - y * ux;
+
+		final double area = computeMinAreaRect(ux, uy, uz, vx, vy, vz);
+		final double volume = area * computeExtent(x, y, z);
+
+		// fuer ebene Punktwolken gibt es nur einen Durchlauf, das Volumen ist
+		// dann stets 0
+		if (mBestAxes == null || volume < mBestVolume) {
+			mBestVolume = volume;
+			mBestAxes = new double[] {
+					x,
+					y,
+					z,
+					mRectDirectionU * ux + mRectDirectionV * vx,
+					mRectDirectionU * uy + mRectDirectionV * vy,
+					mRectDirectionU * uz + mRectDirectionV * vz,
+					-mRectDirectionV * ux + mRectDirectionU * vx,
+					-mRectDirectionV * uy + mRectDirectionU * vy,
+					-mRectDirectionV * uz + mRectDirectionU * vz };
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode projiziert alle Punkte auf die durch die beiden Achsen
+	 * aufgespannte Ebene, berechnet die konvexe Huelle der Projektion mittels
+	 * Monotone Chain und bestimmt anschliessend per Rotating Calipers das
+	 * Rechteck minimalen Flaecheninhalts in linearer Zeit. Die Richtung der
+	 * Rechteckkante wird in mRectDirectionU / mRectDirectionV abgelegt.
+	 * 
+	 * @return Flaecheninhalt des minimalen Rechtecks
+	 */
+	private double computeMinAreaRect(final double ux, final double uy,
+			final double uz, final double vx, final double vy, final double vz) {
+
+		for (int i = 0; i < mNumberOfPoints; i++) {
+			mProjectedU[i] = ux * mPoints[3 * i] + uy * mPoints[3 * i + 1] + uz
+					* mPoints[3 * i + 2];
+			mProjectedV[i] = vx * mPoints[3 * i] + vy * mPoints[3 * i + 1] + vz
+					* mPoints[3 * i + 2];
+		}
+
+		final int hullSize = computeHull2D();
+		mRectDirectionU = 1.0;
+		mRectDirectionV = 0.0;
+
+		if (hullSize < 3) {
+			// alle Punkte fallen auf eine Strecke oder einen Punkt
+			if (hullSize == 2) {
+				final double du = mProjectedU[mHull2D[1]]
+						- mProjectedU[mHull2D[0]];
+				final double dv = mProjectedV[mHull2D[1]]
+						- mProjectedV[mHull2D[0]];
+				final double length = Math.sqrt(du * du + dv * dv);
+				if (length > 0.0) {
+					mRectDirectionU = du / length;
+					mRectDirectionV = dv / length;
+				}
+			}
+			return 0.0;
+		}
+
+		double minArea = Double.MAX_VALUE;
+		int right = 1, top = 1, left = 1;
+		int current, next;
+		double eu, ev, length, base, width, height, area;
+
+		// die Huelle ist gegen den Uhrzeigersinn orientiert, die Zeiger auf
+		// die Extrempunkte laufen darum monoton mit den Kanten mit
+		for (int i = 0; i < hullSize; i++) {
+			current = mHull2D[i];
+			next = mHull2D[(i + 1) % hullSize];
+			eu = mProjectedU[next] - mProjectedU[current];
+			ev = mProjectedV[next] - mProjectedV[current];
+			length = Math.sqrt(eu * eu + ev * ev);
+			eu /= length;
+			ev /= length;
+
+			if (right < i + 1)
+				right = i + 1;
+			while (dot(eu, ev, mHull2D[(right + 1) % hullSize]) > dot(eu, ev,
+					mHull2D[right % hullSize]))
+				right++;
+
+			if (top < right)
+				top = right;
+			while (dot(-ev, eu, mHull2D[(top + 1) % hullSize]) > dot(-ev, eu,
+					mHull2D[top % hullSize]))
+				top++;
+
+			if (left < top)
+				left = top;
+			while (dot(eu, ev, mHull2D[(left + 1) % hullSize]) < dot(eu, ev,
+					mHull2D[left % hullSize]))
+				left++;
+
+			base = dot(-ev, eu, current);
+			width = dot(eu, ev, mHull2D[right % hullSize])
+					- dot(eu, ev, mHull2D[left % hullSize]);
+			height = dot(-ev, eu, mHull2D[top % hullSize]) - base;
+			area = width * height;
+			if (area < minArea) {
+				minArea = area;
+				mRectDirectionU = eu;
+				mRectDirectionV = ev;
+			}
+		}
+		return minArea;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode berechnet die konvexe Huelle der projizierten Punkte mittels
+	 * Monotone Chain. Kollineare Punkte werden verworfen.
+	 * 
+	 * @return Anzahl der Huellpunkte in mHull2D, gegen den Uhrzeigersinn
+	 *         orientiert
+	 */
+	private int computeHull2D() {
+
+		if (mNumberOfPoints == 1) {
+			mHull2D[0] = 0;
+			return 1;
+		}
+
+		sortProjectedPoints();
+
+		int size = 0, index;
+		for (int i = 0; i < mNumberOfPoints; i++) {
+			index = mSortOrder[i];
+			while (size >= 2
+					&& cross(mHull2D[size - 2], mHull2D[size - 1], index) <= 0.0)
+				size--;
+			mHull2D[size++] = index;
+		}
+		final int lowerSize = size + 1;
+		for (int i = mNumberOfPoints - 2; i >= 0; i--) {
+			index = mSortOrder[i];
+			while (size >= lowerSize
+					&& cross(mHull2D[size - 2], mHull2D[size - 1], index) <= 0.0)
+				size--;
+			mHull2D[size++] = index;
+		}
+
+		// der Startpunkt wurde am Ende erneut eingefuegt
+		return Math.max(1, size - 1);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode sortiert die Indices in mSortOrder lexikographisch nach den
+	 * projizierten Koordinaten. Sortiert werden primitive Schluessel aus der
+	 * auf float gerundeten ersten Koordinate und dem Punktindex, Punkte mit
+	 * gleichem Schluessel werden anschliessend exakt nachsortiert.
+	 */
+	private void sortProjectedPoints() {
+
+		int bits;
+		for (int i = 0; i < mNumberOfPoints; i++) {
+			// Bitmuster so umformen, dass die Integer-Ordnung der
+			// float-Ordnung entspricht
+			bits = Float.floatToIntBits((float) mProjectedU[i]);
+			bits ^= (bits >> 31) & 0x7fffffff;
+			mSortKeys[i] = ((long) bits << 32) | i;
+		}
+		Arrays.sort(mSortKeys, 0, mNumberOfPoints);
+
+		int start = 0, temp, j;
+		for (int i = 0; i <= mNumberOfPoints; i++) {
+			if (i < mNumberOfPoints) {
+				mSortOrder[i] = (int) mSortKeys[i];
+				if ((mSortKeys[i] >> 32) == (mSortKeys[start] >> 32))
+					continue;
+			}
+
+			// Gruppe gleicher Schluessel per Insertionsort nachsortieren
+			for (int k = start + 1; k < i; k++) {
+				temp = mSortOrder[k];
+				for (j = k - 1; j >= start
+						&& compareProjected(mSortOrder[j], temp) > 0; j--)
+					mSortOrder[j + 1] = mSortOrder[j];
+				mSortOrder[j + 1] = temp;
+			}
+			start = i;
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Lexikographischer Vergleich zweier projizierter Punkte
+	 */
+	private int compareProjected(final int first, final int second) {
+		final int result = Double.compare(mProjectedU[first],
+				mProjectedU[second]);
+		if (result != 0)
+			return result;
+		return Double.compare(mProjectedV[first], mProjectedV[second]);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode verbessert die beste gefundene Box lokal, indem sie das
+	 * Achsensystem schrittweise um jede seiner Achsen dreht und Verbesserungen
+	 * uebernimmt. Bleibt eine Verbesserung aus, wird die Schrittweite
+	 * halbiert. Abschliessend wird das Rechteck fuer jede Achse erneut per
+	 * Rotating Calipers optimiert.
+	 */
+	private void refine() {
+
+		final double[] candidate = new double[9];
+		double angle = INITIAL_REFINEMENT_ANGLE, volume;
+		boolean improved;
+		int steps = 0;
+
+		while (steps < mQuality.getMaxRefinementSteps()
+				&& angle >= MIN_REFINEMENT_ANGLE) {
+			steps++;
+			improved = false;
+			for (int axis = 0; axis < 3; axis++) {
+				for (int sign = -1; sign <= 1; sign += 2) {
+					rotateAxes(mBestAxes, axis, sign * angle, candidate);
+					volume = computeVolume(candidate);
+					if (volume < mBestVolume) {
+						mBestVolume = volume;
+						System.arraycopy(candidate, 0, mBestAxes, 0, 9);
+						improved = true;
+					}
+				}
+			}
+			if (!improved)
+				angle *= 0.5;
+		}
+
+		final double[] refinedAxes = mBestAxes.clone();
+		for (int k = 0; k < 3; k++)
+			evaluateDirection(refinedAxes[3 * k], refinedAxes[3 * k + 1],
+					refinedAxes[3 * k + 2]);
+
+		LOGGER.trace("Nachoptimierung nach " + steps
+				+ " Schritten beendet, Volumen: " + mBestVolume);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode dreht die beiden zur uebergebenen Achse senkrechten Achsen um den
+	 * uebergebenen Winkel
+	 * 
+	 * @param axes
+	 *            Zeilenweise gespeicherte Eingabeachsen
+	 * @param axis
+	 *            Index der Drehachse
+	 * @param angle
+	 *            Drehwinkel in Radians
+	 * @param result
+	 *            Array, in das die gedrehten Achsen geschrieben werden
+	 */
+	private void rotateAxes(final double[] axes, final int axis,
+			final double angle, final double[] result) {
+
+		final double cos = Math.cos(angle), sin = Math.sin(angle);
+		final int first = 3 * ((axis + 1) % 3), second = 3 * ((axis + 2) % 3);
+		System.arraycopy(axes, 0, result, 0, 9);
+		for (int c = 0; c < 3; c++) {
+			result[first + c] = cos * axes[first + c] + sin * axes[second + c];
+			result[second + c] = -sin * axes[first + c] + cos * axes[second + c];
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Volumen der Box mit den uebergebenen Achsen, die alle Punkte
+	 *         enthaelt
+	 */
+	private double computeVolume(final double[] axes) {
+		return computeExtent(axes[0], axes[1], axes[2])
+				* computeExtent(axes[3], axes[4], axes[5])
+				* computeExtent(axes[6], axes[7], axes[8]);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Ausdehnung der Punktwolke entlang der uebergebenen Richtung
+	 */
+	private double computeExtent(final double x, final double y,
+			final double z) {
+
+		double min = Double.MAX_VALUE, max = -Double.MAX_VALUE, value;
+		for (int i = 0; i < mNumberOfPoints; i++) {
+			value = x * mPoints[3 * i] + y * mPoints[3 * i + 1] + z
+					* mPoints[3 * i + 2];
+			if (value < min)
+				min = value;
+			if (value > max)
+				max = value;
+		}
+		return max - min;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode berechnet die Hauptachsen der Punktwolke ueber die Eigenvektoren
+	 * der Kovarianzmatrix
+	 * 
+	 * @return Zeilenweise gespeicherte Hauptachsen, aufsteigend nach
+	 *         Eigenwerten sortiert
+	 */
+	private double[] computePrincipalAxes() {
+
+		final double[][] covariance = new double[3][3];
+		for (int i = 0; i < mNumberOfPoints; i++) {
+			for (int r = 0; r < 3; r++) {
+				for (int c = r; c < 3; c++) {
+					covariance[r][c] += mPoints[3 * i + r] * mPoints[3 * i + c];
+				}
+			}
+		}
+		for (int r = 0; r < 3; r++) {
+			for (int c = 0; c < r; c++) {
+				covariance[r][c] = covariance[c][r];
+			}
+		}
+
+		// die Eigenvektoren stehen in den Spalten von V, die Eigenwerte
+		// symmetrischer Matrizen liefert Colt aufsteigend sortiert
+		final DoubleMatrix2D eigenvectors = new EigenvalueDecomposition(
+				new DenseDoubleMatrix2D(covariance)).getV();
+		final double[] result = new double[9];
+		for (int k = 0; k < 3; k++) {
+			for (int c = 0; c < 3; c++) {
+				result[3 * k + c] = eigenvectors.get(c, k);
+			}
+		}
+		return result;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Beste gefundene Achsen als Vektorliste
+	 */
+	private List<MyVector3f> getBestAxes() {
+
+		final List<MyVector3f> result = new ArrayList<MyVector3f>(3);
+		MyVector3f axis = null;
+		for (int k = 0; k < 3; k++) {
+			axis = new MyVector3f((float) mBestAxes[3 * k],
+					(float) mBestAxes[3 * k + 1], (float) mBestAxes[3 * k + 2]);
+			axis.normalize();
+			result.add(axis);
+		}
+		return result;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode berechnet einen Schluessel fuer eine normierte Richtung, der fuer
+	 * gleich und entgegengesetzt ausgerichtete Richtungen identisch ist
+	 */
+	private long getDirectionKey(final double x, final double y,
+			final double z) {
+
+		long qx = Math.round(x * DIRECTION_RESOLUTION);
+		long qy = Math.round(y * DIRECTION_RESOLUTION);
+		long qz = Math.round(z * DIRECTION_RESOLUTION);
+		if (qx < 0 || (qx == 0 && (qy < 0 || (qy == 0 && qz < 0)))) {
+			qx = -qx;
+			qy = -qy;
+			qz = -qz;
+		}
+		final long offset = 1 << 15;
+		return ((qx + offset) << 34) | ((qy + offset) << 17) | (qz + offset);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Flaecheninhalt des uebergebenen Polygons
+	 */
+	private double computeArea(final MyPolygon polygon) {
+
+		final List<Vertex3d> vertices = polygon.getVertices();
+		final MyVector3f origin = vertices.get(0).getPositionPtr();
+		double sumX = 0.0, sumY = 0.0, sumZ = 0.0;
+		MyVector3f first = null, second = null;
+		double ax, ay, az, bx, by, bz;
+		for (int i = 1; i + 1 < vertices.size(); i++) {
+			first = vertices.get(i).getPositionPtr();
+			second = vertices.get(i + 1).getPositionPtr();
+			ax = first.x - origin.x;
+			ay = first.y - origin.y;
+			az = first.z - origin.z;
+			bx = second.x - origin.x;
+			by = second.y - origin.y;
+			bz = second.z - origin.z;
+			sumX += ay * bz - az * by;
+			sumY += az * bx - ax * bz;
+			sumZ += ax * by - ay * bx;
+		}
+		return 0.5 * Math.sqrt(sumX * sumX + sumY * sumY + sumZ * sumZ);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode extrahiert alle Vertices aus einer Menge von Uebergabepolygonen
+	 * 
+	 * @param polys
+	 *            Polygone, aus denen die Vertices extrahiert werden
+	 * @return Liste mit Vertices ohne Duplikate
+	 */
+	private List<Vertex3d> getVertsFromPolyhedron(final List<MyPolygon> polys) {
+		final Set<Vertex3d> vertSet = new HashSet<Vertex3d>();
+		for (int i = 0; i < polys.size(); i++)
+			vertSet.addAll(polys.get(i).getVertices());
+		return new ArrayList<Vertex3d>(vertSet);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Skalarprodukt der uebergebenen 2D-Richtung mit dem projizierten
+	 *         Punkt
+	 */
+	private double dot(final double du, final double dv, final int index) {
+		return du * mProjectedU[index] + dv * mProjectedV[index];
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Kreuzprodukt (b - a) x (c - a) der projizierten Punkte
+	 */
+	private double cross(final int a, final int b, final int c) {
+		return (mProjectedU[b] - mProjectedU[a])
+				* (mProjectedV[c] - mProjectedV[a])
+				- (mProjectedV[b] - mProjectedV[a])
+				* (mProjectedU[c] - mProjectedU[a]);
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+}
@@ -1,22 +1,15 @@
 package semantic.building.modeler.prototype.algorithm;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 import org.apache.log4j.Logger;
 
 import semantic.building.modeler.math.MyPolygon;
-import semantic.building.modeler.math.MyVector3f;
-import semantic.building.modeler.math.MyVectormath;
-import semantic.building.modeler.math.Plane;
-import semantic.building.modeler.math.Ray;
+import semantic.building.modeler.math.RobustPredicates;
 import semantic.building.modeler.math.Vertex3d;
-import semantic.building.modeler.prototype.service.PrototypeHelper;
 
 /**
  * 
@@ -25,6 +18,19 @@ import semantic.building.modeler.prototype.service.PrototypeHelper;
  *         3d-Punktwolken.
  *         http://www.yaldex.com/game-programming/0131020099_ch22lev1sec6.html
  * 
+ *         Die Huelle wird als Halbkantenstruktur verwaltet. Jeder noch nicht
+ *         verarbeitete Punkt ist genau einem Dreieck zugeordnet, von dem aus
+ *         er sichtbar ist (Konfliktgraph). In jeder Iteration wird der am
+ *         weitesten entfernte Punkt eines Outside-Sets eingefuegt, die von ihm
+ *         aus sichtbaren Dreiecke werden ueber die Halbkantennachbarschaft
+ *         bestimmt und nur die Punkte dieser Dreiecke werden auf die neu
+ *         erzeugten Dreiecke verteilt. Die Sichtbarkeit von Dreiecken wird
+ *         ueber ein exaktes Orientierungspraedikat bestimmt, so dass der
+ *         sichtbare Bereich stets zusammenhaengend ist und einen einzigen
+ *         geschlossenen Horizont besitzt. Punkte, die naeher als eine aus der
+ *         Ausdehnung der Eingabe abgeleitete Toleranz an der Huelle liegen,
+ *         werden als koplanar verworfen.
+ * 
  */
 
 public class Quickhull3d {
@@ -32,40 +38,38 @@ public class Quickhull3d {
 	/** Logging-Instanz */
 	protected static Logger LOGGER = Logger.getLogger(Quickhull3d.class);
 
+	/** Relative Genauigkeit der float-Eingabekoordinaten */
+	private static final double FLOAT_PRECISION = Math.ulp(1.0f);
+
 	/** Eingabepunktwolke, fuer die die konvexe Huelle berechnet werden soll */
 	private List<Vertex3d> mVertices = null;
 
+	/** Interne Repraesentation der Eingabepunkte */
+	private List<QuickHullVertex> mHullVertices = null;
+
 	/**
-	 * Punktebuffer waehrend der Berechnung des Verfahrens, enthaelt zu Beginn
-	 * der Berechnung alle Eingabepunkte, aus diesem Buffer werden bei jeder
-	 * Iteration weitere Vertices entfernt
+	 * Liste mit allen waehrend der Berechnung erzeugten Dreiecken, geloeschte
+	 * Dreiecke werden nur markiert und bei der Ergebnisausgabe uebersprungen
 	 */
-	private List<Vertex3d> mVertexBuffer = null;
-
-	/** Datenstruktur fuer die Outside-Sets fuer jedes Dreieck */
-	private Map<QuickHullTriangle, List<Vertex3d>> mOutsideSets = null;
-
-	/** Instanz der Mathebibliothek */
-	private MyVectormath mMathHelper = MyVectormath.getInstance();
+	private List<QuickHullTriangle> mTriangles = null;
 
 	/**
-	 * Liste mit Dreiecken, die waehrend der Berechnung verwaltet werden,
-	 * verwendet die Polygonstrukturen, da diese nicht indexbasiert arbeiten und
-	 * darum besser geeignet sind
+	 * Dreiecke, deren Outside-Set bei ihrer Erzeugung nicht leer war und die
+	 * darum noch verarbeitet werden muessen
 	 */
-	private List<QuickHullTriangle> mTriangles = null;
+	private List<QuickHullTriangle> mPendingTriangles = null;
 
 	/**
-	 * Buffer dient der Aufnahme von Triangles, die geloescht werden, muss extra
-	 * ausgelagert werden, um Concurrent Modifications zu verhindern
+	 * Maximaler Abstand, bis zu dem ein Punkt als in einer Dreiecksebene
+	 * liegend betrachtet wird
 	 */
-	private List<QuickHullTriangle> mTrianglesToDelete = null;
+	private double mTolerance = 0.0;
 
 	/**
-	 * Mapstruktur speichert fuer einen Punkt alle Dreiecke, die von diesem aus
-	 * sichtbar sind
+	 * Ergebnisdreiecke fuer Eingaben, deren Punkte alle in einer Ebene liegen,
+	 * null sonst
 	 */
-	private Map<Vertex3d, List<QuickHullTriangle>> mVisibleTriangles = null;
+	private List<MyPolygon> mPlanarResult = null;
 
 	/** Index fuer Dreiecks-ID-Vergabe */
 	private long mLastTriangleIndex = 0;
@@ -79,11 +83,11 @@ public class Quickhull3d {
 	 */
 	public Quickhull3d(List<Vertex3d> vertices) {
 		mVertices = vertices;
+		mHullVertices = new ArrayList<QuickHullVertex>(mVertices.size());
+		for (int i = 0; i < mVertices.size(); i++)
+			mHullVertices.add(new QuickHullVertex(mVertices.get(i)));
 		mTriangles = new ArrayList<QuickHullTriangle>();
-		mVertexBuffer = new ArrayList<Vertex3d>(mVertices.size());
-		mVertexBuffer.addAll(mVertices);
-		mOutsideSets = new HashMap<QuickHullTriangle, List<Vertex3d>>();
-		mTrianglesToDelete = new ArrayList<QuickHullTriangle>();
+		mPendingTriangles = new ArrayList<QuickHullTriangle>();
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -101,87 +105,32 @@ public class Quickhull3d {
 	 */
 	public List<MyPolygon> computeConvexHull() {
 
-		// PrototypeHelper helper = PrototypeHelper.getInstance();
-
-		LOGGER.trace("#Vertices im Vertexbuffer: " + mVertexBuffer.size());
-		init();
+		LOGGER.trace("#Vertices: " + mHullVertices.size());
 
-		QuickHullTriangle currentTri = null, currentMaxOutsideVertsTri = null;
+		// Startkoerper aufbauen, bei degenerierten Eingaben bricht das
+		// Verfahren direkt ab
+		if (!init())
+			return getPolygons();
 
 		int numberOfIterations = 1;
-		int maxNumberOfVertsInOutsideSet = 0;
-		List<Vertex3d> currentOutsideSet = null;
-		float maxDistance = 0, currentDistance = 0;
-		Vertex3d currentVert = null, maxDistanceVert = null;
-		MyVectormath mathHelper = MyVectormath.getInstance();
-
-		while (computeVisibility()) {
-
-			LOGGER.info("Iteration: " + numberOfIterations);
-			LOGGER.info("Anzahl Vertices: " + mVertexBuffer.size());
-			LOGGER.info("Anzahl Dreiecke: " + mTriangles.size());
-
-			// reset
-			maxNumberOfVertsInOutsideSet = 0;
-			currentOutsideSet = null;
-			currentMaxOutsideVertsTri = null;
-			maxDistanceVert = null;
-
-			// bestimme das Outside-Set mit den meisten Vertices und verarbeite
-			// dieses weiter
-			for (int i = 0; i < mTriangles.size(); i++) {
-				currentTri = mTriangles.get(i);
-				currentOutsideSet = mOutsideSets.get(currentTri);
-
-				// Dreiecke, die zur finalen konvexen Hueller gehoeren, besitzen
-				// keine Outside-Sets
-				if (currentOutsideSet == null)
-					continue;
-				if (currentOutsideSet.size() > maxNumberOfVertsInOutsideSet) {
-					currentMaxOutsideVertsTri = currentTri;
-					maxNumberOfVertsInOutsideSet = currentOutsideSet.size();
-				}
-			}
+		QuickHullTriangle currentTri = null;
 
-			maxDistance = -Float.MAX_VALUE;
-			currentDistance = 0;
-
-			// bestimme im Outsideset mit den meisten Vertices das Vertex mit
-			// der groessten Entfernung vom jeweiligen Face
-			currentOutsideSet = mOutsideSets.get(currentMaxOutsideVertsTri);
-			for (int i = 0; i < currentOutsideSet.size(); i++) {
-				currentVert = currentOutsideSet.get(i);
-				currentDistance = mathHelper.calculatePointPlaneDistance(
-						currentVert.getPositionPtr(), currentMaxOutsideVertsTri
-								.getPoly().getPlane());
-				if (currentDistance > maxDistance) {
-					maxDistance = currentDistance;
-					maxDistanceVert = currentVert;
-				}
-			}
+		while (!mPendingTriangles.isEmpty()) {
 
-			// berechne die Horizon-Lines fuer das am weitesten entfernte Vertex
-			computeHorizonForPoint(maxDistanceVert);
-
-			LOGGER.trace("#Zu loeschende Dreiecke: "
-					+ mTrianglesToDelete.size());
-			LOGGER.trace("#Dreiecke vor Loeschen: " + mTriangles.size());
-			// loesche nun alle nicht mehr sichtbaren Dreiecke aus dem
-			// Dreiecksbuffer
-			for (int i = 0; i < mTrianglesToDelete.size(); i++) {
-				mTriangles.remove(mTrianglesToDelete.get(i));
-				LOGGER.trace("Geloeschtes Dreieck: "
-						+ mTrianglesToDelete.get(i));
-			}
-			LOGGER.trace("#Dreiecke nach Loeschen: " + mTriangles.size());
+			currentTri = mPendingTriangles.remove(mPendingTriangles.size() - 1);
 
-			// Normalenvektoren ausrichten
-			normalizeNormals();
-			initNextIteration();
-			numberOfIterations++;
+			// Dreiecke, die bereits geloescht wurden oder deren Punkte
+			// vollstaendig verteilt wurden, ueberspringen
+			if (currentTri.isDeleted() || currentTri.getOutsideSet().isEmpty())
+				continue;
 
+			addPointToHull(currentTri.getFurthestVertex(), currentTri);
+			numberOfIterations++;
 		}
 
+		LOGGER.debug("Konvexe Huelle nach " + numberOfIterations
+				+ " Iterationen berechnet");
+		assert isClosed() : "FEHLER: Die berechnete Huelle ist nicht geschlossen!";
 		return getPolygons();
 
 	}
@@ -193,826 +142,701 @@ public class Quickhull3d {
 	 * @return Liste mit Ergebnispolygonen
 	 */
 	public List<MyPolygon> getPolygons() {
-		// mache wieder Polygone aus der verwendeten propietaeren Struktur
-		List<MyPolygon> result = new ArrayList<MyPolygon>(mTriangles.size());
-		for (int i = 0; i < mTriangles.size(); i++)
-			result.add(mTriangles.get(i).getPoly());
-		return result;
-	}
 
-	// ------------------------------------------------------------------------------------------
-	/**
-	 * Methode bereitet die naechste Iteration vor
-	 */
-	private void initNextIteration() {
-
-		mTrianglesToDelete.clear();
-		mOutsideSets.clear();
-
-		// Rekursionsabbruchkriterium zuruecksetzen
-		for (int i = 0; i < mTriangles.size(); i++)
-			mTriangles.get(i).setVisited(false);
-	}
+		if (mPlanarResult != null)
+			return mPlanarResult;
 
-	// ------------------------------------------------------------------------------------------
-	/**
-	 * Methode prueft saemtliche Normalenvektor der Polyeder-Faces und aendert
-	 * bei Bedarf die Vertexorder der Polygone, um einheitlich ausgerichtete
-	 * Normalen zu erhalten
-	 */
-	private void normalizeNormals() {
-		List<MyPolygon> polys = new ArrayList<MyPolygon>(mTriangles.size());
+		// mache wieder Polygone aus der verwendeten propietaeren Struktur
+		List<MyPolygon> result = new ArrayList<MyPolygon>();
+		QuickHullTriangle currentTri = null;
 		for (int i = 0; i < mTriangles.size(); i++) {
-			polys.add(mTriangles.get(i).getPoly());
+			currentTri = mTriangles.get(i);
+			if (!currentTri.isDeleted())
+				result.add(currentTri.getPoly());
 		}
-
-		PrototypeHelper.getInstance().normalizeNormals(polys);
+		return result;
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Methode berechnet eine Liste von NeighbourHelper-Instanzen, die fuer jede
-	 * Kante die adjazenten Dreiecke speichert
+	 * Methode fuegt den uebergebenen Punkt zur Huelle hinzu. Ausgehend vom
+	 * Dreieck, in dessen Outside-Set der Punkt liegt, werden alle von ihm aus
+	 * sichtbaren Dreiecke geloescht und durch Dreiecke zwischen Punkt und
+	 * Horizontkanten ersetzt.
 	 * 
-	 * @param triangles
-	 *            Liste mit Dreiecken, fuer die die Struktur erstellt werden
-	 *            soll
-	 * @return Liste mit NeighbourHelper-Instanzen
+	 * @param eye
+	 *            Punkt, der zur Huelle hinzugefuegt wird
+	 * @param face
+	 *            Dreieck, zu dessen Outside-Set der Punkt gehoert
 	 */
-	private List<QuickHullNeighbourHelper> createNeighbourStructure(
-			List<QuickHullTriangle> triangles) {
-		List<Ray> triangleRays = null;
-		QuickHullTriangle currentTri = null;
-		QuickHullNeighbourHelper currentHelper = null;
-		Ray currentRay = null;
-
-		List<QuickHullNeighbourHelper> edgeBuffer = new ArrayList<QuickHullNeighbourHelper>(
-				triangles.size() * 3 / 2);
+	private void addPointToHull(final QuickHullVertex eye,
+			final QuickHullTriangle face) {
+
+		final List<QuickHullVertex> unassigned = new ArrayList<QuickHullVertex>();
+		final List<QuickHullHalfEdge> horizon = computeHorizon(eye, face,
+				unassigned);
+
+		final List<QuickHullTriangle> newTriangles = createNewTriangles(eye,
+				horizon);
+
+		// Punkte der geloeschten Dreiecke auf die neuen Dreiecke verteilen,
+		// Punkte, die keines der neuen Dreiecke sehen, liegen innerhalb der
+		// Huelle und werden verworfen
+		for (int i = 0; i < unassigned.size(); i++) {
+			final QuickHullVertex currentVert = unassigned.get(i);
+			if (currentVert == eye)
+				continue;
+			assignToTriangle(currentVert, newTriangles);
+		}
 
-		for (int i = 0; i < triangles.size(); i++) {
-			currentTri = triangles.get(i);
-			triangleRays = currentTri.getPoly().getRays();
-
-			// Kanten durchlaufen, fuer jede Kante die beiden Dreiecke suchen,
-			// die sich diese teilen
-			for (int k = 0; k < triangleRays.size(); k++) {
-				currentRay = triangleRays.get(k);
-
-				// Helper-Instanz fuer Ray erzeugen, damit auf die Map zugreifen
-				currentHelper = new QuickHullNeighbourHelper(
-						currentRay.getStartVertex(), currentRay.getEndVertex());
-				if (edgeBuffer.contains(currentHelper)) {
-					int index = edgeBuffer.indexOf(currentHelper);
-					currentHelper = edgeBuffer.get(index);
-					currentHelper.addNeighbour(currentTri);
-				} else {
-					currentHelper.addNeighbour(currentTri);
-					edgeBuffer.add(currentHelper);
-				}
-			}
+		for (int i = 0; i < newTriangles.size(); i++) {
+			if (!newTriangles.get(i).getOutsideSet().isEmpty())
+				mPendingTriangles.add(newTriangles.get(i));
 		}
-		return edgeBuffer;
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Methode berechnet die Datenstrukturen zur Bestimmung der Sichtbarkeit von
-	 * Faces und Vertices. Vertices, die kein Face sehen, werden aus dem
-	 * Vertexbuffer geloescht.
+	 * Methode bestimmt ausgehend vom uebergebenen Dreieck alle vom Punkt aus
+	 * sichtbaren Dreiecke per Tiefensuche ueber die Halbkanten, markiert diese
+	 * als geloescht und sammelt ihre Outside-Sets. Die Horizontkanten werden
+	 * dabei in umlaufender Reihenfolge ermittelt.
 	 * 
-	 * @return True, so lange noch weitere Vertices im Buffer sind und das
-	 *         Verfahren weiterlaufen muss, False sonst
+	 * @param eye
+	 *            Punkt, fuer den der Horizont berechnet wird
+	 * @param face
+	 *            Sichtbares Startdreieck
+	 * @param unassigned
+	 *            Liste, in die die Punkte der geloeschten Dreiecke eingefuegt
+	 *            werden
+	 * @return Horizontkanten, jeweils als Halbkante eines geloeschten Dreiecks
 	 */
-	private boolean computeVisibility() {
-
-		// durchlaufe alle Punkte im aktuellen Punktebuffer
-		Iterator<Vertex3d> vertIter = mVertexBuffer.iterator();
-		mVisibleTriangles = new HashMap<Vertex3d, List<QuickHullTriangle>>();
-
-		Vertex3d currentVert = null;
-		boolean isPointOutside = false;
-		List<QuickHullTriangle> currentTriList = null;
-		List<Vertex3d> outsideVerts = null;
-
-		while (vertIter.hasNext()) {
-			isPointOutside = false;
-			currentVert = vertIter.next();
-
-			// teste das Vertex gegen alle vorhandenen Dreiecke, sobald ein
-			// Dreieck gefunden wird,
-			// dass vom aktuellen Vertex aus sichtbar ist, fuege das Vertex zum
-			// Outside-Set dieses Dreiecks hinzu
-			for (int i = 0; i < mTriangles.size(); i++) {
-
-				// Dreieck ist vom aktuellen Punkt aus sichtbar => fuege den
-				// Punkt zum OutsideSet hinzu
-				if (isFaceVisible(mTriangles.get(i), currentVert)) {
-
-					// Punkt liegt ausserhalb
-					isPointOutside = true;
-
-					// adde Punkt und Triangle zur Mapstruktur
-					currentTriList = mVisibleTriangles.get(currentVert);
-					if (currentTriList == null)
-						currentTriList = new ArrayList<QuickHullTriangle>();
-					currentTriList.add(mTriangles.get(i));
-					mVisibleTriangles.put(currentVert, currentTriList);
-
-					// und aktualisiere gleichzeitig die Outsidesets
-					outsideVerts = mOutsideSets.get(mTriangles.get(i));
-					if (outsideVerts == null)
-						outsideVerts = new ArrayList<Vertex3d>();
-					outsideVerts.add(currentVert);
-					mOutsideSets.put(mTriangles.get(i), outsideVerts);
-				}
+	private List<QuickHullHalfEdge> computeHorizon(final QuickHullVertex eye,
+			final QuickHullTriangle face,
+			final List<QuickHullVertex> unassigned) {
+
+		final List<QuickHullHalfEdge> horizon = new ArrayList<QuickHullHalfEdge>();
+		final List<HorizonSearchState> stack = new ArrayList<HorizonSearchState>();
+
+		deleteTriangle(face, unassigned);
+		stack.add(new HorizonSearchState(face.getEdge(), face.getEdge(), false));
+
+		// iterative Tiefensuche, damit auch sehr grosse sichtbare Bereiche
+		// keinen Stackueberlauf verursachen
+		while (!stack.isEmpty()) {
+			final HorizonSearchState state = stack.get(stack.size() - 1);
+			if (state.mStarted && state.mCurrent == state.mStop) {
+				stack.remove(stack.size() - 1);
+				continue;
 			}
+			state.mStarted = true;
 
-			// liegt der aktuelle Punkt innerhalb des Polyeders, sieht also kein
-			// Face, entferne ihn
-			if (!isPointOutside)
-				vertIter.remove();
-		}
+			final QuickHullHalfEdge edge = state.mCurrent;
+			state.mCurrent = edge.getNext();
 
-		// Abbruch, wenn kein Vertex mehr ausserhalb liegt
-		if (mVertexBuffer.size() > 0)
-			return true;
-		else {
-			return false;
+			final QuickHullTriangle oppositeFace = edge.getTwin().getFace();
+			if (oppositeFace.isDeleted())
+				continue;
+
+			if (oppositeFace.isVisibleFrom(eye)) {
+				deleteTriangle(oppositeFace, unassigned);
+				stack.add(new HorizonSearchState(edge.getTwin().getNext(), edge
+						.getTwin(), true));
+			} else {
+				horizon.add(edge);
+			}
 		}
+
+		return horizon;
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Methode testet die Sichtbarkeit des uebergebenen Faces fuer den
-	 * uebergebenen Punkt, indem alle Faceeckpunkte auf Sichtbarkeit getestet
-	 * werden. Sobald ein Test positiv ausfaellt, wird das Face als sichtbar
-	 * angesehen
+	 * Methode markiert das uebergebene Dreieck als geloescht und uebernimmt
+	 * die Punkte seines Outside-Sets in die Liste der neu zu verteilenden
+	 * Punkte
 	 * 
 	 * @param face
-	 *            Polygon, das auf Sichtbarkeit getestet wird
-	 * @param point
-	 *            Punkt, fuer den die Sichtbarkeit ueberprueft wird
-	 * @return True, falls das Polygon sichtbar ist (Winkel zwischen
-	 *         Blickrichtugnsvektor und Normale <= 90°), False sonst
+	 *            Zu loeschendes Dreieck
+	 * @param unassigned
+	 *            Liste der neu zu verteilenden Punkte
 	 */
-	private boolean isFaceVisible(QuickHullTriangle face, Vertex3d point) {
-
-		MyVector3f faceToPoint = null;
-		float angle = 0;
-		Vertex3d current = null;
-		MyVectormath mathHelper = MyVectormath.getInstance();
-
-		List<Vertex3d> points = face.getPoly().getVertices();
-		for (int i = 0; i < points.size(); i++) {
-			current = points.get(i);
-			faceToPoint = new MyVector3f();
-			faceToPoint.sub(point.getPositionPtr(), current.getPositionPtr());
-			angle = mathHelper.calculateAngle(faceToPoint, face.getPoly()
-					.getNormalPtr());
-			if (angle <= 90.0f)
-				return true;
-		}
-		return false;
+	private void deleteTriangle(final QuickHullTriangle face,
+			final List<QuickHullVertex> unassigned) {
+		face.setDeleted(true);
+		unassigned.addAll(face.getOutsideSet());
+		face.getOutsideSet().clear();
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Methode berechnet den Horizont fuer den uebergebenen Punkt, also die
-	 * Kanten der Faces, die den Uebergang zwischen sichtbaren und unsichtbaren
-	 * Faces definieren.
+	 * Methode erzeugt fuer jede Horizontkante ein neues Dreieck mit dem
+	 * uebergebenen Punkt und verknuepft die Halbkanten der neuen Dreiecke
+	 * untereinander sowie mit den verbleibenden Dreiecken hinter dem Horizont.
+	 * Da die Horizontkanten in umlaufender Reihenfolge vorliegen, teilen sich
+	 * aufeinanderfolgende neue Dreiecke jeweils eine Kante zum Punkt.
 	 * 
-	 * @param point
-	 *            Punkt, fuer den der Horizont berechnet wird
+	 * @param eye
+	 *            Punkt, der in allen neuen Dreiecken vorkommt
+	 * @param horizon
+	 *            Horizontkanten der geloeschten Dreiecke in umlaufender
+	 *            Reihenfolge
+	 * @return Liste mit den neu erzeugten Dreiecken
 	 */
-	private void computeHorizonForPoint(Vertex3d point) {
+	private List<QuickHullTriangle> createNewTriangles(
+			final QuickHullVertex eye, final List<QuickHullHalfEdge> horizon) {
 
-		// List<Vertex3d> outline =
-		// computeOutlineForVisibleTrianglesByConvexHull(point);
-		List<Ray> outlineRays = computeOutlineForVisibleTrianglesByNeighbourStructure(point);
-		List<QuickHullTriangle> visibleTriangles = mVisibleTriangles.get(point);
+		final List<QuickHullTriangle> newTriangles = new ArrayList<QuickHullTriangle>(
+				horizon.size());
 
-		assert visibleTriangles != null : "FEHLER: Fuer den Punkt " + point
-				+ " sind keine sichtbaren Faces vorhanden!";
+		for (int i = 0; i < horizon.size(); i++) {
+			final QuickHullHalfEdge horizonEdge = horizon.get(i);
 
-		// alle Dreiecke, die vom aktuellen Punkt aus sichtbar waren, entfernen
-		mTrianglesToDelete.addAll(visibleTriangles);
+			// gleiche Umlaufrichtung wie das geloeschte Dreieck, die Normale
+			// zeigt damit ebenfalls nach aussen
+			final QuickHullTriangle newTri = new QuickHullTriangle(
+					horizonEdge.getTail(), horizonEdge.getHead(), eye);
+			newTri.getEdge().setTwin(horizonEdge.getTwin());
+
+			mTriangles.add(newTri);
+			newTriangles.add(newTri);
+		}
+
+		// Kante zum Punkt mit der Kante vom Punkt des Nachfolgers verbinden
+		for (int i = 0; i < newTriangles.size(); i++) {
+			final QuickHullHalfEdge edgeToEye = newTriangles.get(i).getEdge()
+					.getNext();
+			final QuickHullHalfEdge edgeFromEye = newTriangles
+					.get((i + 1) % newTriangles.size()).getEdge().getPrev();
+			assert edgeToEye.getTail() == edgeFromEye.getHead() : "FEHLER: Der Horizont ist nicht geschlossen!";
+			edgeToEye.setTwin(edgeFromEye);
+		}
 
-		// und erzeuge neue Faces ueber die HorizonLines und den Startpunkt
-		createNewTriangleByHorizonLines(new HashSet<Ray>(outlineRays), point);
+		return newTriangles;
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Methode berechnet fuer eine uebergebene Menge von Faces saemtliche
-	 * Kanten, die ausserhalb der Facemenge verlaufen, indem solche Kanten
-	 * gesucht werden, die nur ein adjazentes Face in der Menge aufweisen
+	 * Methode ordnet den uebergebenen Punkt dem Dreieck zu, von dem er am
+	 * weitesten entfernt ist, sofern er mindestens eines der Dreiecke sieht
 	 * 
-	 * @param point
-	 *            Punkt, fuer den der Horizont bestimmt wird
-	 * @return Liste mit Strahlen, die die Horizontkanten beschreiben
+	 * @param vertex
+	 *            Zu verteilender Punkt
+	 * @param triangles
+	 *            Kandidatendreiecke
+	 * @return True, falls der Punkt zugeordnet wurde, False sonst
 	 */
-	private List<Ray> computeOutlineForVisibleTrianglesByNeighbourStructure(
-			Vertex3d point) {
-
-		List<QuickHullTriangle> tris = mVisibleTriangles.get(point);
-		assert tris != null : "FEHLER: Fuer Punkt " + point
-				+ " existieren keine sichtbaren Faces!";
-
-		LOGGER.trace("DREIECKE");
-		for (int i = 0; i < tris.size(); i++)
-			LOGGER.trace(tris.get(i));
-
-		// berechne die Neighbour-Structure
-		List<QuickHullNeighbourHelper> neighbourStruct = createNeighbourStructure(tris);
-		List<Ray> result = new ArrayList<Ray>();
-
-		// finde die Instanzen, die nur einen einzigen Nachbarn haben, dies sind
-		// die Outlines
-		QuickHullNeighbourHelper currentHelper = null;
-		for (int i = 0; i < neighbourStruct.size(); i++) {
-			currentHelper = neighbourStruct.get(i);
-			if (currentHelper.getNeighbourCount() == 1)
-				result.add(currentHelper.getEdgeAsRay());
+	private boolean assignToTriangle(final QuickHullVertex vertex,
+			final List<QuickHullTriangle> triangles) {
+
+		double maxDistance = mTolerance;
+		QuickHullTriangle maxTri = null;
+		for (int i = 0; i < triangles.size(); i++) {
+			final double distance = triangles.get(i).distanceToPlane(vertex);
+			if (distance > maxDistance
+					&& triangles.get(i).isVisibleFrom(vertex)) {
+				maxDistance = distance;
+				maxTri = triangles.get(i);
+			}
 		}
 
-		return result;
+		if (maxTri == null)
+			return false;
 
+		maxTri.addOutsideVertex(vertex, maxDistance);
+		return true;
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Methode berechnet neue Dreiecke basierend auf einem durch Vertices
-	 * beschriebenen Linienzug und dem uebergebenen Referenzpunkt. Dreiecke
-	 * werden dabei jeweils aus dem Referenzpunkt und einem Segment des
-	 * Linienzuges gebildet
+	 * Methode berechnet einen initialen Koerper, von dem ausgehend der
+	 * Algorithmus startet. Zunaechst sucht man Extrempunkte in allen 3
+	 * Koordinatenachsen. Die beiden am weitesten voneinander entfernten
+	 * Extrempunkte bilden die Basiskante, hinzu kommen der Punkt mit dem
+	 * groessten Abstand zu dieser Kante und der Punkt mit dem groessten Abstand
+	 * zur so definierten Ebene. Anschliessend werden alle Punkte den Dreiecken
+	 * des Startkoerpers zugeordnet.
 	 * 
-	 * @param outline
-	 *            Linienzug, fuer den neue Dreiecke berechnet werden
-	 * @param start
-	 *            Referenzpunkt, der in allen neu gebildeten Dreiecken vorkommt
-	 * @deprecated Wird nur verwendet, wenn der Convex-Hull-Ansatz zur
-	 *             Horizontbestimmung eingesetzt wird
+	 * @return True, falls ein Startkoerper mit Volumen erzeugt werden konnte,
+	 *         False bei degenerierten Eingaben
 	 */
-	private void createNewTrianglesByVertexList(List<Vertex3d> outline,
-			Vertex3d start) {
-
-		List<Vertex3d> polyVerts = null;
-		QuickHullTriangle resultTri = null;
-
-		Vertex3d currentVertex = null, nextVertex = null;
-
-		for (int i = 0; i < outline.size(); i++) {
+	private boolean init() {
 
-			currentVertex = outline.get(i);
-			if (i < outline.size() - 1)
-				nextVertex = outline.get(i + 1);
-			else
-				nextVertex = outline.get(0);
-
-			// Dreieck erzeugen
-			polyVerts = new ArrayList<Vertex3d>(3);
+		if (mHullVertices.isEmpty()) {
+			LOGGER.warn("Fuer eine leere Punktwolke kann keine konvexe Huelle berechnet werden!");
+			return false;
+		}
 
-			// erzeuge ein neues Dreieck und loesche direkt die Eckpunkte des
-			// Dreiecks aus dem VertexBuffer
-			polyVerts.add(currentVertex);
-			polyVerts.add(nextVertex);
-			polyVerts.add(start);
+		final QuickHullVertex[] minVertices = new QuickHullVertex[3];
+		final QuickHullVertex[] maxVertices = new QuickHullVertex[3];
+		for (int axis = 0; axis < 3; axis++) {
+			minVertices[axis] = mHullVertices.get(0);
+			maxVertices[axis] = mHullVertices.get(0);
+		}
 
-			resultTri = new QuickHullTriangle(polyVerts);
+		QuickHullVertex currentVert = null;
+		for (int i = 1; i < mHullVertices.size(); i++) {
+			currentVert = mHullVertices.get(i);
+			for (int axis = 0; axis < 3; axis++) {
+				if (currentVert.get(axis) < minVertices[axis].get(axis))
+					minVertices[axis] = currentVert;
+				if (currentVert.get(axis) > maxVertices[axis].get(axis))
+					maxVertices[axis] = currentVert;
+			}
+		}
 
-			// Dreiecksvertices aus dem Buffer loeschen
-			for (int k = 0; k < polyVerts.size(); k++)
-				mVertexBuffer.remove(polyVerts.get(k));
-			LOGGER.trace("Neues Dreieck: " + resultTri);
+		// Toleranz aus der Ausdehnung der Eingabe ableiten
+		double extent = 0.0;
+		for (int axis = 0; axis < 3; axis++) {
+			extent += Math.max(Math.abs(minVertices[axis].get(axis)),
+					Math.abs(maxVertices[axis].get(axis)));
+		}
+		mTolerance = 3.0 * FLOAT_PRECISION * extent;
+
+		// Basiskante entlang der Achse mit der groessten Ausdehnung
+		int maxAxis = 0;
+		double maxExtent = -1.0;
+		for (int axis = 0; axis < 3; axis++) {
+			final double axisExtent = maxVertices[axis].get(axis)
+					- minVertices[axis].get(axis);
+			if (axisExtent > maxExtent) {
+				maxExtent = axisExtent;
+				maxAxis = axis;
+			}
+		}
 
-			mTriangles.add(resultTri);
+		if (maxExtent <= mTolerance) {
+			LOGGER.warn("Alle Eingabepunkte sind identisch, es kann keine konvexe Huelle berechnet werden!");
+			return false;
 		}
-	}
 
-	// ------------------------------------------------------------------------------------------
-	/**
-	 * Ansatz berechnet den Horizont fuer den uebergebenen Punkt, indem vom
-	 * Punkt ausgehend zunaechst alle Punkte der sichtbaren Faces auf eine Ebene
-	 * projiziert werden. Fuer diese Punkte wird dann die konvexe Huelle
-	 * bestimmt, die genau die gesuchte Horizontlinie darstellt
-	 * 
-	 * @param point
-	 *            Puntk, fuer den der Horizont berechnet wird
-	 * @return Liste mit Vertices, die einen Linienzug beschreiben, der die
-	 *         konvexe Huelle der projizierten Punkte darstellt
-	 * @deprecated Wird durch die Nachbarstruktur direkter und schneller
-	 *             ermittelt
-	 */
-	private List<Vertex3d> computeOutlineForVisibleTrianglesByConvexHull(
-			Vertex3d point) {
-
-		List<QuickHullTriangle> visibleTriangles = mVisibleTriangles.get(point);
-		if (visibleTriangles == null)
-			return new ArrayList<Vertex3d>(0);
-
-		LOGGER.trace("Sichtbares Dreiecke fuer Punkt " + point);
-
-		// bestimme die Horizontlinien als konvexe Huelle um alle Eckpunkte der
-		// sichtbaren Dreiecke
-		Set<Vertex3d> triangleVertices = new HashSet<Vertex3d>();
-		for (int i = 0; i < visibleTriangles.size(); i++) {
-			LOGGER.trace("Sichtbares Dreieck: "
-					+ visibleTriangles.get(i).getID());
-			triangleVertices.addAll(visibleTriangles.get(i).getPoly()
-					.getVertices());
+		final QuickHullVertex v0 = minVertices[maxAxis];
+		final QuickHullVertex v1 = maxVertices[maxAxis];
+
+		// Punkt mit dem groessten Abstand zur Basiskante
+		final double[] edgeDirection = subtract(v1, v0);
+		double maxDistance = -1.0;
+		QuickHullVertex v2 = null;
+		for (int i = 0; i < mHullVertices.size(); i++) {
+			currentVert = mHullVertices.get(i);
+			final double distance = length(cross(edgeDirection,
+					subtract(currentVert, v0)));
+			if (distance > maxDistance) {
+				maxDistance = distance;
+				v2 = currentVert;
+			}
 		}
-		List<Vertex3d> vertexList = new ArrayList<Vertex3d>(triangleVertices);
 
-		/*
-		 * List<Vertex3d> vertexList = new ArrayList<Vertex3d>(mVertexBuffer);
-		 * vertexList.remove(point);
-		 */
-		Plane triPlane = null, projectionPlane = null;
-		MyVector3f normal = null, stuetzvektor = null, scaledNormal = null;
-		List<Vertex3d> projectedVertices = null;
-
-		for (int i = 0; i < visibleTriangles.size(); i++) {
-			// die Verwendung des GrahamScan-Algorithmus erfordert die
-			// Konstruktion einer Projektionsebene, auf die die TriangleVerts
-			// projiziert werden
-			// verwende dafuer die Ebene eines sichtbaren Dreiecks
-			triPlane = visibleTriangles.get(i).getPoly().getPlane();
-
-			// verschiebe den Stuetzvektor in entgegengesetzter Richtung der
-			// Ebenennormalen, um die Plane moeglichst hinter den Polyeder zu
-			// schieben
-			normal = triPlane.getNormal();
-			stuetzvektor = triPlane.getStuetzvektor();
-
-			scaledNormal = normal.clone();
-			scaledNormal.scale(-1000.0f);
-
-			stuetzvektor.add(scaledNormal);
-			projectionPlane = new Plane(normal, stuetzvektor);
-			projectedVertices = null;
-
-			// rechne so lange, bis eine Ebene gefunden wird, bei der die
-			// Projektion vollstaendig erfolgt
-			// hier kann der Fall auftreten, dass die Projektionsstrahlen die
-			// Ebene nicht treffen, in diesem Fall muss eine andere Ebene
-			// verwendet werden
-			projectedVertices = MyVectormath.getInstance()
-					.projectPointsOntoPlaneFromVanishingPoint(projectionPlane,
-							point, vertexList);
-			if (projectedVertices != null)
-				break;
+		if (maxDistance / length(edgeDirection) <= mTolerance) {
+			LOGGER.warn("Alle Eingabepunkte liegen auf einer Geraden, es kann keine konvexe Huelle berechnet werden!");
+			return false;
 		}
 
-		assert projectedVertices != null : "FEHLER: Es konnte keine Projektion berechnet werden";
+		// Punkt mit dem groessten Abstand zur Ebene durch v0, v1, v2
+		final double[] normal = cross(edgeDirection, subtract(v2, v0));
+		normalize(normal);
+		final double offset = dot(normal, v0);
+
+		maxDistance = -1.0;
+		double maxSignedDistance = 0.0;
+		QuickHullVertex v3 = null;
+		for (int i = 0; i < mHullVertices.size(); i++) {
+			currentVert = mHullVertices.get(i);
+			final double distance = dot(normal, currentVert) - offset;
+			if (Math.abs(distance) > maxDistance) {
+				maxDistance = Math.abs(distance);
+				maxSignedDistance = distance;
+				v3 = currentVert;
+			}
+		}
 
-		// Mapstruktur verwenden, um nach Berechnung der konvexen Huelle wieder
-		// auf die Ausgangsvertices zurueck zu kommen
-		Map<Vertex3d, Vertex3d> vertToVert = new HashMap<Vertex3d, Vertex3d>(
-				vertexList.size());
-		for (int i = 0; i < vertexList.size(); i++)
-			vertToVert.put(projectedVertices.get(i), vertexList.get(i));
+		if (maxDistance <= mTolerance) {
+			LOGGER.debug("Alle Eingabepunkte liegen in einer Ebene, berechne eine zweidimensionale Huelle");
+			mPlanarResult = computePlanarHull(v0, edgeDirection, normal);
+			return false;
+		}
 
-		List<Vertex3d> convexHullPolyProjected = PrototypeHelper.getInstance()
-				.computeConvexHullForUnprojectedVertices(projectedVertices,
-						projectionPlane.getNormalPtr());
+		// Startkoerper so aufbauen, dass alle Normalen nach aussen zeigen
+		final List<QuickHullTriangle> startTriangles = new ArrayList<QuickHullTriangle>(
+				4);
+		if (maxSignedDistance > 0) {
+			startTriangles.add(new QuickHullTriangle(v0, v2, v1));
+			startTriangles.add(new QuickHullTriangle(v0, v1, v3));
+			startTriangles.add(new QuickHullTriangle(v1, v2, v3));
+			startTriangles.add(new QuickHullTriangle(v2, v0, v3));
+		} else {
+			startTriangles.add(new QuickHullTriangle(v0, v1, v2));
+			startTriangles.add(new QuickHullTriangle(v1, v0, v3));
+			startTriangles.add(new QuickHullTriangle(v2, v1, v3));
+			startTriangles.add(new QuickHullTriangle(v0, v2, v3));
+		}
 
-		List<Vertex3d> result = new ArrayList<Vertex3d>(
-				convexHullPolyProjected.size());
-		// projizierte Vertices zurueckrechnen
-		for (int i = 0; i < convexHullPolyProjected.size(); i++) {
-			result.add(vertToVert.get(convexHullPolyProjected.get(i)));
+		// Halbkanten des Startkoerpers verknuepfen
+		for (int i = 0; i < startTriangles.size(); i++) {
+			QuickHullHalfEdge edge = startTriangles.get(i).getEdge();
+			for (int k = 0; k < 3; k++, edge = edge.getNext()) {
+				if (edge.getTwin() != null)
+					continue;
+				for (int j = i + 1; j < startTriangles.size()
+						&& edge.getTwin() == null; j++) {
+					QuickHullHalfEdge other = startTriangles.get(j).getEdge();
+					for (int l = 0; l < 3; l++, other = other.getNext()) {
+						if (other.getHead() == edge.getTail()
+								&& other.getTail() == edge.getHead()) {
+							edge.setTwin(other);
+							break;
+						}
+					}
+				}
+				assert edge.getTwin() != null : "FEHLER: Der Startkoerper ist nicht geschlossen!";
+			}
+		}
+		mTriangles.addAll(startTriangles);
+
+		// alle weiteren Punkte auf die Dreiecke des Startkoerpers verteilen
+		for (int i = 0; i < mHullVertices.size(); i++) {
+			currentVert = mHullVertices.get(i);
+			if (currentVert == v0 || currentVert == v1 || currentVert == v2
+					|| currentVert == v3)
+				continue;
+			assignToTriangle(currentVert, startTriangles);
 		}
 
-		return result;
+		for (int i = 0; i < startTriangles.size(); i++) {
+			if (!startTriangles.get(i).getOutsideSet().isEmpty())
+				mPendingTriangles.add(startTriangles.get(i));
+		}
+		return true;
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Methode berechnet ausgehend von dem Punkt aus dem Outside-Set eines Faces
-	 * Kanten, die den Uebergang zwischen von dem Punkt aus sichtbaren und
-	 * unsichtbaren Faces definieren, hierfuer verwendet man einen Suchansatz,
-	 * der von dem Face aus startet, zu dessen Outside-Set der Punkt gehoert
+	 * Methode berechnet fuer eine Punktwolke, deren Punkte alle in einer Ebene
+	 * liegen, die zweidimensionale konvexe Huelle (Monotone Chain) und
+	 * trianguliert diese. Damit die Huelle geschlossen bleibt, wird jedes
+	 * Dreieck in beiden Orientierungen ausgegeben.
 	 * 
-	 * @param face
-	 *            Oberflaechensegment, fuer dessen OutsideSet die Horizontlinie
-	 *            berechnet werden soll
+	 * @param origin
+	 *            Punkt in der Ebene
+	 * @param edgeDirection
+	 *            Richtung innerhalb der Ebene
+	 * @param normal
+	 *            Normalenvektor der Ebene
+	 * @return Liste mit Dreiecken
 	 */
-	private void computeHorizonForOutsideSet(QuickHullTriangle face) {
-
-		// bestimme den Punkt innerhalb des OutsideSets, der den groessten
-		// Abstand zum Face besitzt
-		Float maxDistance = -Float.MAX_VALUE, currentDistance = null;
-		Vertex3d currentVertex = null, currentMaxVertex = null;
-
-		List<Vertex3d> outsideSet = mOutsideSets.get(face);
+	private List<MyPolygon> computePlanarHull(final QuickHullVertex origin,
+			final double[] edgeDirection, final double[] normal) {
+
+		final double[] u = edgeDirection.clone();
+		normalize(u);
+		final double[] w = cross(normal, u);
+
+		final List<QuickHullVertex> sorted = new ArrayList<QuickHullVertex>(
+				mHullVertices);
+		for (int i = 0; i < sorted.size(); i++) {
+			final QuickHullVertex currentVert = sorted.get(i);
+			final double[] local = subtract(currentVert, origin);
+			currentVert.mU = dot(u, local);
+			currentVert.mW = dot(w, local);
+		}
 
-		LOGGER.trace("VERTS in OUTSIDESET: " + outsideSet.size());
+		Collections.sort(sorted, new Comparator<QuickHullVertex>() {
 
-		for (int i = 0; i < outsideSet.size(); i++) {
-			currentVertex = outsideSet.get(i);
-			currentDistance = mMathHelper.calculatePointPlaneDistance(
-					currentVertex.getPositionPtr(), face.getPoly().getPlane());
-			LOGGER.trace("CURRENT DISTACNE: " + currentDistance);
-			if (currentDistance > maxDistance) {
-				maxDistance = currentDistance;
-				currentMaxVertex = currentVertex;
+			@Override
+			public int compare(QuickHullVertex first, QuickHullVertex second) {
+				if (first.mU != second.mU)
+					return Double.compare(first.mU, second.mU);
+				return Double.compare(first.mW, second.mW);
 			}
+		});
+
+		// untere und obere Kette gegen den Uhrzeigersinn bestimmen
+		final QuickHullVertex[] hull = new QuickHullVertex[2 * sorted.size()];
+		int count = 0;
+		for (int i = 0; i < sorted.size(); i++) {
+			while (count >= 2
+					&& turn(hull[count - 2], hull[count - 1], sorted.get(i)) <= 0)
+				count--;
+			hull[count++] = sorted.get(i);
+		}
+		for (int i = sorted.size() - 2, lower = count + 1; i >= 0; i--) {
+			while (count >= lower
+					&& turn(hull[count - 2], hull[count - 1], sorted.get(i)) <= 0)
+				count--;
+			hull[count++] = sorted.get(i);
 		}
 
-		// ausgehend von dem Punkt mit maximalem Abstand innerhalb des
-		// OutsideSets bestimmt man nun die Horizontkanten, indem man die
-		// Nachbarn des Vertex durchlaeuft
-		// berechne die Horizontlinien rekursiv ausgehend vom aktuellen Dreieck
-		Set<Ray> horizonLines = new HashSet<Ray>();
-		horizonLines.addAll(checkNeighboursForHorizon(face, null,
-				currentMaxVertex));
-
-		// loesche nicht mehr sichtbare Faces
-		deleteFacesVisibleForPoint(currentMaxVertex);
-
-		// und erzeuge neue Faces ueber die HorizonLines und den Startpunkt
-		createNewTriangleByHorizonLines(horizonLines, currentMaxVertex);
+		// der letzte Punkt entspricht dem ersten
+		count--;
 
-		// alle Dreiecke fuer naechste Berechnung zuruecksetzen
-		for (int i = 0; i < mTriangles.size(); i++)
-			mTriangles.get(i).setVisited(false);
+		final List<MyPolygon> result = new ArrayList<MyPolygon>(
+				2 * Math.max(0, count - 2));
+		for (int i = 1; i < count - 1; i++) {
+			result.add(createPolygon(hull[0], hull[i], hull[i + 1]));
+			result.add(createPolygon(hull[0], hull[i + 1], hull[i]));
+		}
+		return result;
+	}
 
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Positiver Wert, falls c in der Projektionsebene links von der
+	 *         Geraden durch a und b liegt
+	 */
+	private double turn(final QuickHullVertex a, final QuickHullVertex b,
+			final QuickHullVertex c) {
+		return (b.mU - a.mU) * (c.mW - a.mW) - (b.mW - a.mW) * (c.mU - a.mU);
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Als Abschluss der Iteration fuer einen Punkt innerhalb eines Outside-Sets
-	 * loescht man alle Faces aus der Triangle-Menge, die vom Uebergabepunkt aus
-	 * sichtbar waren
+	 * Methode erzeugt ein Ergebnispolygon aus den uebergebenen Punkten
 	 * 
-	 * @param point
-	 *            Uebergabepunkt, fuer den alle sichtbaren Faces geloescht
-	 *            werden
+	 * @return Dreieck mit Kopien der Eingabevertices
 	 */
-	private void deleteFacesVisibleForPoint(Vertex3d point) {
+	private MyPolygon createPolygon(final QuickHullVertex a,
+			final QuickHullVertex b, final QuickHullVertex c) {
+		final List<Vertex3d> polyVerts = new ArrayList<Vertex3d>(3);
+		polyVerts.add(a.getOutputVertex());
+		polyVerts.add(b.getOutputVertex());
+		polyVerts.add(c.getOutputVertex());
+		return new MyPolygon(polyVerts);
+	}
 
-		MyVector3f centerToPoint = null;
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode liefert alle Vertices, die zu einem beliebigen
+	 * Berechnungszeitpunkt noch keinem Dreieck der Huelle zugeordnet und noch
+	 * nicht als innenliegend verworfen wurden
+	 * 
+	 * @return Liste mit Vertices
+	 */
+	public List<Vertex3d> getCurrentVertices() {
+		final List<Vertex3d> result = new ArrayList<Vertex3d>();
 		QuickHullTriangle currentTri = null;
-		float angle = 0;
 		for (int i = 0; i < mTriangles.size(); i++) {
 			currentTri = mTriangles.get(i);
-			centerToPoint = new MyVector3f();
-			centerToPoint.sub(point.getPositionPtr(), currentTri.getCenter());
-			angle = MyVectormath.getInstance().calculateAngle(centerToPoint,
-					currentTri.getPoly().getNormalPtr());
-			if (angle < 90.0f) {
-				mTrianglesToDelete.add(currentTri);
-			}
-		}
-
-		LOGGER.trace("Fuer Punkt " + point
-				+ " werden folgende Dreiecke geloescht: ");
-		for (int i = 0; i < mTrianglesToDelete.size(); i++) {
-			LOGGER.trace(mTrianglesToDelete.get(i).getID());
+			if (currentTri.isDeleted())
+				continue;
+			for (QuickHullVertex currentVert : currentTri.getOutsideSet())
+				result.add(currentVert.getVertex());
 		}
-
-		/*
-		 * // durchlaufe alle Faces, die vom Punkt aus sichtbar waren und
-		 * loesche sie aus der Outside-Map-Struktur und dem Triangle-Buffer
-		 * Set<QuickHullTriangle> triKeys = mOutsideSets.keySet();
-		 * List<Vertex3d> visibleVerts = null;
-		 * 
-		 * Iterator<QuickHullTriangle> triIter = triKeys.iterator();
-		 * QuickHullTriangle currentTriangle = null;
-		 * 
-		 * while(triIter.hasNext()) { currentTriangle = triIter.next();
-		 * visibleVerts = mOutsideSets.get(currentTriangle);
-		 * if(visibleVerts.contains(point)) { // aus der Mapstruktur loeschen
-		 * mTrianglesToDelete.add(currentTriangle); } }
-		 */
+		return result;
 	}
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Methode berechnet neue Dreiecke auf der konvexen Huelle basierend auf den
-	 * berechneten Hoizontlinien und dem berechneten Startpunkt und fuegt diese
-	 * zum Triangle-Buffer hinzu
+	 * Methode prueft, ob die Halbkantenstruktur der Huelle geschlossen ist,
+	 * d.h. jede Kante eines verbleibenden Dreiecks eine gueltige Gegenkante in
+	 * einem ebenfalls verbleibenden Dreieck besitzt
 	 * 
-	 * @param horizonLines
-	 *            Set mit einer Menge von Linien, die fuer den uebergebenen
-	 *            Startpunkt den Horizont bilden
-	 * @param startPoint
-	 *            Startpunkt, fuer den mit jeder Linie im Set ein neues Dreieck
-	 *            berechnet wird
+	 * @return True, falls die Huelle geschlossen ist, False sonst
 	 */
-	private void createNewTriangleByHorizonLines(Set<Ray> horizonLines,
-			Vertex3d startPoint) {
-
-		LOGGER.trace("#HORIZON LINES: " + horizonLines.size()
-				+ " Ausgangspunkt: " + startPoint);
-		Iterator<Ray> lineIter = horizonLines.iterator();
-		int index = 0;
-		while (lineIter.hasNext()) {
-			LOGGER.trace(index + ": " + lineIter.next());
-			index++;
-		}
-
-		lineIter = horizonLines.iterator();
-		Ray currentRay = null;
-		List<Vertex3d> polyVerts = null;
-		QuickHullTriangle resultTri = null;
-
-		while (lineIter.hasNext()) {
-			polyVerts = new ArrayList<Vertex3d>(3);
-			currentRay = lineIter.next();
-
-			// erzeuge ein neues Dreieck und loesche direkt die Eckpunkte des
-			// Dreiecks aus dem VertexBuffer
-			polyVerts.add(new Vertex3d(currentRay.getStart()));
-			polyVerts.add(new Vertex3d(currentRay.getEnd()));
-			polyVerts.add(startPoint);
-
-			resultTri = new QuickHullTriangle(polyVerts);
-
-			// Dreiecksvertices aus dem Buffer loeschen
-			for (int i = 0; i < polyVerts.size(); i++) {
-				if (mVertexBuffer.contains(polyVerts.get(i))) {
-					mVertexBuffer.remove(polyVerts.get(i));
-					// logger.trace("Vertex " + polyVerts.get(i) +
-					// " aus dem VertexBuffer entfernt!");
-				} else {
-					// logger.error("Vertex " + polyVerts.get(i) +
-					// " befindet sich nicht im VertexBuffer");
+	private boolean isClosed() {
+		QuickHullTriangle currentTri = null;
+		for (int i = 0; i < mTriangles.size(); i++) {
+			currentTri = mTriangles.get(i);
+			if (currentTri.isDeleted())
+				continue;
+			QuickHullHalfEdge edge = currentTri.getEdge();
+			for (int k = 0; k < 3; k++, edge = edge.getNext()) {
+				final QuickHullHalfEdge twin = edge.getTwin();
+				if (twin == null || twin.getTwin() != edge
+						|| twin.getFace().isDeleted()
+						|| twin.getHead() != edge.getTail()
+						|| twin.getTail() != edge.getHead()) {
+					LOGGER.error("Ungueltige Gegenkante in " + currentTri);
+					return false;
 				}
 			}
-
-			LOGGER.trace("Neues Dreieck: " + resultTri);
-			mTriangles.add(resultTri);
 		}
+		return true;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	private static double[] subtract(final QuickHullVertex a,
+			final QuickHullVertex b) {
+		return new double[] { a.mX - b.mX, a.mY - b.mY, a.mZ - b.mZ };
+	}
+
+	// ------------------------------------------------------------------------------------------
+	private static double[] cross(final double[] a, final double[] b) {
+		return new double[] { a[1] * b[2] - a[2] * b[1],
+				a[2] * b[0] - a[0] * b[2], a[0] * b[1] - a[1] * b[0] };
+	}
+
+	// ------------------------------------------------------------------------------------------
+	private static double dot(final double[] a, final double[] b) {
+		return a[0] * b[0] + a[1] * b[1] + a[2] * b[2];
+	}
+
+	// ------------------------------------------------------------------------------------------
+	private static double dot(final double[] a, final QuickHullVertex b) {
+		return a[0] * b.mX + a[1] * b.mY + a[2] * b.mZ;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	private static double length(final double[] a) {
+		return Math.sqrt(dot(a, a));
+	}
+
+	// ------------------------------------------------------------------------------------------
+	private static void normalize(final double[] a) {
+		final double length = length(a);
+		a[0] /= length;
+		a[1] /= length;
+		a[2] /= length;
 	}
 
 	// ------------------------------------------------------------------------------------------
+
 	/**
-	 * Methode durchsucht rekursiv alle vorhandenen Dreiecke nach Nachbarn, die
-	 * vom aktuellen Startpunkt aus nicht mehr sichtbar sind.
 	 * 
-	 * @param currentStart
-	 *            Dreieck, von dem ausgehend nach Horizontlinien gesucht werden
-	 *            soll
-	 * @param lastStart
-	 *            Dreieck, von dem aus die letzte Rekursion ausgeloest wurde
-	 * @param startPoint
-	 *            Punkt, von dem ausgehend Dreiecke auf Sichtbarkeit getestet
-	 *            werden
-	 * @return Liste mit allen entdeckten Hoirzontkanten
+	 * @author Patrick Gunia Punkt der Eingabewolke in doppelter Genauigkeit
+	 * 
 	 */
-	private Set<Ray> checkNeighboursForHorizon(QuickHullTriangle currentStart,
-			QuickHullTriangle lastStart, Vertex3d startPoint) {
-
-		Set<Ray> horizonLines = new HashSet<Ray>();
+	private static class QuickHullVertex {
 
-		// Abbruchkriterium testen, bereits besuchte Dreiecke skippen
-		if (currentStart.isVisited())
-			return horizonLines;
+		/** Eingabevertex */
+		private final Vertex3d mVertex;
 
-		// noch nicht besuchte Dreiecke als besucht markieren
-		else
-			currentStart.setVisited(true);
+		/** Koordinaten */
+		private final double mX, mY, mZ;
 
-		QuickHullTriangle[] neighbours = currentStart.getNeighbours();
-		QuickHullTriangle currentTriangle = null;
-		MyVector3f pointToTriangle = null, currentPolyPoint = null;
-		Float currentAngle = null;
-		Ray horizonRay = null;
+		/** Koordinaten in der Projektionsebene bei planaren Eingaben */
+		private double mU, mW;
 
-		for (int i = 0; i < neighbours.length; i++) {
+		/** Kopie des Eingabevertex, die in den Ergebnisdreiecken verwendet wird */
+		private Vertex3d mOutputVertex = null;
 
-			currentTriangle = neighbours[i];
-
-			// teste die direkten Dreiecke
-			currentPolyPoint = currentTriangle.getCenter();
-			pointToTriangle = new MyVector3f();
+		// ------------------------------------------------------------------------------------------
 
-			// Vektor vom Polygonmittelpunkt auf den Startpunkt
-			pointToTriangle.sub(startPoint.getPositionPtr(), currentPolyPoint);
-			currentAngle = mMathHelper.calculateAngle(pointToTriangle,
-					currentTriangle.getPoly().getNormalPtr());
+		public QuickHullVertex(final Vertex3d vertex) {
+			mVertex = vertex;
+			mX = vertex.getX();
+			mY = vertex.getY();
+			mZ = vertex.getZ();
+		}
 
-			// Dreieck ist nicht sichtbar
-			// berechne die gemeinsame Kante
-			if (currentAngle > 90.0f) {
-				horizonRay = getSharedEdge(currentStart, currentTriangle);
-				LOGGER.trace("Geteilte Kante: " + horizonRay);
-				horizonLines.add(horizonRay);
-			} else {
-				// starte Rekursion, allerdings nur, wenn das aktuelle
-				// Nachbardreieck nicht dem Dreieck entspricht, das die letzte
-				// Rekursion gestartet hat
-				if (currentTriangle != null && currentTriangle == lastStart)
-					continue;
-				else
-					horizonLines.addAll(checkNeighboursForHorizon(
-							currentTriangle, currentStart, startPoint));
+		// ------------------------------------------------------------------------------------------
+		/**
+		 * @param axis
+		 *            Index der Koordinatenachse
+		 * @return Koordinate entlang der uebergebenen Achse
+		 */
+		public double get(final int axis) {
+			switch (axis) {
+			case 0:
+				return mX;
+			case 1:
+				return mY;
+			default:
+				return mZ;
 			}
+		}
+
+		// ------------------------------------------------------------------------------------------
 
+		public Vertex3d getVertex() {
+			return mVertex;
 		}
-		return horizonLines;
-	}
 
-	// ------------------------------------------------------------------------------------------
-	/**
-	 * Methode berechnet eine Kante, die sich die uebergebenen Dreiecke teilen
-	 * 
-	 * @param first
-	 *            Erstes Eingabedreieck
-	 * @param second
-	 *            Zweites Eingabedreieck
-	 * @return Strahl, der die geteilte Kante beschreibt
-	 */
-	private Ray getSharedEdge(QuickHullTriangle first, QuickHullTriangle second) {
-
-		// bestimme zwei Vertices, die in beiden Dreiecken vorkommen, zwischen
-		// diesen verlaeuft die geteilte Kante
-		List<Vertex3d> sharedVertices = new ArrayList<Vertex3d>(2);
-		List<Vertex3d> firstTriangleVerts = first.getPoly().getVertices();
-		List<Vertex3d> secondTriangleVerts = second.getPoly().getVertices();
-
-		Vertex3d currentFirst = null;
-		for (int i = 0; i < firstTriangleVerts.size(); i++) {
-			currentFirst = firstTriangleVerts.get(i);
-			if (secondTriangleVerts.contains(currentFirst))
-				sharedVertices.add(currentFirst);
+		// ------------------------------------------------------------------------------------------
+		/**
+		 * @return Kopie des Eingabevertex, die von allen Ergebnisdreiecken
+		 *         gemeinsam verwendet wird
+		 */
+		public Vertex3d getOutputVertex() {
+			if (mOutputVertex == null)
+				mOutputVertex = mVertex.clone();
+			return mOutputVertex;
 		}
 
-		// assert sharedVertices.size() == 2: "FEHLER: Es wurden "
-		// +sharedVertices.size() + " gemeinsame Vertices gefunden!";
-		if (sharedVertices.size() == 2)
-			return new Ray(sharedVertices.get(0), sharedVertices.get(1));
-		else
-			return null;
+		// ------------------------------------------------------------------------------------------
 
 	}
 
 	// ------------------------------------------------------------------------------------------
+
 	/**
-	 * Methode berechnet einen initialen Koerper, von dem ausgehend der
-	 * Algorithmus startet. Zunaechst such man Extrempunkte in allen 3
-	 * Koordinatenachsen. Diese verwendet man dann zur Konstruktion des
-	 * Startkoepers
+	 * 
+	 * @author Patrick Gunia Gerichtete Kante eines Dreiecks, die Gegenkante
+	 *         gehoert zum benachbarten Dreieck
+	 * 
 	 */
-	private void init() {
+	private static class QuickHullHalfEdge {
 
-		// Array nimmt die Vertices mit maximalen Koordinaten auf
-		Vertex3d[] minMaxSet = new Vertex3d[6];
-		Vertex3d currentVert = null;
+		/** Endpunkt der Kante */
+		private final QuickHullVertex mHead;
 
-		Float min_x = Float.MAX_VALUE, min_y = Float.MAX_VALUE, min_z = Float.MAX_VALUE;
-		Float max_x = -Float.MAX_VALUE, max_y = -Float.MAX_VALUE, max_z = -Float.MAX_VALUE;
+		/** Dreieck, zu dem die Kante gehoert */
+		private final QuickHullTriangle mFace;
 
-		for (int i = 0; i < mVertices.size(); i++) {
-			currentVert = mVertices.get(i);
+		/** Nachfolgende und vorherige Kante innerhalb des Dreiecks */
+		private QuickHullHalfEdge mNext = null, mPrev = null;
 
-			if (currentVert.getX() < min_x) {
-				minMaxSet[0] = currentVert;
-				min_x = currentVert.getX();
-			}
+		/** Gegenkante im Nachbardreieck */
+		private QuickHullHalfEdge mTwin = null;
 
-			if (currentVert.getX() > max_x) {
-				minMaxSet[1] = currentVert;
-				max_x = currentVert.getX();
-			}
-
-			if (currentVert.getY() < min_y) {
-				minMaxSet[2] = currentVert;
-				min_y = currentVert.getY();
-			}
+		// ------------------------------------------------------------------------------------------
 
-			if (currentVert.getY() > max_y) {
-				minMaxSet[3] = currentVert;
-				max_y = currentVert.getY();
-			}
+		public QuickHullHalfEdge(final QuickHullVertex head,
+				final QuickHullTriangle face) {
+			mHead = head;
+			mFace = face;
+		}
 
-			if (currentVert.getZ() < min_z) {
-				minMaxSet[4] = currentVert;
-				min_z = currentVert.getZ();
-			}
+		// ------------------------------------------------------------------------------------------
 
-			if (currentVert.getZ() > max_z) {
-				minMaxSet[5] = currentVert;
-				max_z = currentVert.getZ();
-			}
+		public QuickHullVertex getHead() {
+			return mHead;
 		}
 
-		// enfterne die verwendeten Vertices aus dem Vertex-Container, da diese
-		// nicht mehr weiter getestet werden muessen
-		for (int i = 0; i < minMaxSet.length; i++) {
-			LOGGER.trace("Vertex " + minMaxSet[i]
-					+ " aus dem VertexBuffer entfernt!");
-			mVertexBuffer.remove(minMaxSet[i]);
-		}
+		// ------------------------------------------------------------------------------------------
 
-		Ray[] rays = new Ray[3];
+		public QuickHullVertex getTail() {
+			return mPrev.getHead();
+		}
 
-		String message = "minX: " + min_x + " " + minMaxSet[0] + " max_x: "
-				+ max_x + " " + minMaxSet[1] + " minY: " + min_y + " "
-				+ minMaxSet[2] + " maxY: " + max_y + " " + minMaxSet[3]
-				+ " minZ: " + min_z + " " + minMaxSet[4] + " maxZ: " + max_z
-				+ " " + minMaxSet[5];
-		LOGGER.error(message);
+		// ------------------------------------------------------------------------------------------
 
-		// berechne Kanten zwischen den min-max-Vertices jeder Koordinatenachse
-		rays[0] = new Ray(minMaxSet[0], minMaxSet[1]);
-		rays[1] = new Ray(minMaxSet[2], minMaxSet[3]);
-		rays[2] = new Ray(minMaxSet[4], minMaxSet[5]);
+		public QuickHullTriangle getFace() {
+			return mFace;
+		}
 
-		// bestimme den Strahl mit maximaler Laenge
-		float longest = -Float.MAX_VALUE;
-		Ray currentLongest = null;
+		// ------------------------------------------------------------------------------------------
 
-		for (int i = 0; i < 3; i++) {
-			if (rays[i].getLength() > longest) {
-				longest = rays[i].getLength();
-				currentLongest = rays[i];
-			}
+		public QuickHullHalfEdge getNext() {
+			return mNext;
 		}
 
-		// bestimme nun den Punkt innerhalb des min-max-Sets, der den groessten
-		// Abstand zur berechenten Kante besitzt
-		longest = -Float.MAX_VALUE;
-		float currentDistance = 0;
-		Vertex3d maxVert = null;
-
-		MyVectormath mathHelper = MyVectormath.getInstance();
-
-		for (int i = 0; i < minMaxSet.length; i++) {
-			currentVert = minMaxSet[i];
-			currentDistance = mathHelper.calculatePointEdgeDistance(
-					currentVert.getPositionPtr(), currentLongest);
-			if (currentDistance > longest) {
-				longest = currentDistance;
-				maxVert = currentVert;
-			}
-		}
+		// ------------------------------------------------------------------------------------------
 
-		// das erste Dreieck des Koerpers wird durch die Kante und den Punkt
-		// beschrieben, erzeuge eine Triangle-Instanz
-		List<Vertex3d> points = new ArrayList<Vertex3d>(3);
-		points.add(maxVert);
-		points.add(currentLongest.getStartVertex());
-		points.add(currentLongest.getEndVertex());
-
-		LOGGER.error("MAX: " + maxVert + " Longest Start: " + points.get(1)
-				+ " Longest End: " + points.get(2));
-
-		QuickHullTriangle firstTriangle = new QuickHullTriangle(points);
-		mTriangles.add(firstTriangle);
-		Plane trianglePlane = firstTriangle.getPoly().getPlane();
-
-		// bestimme den Punkt aus dem initialen Set, der den groessten Abstand
-		// zur berechneten Ebene besitzt
-		longest = -Float.MAX_VALUE;
-		currentDistance = -1;
-		for (int i = 0; i < minMaxSet.length; i++) {
-			currentDistance = mathHelper.calculatePointPlaneDistance(
-					minMaxSet[i].getPositionPtr(), trianglePlane);
-			if (currentDistance > longest) {
-				currentVert = minMaxSet[i];
-				longest = currentDistance;
-			}
+		public QuickHullHalfEdge getPrev() {
+			return mPrev;
 		}
 
-		// mit dem so bestimmten Punkt und den 3 kanten des ersten Dreiecks
-		// bildet man weitere Dreiecke und bekommt darueber den initialen
-		// Startkoerper
-		List<Ray> polyRays = firstTriangle.getPoly().getRays();
-		QuickHullTriangle currentPoly = null;
-
-		for (int i = 0; i < polyRays.size(); i++) {
-			points = new ArrayList<Vertex3d>();
-			points.add(currentVert);
-			points.add(new Vertex3d(polyRays.get(i).getStart()));
-			points.add(new Vertex3d(polyRays.get(i).getEnd()));
-			currentPoly = new QuickHullTriangle(points);
-			mTriangles.add(currentPoly);
-		}
+		// ------------------------------------------------------------------------------------------
 
-		// aktualisiere die Nachbarschaftsbeziehungen zwischen den Dreiecken
-		// aufgrund der bidirektionalen Aktualisierung kann man die folgenden
-		// geschachtelten Schleifen verwenden
-		for (int i = 0; i < mTriangles.size(); i++) {
-			for (int k = i + 1; k < mTriangles.size(); k++) {
-				mTriangles.get(i).addNeighbour(mTriangles.get(k));
-			}
+		public QuickHullHalfEdge getTwin() {
+			return mTwin;
 		}
 
-		normalizeNormals();
+		// ------------------------------------------------------------------------------------------
+		/**
+		 * Methode setzt die Gegenkante und baut direkt die bidirektionale
+		 * Beziehung auf
+		 * 
+		 * @param twin
+		 *            Gegenkante im Nachbardreieck
+		 */
+		public void setTwin(final QuickHullHalfEdge twin) {
+			mTwin = twin;
+			twin.mTwin = this;
+		}
 
-	}
+		// ------------------------------------------------------------------------------------------
 
-	// ------------------------------------------------------------------------------------------
-	/**
-	 * Methode liefert alle Vertices, die zu einem beliebigen
-	 * Berechnungszeitpunkt noch im VertexBuffer vorhanden sind
-	 * 
-	 * @return Liste mit Vertices
-	 */
-	public List<Vertex3d> getCurrentVertices() {
-		return mVertexBuffer;
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -1021,228 +845,152 @@ public class Quickhull3d {
 	 * 
 	 * @author Patrick Gunia Klasse dient der Verwaltung der speziellen
 	 *         Anforderungen des QuickHull-Algorithmus bsw. Speicherung der
-	 *         Nachbarn fuer jedes Dreieck
+	 *         Halbkanten und des Outside-Sets fuer jedes Dreieck
 	 * 
 	 */
 	private class QuickHullTriangle {
 
-		/** Beschreibung des Dreiecks durch eine Polygonstruktur */
-		private MyPolygon mTriangle = null;
+		/** Eine der drei Halbkanten des Dreiecks, Basis -> zweiter Punkt */
+		private QuickHullHalfEdge mEdge = null;
 
-		/** Speichert Pointer auf alle 3 adjazenten Dreiecke fuer jedes Dreieck */
-		private QuickHullTriangle[] mNeighbours = new QuickHullTriangle[3];
+		/** Normierter Normalenvektor */
+		private final double[] mNormal;
 
-		/** Flag fuer Rekursionsabbruch bei Horizontbestimmung */
-		private boolean mVisited = false;
+		/** Abstand der Dreiecksebene vom Ursprung */
+		private final double mOffset;
 
-		/** Mittelpunkt des Dreiecks */
-		private MyVector3f mCenter = null;
+		/** Punkte, die von diesem Dreieck aus sichtbar und ihm zugeordnet sind */
+		private List<QuickHullVertex> mOutsideSet = null;
 
-		/** ID, dient dem Debugging */
-		private String mID = null;
+		/** Punkt des Outside-Sets mit dem groessten Abstand */
+		private QuickHullVertex mFurthestVertex = null;
 
-		// ------------------------------------------------------------------------------------------
+		/** Abstand des am weitesten entfernten Punktes */
+		private double mFurthestDistance = 0.0;
 
-		/**
-		 * 
-		 * @param vertices
-		 *            Vertices, die das aktuelle Dreieck beschreiben
-		 */
-		public QuickHullTriangle(List<Vertex3d> vertices) {
-			mTriangle = new MyPolygon(vertices);
-			for (int i = 0; i < mNeighbours.length; i++)
-				mNeighbours[i] = null;
-			mCenter = MyVectormath.getInstance().calculatePolygonCenter(
-					vertices);
-			mID = "Tri_" + Quickhull3d.this.getTriangleIndex();
-		}
+		/** Flag fuer Dreiecke, die nicht mehr zur Huelle gehoeren */
+		private boolean mDeleted = false;
 
-		// ------------------------------------------------------------------------------------------
-
-		public MyPolygon getPoly() {
-			return mTriangle;
-		}
-
-		// ------------------------------------------------------------------------------------------
-
-		public QuickHullTriangle[] getNeighbours() {
-			return mNeighbours;
-		}
+		/** ID, dient dem Debugging */
+		private String mID = null;
 
 		// ------------------------------------------------------------------------------------------
-
 		/**
-		 * @return the mVisited
+		 * Erzeugt ein Dreieck mit den Halbkanten a -> b -> c -> a
 		 */
-		public boolean isVisited() {
-			return mVisited;
+		public QuickHullTriangle(final QuickHullVertex a,
+				final QuickHullVertex b, final QuickHullVertex c) {
+
+			final QuickHullHalfEdge ab = new QuickHullHalfEdge(b, this);
+			final QuickHullHalfEdge bc = new QuickHullHalfEdge(c, this);
+			final QuickHullHalfEdge ca = new QuickHullHalfEdge(a, this);
+			ab.mNext = bc;
+			bc.mNext = ca;
+			ca.mNext = ab;
+			ab.mPrev = ca;
+			bc.mPrev = ab;
+			ca.mPrev = bc;
+			mEdge = ab;
+
+			mNormal = cross(subtract(b, a), subtract(c, a));
+			normalize(mNormal);
+			mOffset = (dot(mNormal, a) + dot(mNormal, b) + dot(mNormal, c)) / 3.0;
+
+			mOutsideSet = new ArrayList<QuickHullVertex>(0);
+			mID = "Tri_" + Quickhull3d.this.getTriangleIndex();
 		}
 
 		// ------------------------------------------------------------------------------------------
-
 		/**
-		 * @param mVisited
-		 *            the mVisited to set
+		 * @return Vorzeichenbehafteter Abstand des Punktes von der
+		 *         Dreiecksebene, positiv fuer Punkte vor dem Dreieck
 		 */
-		public void setVisited(boolean mVisited) {
-			this.mVisited = mVisited;
+		public double distanceToPlane(final QuickHullVertex vertex) {
+			return dot(mNormal, vertex) - mOffset;
 		}
 
 		// ------------------------------------------------------------------------------------------
 		/**
-		 * @return the mCenter
+		 * Exakter Sichtbarkeitstest, unabhaengig von der Rundung der
+		 * gespeicherten Normalen. Dreiecke derselben Ebene liefern dadurch
+		 * stets das gleiche Ergebnis.
+		 * 
+		 * @return True, falls der Punkt echt vor der Dreiecksebene liegt
 		 */
-		public MyVector3f getCenter() {
-			return mCenter;
-		}
-
-		// ------------------------------------------------------------------------------------------
-		public String getID() {
-			return mID;
+		public boolean isVisibleFrom(final QuickHullVertex vertex) {
+			final QuickHullVertex a = mEdge.getTail();
+			final QuickHullVertex b = mEdge.getHead();
+			final QuickHullVertex c = mEdge.getNext().getHead();
+
+			// Determinante der Zeilen b - a, c - a und vertex - a
+			return RobustPredicates.orient3d(b.mX, b.mY, b.mZ, c.mX, c.mY,
+					c.mZ, vertex.mX, vertex.mY, vertex.mZ, a.mX, a.mY, a.mZ) > 0;
 		}
 
 		// ------------------------------------------------------------------------------------------
 		/**
-		 * Methode fuegt ein Nachbardreieck zum aktuellen Dreieck hinzu und baut
-		 * direkt die bidirektionale Beziehung auf
+		 * Methode fuegt einen Punkt zum Outside-Set hinzu
 		 * 
-		 * @param neighbour
+		 * @param vertex
+		 *            Sichtbarer Punkt
+		 * @param distance
+		 *            Abstand des Punktes zur Dreiecksebene
 		 */
-		public void addNeighbour(QuickHullTriangle neighbour) {
-			boolean added = false;
-
-			// Nachbarn an die erste freie Stelle setzen,
-			for (int i = 0; i < mNeighbours.length; i++) {
-				if (mNeighbours[i] == null) {
-					added = true;
-					mNeighbours[i] = neighbour;
-
-					// den Nachbarn auch auf der anderen Seite setzen
-					neighbour.addNeighbour(this);
-					break;
-				} else if (mNeighbours[i] == neighbour)
-					return;
+		public void addOutsideVertex(final QuickHullVertex vertex,
+				final double distance) {
+			mOutsideSet.add(vertex);
+			if (mFurthestVertex == null || distance > mFurthestDistance) {
+				mFurthestVertex = vertex;
+				mFurthestDistance = distance;
 			}
-			assert added : "FEHLER: Nachbardreieck konnte nicht geadded werden!";
-		}
-
-		// ------------------------------------------------------------------------------------------
-		/**
-		 * Methode setzt die Nachbarn des Dreiecks auf null
-		 */
-		public void resetNeighbourhood() {
-			for (int i = 0; i < mNeighbours.length; i++)
-				mNeighbours[i] = null;
 		}
 
 		// ------------------------------------------------------------------------------------------
 
-		/*
-		 * (non-Javadoc)
-		 * 
-		 * @see java.lang.Object#toString()
-		 */
-		@Override
-		public String toString() {
-			return "QuickHullTriangle [mID=" + mID + " " + mTriangle + "]";
+		public QuickHullHalfEdge getEdge() {
+			return mEdge;
 		}
 
 		// ------------------------------------------------------------------------------------------
-	}
-
-	// ------------------------------------------------------------------------------------------
-	/**
-	 * 
-	 * @author Patrick Gunia Klasse dient der effizienten hashbasierten
-	 *         Nachbarschaftsberechnung, indem Strahlen nur durch Start- und
-	 *         Endvertex beschrieben werden. Equals testet nur, ob eine Struktur
-	 *         die Vertices enthaelt unabhaengig von der Reihenfolge. Dadurch
-	 *         spielt die Abfolge der Vertices beim Konstruktoraufruf keine
-	 *         Rolle fuer den Vergleich.
-	 */
-	private class QuickHullNeighbourHelper {
-
-		/** Vertices innerhalb der aktuellen Neighbourstruktur */
-		private List<Vertex3d> mVertices = new ArrayList<Vertex3d>(2);
-
-		/**
-		 * Nachbardreiecke fuer die Kante, die durch die beiden Vertices
-		 * beschrieben wird
-		 */
-		private Set<QuickHullTriangle> mNeighbours = new HashSet<QuickHullTriangle>(
-				2);
-
-		public QuickHullNeighbourHelper(Vertex3d first, Vertex3d second) {
 
-			mVertices.add(first);
-			mVertices.add(second);
+		public List<QuickHullVertex> getOutsideSet() {
+			return mOutsideSet;
 		}
 
 		// ------------------------------------------------------------------------------------------
-		public void addNeighbour(QuickHullTriangle neighbour) {
-			mNeighbours.add(neighbour);
+
+		public QuickHullVertex getFurthestVertex() {
+			return mFurthestVertex;
 		}
 
 		// ------------------------------------------------------------------------------------------
-		public List<QuickHullTriangle> getNeighboursAsList() {
-
-			List<QuickHullTriangle> result = new ArrayList<QuickHullTriangle>(
-					mNeighbours.size());
-			result.addAll(mNeighbours);
-			return result;
 
+		public boolean isDeleted() {
+			return mDeleted;
 		}
 
 		// ------------------------------------------------------------------------------------------
-		public int getNeighbourCount() {
-			return mNeighbours.size();
-		}
 
-		// ------------------------------------------------------------------------------------------
-		public Ray getEdgeAsRay() {
-			return new Ray(mVertices.get(0), mVertices.get(1));
+		public void setDeleted(final boolean deleted) {
+			mDeleted = deleted;
 		}
 
 		// ------------------------------------------------------------------------------------------
-
-		/*
-		 * (non-Javadoc)
-		 * 
-		 * @see java.lang.Object#equals(java.lang.Object)
+		/**
+		 * @return Polygonrepraesentation des Dreiecks
 		 */
-		@Override
-		public boolean equals(Object obj) {
-			QuickHullNeighbourHelper other = (QuickHullNeighbourHelper) obj;
-
-			List<Vertex3d> otherVerts = other.getVertices();
-			/*
-			 * System.out.println("OTHERS: "); System.out.println("0: " +
-			 * otherVerts.get(0) + " 1: " + otherVerts.get(1));
-			 * System.out.println("THESE: "); System.out.println("0: " +
-			 * mVertices.get(0) + " 1: " + mVertices.get(1));
-			 */
-
-			for (int i = 0; i < mVertices.size(); i++) {
-				if (!otherVerts.contains(mVertices.get(i))) {
-					// System.out.println("FALSE");
-					return false;
-				}
-			}
-			// System.out.println("TRUE");
-			return true;
+		public MyPolygon getPoly() {
+			return createPolygon(mEdge.getTail(), mEdge.getHead(), mEdge
+					.getNext().getHead());
 		}
 
 		// ------------------------------------------------------------------------------------------
 
-		/**
-		 * @return the mVertices
-		 */
-		public List<Vertex3d> getVertices() {
-			return mVertices;
+		public String getID() {
+			return mID;
 		}
 
 		// ------------------------------------------------------------------------------------------
-
 		/*
 		 * (non-Javadoc)
 		 * 
@@ -1250,15 +998,47 @@ public class Quickhull3d {
 		 */
 		@Override
 		public String toString() {
-			return "QuickHullNeighbourHelper [mVertices=" + mVertices + "]";
+			return "QuickHullTriangle [mID=" + mID + " "
+					+ mEdge.getTail().getVertex() + " "
+					+ mEdge.getHead().getVertex() + " "
+					+ mEdge.getNext().getHead().getVertex() + "]";
 		}
 
 		// ------------------------------------------------------------------------------------------
 
-		private Quickhull3d getOuterType() {
-			return Quickhull3d.this;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+	/**
+	 * 
+	 * @author Patrick Gunia Zustand eines Dreiecks waehrend der iterativen
+	 *         Horizontsuche: aktuelle Kante und Kante, bei der der Umlauf
+	 *         endet
+	 * 
+	 */
+	private static class HorizonSearchState {
+
+		/** Naechste zu pruefende Kante */
+		private QuickHullHalfEdge mCurrent;
+
+		/** Kante, bei der der Umlauf um das Dreieck endet */
+		private final QuickHullHalfEdge mStop;
+
+		/** Gibt an, ob bereits eine Kante geprueft wurde */
+		private boolean mStarted;
+
+		// ------------------------------------------------------------------------------------------
+
+		public HorizonSearchState(final QuickHullHalfEdge current,
+				final QuickHullHalfEdge stop, final boolean started) {
+			mCurrent = current;
+			mStop = stop;
+			mStarted = started;
 		}
 
+		// ------------------------------------------------------------------------------------------
+
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -80,6 +80,12 @@ public abstract class AbstractBuilding {
 	/** Gebaeudeparameter bzgl. Audehnungen etc. */
 	protected BuildingDimensions mDimensions = null;
 
+	/**
+	 * Flag gibt an, ob die Komponenten des Gebaeudes parallel tesseliert
+	 * werden, standardmaessig erfolgt die Berechnung sequentiell
+	 */
+	protected boolean mParallelTesselation = false;
+
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * 
@@ -110,6 +116,25 @@ public abstract class AbstractBuilding {
 		return mBuilding;
 	}
 
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return True, falls die Komponenten des Gebaeudes parallel tesseliert
+	 *         werden
+	 */
+	public boolean isParallelTesselation() {
+		return mParallelTesselation;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param parallelTesselation
+	 *            True, falls die Komponenten des Gebaeudes parallel tesseliert
+	 *            werden sollen
+	 */
+	public void setParallelTesselation(final boolean parallelTesselation) {
+		mParallelTesselation = parallelTesselation;
+	}
+
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Methode erzeugt ein Dach fuer das Gebauede. Die Konfiguration des Dachs
@@ -238,7 +263,7 @@ public abstract class AbstractBuilding {
 		// insetWalls(mBuilding, mConf.getDimensions().getWallThickness());
 
 		// tesseliere das Gebaeude
-		mBuilding.tesselate();
+		mBuilding.tesselate(mParallelTesselation);
 
 		// berechne durchgaengige Quads ueber Stockwerksgrenzen hinweg
 		mBuilding.computePolyQuadsForContiguousBaseQuads();
@@ -179,7 +179,7 @@ public class TestBuilding extends AbstractBuilding {
 		insetWalls(mBuilding, 4.0f);
 
 		// tesseliere das Gebaeude
-		mBuilding.tesselate();
+		mBuilding.tesselate(mParallelTesselation);
 
 		// berechne durchgaengige Quads ueber Stockwerksgrenzen hinweg
 		mBuilding.computePolyQuadsForContiguousBaseQuads();
@@ -11,12 +11,10 @@ import semantic.building.modeler.configurationservice.model.component.FasciaComp
 import semantic.building.modeler.configurationservice.model.component.MouldingComponentConfiguration;
 import semantic.building.modeler.configurationservice.model.enums.Side;
 import semantic.building.modeler.configurationservice.model.enums.VerticalAlignment;
-import semantic.building.modeler.math.MyPolygon;
 import semantic.building.modeler.math.MyVector3f;
 import semantic.building.modeler.math.MyVectormath;
 import semantic.building.modeler.math.Ray;
 import semantic.building.modeler.math.Vertex3d;
-import semantic.building.modeler.prototype.algorithm.BoundingBoxCreator;
 import semantic.building.modeler.prototype.graphics.complex.AbstractComplex;
 import semantic.building.modeler.prototype.graphics.complex.FreeComplex;
 import semantic.building.modeler.prototype.graphics.complex.ImportedComplex;
@@ -145,36 +143,12 @@ public class Fascia extends AbstractBuildingComponent {
 	private boolean createConnection(ImportedComplex moulding1,
 			ImportedComplex moulding2) {
 
-		OBB obb1 = moulding1.getOBB();
-		BoundingBoxCreator bbCreator = new BoundingBoxCreator();
+		// die OBBs werden von den Gesimsen zwischengespeichert
+		final OBB obb1 = moulding1.getOBB();
+		moulding1.setBB(obb1);
 
-		List<MyPolygon> faces = null;
-		List<AbstractQuad> mouldingQuads = null;
-
-		if (obb1 == null) {
-
-			mouldingQuads = moulding1.getAllQuads();
-			faces = new ArrayList<MyPolygon>(mouldingQuads.size());
-			for (int i = 0; i < mouldingQuads.size(); i++)
-				faces.add(mouldingQuads.get(i).getPolygon());
-
-			obb1 = (OBB) bbCreator.computeOBBBruteForceNoCH(faces,
-					moulding1.getVertices());
-			moulding1.setBB(obb1);
-		}
-
-		OBB obb2 = moulding2.getOBB();
-		if (obb2 == null) {
-
-			mouldingQuads = moulding2.getAllQuads();
-			faces = new ArrayList<MyPolygon>(mouldingQuads.size());
-			for (int i = 0; i < mouldingQuads.size(); i++)
-				faces.add(mouldingQuads.get(i).getPolygon());
-
-			obb2 = (OBB) bbCreator.computeOBBBruteForceNoCH(faces,
-					moulding2.getVertices());
-			moulding2.setBB(obb2);
-		}
+		final OBB obb2 = moulding2.getOBB();
+		moulding2.setBB(obb2);
 
 		return obb1.intersectsSAT(obb2);
 	}
@@ -247,7 +247,7 @@ public class Doppelantentempel extends AbstractBuilding {
 		insetWalls(mBuilding, mConf.getDimensions().getWallThickness());
 
 		// tesseliere das Gebaeude
-		mBuilding.tesselate();
+		mBuilding.tesselate(mParallelTesselation);
 
 		// beim Tempel muessen die Koordinaten nicht durchgaengig berechnet
 		// werden, da es keine durchgaengigen Flaechen gibt, die sich
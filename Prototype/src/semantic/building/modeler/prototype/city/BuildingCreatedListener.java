@@ -0,0 +1,29 @@
+package semantic.building.modeler.prototype.city;
+
+import semantic.building.modeler.prototype.building.AbstractBuilding;
+
+/**
+ * Listener wird von der Stadterzeugung ueber jedes fertig erzeugte Gebaeude
+ * informiert. Die Aufrufe erfolgen aus den Worker-Threads heraus und koennen
+ * darum gleichzeitig stattfinden.
+ * 
+ * @author Patrick Gunia
+ * 
+ */
+
+public interface BuildingCreatedListener {
+
+	/**
+	 * Methode wird aufgerufen, sobald ein Gebaeude vollstaendig erzeugt wurde
+	 * 
+	 * @param index
+	 *            Laufende Nummer des Gebaeudes innerhalb der Stadtkonfiguration
+	 * @param building
+	 *            Erzeugtes Gebaeude
+	 * @throws Exception
+	 *             Fehler werden als Fehler bei der Erzeugung des jeweiligen
+	 *             Gebaeudes gezaehlt
+	 */
+	public void buildingCreated(final int index, final AbstractBuilding building)
+			throws Exception;
+}
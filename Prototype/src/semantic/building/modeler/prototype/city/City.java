@@ -4,9 +4,14 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.log4j.Logger;
 
+import processing.core.PApplet;
 import semantic.building.modeler.configurationservice.controller.ConfigurationController;
 import semantic.building.modeler.configurationservice.model.AbstractConfigurationObject;
 import semantic.building.modeler.configurationservice.model.BuildingConfiguration;
@@ -122,27 +127,11 @@ public class City {
 					try {
 						final MyVector3f nextPosition = mBuildingPositions
 								.remove(0);
-						if (currentBuildingConf.getType().equals("Building")) {
-							currentBuilding = new ArbitraryBuilding(
-									hierarchyRoot.getParent(), nextPosition,
-									(BuildingConfiguration) currentBuildingConf);
-						} else if (currentBuildingConf.getType().equals(
-								"BuildingJugendstil")) {
-							currentBuilding = new JugendstilBuilding(
-									hierarchyRoot.getParent(),
-									nextPosition,
-									(BuildingJugendstilConfiguration) currentBuildingConf);
-						} else if (currentBuildingConf.getType().equals(
-								"BuildingDoppelantentempel")) {
-							currentBuilding = new Doppelantentempel(
-									hierarchyRoot.getParent(),
-									nextPosition,
-									(BuildingDoppelantentempelConfiguration) currentBuildingConf);
-						} else {
-							LOGGER.warn("Ungueltiger Gebaeudetyp: "
-									+ currentType);
+						currentBuilding = createBuilding(
+								hierarchyRoot.getParent(), nextPosition,
+								currentBuildingConf);
+						if (currentBuilding == null)
 							continue;
-						}
 						currentBuilding.create();
 						hierarchyRoot.addComplex(currentBuilding.getBuilding());
 					} catch (Exception ex) {
@@ -168,6 +157,135 @@ public class City {
 		}
 	}
 
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode erzeugt basierend auf der geladenen Stadtkonfiguration alle
+	 * Gebaeude auf mehreren Threads, ohne sie in eine gemeinsame
+	 * Geometriehierarchie einzufuegen. Jedes fertige Gebaeude wird direkt im
+	 * berechnenden Thread an den Listener uebergeben, der es bsw. exportieren
+	 * kann. Fehler bei der Erzeugung eines Gebaeudes betreffen nur dieses
+	 * Gebaeude. Die Komponenten der Gebaeude werden zusaetzlich parallel
+	 * tesseliert.
+	 * 
+	 * @param applet
+	 *            Drawing Context der Gebaeude, darf fuer headless-Laeufe null
+	 *            sein
+	 * @param listener
+	 *            Listener, der ueber jedes fertige Gebaeude informiert wird
+	 * @param numberOfThreads
+	 *            Anzahl der Threads, die fuer die Erzeugung verwendet werden
+	 * @return Anzahl der Gebaeude, deren Erzeugung fehlgeschlagen ist, -1
+	 *         falls keine Konfiguration geladen wurde
+	 */
+	public int createCity(final PApplet applet,
+			final BuildingCreatedListener listener, final int numberOfThreads) {
+
+		if (mCityConfig == null) {
+			LOGGER.error("Es wurde keine Konfiguration geladen!");
+			return -1;
+		}
+
+		final int numberOfBuildings = computeNumberOfBuildings();
+		computeBuildingPositions(numberOfBuildings);
+
+		final AtomicInteger errors = new AtomicInteger(0);
+		final ExecutorService executor = Executors.newFixedThreadPool(Math
+				.max(1, numberOfThreads));
+
+		int buildingIndex = 0;
+		for (BuildingDescriptor curDescriptor : mCityConfig
+				.getBuildingDescriptors()) {
+			final AbstractConfigurationObject buildingConf = curDescriptor
+					.getBuilding();
+			LOGGER.debug("Erzeuge " + curDescriptor.getInstanceCount()
+					+ " Gebaeude des Typs: " + buildingConf.getType());
+
+			for (int i = 0; i < curDescriptor.getInstanceCount(); i++) {
+				final int index = buildingIndex++;
+				final MyVector3f position = mBuildingPositions.remove(0);
+				executor.execute(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							final AbstractBuilding building = createBuilding(
+									applet, position, buildingConf);
+							if (building == null)
+								return;
+							building.setParallelTesselation(true);
+							building.create();
+							listener.buildingCreated(index, building);
+						} catch (Exception ex) {
+							LOGGER.error("FEHLER: Bei der Erzeugung von Gebaeude "
+									+ index + " ist ein Fehler aufgetreten!");
+							LOGGER.error(PrototypeHelper.getInstance()
+									.getStackTrace(ex));
+							errors.incrementAndGet();
+						} catch (AssertionError ex) {
+							LOGGER.error("FEHLER: Bei der Erzeugung von Gebaeude "
+									+ index + " ist ein Fehler aufgetreten!");
+							LOGGER.error(PrototypeHelper.getInstance()
+									.getStackTrace(ex));
+							errors.incrementAndGet();
+						}
+					}
+				});
+			}
+		}
+
+		// auf alle Gebaeude warten
+		executor.shutdown();
+		boolean interrupted = false;
+		while (!executor.isTerminated()) {
+			try {
+				executor.awaitTermination(1, TimeUnit.MINUTES);
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+
+		LOGGER.info("Von " + numberOfBuildings
+				+ " zu erzeugenden Gebäuden wurden "
+				+ (numberOfBuildings - errors.get())
+				+ " korrekt erstellt. Insgesamt traten " + errors.get()
+				+ " Fehler auf!");
+		return errors.get();
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode erzeugt die Konstruktionsklasse fuer ein Gebaeude anhand des
+	 * Typs der uebergebenen Konfiguration
+	 * 
+	 * @param applet
+	 *            Drawing Context
+	 * @param position
+	 *            Position des Gebaeudes
+	 * @param buildingConf
+	 *            Gebaeudekonfiguration
+	 * @return Gebaeudeinstanz, null bei ungueltigem Gebaeudetyp
+	 */
+	private AbstractBuilding createBuilding(final PApplet applet,
+			final MyVector3f position,
+			final AbstractConfigurationObject buildingConf) {
+
+		final String type = buildingConf.getType();
+		if (type.equals("Building")) {
+			return new ArbitraryBuilding(applet, position,
+					(BuildingConfiguration) buildingConf);
+		} else if (type.equals("BuildingJugendstil")) {
+			return new JugendstilBuilding(applet, position,
+					(BuildingJugendstilConfiguration) buildingConf);
+		} else if (type.equals("BuildingDoppelantentempel")) {
+			return new Doppelantentempel(applet, position,
+					(BuildingDoppelantentempelConfiguration) buildingConf);
+		} else {
+			LOGGER.warn("Ungueltiger Gebaeudetyp: " + type);
+			return null;
+		}
+	}
+
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Methode bestimmt, wieviele Gebaeude gebaut werden sollen
@@ -0,0 +1,230 @@
+package semantic.building.modeler.prototype.controller;
+
+import java.awt.GraphicsEnvironment;
+import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+
+import processing.core.PApplet;
+import semantic.building.modeler.configurationservice.controller.ConfigurationController;
+import semantic.building.modeler.configurationservice.model.SystemConfiguration;
+import semantic.building.modeler.math.MyVectormath;
+import semantic.building.modeler.prototype.building.AbstractBuilding;
+import semantic.building.modeler.prototype.city.BuildingCreatedListener;
+import semantic.building.modeler.prototype.city.City;
+import semantic.building.modeler.prototype.exporter.ExportFormat;
+import semantic.building.modeler.prototype.graphics.complex.AbstractComplex;
+import semantic.building.modeler.prototype.graphics.complex.CompositeComplex;
+import semantic.building.modeler.prototype.service.IdentifierService;
+import semantic.building.modeler.prototype.service.ObjectManagementService;
+import semantic.building.modeler.prototype.service.ObjectPositioningService;
+import semantic.building.modeler.prototype.service.PrototypeHelper;
+import semantic.building.modeler.prototype.service.TextureManagement;
+
+/**
+ *
+ * @author Patrick Gunia Kommandozeilenanwendung zur Stapelverarbeitung von
+ *         Stadtkonfigurationen ohne Renderfenster. Die Gebaeude einer Stadt
+ *         werden parallel erzeugt und jedes fertige Gebaeude wird sofort in
+ *         eine eigene Datei exportiert und anschliessend aus der
+ *         Objektverwaltung entfernt, der Speicherbedarf ist dadurch unabhaengig
+ *         von der Anzahl der Gebaeude. Texturen werden nur zugeordnet, nicht
+ *         geladen. Steht keine Anzeige zur Verfuegung, koennen keine
+ *         OBJ-Modelle (Fenster, Tueren etc.) nachgeladen werden, betroffene
+ *         Gebaeude werden als fehlerhaft gezaehlt.
+ *
+ *         Aufruf: BatchCityGenerator <Stadtkonfiguration> <Zielverzeichnis>
+ *         [Threads] [Systemkonfiguration]
+ *
+ */
+
+public class BatchCityGenerator implements BuildingCreatedListener {
+
+	/** Logging-Instanz */
+	protected static Logger LOGGER = Logger.getLogger(BatchCityGenerator.class);
+
+	/** Standardpfad der Systemkonfiguration */
+	private static String mConfigFilePath = "ressource/Config/SystemConfiguration.xml";
+
+	/** Zielverzeichnis der Exporte */
+	private final File mOutputFolder;
+
+	/** Praefix der Exportdateien */
+	private final String mFilePrefix;
+
+	/** Anzahl der exportierten Gebaeude */
+	private final AtomicInteger mExportCount = new AtomicInteger(0);
+
+	/** Anzahl der Gebaeude, deren Export fehlgeschlagen ist */
+	private final AtomicInteger mExportFailures = new AtomicInteger(0);
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param outputFolder
+	 *            Zielverzeichnis der Exporte
+	 * @param filePrefix
+	 *            Praefix der Exportdateien, wird um die Gebaeudenummer
+	 *            ergaenzt
+	 */
+	public BatchCityGenerator(final File outputFolder, final String filePrefix) {
+		mOutputFolder = outputFolder;
+		mFilePrefix = filePrefix;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode initialisiert alle Services, die fuer die Gebaeudeerzeugung
+	 * benoetigt werden. Singletons werden vor dem Start der Worker-Threads
+	 * erzeugt.
+	 *
+	 * @param sysConfigPath
+	 *            Pfad zur Systemkonfiguration
+	 * @return Applet fuer das Laden von Modellen, null falls keine Anzeige
+	 *         verfuegbar ist
+	 */
+	public PApplet initializeServices(final String sysConfigPath) {
+
+		final ConfigurationController configController = new ConfigurationController();
+		final SystemConfiguration sysConf = configController
+				.processSystemConfiguration(new File(sysConfigPath));
+
+		// der OBJ-Loader benoetigt ein Applet, dieses wird nie gestartet und
+		// oeffnet kein Fenster
+		PApplet applet = null;
+		if (!GraphicsEnvironment.isHeadless()) {
+			applet = new PApplet();
+		} else {
+			LOGGER.warn("Keine Anzeige verfuegbar, OBJ-Modelle koennen nicht geladen werden");
+		}
+
+		// Texturen werden ohne Parent nur zugeordnet, nicht geladen
+		TextureManagement.getInstance().initializeTextureManagement(null,
+				sysConf);
+		ObjectPositioningService.getInstance().init(applet, sysConf);
+
+		MyVectormath.getInstance();
+		PrototypeHelper.getInstance();
+		IdentifierService.getInstance();
+		ObjectManagementService.getInstance();
+
+		return applet;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode exportiert ein fertiges Gebaeude und entfernt es anschliessend
+	 * aus der Objektverwaltung. Gezaehlt werden nur erfolgreich geschriebene
+	 * Exporte.
+	 */
+	@Override
+	public void buildingCreated(final int index, final AbstractBuilding building) {
+
+		final AbstractComplex complex = building.getBuilding();
+		final String filename = mFilePrefix + "_" + index;
+		try {
+			if (complex.exportModelToFile(mOutputFolder.getAbsolutePath(),
+					filename, ExportFormat.OBJ)) {
+				mExportCount.incrementAndGet();
+			} else {
+				mExportFailures.incrementAndGet();
+				LOGGER.error("FEHLER: Gebaeude " + index
+						+ " konnte nicht exportiert werden!");
+			}
+		} finally {
+			unregisterHierarchy(complex);
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode entfernt ein komplexes Objekt und alle Komponenten aus der
+	 * Objektverwaltung
+	 *
+	 * @param complex
+	 *            Wurzel der zu entfernenden Hierarchie
+	 */
+	private void unregisterHierarchy(final AbstractComplex complex) {
+		if (complex instanceof CompositeComplex) {
+			for (AbstractComplex component : ((CompositeComplex) complex)
+					.getComponents()) {
+				unregisterHierarchy(component);
+			}
+		}
+		complex.unregister();
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Anzahl der exportierten Gebaeude
+	 */
+	public int getExportCount() {
+		return mExportCount.get();
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Anzahl der Gebaeude, deren Export fehlgeschlagen ist
+	 */
+	public int getExportFailures() {
+		return mExportFailures.get();
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Einstiegspunkt der Stapelverarbeitung
+	 *
+	 * @param args
+	 *            Stadtkonfiguration, Zielverzeichnis, optional Anzahl der
+	 *            Threads und Pfad zur Systemkonfiguration
+	 */
+	public static void main(final String[] args) {
+
+		if (args.length < 2) {
+			System.err
+					.println("Aufruf: BatchCityGenerator <Stadtkonfiguration> <Zielverzeichnis> [Threads] [Systemkonfiguration]");
+			System.exit(2);
+		}
+
+		final String cityConfigPath = args[0];
+		final File outputFolder = new File(args[1]);
+		final int numberOfThreads = args.length > 2 ? Integer
+				.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		final String sysConfigPath = args.length > 3 ? args[3]
+				: mConfigFilePath;
+
+		if (!outputFolder.isDirectory() && !outputFolder.mkdirs()) {
+			LOGGER.error("Zielverzeichnis konnte nicht angelegt werden: '"
+					+ outputFolder + "'!");
+			System.exit(1);
+		}
+
+		String prefix = new File(cityConfigPath).getName();
+		final int extensionIndex = prefix.lastIndexOf('.');
+		if (extensionIndex > 0)
+			prefix = prefix.substring(0, extensionIndex);
+
+		final BatchCityGenerator generator = new BatchCityGenerator(
+				outputFolder, prefix);
+		final PApplet applet = generator.initializeServices(sysConfigPath);
+
+		final City city = new City();
+		city.loadConfiguration(cityConfigPath);
+
+		final long start = System.currentTimeMillis();
+		final int errors = city.createCity(applet, generator, numberOfThreads);
+
+		LOGGER.info(generator.getExportCount() + " Gebaeude in "
+				+ (System.currentTimeMillis() - start) + " ms mit "
+				+ numberOfThreads + " Threads exportiert");
+		if (generator.getExportFailures() > 0)
+			LOGGER.error(generator.getExportFailures()
+					+ " Gebaeude konnten nicht exportiert werden");
+
+		System.exit(errors == 0 && generator.getExportFailures() == 0 ? 0
+				: 1);
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+}
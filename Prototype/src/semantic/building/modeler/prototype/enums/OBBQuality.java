@@ -0,0 +1,57 @@
+package semantic.building.modeler.prototype.enums;
+
+/**
+ * Enum definiert Qualitaetsstufen fuer die Berechnung objektorientierter
+ * Bounding-Boxen. Hoehere Stufen testen mehr Kandidatenausrichtungen und
+ * verfeinern das Ergebnis laenger, benoetigen dafuer aber mehr Rechenzeit.
+ * 
+ * @author Patrick Gunia
+ * 
+ */
+
+public enum OBBQuality {
+
+	/** nur PCA- und Weltachsen, kurze Nachoptimierung */
+	FAST(0, 8),
+
+	/** zusaetzlich die Normalen der groessten Huellflaechen */
+	BALANCED(64, 32),
+
+	/** saemtliche Normalen der konvexen Huelle, lange Nachoptimierung */
+	EXACT(Integer.MAX_VALUE, 64);
+
+	/** Maximale Anzahl getesteter Flaechennormalen der konvexen Huelle */
+	private final int mMaxFaceDirections;
+
+	/** Maximale Anzahl an Schritten der lokalen Nachoptimierung */
+	private final int mMaxRefinementSteps;
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param maxFaceDirections
+	 *            Maximale Anzahl getesteter Flaechennormalen, bei 0 wird keine
+	 *            konvexe Huelle berechnet
+	 * @param maxRefinementSteps
+	 *            Maximale Anzahl an Schritten der lokalen Nachoptimierung
+	 */
+	private OBBQuality(final int maxFaceDirections,
+			final int maxRefinementSteps) {
+		mMaxFaceDirections = maxFaceDirections;
+		mMaxRefinementSteps = maxRefinementSteps;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+	public int getMaxFaceDirections() {
+		return mMaxFaceDirections;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+	public int getMaxRefinementSteps() {
+		return mMaxRefinementSteps;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+}
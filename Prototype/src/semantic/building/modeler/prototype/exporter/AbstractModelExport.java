@@ -1,10 +1,15 @@
 package semantic.building.modeler.prototype.exporter;
 
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.util.Iterator;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import org.apache.log4j.Logger;
 
@@ -27,9 +32,15 @@ public abstract class AbstractModelExport {
 	// static protected final String mBaseDirectory = "ressource/Export/";
 	static protected final String mBaseDirectory = "/Users/Patrick/Dropbox/Promotion/";
 
+	/** Groesse des Schreibpuffers in Zeichen bzw. Bytes */
+	protected static final int BUFFER_SIZE = 1 << 16;
+
 	/** PrintWriter-Instanz zum Output der Daten in eine Textdatei */
 	protected PrintWriter mWriter = null;
 
+	/** Flag gibt an, ob die Ausgabedatei gzip-komprimiert geschrieben wird */
+	protected boolean mCompressOutput = false;
+
 	/**
 	 * Methode exportiert saemtliche Geometrie-Informationen ueber den
 	 * Filewriter in die Outputdatei
@@ -56,15 +67,21 @@ public abstract class AbstractModelExport {
 	 *            Pfad, an den die Datei geschrieben werden soll
 	 * @param filename
 	 *            Dateiname der Zieldatei, in die exportiert wird
+	 * @return True, falls die Zieldatei vollstaendig geschrieben wurde, False
+	 *         sonst
 	 */
-	public void export(final AbstractComplex complex, final String path,
+	public boolean export(final AbstractComplex complex, final String path,
 			final String filename) {
 
 		// erzeuge einen PrintWriter
-		createFileWriter(filename + "." + getFileExtension(), path);
+		final String targetFilename = filename + "." + getFileExtension()
+				+ (mCompressOutput ? ".gz" : "");
+		createFileWriter(targetFilename, path);
+		if (mWriter == null)
+			return false;
 
 		LOGGER.info("Beginne Export des Models: " + complex.getID()
-				+ " in Zieldatei: " + filename + getFileExtension());
+				+ " in Zieldatei: " + targetFilename);
 
 		// hole alle konkreten Objekte des uebergebenen komplexen Objekts
 		final List<AbstractComplex> complexObjects = complex
@@ -81,19 +98,26 @@ public abstract class AbstractModelExport {
 			exportComplex(currentComplex);
 		}
 
-		// Aufraeumen
-		mWriter.flush();
+		// Aufraeumen, close() schreibt den Puffer und ggf. den gzip-Trailer
 		mWriter.close();
+		final boolean error = mWriter.checkError();
 		mWriter = null;
+		if (error) {
+			LOGGER.error("FEHLER: Beim Schreiben der Zieldatei " + targetFilename
+					+ " ist ein Fehler aufgetreten!");
+			return false;
+		}
 
 		LOGGER.info("Export erfolgreich abgeschlossen");
+		return true;
 	}
 
 	// ------------------------------------------------------------------------------------------
 
 	/**
-	 * Methode erzeugt eine Filewriter-Instanz basierend auf dem gesetzten
-	 * Basepfad und dem uebergebenen Dateinamen
+	 * Methode erzeugt eine gepufferte Writer-Instanz basierend auf dem
+	 * gesetzten Basepfad und dem uebergebenen Dateinamen. Ist die Kompression
+	 * aktiviert, wird die Ausgabe gzip-komprimiert
 	 * 
 	 * @param filename
 	 *            Dateiname der Zieldatei des Exports
@@ -103,14 +127,56 @@ public abstract class AbstractModelExport {
 	protected void createFileWriter(final String filename, final String path) {
 
 		// erzeuge einen Filewriter
-		File outputFile = new File(path, filename);
 		try {
-			mWriter = new PrintWriter(outputFile);
-		} catch (FileNotFoundException e) {
-			e.printStackTrace();
+			mWriter = new PrintWriter(new BufferedWriter(
+					new OutputStreamWriter(createOutputStream(filename, path)),
+					BUFFER_SIZE));
+		} catch (IOException e) {
+			LOGGER.error("FEHLER: Zieldatei " + new File(path, filename)
+					+ " konnte nicht angelegt werden!", e);
+			mWriter = null;
 		}
 	}
 
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode oeffnet die Zieldatei als Bytestrom, bei aktivierter Kompression
+	 * gzip-komprimiert
+	 * 
+	 * @param filename
+	 *            Dateiname der Zieldatei des Exports
+	 * @param path
+	 *            Pfad zum Zielverzeichnis
+	 * @return Ausgabestrom in die Zieldatei
+	 * @throws IOException
+	 *             Falls die Datei nicht angelegt werden kann
+	 */
+	protected OutputStream createOutputStream(final String filename,
+			final String path) throws IOException {
+		OutputStream out = new FileOutputStream(new File(path, filename));
+		if (mCompressOutput)
+			out = new GZIPOutputStream(out, BUFFER_SIZE);
+		return out;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param compressOutput
+	 *            True, falls die Ausgabedatei gzip-komprimiert geschrieben
+	 *            werden soll
+	 */
+	public void setCompressOutput(final boolean compressOutput) {
+		mCompressOutput = compressOutput;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return True, falls die Ausgabedatei gzip-komprimiert geschrieben wird
+	 */
+	public boolean isCompressOutput() {
+		return mCompressOutput;
+	}
+
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Schreibt den uebergebenen String in die Ausgabedatei
@@ -2,6 +2,6 @@ package semantic.building.modeler.prototype.exporter;
 
 public enum ExportFormat {
 
-	OBJ;
+	OBJ, GLB;
 
 }
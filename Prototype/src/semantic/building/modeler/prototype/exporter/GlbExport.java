@@ -0,0 +1,779 @@
+package semantic.building.modeler.prototype.exporter;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import semantic.building.modeler.math.MyVector2f;
+import semantic.building.modeler.math.MyVector3f;
+import semantic.building.modeler.math.Vertex3d;
+import semantic.building.modeler.prototype.graphics.complex.AbstractComplex;
+import semantic.building.modeler.prototype.graphics.primitives.AbstractQuad;
+import semantic.building.modeler.prototype.graphics.primitives.Triangle;
+import semantic.building.modeler.prototype.service.Texture;
+
+/**
+ *
+ * @author Patrick Gunia Klasse realisiert den Export komplexer Objekte in das
+ *         binaere glTF-Format (GLB, glTF 2.0). Jedes konkrete Objekt wird als
+ *         eigenes Mesh mit eigenem Knoten exportiert, die Dreiecke eines
+ *         Objekts werden je Textur zu einem Primitive mit eigenem Material
+ *         zusammengefasst. Positionen, Normalen und Texturkoordinaten werden
+ *         als Float-Buffer, Indices als uint32-Buffer direkt in den
+ *         Binaerbereich der Datei geschrieben. Da glTF Normalen und
+ *         Texturkoordinaten je Vertex erwartet, werden Vertices mit
+ *         abweichenden Normalen bzw. Texturkoordinaten dupliziert. Das interne
+ *         Koordinatensystem (y-Achse nach unten) wird durch eine Drehung um die
+ *         x-Achse in das glTF-System (y-Achse nach oben) ueberfuehrt.
+ *         Texturbilder werden nicht eingebettet, sondern ueber ihren Dateipfad
+ *         referenziert.
+ *
+ */
+
+public class GlbExport extends AbstractModelExport {
+
+	/** Magic-Number des GLB-Headers ("glTF") */
+	private static final int GLB_MAGIC = 0x46546C67;
+
+	/** Version des GLB-Containers */
+	private static final int GLB_VERSION = 2;
+
+	/** Chunk-Typ des JSON-Bereichs ("JSON") */
+	private static final int CHUNK_TYPE_JSON = 0x4E4F534A;
+
+	/** Chunk-Typ des Binaerbereichs ("BIN\0") */
+	private static final int CHUNK_TYPE_BIN = 0x004E4942;
+
+	/** glTF-Komponententyp FLOAT */
+	private static final int COMPONENT_TYPE_FLOAT = 5126;
+
+	/** glTF-Komponententyp UNSIGNED_INT */
+	private static final int COMPONENT_TYPE_UNSIGNED_INT = 5125;
+
+	/** Buffer-Target fuer Vertexattribute */
+	private static final int TARGET_ARRAY_BUFFER = 34962;
+
+	/** Buffer-Target fuer Indices */
+	private static final int TARGET_ELEMENT_ARRAY_BUFFER = 34963;
+
+	/** Sampler-Wrapmodus REPEAT */
+	private static final int WRAP_REPEAT = 10497;
+
+	/** Zeichensatz des JSON-Bereichs */
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/**
+	 * Fester Skalierungsfaktor fuer Texturkoordinaten, entspricht dem Tiling
+	 * des obj-Exports
+	 */
+	private static final float TEXTURE_SCALING = 4.0f;
+
+	/** Binaerbereich der Datei, waechst bei Bedarf */
+	private ByteBuffer mBinary = null;
+
+	/** JSON-Beschreibungen aller Accessoren */
+	private List<String> mAccessors = null;
+
+	/** JSON-Beschreibungen aller BufferViews */
+	private List<String> mBufferViews = null;
+
+	/** JSON-Beschreibungen aller Meshes */
+	private List<String> mMeshes = null;
+
+	/** JSON-Beschreibungen aller Knoten */
+	private List<String> mNodes = null;
+
+	/** JSON-Beschreibungen aller Materialien */
+	private List<String> mMaterials = null;
+
+	/** JSON-Beschreibungen aller Bilder */
+	private List<String> mImages = null;
+
+	/** Materialindex je Textur, untexturierte Dreiecke verwenden den Key null */
+	private Map<Texture, Integer> mMaterialIndices = null;
+
+	// ------------------------------------------------------------------------------------------
+
+	/**
+	 * Export-Routine, im Gegensatz zu textbasierten Formaten wird die Datei
+	 * erst nach der Verarbeitung aller Objekte geschrieben, da der Header die
+	 * Laengen beider Bereiche enthaelt
+	 *
+	 * @param complex
+	 *            Komplexes Objekt, das exportiert werden soll
+	 * @param path
+	 *            Pfad, an den die Datei geschrieben werden soll
+	 * @param filename
+	 *            Dateiname der Zieldatei, in die exportiert wird
+	 * @return True, falls die Zieldatei vollstaendig geschrieben wurde, False
+	 *         sonst
+	 */
+	@Override
+	public boolean export(final AbstractComplex complex, final String path,
+			final String filename) {
+
+		final String targetFilename = filename + "." + getFileExtension()
+				+ (mCompressOutput ? ".gz" : "");
+
+		LOGGER.info("Beginne Export des Models: " + complex.getID()
+				+ " in Zieldatei: " + targetFilename);
+
+		mBinary = ByteBuffer.allocate(BUFFER_SIZE).order(
+				ByteOrder.LITTLE_ENDIAN);
+		mAccessors = new ArrayList<String>();
+		mBufferViews = new ArrayList<String>();
+		mMeshes = new ArrayList<String>();
+		mNodes = new ArrayList<String>();
+		mMaterials = new ArrayList<String>();
+		mImages = new ArrayList<String>();
+		mMaterialIndices = new HashMap<Texture, Integer>();
+
+		// hole alle konkreten Objekte des uebergebenen komplexen Objekts
+		final List<AbstractComplex> complexObjects = complex
+				.getConcreteComponents();
+		LOGGER.info("Insgesamt werden " + complexObjects.size()
+				+ " Objekte exportiert");
+
+		for (AbstractComplex currentComplex : complexObjects) {
+			exportComplex(currentComplex);
+		}
+
+		OutputStream out = null;
+		boolean success = false;
+		try {
+			out = new BufferedOutputStream(createOutputStream(targetFilename,
+					path), BUFFER_SIZE);
+			writeGlb(out);
+			out.close();
+			out = null;
+			success = true;
+			LOGGER.info("Export erfolgreich abgeschlossen");
+		} catch (IOException e) {
+			LOGGER.error("FEHLER: Zieldatei " + new File(path, targetFilename)
+					+ " konnte nicht geschrieben werden!", e);
+		} finally {
+			if (out != null) {
+				try {
+					out.close();
+				} catch (IOException e) {
+					LOGGER.error("FEHLER: Zieldatei " + targetFilename
+							+ " konnte nicht geschlossen werden!", e);
+				}
+			}
+			mBinary = null;
+		}
+		return success;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+	@Override
+	protected void exportComplex(final AbstractComplex complex) {
+
+		LOGGER.debug("Exportiere Objekt: " + complex.getID());
+
+		final List<Vertex3d> vertices = complex.getVertices();
+		final List<AbstractQuad> quads = complex.getAllQuads();
+		final Map<String, Texture> textures = complex.getTextureMap();
+		final boolean hasTextureCoordinates = complex.hasTextureCoordinates();
+
+		// Ausgabevertices werden ueber Quellindex, Normale und
+		// Texturkoordinaten identifiziert
+		final Map<VertexKey, Integer> vertexIndices = new HashMap<VertexKey, Integer>();
+		final FloatArray positions = new FloatArray(vertices.size() * 3);
+		final FloatArray normals = new FloatArray(vertices.size() * 3);
+		final FloatArray textureCoords = new FloatArray(
+				hasTextureCoordinates ? vertices.size() * 2 : 0);
+		final Map<Integer, IntArray> indicesByMaterial = new LinkedHashMap<Integer, IntArray>();
+
+		final float[] min = { Float.MAX_VALUE, Float.MAX_VALUE,
+				Float.MAX_VALUE };
+		final float[] max = { -Float.MAX_VALUE, -Float.MAX_VALUE,
+				-Float.MAX_VALUE };
+		final int[] corners = new int[3];
+
+		for (AbstractQuad quad : quads) {
+
+			final MyVector3f normal = quad.getNormal();
+			if (normal == null)
+				continue;
+
+			Texture texture = null;
+			if (hasTextureCoordinates && textures != null)
+				texture = textures.get(quad.getID());
+			final Integer material = getMaterialIndex(texture);
+			IntArray indices = indicesByMaterial.get(material);
+			if (indices == null) {
+				indices = new IntArray(quad.getTriangles().size() * 3);
+				indicesByMaterial.put(material, indices);
+			}
+
+			for (Triangle triangle : quad.getTriangles()) {
+				final Integer[] triangleIndices = triangle.getIndices();
+				corners[0] = triangleIndices[0];
+				corners[1] = triangleIndices[1];
+				corners[2] = triangleIndices[2];
+
+				// glTF erwartet Dreiecke gegen den Uhrzeigersinn bzgl. der
+				// Normalen, die Drehung in das Zielsystem aendert den
+				// Umlaufsinn nicht
+				if (!isCounterClockwise(vertices.get(corners[0]),
+						vertices.get(corners[1]), vertices.get(corners[2]),
+						normal)) {
+					corners[1] = triangleIndices[2];
+					corners[2] = triangleIndices[1];
+				}
+
+				for (int i = 0; i < corners.length; i++) {
+					final Vertex3d vertex = vertices.get(corners[i]);
+					float u = 0.0f, v = 0.0f;
+					if (hasTextureCoordinates) {
+						final MyVector2f coords = quad.getTextureCoords().get(
+								corners[i]);
+						if (coords != null) {
+							u = coords.x * TEXTURE_SCALING;
+							v = coords.y * TEXTURE_SCALING;
+						}
+					}
+
+					final VertexKey key = new VertexKey(corners[i], normal.x,
+							normal.y, normal.z, u, v);
+					Integer index = vertexIndices.get(key);
+					if (index == null) {
+						index = vertexIndices.size();
+						vertexIndices.put(key, index);
+
+						// Drehung um die x-Achse: (x, y, z) => (x, -y, -z)
+						final float x = vertex.getX();
+						final float y = -vertex.getY();
+						final float z = -vertex.getZ();
+						positions.add(x);
+						positions.add(y);
+						positions.add(z);
+						normals.add(normal.x);
+						normals.add(-normal.y);
+						normals.add(-normal.z);
+						if (hasTextureCoordinates) {
+							textureCoords.add(u);
+							textureCoords.add(v);
+						}
+
+						if (x < min[0])
+							min[0] = x;
+						if (y < min[1])
+							min[1] = y;
+						if (z < min[2])
+							min[2] = z;
+						if (x > max[0])
+							max[0] = x;
+						if (y > max[1])
+							max[1] = y;
+						if (z > max[2])
+							max[2] = z;
+					}
+					indices.add(index);
+				}
+			}
+		}
+
+		final int vertexCount = vertexIndices.size();
+		if (vertexCount == 0) {
+			LOGGER.debug("Objekt " + complex.getID()
+					+ " enthaelt keine Dreiecke und wird uebersprungen");
+			return;
+		}
+
+		// Vertexattribute
+		final StringBuilder attributes = new StringBuilder();
+		attributes.append("\"POSITION\":").append(
+				addAccessor(addFloatBufferView(positions), vertexCount,
+						"VEC3", COMPONENT_TYPE_FLOAT, min, max));
+		attributes.append(",\"NORMAL\":").append(
+				addAccessor(addFloatBufferView(normals), vertexCount, "VEC3",
+						COMPONENT_TYPE_FLOAT, null, null));
+		if (hasTextureCoordinates)
+			attributes.append(",\"TEXCOORD_0\":").append(
+					addAccessor(addFloatBufferView(textureCoords), vertexCount,
+							"VEC2", COMPONENT_TYPE_FLOAT, null, null));
+
+		// je Material ein Primitive
+		final StringBuilder primitives = new StringBuilder();
+		int numberOfFaces = 0;
+		for (Map.Entry<Integer, IntArray> entry : indicesByMaterial.entrySet()) {
+			final IntArray indices = entry.getValue();
+			if (indices.size() == 0)
+				continue;
+			numberOfFaces += indices.size() / 3;
+
+			if (primitives.length() > 0)
+				primitives.append(',');
+			primitives
+					.append("{\"attributes\":{")
+					.append(attributes)
+					.append("},\"indices\":")
+					.append(addAccessor(addIndexBufferView(indices),
+							indices.size(), "SCALAR",
+							COMPONENT_TYPE_UNSIGNED_INT, null, null))
+					.append(",\"material\":").append(entry.getKey())
+					.append(",\"mode\":4}");
+		}
+
+		final int meshIndex = mMeshes.size();
+		mMeshes.add("{\"name\":" + quote(complex.getID())
+				+ ",\"primitives\":[" + primitives + "]}");
+		mNodes.add("{\"name\":" + quote(complex.getID()) + ",\"mesh\":"
+				+ meshIndex + "}");
+
+		LOGGER.debug("Exportierte " + vertexCount + " Vertices und "
+				+ numberOfFaces + " Faces");
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode liefert den Index des Materials fuer die uebergebene Textur und
+	 * legt das Material bei Bedarf an
+	 *
+	 * @param texture
+	 *            Textur des Materials, null fuer untexturierte Dreiecke
+	 * @return Index des Materials
+	 */
+	private Integer getMaterialIndex(final Texture texture) {
+
+		Integer index = mMaterialIndices.get(texture);
+		if (index != null)
+			return index;
+
+		index = mMaterials.size();
+		mMaterialIndices.put(texture, index);
+
+		// die Orientierung der Quadnormalen ist nicht fuer alle Objekte
+		// konsistent, daher werden alle Materialien beidseitig gezeichnet
+		if (texture == null) {
+			mMaterials
+					.add("{\"name\":\"default\",\"pbrMetallicRoughness\":{\"baseColorFactor\":[0.39,0.39,0.39,1.0],\"metallicFactor\":0.0},\"doubleSided\":true}");
+		} else {
+			// Bild und Textur teilen sich den Index, Bilder werden ueber ihren
+			// Dateipfad referenziert
+			final int imageIndex = mImages.size();
+			mImages.add("{\"uri\":"
+					+ quote(new File(texture.getPath()).toURI().toString())
+					+ "}");
+			mMaterials.add("{\"name\":" + quote(texture.getID())
+					+ ",\"pbrMetallicRoughness\":{\"baseColorTexture\":{\"index\":"
+					+ imageIndex
+					+ "},\"metallicFactor\":0.0},\"doubleSided\":true}");
+		}
+		return index;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode schreibt Float-Daten in den Binaerbereich und legt eine
+	 * BufferView fuer Vertexattribute an
+	 *
+	 * @param data
+	 *            Zu schreibende Daten
+	 * @return Index der BufferView
+	 */
+	private int addFloatBufferView(final FloatArray data) {
+		final int offset = mBinary.position();
+		ensureCapacity(data.size() * 4);
+		for (int i = 0; i < data.size(); i++) {
+			mBinary.putFloat(data.get(i));
+		}
+		return addBufferView(offset, data.size() * 4, TARGET_ARRAY_BUFFER);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode schreibt Indices in den Binaerbereich und legt eine BufferView
+	 * fuer Indexdaten an
+	 *
+	 * @param data
+	 *            Zu schreibende Indices
+	 * @return Index der BufferView
+	 */
+	private int addIndexBufferView(final IntArray data) {
+		final int offset = mBinary.position();
+		ensureCapacity(data.size() * 4);
+		for (int i = 0; i < data.size(); i++) {
+			mBinary.putInt(data.get(i));
+		}
+		return addBufferView(offset, data.size() * 4,
+				TARGET_ELEMENT_ARRAY_BUFFER);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param offset
+	 *            Startposition im Binaerbereich in Bytes
+	 * @param length
+	 *            Laenge in Bytes
+	 * @param target
+	 *            OpenGL-Buffer-Target
+	 * @return Index der angelegten BufferView
+	 */
+	private int addBufferView(final int offset, final int length,
+			final int target) {
+		mBufferViews.add("{\"buffer\":0,\"byteOffset\":" + offset
+				+ ",\"byteLength\":" + length + ",\"target\":" + target + "}");
+		return mBufferViews.size() - 1;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param bufferView
+	 *            Index der BufferView
+	 * @param count
+	 *            Anzahl der Elemente
+	 * @param type
+	 *            glTF-Elementtyp (SCALAR, VEC2, VEC3)
+	 * @param componentType
+	 *            glTF-Komponententyp
+	 * @param min
+	 *            Minimum je Komponente oder null
+	 * @param max
+	 *            Maximum je Komponente oder null
+	 * @return Index des angelegten Accessors
+	 */
+	private int addAccessor(final int bufferView, final int count,
+			final String type, final int componentType, final float[] min,
+			final float[] max) {
+		final StringBuilder accessor = new StringBuilder();
+		accessor.append("{\"bufferView\":").append(bufferView)
+				.append(",\"componentType\":").append(componentType)
+				.append(",\"count\":").append(count).append(",\"type\":\"")
+				.append(type).append('"');
+		if (min != null && max != null) {
+			accessor.append(",\"min\":");
+			appendArray(accessor, min);
+			accessor.append(",\"max\":");
+			appendArray(accessor, max);
+		}
+		accessor.append('}');
+		mAccessors.add(accessor.toString());
+		return mAccessors.size() - 1;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode vergroessert den Binaerbereich bei Bedarf
+	 *
+	 * @param additionalBytes
+	 *            Anzahl der Bytes, die zusaetzlich geschrieben werden
+	 */
+	private void ensureCapacity(final int additionalBytes) {
+		if (mBinary.remaining() >= additionalBytes)
+			return;
+		int capacity = mBinary.capacity();
+		while (capacity - mBinary.position() < additionalBytes) {
+			capacity *= 2;
+		}
+		final ByteBuffer grown = ByteBuffer.allocate(capacity).order(
+				ByteOrder.LITTLE_ENDIAN);
+		mBinary.flip();
+		grown.put(mBinary);
+		mBinary = grown;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode schreibt Header, JSON- und Binaerbereich in den Ausgabestrom
+	 *
+	 * @param out
+	 *            Ausgabestrom der Zieldatei
+	 * @throws IOException
+	 *             Bei Schreibfehlern
+	 */
+	private void writeGlb(final OutputStream out) throws IOException {
+
+		final byte[] json = buildJson().getBytes(UTF8);
+		final int jsonPadding = (4 - json.length % 4) % 4;
+		final int binaryLength = mBinary.position();
+		final int binaryPadding = (4 - binaryLength % 4) % 4;
+
+		int totalLength = 12 + 8 + json.length + jsonPadding;
+		if (binaryLength > 0)
+			totalLength += 8 + binaryLength + binaryPadding;
+
+		final ByteBuffer header = ByteBuffer.allocate(20).order(
+				ByteOrder.LITTLE_ENDIAN);
+		header.putInt(GLB_MAGIC).putInt(GLB_VERSION).putInt(totalLength);
+		header.putInt(json.length + jsonPadding).putInt(CHUNK_TYPE_JSON);
+		out.write(header.array());
+		out.write(json);
+		// der JSON-Bereich wird mit Leerzeichen aufgefuellt
+		for (int i = 0; i < jsonPadding; i++) {
+			out.write(' ');
+		}
+
+		if (binaryLength > 0) {
+			header.clear();
+			header.putInt(binaryLength + binaryPadding).putInt(CHUNK_TYPE_BIN);
+			out.write(header.array(), 0, 8);
+			out.write(mBinary.array(), 0, binaryLength);
+			for (int i = 0; i < binaryPadding; i++) {
+				out.write(0);
+			}
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return JSON-Beschreibung der Szene
+	 */
+	private String buildJson() {
+
+		final StringBuilder json = new StringBuilder(
+				256 + 64 * (mAccessors.size() + mBufferViews.size()));
+		json.append("{\"asset\":{\"version\":\"2.0\",\"generator\":\"SemanticBuildingModeler\"}");
+		json.append(",\"scene\":0,\"scenes\":[{");
+		if (!mNodes.isEmpty()) {
+			json.append("\"nodes\":[");
+			for (int i = 0; i < mNodes.size(); i++) {
+				if (i > 0)
+					json.append(',');
+				json.append(i);
+			}
+			json.append(']');
+		}
+		json.append("}]");
+
+		appendList(json, "nodes", mNodes);
+		appendList(json, "meshes", mMeshes);
+		appendList(json, "materials", mMaterials);
+		if (!mImages.isEmpty()) {
+			final List<String> textures = new ArrayList<String>(
+					mImages.size());
+			for (int i = 0; i < mImages.size(); i++) {
+				textures.add("{\"sampler\":0,\"source\":" + i + "}");
+			}
+			appendList(json, "textures", textures);
+			appendList(json, "images", mImages);
+			json.append(",\"samplers\":[{\"wrapS\":").append(WRAP_REPEAT)
+					.append(",\"wrapT\":").append(WRAP_REPEAT).append("}]");
+		}
+		appendList(json, "accessors", mAccessors);
+		appendList(json, "bufferViews", mBufferViews);
+		if (mBinary.position() > 0)
+			json.append(",\"buffers\":[{\"byteLength\":")
+					.append(mBinary.position()).append("}]");
+		json.append('}');
+		return json.toString();
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode haengt eine nicht leere Liste von JSON-Objekten als Array an
+	 *
+	 * @param json
+	 *            Ziel
+	 * @param name
+	 *            Name des Arrays
+	 * @param elements
+	 *            JSON-Objekte
+	 */
+	private void appendList(final StringBuilder json, final String name,
+			final List<String> elements) {
+		if (elements.isEmpty())
+			return;
+		json.append(",\"").append(name).append("\":[");
+		for (int i = 0; i < elements.size(); i++) {
+			if (i > 0)
+				json.append(',');
+			json.append(elements.get(i));
+		}
+		json.append(']');
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param json
+	 *            Ziel
+	 * @param values
+	 *            Werte, die als JSON-Array angehaengt werden
+	 */
+	private void appendArray(final StringBuilder json, final float[] values) {
+		json.append('[');
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0)
+				json.append(',');
+			json.append(values[i]);
+		}
+		json.append(']');
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param value
+	 *            Zeichenkette
+	 * @return Zeichenkette als JSON-String mit Anfuehrungszeichen
+	 */
+	private String quote(final String value) {
+		final StringBuilder result = new StringBuilder(value.length() + 2);
+		result.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				result.append('\\').append(c);
+			} else if (c < 0x20) {
+				result.append(String.format("\\u%04x", (int) c));
+			} else {
+				result.append(c);
+			}
+		}
+		result.append('"');
+		return result.toString();
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode prueft, ob die Punkte des Dreiecks bzgl. der uebergebenen
+	 * Normalen gegen den Uhrzeigersinn angeordnet sind
+	 *
+	 * @return True, falls das Kreuzprodukt der Kanten in Richtung der Normalen
+	 *         zeigt
+	 */
+	private boolean isCounterClockwise(final Vertex3d v0, final Vertex3d v1,
+			final Vertex3d v2, final MyVector3f normal) {
+		final float ax = v1.getX() - v0.getX();
+		final float ay = v1.getY() - v0.getY();
+		final float az = v1.getZ() - v0.getZ();
+		final float bx = v2.getX() - v0.getX();
+		final float by = v2.getY() - v0.getY();
+		final float bz = v2.getZ() - v0.getZ();
+		return (ay * bz - az * by) * normal.x + (az * bx - ax * bz) * normal.y
+				+ (ax * by - ay * bx) * normal.z >= 0.0f;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+	@Override
+	protected String getFileExtension() {
+		return "glb";
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Schluessel eines Ausgabevertex aus Quellindex, Normale und
+	 * Texturkoordinaten
+	 */
+	private static final class VertexKey {
+
+		private final int mIndex;
+		private final float mNormalX, mNormalY, mNormalZ, mU, mV;
+		private final int mHash;
+
+		private VertexKey(final int index, final float normalX,
+				final float normalY, final float normalZ, final float u,
+				final float v) {
+			mIndex = index;
+			// -0.0 und 0.0 werden gleich behandelt
+			mNormalX = normalX + 0.0f;
+			mNormalY = normalY + 0.0f;
+			mNormalZ = normalZ + 0.0f;
+			mU = u + 0.0f;
+			mV = v + 0.0f;
+
+			int hash = index;
+			hash = 31 * hash + Float.floatToIntBits(mNormalX);
+			hash = 31 * hash + Float.floatToIntBits(mNormalY);
+			hash = 31 * hash + Float.floatToIntBits(mNormalZ);
+			hash = 31 * hash + Float.floatToIntBits(mU);
+			hash = 31 * hash + Float.floatToIntBits(mV);
+			mHash = hash;
+		}
+
+		@Override
+		public int hashCode() {
+			return mHash;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof VertexKey))
+				return false;
+			final VertexKey other = (VertexKey) obj;
+			return mIndex == other.mIndex && mNormalX == other.mNormalX
+					&& mNormalY == other.mNormalY
+					&& mNormalZ == other.mNormalZ && mU == other.mU
+					&& mV == other.mV;
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Wachsendes float-Array ohne Boxing
+	 */
+	private static final class FloatArray {
+
+		private float[] mData;
+		private int mSize = 0;
+
+		private FloatArray(final int initialCapacity) {
+			mData = new float[Math.max(initialCapacity, 16)];
+		}
+
+		private void add(final float value) {
+			if (mSize == mData.length) {
+				final float[] grown = new float[mData.length * 2];
+				System.arraycopy(mData, 0, grown, 0, mSize);
+				mData = grown;
+			}
+			mData[mSize++] = value;
+		}
+
+		private float get(final int index) {
+			return mData[index];
+		}
+
+		private int size() {
+			return mSize;
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Wachsendes int-Array ohne Boxing
+	 */
+	private static final class IntArray {
+
+		private int[] mData;
+		private int mSize = 0;
+
+		private IntArray(final int initialCapacity) {
+			mData = new int[Math.max(initialCapacity, 16)];
+		}
+
+		private void add(final int value) {
+			if (mSize == mData.length) {
+				final int[] grown = new int[mData.length * 2];
+				System.arraycopy(mData, 0, grown, 0, mSize);
+				mData = grown;
+			}
+			mData[mSize++] = value;
+		}
+
+		private int get(final int index) {
+			return mData[index];
+		}
+
+		private int size() {
+			return mSize;
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+}
@@ -32,9 +32,21 @@ public class ObjExport extends AbstractModelExport {
 	 */
 	private Map<MyVector2f, MyVector2f> mRescaledTextureCoordinatesMap = null;
 
+	/**
+	 * Indices der skalierten Texturkoordinaten innerhalb von
+	 * mRescaledTextureCoordinatesBuffer
+	 */
+	private Map<MyVector2f, Integer> mRescaledTextureCoordinatesIndices = null;
+
 	/** Liste mit den Normalenvektoren aller verwendeten Faces */
 	private List<MyVector3f> mNormalBuffer = null;
 
+	/** Indices der Normalenvektoren innerhalb von mNormalBuffer */
+	private Map<MyVector3f, Integer> mNormalIndices = null;
+
+	/** Wiederverwendeter Puffer fuer den Aufbau einzelner Ausgabezeilen */
+	private final StringBuilder mLine = new StringBuilder(128);
+
 	/**
 	 * Index des letzten geschriebenen Vertex, wenn mehrere komplexe Objekte
 	 * exportiert werden, speichert diese Variable den Index des letzten Vertex
@@ -72,7 +84,9 @@ public class ObjExport extends AbstractModelExport {
 
 		mRescaledTextureCoordinatesBuffer = new ArrayList<MyVector2f>();
 		mRescaledTextureCoordinatesMap = new HashMap<MyVector2f, MyVector2f>();
+		mRescaledTextureCoordinatesIndices = new HashMap<MyVector2f, Integer>();
 		mNormalBuffer = new ArrayList<MyVector3f>();
+		mNormalIndices = new HashMap<MyVector3f, Integer>();
 
 		// schreibe zunaechst alle Vertices in die Outputdatei
 		List<Vertex3d> vertices = complex.getVertices();
@@ -102,10 +116,17 @@ public class ObjExport extends AbstractModelExport {
 		while (quadIter.hasNext()) {
 			currentQuad = quadIter.next();
 
-			// Quadnormale zum Buffer hinzufuegen
+			// Quadnormale zum Buffer hinzufuegen, degenerierte Quads ohne
+			// gueltige Normale werden spaeter ohne Normalenindex geschrieben
 			currentNormal = currentQuad.getNormal();
-			if (mNormalBuffer.indexOf(currentNormal) == -1)
+			if (!isValidNormal(currentNormal)) {
+				LOGGER.warn("Quad " + currentQuad.getID()
+						+ " besitzt keine gueltige Normale: " + currentNormal
+						+ ", Faces werden ohne Normale exportiert");
+			} else if (!mNormalIndices.containsKey(currentNormal)) {
+				mNormalIndices.put(currentNormal, mNormalBuffer.size());
 				mNormalBuffer.add(currentNormal);
+			}
 
 			// TEXTURABHAENGIGE KOORDINATENSKALIERUNG => wird zunaechst nicht
 			// weiter verwendet, zu fehleranfaellig, ausserdem erreicht man mit
@@ -139,8 +160,11 @@ public class ObjExport extends AbstractModelExport {
 				currentCoordRescaled.scale(mTextureScaling);
 
 				// fuege die skalierten Koordinaten zum Buffer hinzu
-				if (mRescaledTextureCoordinatesBuffer
-						.indexOf(currentCoordRescaled) == -1) {
+				if (!mRescaledTextureCoordinatesIndices
+						.containsKey(currentCoordRescaled)) {
+					mRescaledTextureCoordinatesIndices.put(
+							currentCoordRescaled,
+							mRescaledTextureCoordinatesBuffer.size());
 					mRescaledTextureCoordinatesBuffer.add(currentCoordRescaled);
 				}
 
@@ -240,7 +264,10 @@ public class ObjExport extends AbstractModelExport {
 		// fuer jedes Dreieck nur einmal getan werden,
 		// da alle Vertices eines Dreiecks die gleichen Normalenvektoren
 		// zugewiesen bekommen
-		normalIndex = mNormalBuffer.indexOf(quad.getNormal());
+		// fuer Quads ohne gueltige Normale existiert kein Eintrag
+		final MyVector3f normal = quad.getNormal();
+		if (isValidNormal(normal))
+			normalIndex = mNormalIndices.get(normal);
 
 		// ermittle die Indices der Texturkoordinaten ueber den
 		// Koordinatenbuffer
@@ -253,20 +280,23 @@ public class ObjExport extends AbstractModelExport {
 					.get(currentCoords);
 			assert currentRescaledCoords != null : "FEHLER: Es existiert keine Zurodnung des Schluessels "
 					+ currentCoords + " zu einem skalierten Vektor";
-			textureIndices[i] = mRescaledTextureCoordinatesBuffer
-					.indexOf(currentRescaledCoords);
+			textureIndices[i] = mRescaledTextureCoordinatesIndices
+					.get(currentRescaledCoords);
 		}
 
 		// erzeuge die Faces
-		String line = "f ";
+		mLine.setLength(0);
+		mLine.append("f ");
 		// inkrementiere immer um 1, da die obj-File-Zaehlung bei 1 beginnt
 		for (int i = 0; i < indices.length; i++) {
-			line += (indices[i] + 1 + mLastVertexIndex) + "/"
-					+ (textureIndices[i] + 1 + mLastTextureIndex) + "/"
-					+ (normalIndex + 1 + mLastNormalIndex) + " ";
+			mLine.append(indices[i] + 1 + mLastVertexIndex).append('/')
+					.append(textureIndices[i] + 1 + mLastTextureIndex);
+			if (normalIndex != null)
+				mLine.append('/').append(normalIndex + 1 + mLastNormalIndex);
+			mLine.append(' ');
 		}
 
-		mWriter.println(line);
+		mWriter.println(mLine);
 
 	}
 
@@ -291,18 +321,19 @@ public class ObjExport extends AbstractModelExport {
 	 *            Vertex, dessen Koordinaten exportiert werden
 	 */
 	private void writeVertex(Vertex3d vertex) {
-		String output;
+		mLine.setLength(0);
 
 		// 3ds verwendet die z-Achse als Hoehenachse, weiterhin muss die interne
 		// y-Koordinate noch gedreht werden, da das Koordinatensystem eine
 		// andere Ausrichtung aufweist
 		if (mExportTo3dsMax)
-			output = "v " + vertex.getX() + " " + vertex.getZ() + " "
-					+ vertex.getY() * -1;
+			mLine.append("v ").append(vertex.getX()).append(' ')
+					.append(vertex.getZ()).append(' ')
+					.append(vertex.getY() * -1);
 		else
-			output = "v " + vertex.getX() + " " + vertex.getY() + " "
-					+ vertex.getZ();
-		mWriter.println(output);
+			mLine.append("v ").append(vertex.getX()).append(' ')
+					.append(vertex.getY()).append(' ').append(vertex.getZ());
+		mWriter.println(mLine);
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -317,12 +348,13 @@ public class ObjExport extends AbstractModelExport {
 		Iterator<MyVector2f> coordIter = mRescaledTextureCoordinatesBuffer
 				.iterator();
 
-		String line = null;
 		MyVector2f currentCoord = null;
 		while (coordIter.hasNext()) {
 			currentCoord = coordIter.next();
-			line = "vt " + currentCoord.x + " " + currentCoord.y + " 0.0";
-			mWriter.println(line);
+			mLine.setLength(0);
+			mLine.append("vt ").append(currentCoord.x).append(' ')
+					.append(currentCoord.y).append(" 0.0");
+			mWriter.println(mLine);
 		}
 	}
 
@@ -336,23 +368,44 @@ public class ObjExport extends AbstractModelExport {
 		Iterator<MyVector3f> normalIter = mNormalBuffer.iterator();
 		MyVector3f currentNormal = null;
 
-		String line = null;
 		while (normalIter.hasNext()) {
 			currentNormal = normalIter.next();
+			mLine.setLength(0);
 
 			if (mExportTo3dsMax)
-				line = "vn " + currentNormal.x + " " + currentNormal.z + " "
-						+ currentNormal.y * -1.0f;
+				mLine.append("vn ").append(currentNormal.x).append(' ')
+						.append(currentNormal.z).append(' ')
+						.append(currentNormal.y * -1.0f);
 			else
-				line = "vn " + currentNormal.x + " " + currentNormal.y + " "
-						+ currentNormal.z;
+				mLine.append("vn ").append(currentNormal.x).append(' ')
+						.append(currentNormal.y).append(' ')
+						.append(currentNormal.z);
 
-			// line = "vn " + currentNormal.x + " " + currentNormal.y + " " +
-			// currentNormal.z;
-			mWriter.println(line);
+			mWriter.println(mLine);
 		}
 	}
 
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode prueft, ob eine Quadnormale exportiert werden kann. Degenerierte
+	 * Quads ohne Flaecheninhalt liefern Nullvektoren oder NaN-Komponenten, die
+	 * sich zudem nicht als Schluessel im Normalenbuffer eignen.
+	 * 
+	 * @param normal
+	 *            Zu pruefende Normale
+	 * @return True, falls alle Komponenten endlich sind und die Normale nicht
+	 *         der Nullvektor ist
+	 */
+	private boolean isValidNormal(final MyVector3f normal) {
+		if (normal == null)
+			return false;
+		if (Float.isNaN(normal.x) || Float.isNaN(normal.y)
+				|| Float.isNaN(normal.z) || Float.isInfinite(normal.x)
+				|| Float.isInfinite(normal.y) || Float.isInfinite(normal.z))
+			return false;
+		return normal.x != 0.0f || normal.y != 0.0f || normal.z != 0.0f;
+	}
+
 	// ------------------------------------------------------------------------------------------
 
 	@Override
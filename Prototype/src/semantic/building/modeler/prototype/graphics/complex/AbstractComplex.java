@@ -25,11 +25,13 @@ import semantic.building.modeler.math.MyVectormath;
 import semantic.building.modeler.math.Plane;
 import semantic.building.modeler.math.Ray;
 import semantic.building.modeler.math.Vertex3d;
+import semantic.building.modeler.math.VertexWeldingIndex;
 import semantic.building.modeler.prototype.enums.QuadType;
 import semantic.building.modeler.prototype.enums.subdivisionType;
 import semantic.building.modeler.prototype.exception.PrototypeException;
 import semantic.building.modeler.prototype.exporter.AbstractModelExport;
 import semantic.building.modeler.prototype.exporter.ExportFormat;
+import semantic.building.modeler.prototype.exporter.GlbExport;
 import semantic.building.modeler.prototype.exporter.ObjExport;
 import semantic.building.modeler.prototype.graphics.interfaces.iElement;
 import semantic.building.modeler.prototype.graphics.interfaces.iGraphicComplex;
@@ -132,6 +134,18 @@ public abstract class AbstractComplex implements iElement, iGraphicComplex,
 	 */
 	protected boolean mScaledTextureCoords = false;
 
+	/**
+	 * Vorberechnetes, nach Texturen gruppiertes Mesh fuer den
+	 * Retained-Mode-Zeichenpfad
+	 */
+	protected RetainedMesh mRetainedMesh = new RetainedMesh();
+
+	/**
+	 * Flag gibt an, ob komplexe Objekte ueber vorberechnete Meshes (true) oder
+	 * im Immediate-Mode (false) gezeichnet werden
+	 */
+	private static boolean mUseRetainedMesh = true;
+
 	/** Grundflaeche des Koerpers, beschrieben durch ein Polygon */
 	protected MyPolygon mFootprint = null;
 
@@ -642,6 +656,8 @@ public abstract class AbstractComplex implements iElement, iGraphicComplex,
 	 */
 	public void update() {
 
+		mRetainedMesh.invalidate();
+
 		// Update der BB
 		if (mBB != null) {
 			mBB.update();
@@ -686,8 +702,10 @@ public abstract class AbstractComplex implements iElement, iGraphicComplex,
 		// wurde einem Objekt bereits eine Textur zugewiesen, ueberspringe es
 		if (mTextures.get(key) != null)
 			return;
-		else
+		else {
 			mTextures.put(key, texture);
+			mRetainedMesh.invalidate();
+		}
 
 	}
 
@@ -712,6 +730,7 @@ public abstract class AbstractComplex implements iElement, iGraphicComplex,
 
 		// Flag setzen
 		mScaledTextureCoords = true;
+		mRetainedMesh.invalidate();
 	}
 
 	// -----------------------------------------------------------------------------------------
@@ -774,7 +793,10 @@ public abstract class AbstractComplex implements iElement, iGraphicComplex,
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Methode zeichnet das komplexe Objekt unter Verwendung des direkten
-	 * OpenGL-Renderkontext. Dadurch erhoeht sich die Renderperformance deutlich
+	 * OpenGL-Renderkontext. Dadurch erhoeht sich die Renderperformance deutlich.
+	 * Im Retained-Mode wird ein vorberechnetes Mesh mit einem Draw-Call je
+	 * Textur gezeichnet, das nur nach update(), translate(), einer erneuten
+	 * Tesselation oder Texturaenderungen neu aufgebaut wird
 	 * 
 	 * @param drawTextures
 	 *            Flag gibt an, ob das Objekt texturiert werden soll
@@ -794,6 +816,20 @@ public abstract class AbstractComplex implements iElement, iGraphicComplex,
 		// Textur ersetzt das aktuelle Material
 		gl.glTexEnvf(GL.GL_TEXTURE_ENV, GL.GL_TEXTURE_ENV_MODE, GL.GL_REPLACE);
 
+		// Retained-Mode: Mesh nur nach Aenderungen neu aufbauen
+		if (mUseRetainedMesh) {
+			if (!mRetainedMesh.isValid(drawTextures)) {
+				mRetainedMesh.build(drawTextures, getAllQuads(), mTextures,
+						mVertices, mHasTextureCoordinates);
+			}
+			mRetainedMesh.drawGL(gl);
+
+			// wenn eine OBB berechnet wurde, zeichne diese
+			if (mBB != null && mDrawOBB)
+				mBB.drawGL(gl);
+			return;
+		}
+
 		// sorge fuer eine aktuelle Quadliste
 		getAllQuads();
 		final AbstractQuad[] quads = (AbstractQuad[]) mAllQuads
@@ -1080,6 +1116,7 @@ public abstract class AbstractComplex implements iElement, iGraphicComplex,
 		if (texture != null) {
 			texture.removeReference();
 			mTextures.remove(category);
+			mRetainedMesh.invalidate();
 		}
 	}
 
@@ -1144,6 +1181,7 @@ public abstract class AbstractComplex implements iElement, iGraphicComplex,
 
 		// Flag setzen
 		mHasTextureCoordinates = true;
+		mRetainedMesh.invalidate();
 
 		return scaleFactor;
 	}
@@ -1685,23 +1723,46 @@ public abstract class AbstractComplex implements iElement, iGraphicComplex,
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Methode exportiert das Modell im Zielformat in die Zieldatei
+	 * 
+	 * @return True, falls der Export erfolgreich war, False sonst
 	 */
-	public void exportModelToFile(final String path, final String filename,
+	public boolean exportModelToFile(final String path, final String filename,
 			final ExportFormat format) {
+		return exportModelToFile(path, filename, format, false);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode exportiert das Modell im Zielformat in die Zieldatei
+	 * 
+	 * @param compressOutput
+	 *            True, falls die Zieldatei gzip-komprimiert geschrieben werden
+	 *            soll
+	 * @return True, falls der Export erfolgreich war, False sonst
+	 */
+	public boolean exportModelToFile(final String path, final String filename,
+			final ExportFormat format, final boolean compressOutput) {
 
 		AbstractModelExport exporter = null;
+		boolean success = false;
 
 		switch (format) {
 		case OBJ:
 			exporter = new ObjExport();
-			exporter.export(this, path, filename);
+			exporter.setCompressOutput(compressOutput);
+			success = exporter.export(this, path, filename);
+			break;
+		case GLB:
+			exporter = new GlbExport();
+			exporter.setCompressOutput(compressOutput);
+			success = exporter.export(this, path, filename);
 			break;
 		default:
 			assert false : "FEHLER: Unbekanntes Exportformat: " + format
 					+ ", kein geeigneter Exporter vorhanden!";
 			break;
 		}
-
+		return success;
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -1888,10 +1949,27 @@ public abstract class AbstractComplex implements iElement, iGraphicComplex,
 	 *            verwendet werden soll
 	 */
 	public void updateIndicesForNewVertexBuffer(List<Vertex3d> vertexBuffer) {
+		updateIndicesForNewVertexBuffer(vertexBuffer,
+				VertexWeldingIndex.computeIndexMapping(getVertices(),
+						vertexBuffer));
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode aktualisiert die Indices aller Subkomponenten anhand einer
+	 * vorberechneten Zuordnung von alten auf neue Indices
+	 * 
+	 * @param vertexBuffer
+	 *            Neuer Vertexbuffer, der als Basis fuer die Umstellung
+	 *            verwendet werden soll
+	 * @param indexMapping
+	 *            Neuer Index je Index im bisherigen Vertexbuffer
+	 */
+	public void updateIndicesForNewVertexBuffer(List<Vertex3d> vertexBuffer,
+			int[] indexMapping) {
 
 		LOGGER.debug("Aktualisiere Vertex- und Indexbuffer!");
 
-		List<Vertex3d> oldBuffer = getVertices();
 		Iterator<AbstractQuad> quadIter = mOutdoorQuads.iterator();
 
 		AbstractQuad currentQuad = null;
@@ -1899,14 +1977,14 @@ public abstract class AbstractComplex implements iElement, iGraphicComplex,
 		while (quadIter.hasNext()) {
 
 			currentQuad = quadIter.next();
-			updateQuadIndices(vertexBuffer, oldBuffer, currentQuad);
+			updateQuadIndices(indexMapping, currentQuad);
 
 			// Loecher verarbeiten
 			if (currentQuad.hasHoles()) {
 				holes = currentQuad.getHoles();
 				for (int i = 0; i < holes.size(); i++) {
 					currentQuad = holes.get(i);
-					updateQuadIndices(vertexBuffer, oldBuffer, currentQuad);
+					updateQuadIndices(indexMapping, currentQuad);
 
 				}
 			}
@@ -1926,25 +2004,24 @@ public abstract class AbstractComplex implements iElement, iGraphicComplex,
 		for (int i = 0; i < mOutdoorQuads.size(); i++) {
 			mOutdoorQuads.get(i).tesselate();
 		}
+		mRetainedMesh.invalidate();
 
 	}
 
 	// ------------------------------------------------------------------------------------------
-	private void updateQuadIndices(List<Vertex3d> vertexBuffer,
-			List<Vertex3d> oldBuffer, AbstractQuad quad) {
+	private void updateQuadIndices(int[] indexMapping, AbstractQuad quad) {
 
 		Integer[] oldIndices = quad.getIndices();
 		Integer[] newIndices = new Integer[oldIndices.length];
 
-		Vertex3d currentVertex = null;
 		int newIndex;
 
 		// bestimme die neuen Indices des aktuellen Quads in Bezug auf den neuen
 		// VertexBuffer
 		for (int i = 0; i < oldIndices.length; i++) {
-			currentVertex = oldBuffer.get(oldIndices[i]);
-			newIndex = vertexBuffer.indexOf(currentVertex);
-			assert newIndex != -1 : "FEHLER: Vertex " + currentVertex
+			newIndex = indexMapping[oldIndices[i]];
+			assert newIndex != -1 : "FEHLER: Vertex "
+					+ getVertices().get(oldIndices[i])
 					+ " befindet sich nicht im neuen Vertexbuffer!";
 			newIndices[i] = newIndex;
 
@@ -1977,6 +2054,26 @@ public abstract class AbstractComplex implements iElement, iGraphicComplex,
 	 */
 	public void setHasTextureCoordinates(boolean mHasTextureCoordinates) {
 		this.mHasTextureCoordinates = mHasTextureCoordinates;
+		mRetainedMesh.invalidate();
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return True, falls komplexe Objekte ueber vorberechnete Meshes
+	 *         gezeichnet werden
+	 */
+	public static boolean isUseRetainedMesh() {
+		return mUseRetainedMesh;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param useRetainedMesh
+	 *            True, falls komplexe Objekte ueber vorberechnete Meshes
+	 *            gezeichnet werden sollen, false fuer den Immediate-Mode
+	 */
+	public static void setUseRetainedMesh(final boolean useRetainedMesh) {
+		mUseRetainedMesh = useRetainedMesh;
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -1986,7 +2083,7 @@ public abstract class AbstractComplex implements iElement, iGraphicComplex,
 	public void tesselate() {
 		for (int i = 0; i < mOutdoorQuads.size(); i++)
 			mOutdoorQuads.get(i).tesselate();
-
+		mRetainedMesh.invalidate();
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -19,6 +19,7 @@ import semantic.building.modeler.math.MyVector2f;
 import semantic.building.modeler.math.MyVector3f;
 import semantic.building.modeler.math.MyVectormath;
 import semantic.building.modeler.math.Vertex3d;
+import semantic.building.modeler.math.VertexWeldingIndex;
 import semantic.building.modeler.prototype.enums.QuadType;
 import semantic.building.modeler.prototype.graphics.primitives.AbstractQuad;
 import semantic.building.modeler.prototype.graphics.primitives.PolygonalQuad;
@@ -47,6 +48,12 @@ public class BuildingComplex extends CompositeComplex {
 	 */
 	private Map<AbstractQuad, List<AbstractQuad>> mPolyToSrcQuadMap = null;
 
+	/**
+	 * Abstand, innerhalb dessen Vertices neuer Komponenten mit bestehenden
+	 * Vertices verschweisst werden, 0 = nur exakt gleiche Positionen
+	 */
+	private float mVertexWeldingTolerance = 0.0f;
+
 	// ------------------------------------------------------------------------------------------
 
 	public BuildingComplex(PApplet parent) {
@@ -69,30 +76,35 @@ public class BuildingComplex extends CompositeComplex {
 	 * aktualisieren, bsw. Update der Triangles, inkl. EdgeManager etc. Die
 	 * Methode aktualisiert immer nur die letzte hinzugefuegte Komponente, da
 	 * deren Vertices keine Auswirkung auf die bereits vorhandenen Strukturen
-	 * haben (werden immer hinten an den Buffer angefuegt)
+	 * haben (werden immer hinten an den Buffer angefuegt). Buffer und
+	 * Indexzuordnung werden in einem Durchlauf ueber einen Hashindex berechnet
 	 */
 	private void computeVertexBufferForBuilding(
 			final AbstractComplex newComponent) {
 
-		final List<Vertex3d> vertexBuffer = new ArrayList<Vertex3d>(
-				mVertices.size() + newComponent.getVertices().size());
-
-		// alle alten Vertices adden
-		vertexBuffer.addAll(mVertices);
+		final List<Vertex3d> newComponentVertices = newComponent.getVertices();
+		final VertexWeldingIndex weldingIndex = new VertexWeldingIndex(
+				mVertices.size() + newComponentVertices.size(),
+				mVertexWeldingTolerance);
+
+		// alle alten Vertices unveraendert uebernehmen, bestehende Indices
+		// verweisen auf diese
+		for (Vertex3d currentVertex : mVertices) {
+			weldingIndex.append(currentVertex);
+		}
 		mVertices.clear();
 		mVertices = null;
 
-		final List<Vertex3d> newComponentVertices = newComponent.getVertices();
-
 		// fuege nun alle Vertices der neuen Komponente zum Buffer hinzu,
-		// vermeide Duplikate
-		for (Vertex3d currentVertex : newComponentVertices) {
-			if (!vertexBuffer.contains(currentVertex)) {
-				vertexBuffer.add(currentVertex);
-			}
+		// vermeide Duplikate und speichere den neuen Index je altem Index
+		final int[] indexMapping = new int[newComponentVertices.size()];
+		for (int i = 0; i < indexMapping.length; i++) {
+			indexMapping[i] = weldingIndex.add(newComponentVertices.get(i));
 		}
 
-		newComponent.updateIndicesForNewVertexBuffer(vertexBuffer);
+		final List<Vertex3d> vertexBuffer = weldingIndex.getVertices();
+		newComponent.updateIndicesForNewVertexBuffer(vertexBuffer,
+				indexMapping);
 
 		// aktualisiere die Vertexbuffer in allen Subkomponenten
 		for (AbstractComplex curComplex : mComponents) {
@@ -102,6 +114,25 @@ public class BuildingComplex extends CompositeComplex {
 
 	}
 
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param vertexWeldingTolerance
+	 *            Abstand, innerhalb dessen Vertices neu hinzugefuegter
+	 *            Komponenten mit bestehenden Vertices verschweisst werden, 0
+	 *            fuer exakten Vergleich
+	 */
+	public void setVertexWeldingTolerance(final float vertexWeldingTolerance) {
+		mVertexWeldingTolerance = vertexWeldingTolerance;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Toleranz fuer das Verschweissen von Vertices
+	 */
+	public float getVertexWeldingTolerance() {
+		return mVertexWeldingTolerance;
+	}
+
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Methode berechnet fuer saemtliche Eingabequadsd eines Gebauedes eine
@@ -1,6 +1,7 @@
 package semantic.building.modeler.prototype.graphics.complex;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +25,7 @@ import semantic.building.modeler.prototype.service.IdentifierService;
 import semantic.building.modeler.prototype.service.Texture;
 import semantic.building.modeler.prototype.service.TextureManagement;
 import semantic.building.modeler.prototype.service.TextureManagement.TextureCategory;
+import semantic.building.modeler.tesselation.service.TesselationWorkerPool;
 import semantic.building.modeler.weightedstraightskeleton.algorithm.SkeletonRoofDescriptor;
 import semantic.building.modeler.weightedstraightskeleton.controller.StraightSkeletonController;
 
@@ -1114,8 +1116,57 @@ public class CompositeComplex extends AbstractComplex {
 	 * Composite-Objekts weiter
 	 */
 	public void tesselate() {
-		for (int i = 0; i < mComponents.size(); i++)
-			mComponents.get(i).tesselate();
+		tesselate(false);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode leitet den Tesselate-Call an die Komponenten des
+	 * Composite-Objekts weiter. Bei paralleler Berechnung werden Komponenten
+	 * mit eigenem Vertex- und Edge-Buffer ueber den TesselationWorkerPool
+	 * verteilt, Komponenten, die sich einen Vertexbuffer teilen, werden
+	 * nacheinander im gleichen Task berechnet. Die parallele Berechnung ist
+	 * fuer Stapelverarbeitung ohne Anzeige gedacht.
+	 * 
+	 * @param parallel
+	 *            True, falls die Komponenten parallel tesseliert werden sollen,
+	 *            False fuer die sequentielle Berechnung
+	 */
+	public void tesselate(final boolean parallel) {
+
+		if (!parallel) {
+			for (int i = 0; i < mComponents.size(); i++)
+				mComponents.get(i).tesselate();
+			return;
+		}
+
+		// Komponenten nach Vertexbuffer gruppieren, Reihenfolge beibehalten
+		final Map<Object, List<AbstractComplex>> bufferToGroup = new IdentityHashMap<Object, List<AbstractComplex>>();
+		final List<List<AbstractComplex>> groups = new ArrayList<List<AbstractComplex>>();
+		for (AbstractComplex component : mComponents) {
+			Object key = component.getVertices();
+			if (key == null || component instanceof CompositeComplex)
+				key = component;
+			List<AbstractComplex> group = bufferToGroup.get(key);
+			if (group == null) {
+				group = new ArrayList<AbstractComplex>(1);
+				bufferToGroup.put(key, group);
+				groups.add(group);
+			}
+			group.add(component);
+		}
+
+		final List<Runnable> tasks = new ArrayList<Runnable>(groups.size());
+		for (final List<AbstractComplex> group : groups) {
+			tasks.add(new Runnable() {
+				@Override
+				public void run() {
+					for (AbstractComplex component : group)
+						component.tesselate();
+				}
+			});
+		}
+		TesselationWorkerPool.getInstance().execute(tasks);
 	}
 
 	// ------------------------------------------------------------------------------------------
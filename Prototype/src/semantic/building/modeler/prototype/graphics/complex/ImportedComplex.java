@@ -8,6 +8,7 @@ import semantic.building.modeler.configurationservice.model.enums.Side;
 import semantic.building.modeler.math.Axis;
 import semantic.building.modeler.math.Vertex3d;
 import semantic.building.modeler.prototype.algorithm.BoundingBoxCreator;
+import semantic.building.modeler.prototype.enums.OBBQuality;
 import semantic.building.modeler.prototype.enums.subdivisionType;
 import semantic.building.modeler.prototype.graphics.interfaces.iGraphicComplex;
 import semantic.building.modeler.prototype.graphics.primitives.AbstractQuad;
@@ -22,6 +23,12 @@ import semantic.building.modeler.prototype.graphics.primitives.AbstractQuad;
 
 public class ImportedComplex extends AbstractComplex {
 
+	/**
+	 * Qualitaetsstufe, mit der die zwischengespeicherte OBB berechnet wurde,
+	 * null, falls keine OBB vorliegt
+	 */
+	private OBBQuality mOBBQuality = null;
+
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Standardkonstruktor mit Uebergabe des Applets zum Zeichnen des Objekts
@@ -105,6 +112,69 @@ public class ImportedComplex extends AbstractComplex {
 		generateID(null, null);
 	}
 
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Verwirft zusaetzlich die zwischengespeicherte OBB, da Updates nach jeder
+	 * Transformation der Vertices erfolgen
+	 */
+	@Override
+	public void update() {
+		super.update();
+		mOBB = null;
+		mOBBQuality = null;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode liefert die OBB des Objekts in der Standardqualitaet. Die OBB wird
+	 * erst bei Bedarf berechnet und bis zur naechsten Transformation
+	 * zwischengespeichert.
+	 * 
+	 * @return OBB des importierten Objekts
+	 */
+	@Override
+	public OBB getOBB() {
+		return getOBB(BoundingBoxCreator.DEFAULT_OBB_QUALITY);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode liefert die OBB des Objekts mindestens in der uebergebenen
+	 * Qualitaetsstufe. Eine zwischengespeicherte OBB wird nur dann neu
+	 * berechnet, wenn sie mit einer niedrigeren Stufe bestimmt wurde.
+	 * 
+	 * @param quality
+	 *            Mindestqualitaet der OBB
+	 * @return OBB des importierten Objekts
+	 */
+	public OBB getOBB(final OBBQuality quality) {
+		if (mOBB == null || mOBBQuality == null
+				|| mOBBQuality.ordinal() < quality.ordinal()) {
+			final BoundingBoxCreator bbCreator = new BoundingBoxCreator(quality);
+			mOBB = (OBB) bbCreator.computeOBB(mVertices);
+			mOBBQuality = quality;
+		}
+		return mOBB;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode setzt die OBB des Objekts. Eine explizit gesetzte OBB gilt bis
+	 * zur naechsten Transformation fuer alle Qualitaetsstufen als gueltig und
+	 * wird nicht durch eine Neuberechnung ersetzt.
+	 * 
+	 * @param obb
+	 *            OBB des importierten Objekts
+	 */
+	@Override
+	public void setOBB(final OBB obb) {
+		mOBB = obb;
+		if (obb != null)
+			mOBBQuality = OBBQuality.EXACT;
+		else
+			mOBBQuality = null;
+	}
+
 	// ------------------------------------------------------------------------------------------
 
 	@Override
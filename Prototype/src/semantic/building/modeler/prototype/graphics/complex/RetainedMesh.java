@@ -0,0 +1,318 @@
+package semantic.building.modeler.prototype.graphics.complex;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.media.opengl.GL;
+
+import org.apache.log4j.Logger;
+
+import semantic.building.modeler.math.MyVector2f;
+import semantic.building.modeler.math.Vertex3d;
+import semantic.building.modeler.prototype.graphics.primitives.AbstractQuad;
+import semantic.building.modeler.prototype.graphics.primitives.Triangle;
+import semantic.building.modeler.prototype.service.Texture;
+
+/**
+ *
+ * @author Patrick Gunia Klasse speichert die Dreiecke eines komplexen Objekts
+ *         als vorberechnetes Mesh. Die Dreiecke werden nach Texturen gruppiert
+ *         und je Textur in einem verschraenkten Float-Buffer (Position,
+ *         Texturkoordinaten, Farbe) abgelegt. Sofern der OpenGL-Kontext
+ *         Vertex-Buffer-Objekte unterstuetzt, werden die Buffer einmalig auf
+ *         die Grafikkarte geladen, sonst als Client-Side-Arrays gezeichnet. Je
+ *         Textur erfolgt ein einzelner Draw-Call. Das Mesh wird nur nach einer
+ *         Invalidierung durch das komplexe Objekt neu aufgebaut.
+ *
+ */
+
+public class RetainedMesh {
+
+	/** Logging-Instanz */
+	private static Logger LOGGER = Logger.getLogger(RetainedMesh.class);
+
+	/** Anzahl der Floats je Vertex: Position (3), Texturkoordinaten (2), Farbe (3) */
+	private static final int FLOATS_PER_VERTEX = 8;
+
+	/** Abstand zweier Vertices im Buffer in Bytes */
+	private static final int STRIDE = FLOATS_PER_VERTEX * 4;
+
+	/**
+	 * Buffer-IDs verworfener Meshes, werden beim naechsten Zeichnen innerhalb
+	 * des OpenGL-Threads freigegeben
+	 */
+	private static final List<Integer> mReleasedBufferIDs = new ArrayList<Integer>();
+
+	/** Draw-Batches, je Textur ein Batch */
+	private List<Batch> mBatches = new ArrayList<Batch>();
+
+	/** Flag gibt an, ob das Mesh neu aufgebaut werden muss */
+	private boolean mIsValid = false;
+
+	/** Textur-Flag, mit dem das Mesh aufgebaut wurde */
+	private boolean mBuiltWithTextures = false;
+
+	/** Flag gibt an, ob die Batches bereits als VBOs hochgeladen wurden */
+	private boolean mIsUploaded = false;
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode markiert das Mesh als ungueltig, beim naechsten Zeichnen wird es
+	 * neu aufgebaut
+	 */
+	public synchronized void invalidate() {
+		mIsValid = false;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param drawTextures
+	 *            Flag gibt an, ob das Objekt texturiert gezeichnet werden soll
+	 * @return True, falls das Mesh fuer den uebergebenen Zeichenmodus aktuell
+	 *         ist
+	 */
+	public synchronized boolean isValid(final boolean drawTextures) {
+		return mIsValid && mBuiltWithTextures == drawTextures;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode baut das Mesh aus den Dreiecken der uebergebenen Quads auf.
+	 * Reihenfolge, Farben und Texturkoordinaten entsprechen dem
+	 * Immediate-Mode-Pfad in AbstractComplex.drawGL()
+	 *
+	 * @param drawTextures
+	 *            Flag gibt an, ob das Objekt texturiert gezeichnet werden soll
+	 * @param quads
+	 *            Alle Quads des komplexen Objekts
+	 * @param textures
+	 *            Textur-zu-ID-Zuordnungen des komplexen Objekts
+	 * @param vertices
+	 *            Vertexbuffer des komplexen Objekts
+	 * @param hasTextureCoordinates
+	 *            Flag gibt an, ob Texturkoordinaten berechnet wurden
+	 */
+	public synchronized void build(final boolean drawTextures,
+			final List<AbstractQuad> quads, final Map<String, Texture> textures,
+			final List<Vertex3d> vertices, final boolean hasTextureCoordinates) {
+
+		releaseBuffers();
+
+		final Map<Texture, List<AbstractQuad>> quadsByTexture = new LinkedHashMap<Texture, List<AbstractQuad>>();
+		final Map<Texture, Integer> vertexCountByTexture = new LinkedHashMap<Texture, Integer>();
+
+		// Quads nach Texturen gruppieren
+		for (int i = quads.size() - 1; i >= 0; i--) {
+			final AbstractQuad quad = quads.get(i);
+			Texture texture = null;
+			if (drawTextures && hasTextureCoordinates)
+				texture = textures.get(quad.getID());
+
+			List<AbstractQuad> group = quadsByTexture.get(texture);
+			if (group == null) {
+				group = new ArrayList<AbstractQuad>();
+				quadsByTexture.put(texture, group);
+				vertexCountByTexture.put(texture, 0);
+			}
+			group.add(quad);
+			vertexCountByTexture.put(texture, vertexCountByTexture.get(texture)
+					+ quad.getChildTriangles().size() * 3);
+		}
+
+		final float normalizedStandardColor = 100 / 255;
+
+		for (Map.Entry<Texture, List<AbstractQuad>> entry : quadsByTexture
+				.entrySet()) {
+			final Texture texture = entry.getKey();
+			final int vertexCount = vertexCountByTexture.get(texture);
+			if (vertexCount == 0)
+				continue;
+
+			final FloatBuffer data = ByteBuffer
+					.allocateDirect(vertexCount * STRIDE)
+					.order(ByteOrder.nativeOrder()).asFloatBuffer();
+
+			for (AbstractQuad quad : entry.getValue()) {
+				final List<Triangle> triangles = quad.getChildTriangles();
+				for (int j = triangles.size() - 1; j >= 0; j--) {
+					final Triangle triangle = triangles.get(j);
+					final Integer[] indices = triangle.getIndices();
+					final float normalizedColor = triangle.getDrawColor() / 255;
+
+					for (int k = 0; k < indices.length; k++) {
+						final Vertex3d vertex = vertices.get(indices[k]);
+						data.put(vertex.getX()).put(vertex.getY())
+								.put(vertex.getZ());
+						if (texture != null) {
+							final MyVector2f textureCoords = quad
+									.getTextureCoordsByIndex(indices[k]);
+							data.put(textureCoords.x).put(textureCoords.y);
+						} else {
+							data.put(0.0f).put(0.0f);
+						}
+						data.put(normalizedColor).put(normalizedStandardColor)
+								.put(normalizedColor);
+					}
+				}
+			}
+			data.flip();
+			mBatches.add(new Batch(texture, data, data.limit()
+					/ FLOATS_PER_VERTEX));
+		}
+
+		mBuiltWithTextures = drawTextures;
+		mIsValid = true;
+		LOGGER.trace("Mesh mit " + mBatches.size() + " Batches aufgebaut");
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode zeichnet das Mesh, je Batch erfolgt ein Draw-Call
+	 *
+	 * @param gl
+	 *            OpenGL-Device-Kontext
+	 */
+	public synchronized void drawGL(final GL gl) {
+
+		deleteReleasedBuffers(gl);
+
+		final boolean useVBO = gl.isFunctionAvailable("glGenBuffers");
+		if (useVBO && !mIsUploaded)
+			upload(gl);
+
+		gl.glEnableClientState(GL.GL_VERTEX_ARRAY);
+		gl.glEnableClientState(GL.GL_COLOR_ARRAY);
+
+		for (Batch batch : mBatches) {
+
+			if (batch.mTexture != null) {
+				gl.glBindTexture(GL.GL_TEXTURE_2D,
+						batch.mTexture.getGLTextureID());
+				gl.glEnableClientState(GL.GL_TEXTURE_COORD_ARRAY);
+			} else {
+				gl.glDisableClientState(GL.GL_TEXTURE_COORD_ARRAY);
+			}
+
+			if (useVBO) {
+				gl.glBindBuffer(GL.GL_ARRAY_BUFFER, batch.mBufferID);
+				gl.glVertexPointer(3, GL.GL_FLOAT, STRIDE, 0);
+				gl.glTexCoordPointer(2, GL.GL_FLOAT, STRIDE, 3 * 4);
+				gl.glColorPointer(3, GL.GL_FLOAT, STRIDE, 5 * 4);
+			} else {
+				batch.mData.position(0);
+				gl.glVertexPointer(3, GL.GL_FLOAT, STRIDE, batch.mData.slice());
+				batch.mData.position(3);
+				gl.glTexCoordPointer(2, GL.GL_FLOAT, STRIDE,
+						batch.mData.slice());
+				batch.mData.position(5);
+				gl.glColorPointer(3, GL.GL_FLOAT, STRIDE, batch.mData.slice());
+				batch.mData.position(0);
+			}
+			gl.glDrawArrays(GL.GL_TRIANGLES, 0, batch.mVertexCount);
+		}
+
+		if (useVBO)
+			gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+		gl.glDisableClientState(GL.GL_TEXTURE_COORD_ARRAY);
+		gl.glDisableClientState(GL.GL_COLOR_ARRAY);
+		gl.glDisableClientState(GL.GL_VERTEX_ARRAY);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode laedt alle Batches als statische Vertex-Buffer-Objekte hoch
+	 *
+	 * @param gl
+	 *            OpenGL-Device-Kontext
+	 */
+	private void upload(final GL gl) {
+
+		if (mBatches.isEmpty()) {
+			mIsUploaded = true;
+			return;
+		}
+
+		final int[] bufferIDs = new int[mBatches.size()];
+		gl.glGenBuffers(bufferIDs.length, bufferIDs, 0);
+
+		for (int i = 0; i < mBatches.size(); i++) {
+			final Batch batch = mBatches.get(i);
+			batch.mBufferID = bufferIDs[i];
+			gl.glBindBuffer(GL.GL_ARRAY_BUFFER, batch.mBufferID);
+			gl.glBufferData(GL.GL_ARRAY_BUFFER, batch.mData.limit() * 4,
+					batch.mData, GL.GL_STATIC_DRAW);
+		}
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+		mIsUploaded = true;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode verwirft alle Batches. Bereits hochgeladene Buffer werden zur
+	 * Freigabe vorgemerkt, da die Freigabe nur im OpenGL-Thread erfolgen kann
+	 */
+	private void releaseBuffers() {
+		synchronized (mReleasedBufferIDs) {
+			for (Batch batch : mBatches) {
+				if (batch.mBufferID != 0)
+					mReleasedBufferIDs.add(batch.mBufferID);
+			}
+		}
+		mBatches = new ArrayList<Batch>();
+		mIsUploaded = false;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode gibt alle zur Freigabe vorgemerkten Buffer frei
+	 *
+	 * @param gl
+	 *            OpenGL-Device-Kontext
+	 */
+	private static void deleteReleasedBuffers(final GL gl) {
+		synchronized (mReleasedBufferIDs) {
+			if (mReleasedBufferIDs.isEmpty())
+				return;
+			final int[] bufferIDs = new int[mReleasedBufferIDs.size()];
+			for (int i = 0; i < bufferIDs.length; i++) {
+				bufferIDs[i] = mReleasedBufferIDs.get(i);
+			}
+			gl.glDeleteBuffers(bufferIDs.length, bufferIDs, 0);
+			mReleasedBufferIDs.clear();
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Dreiecke einer Textur
+	 */
+	private static class Batch {
+
+		/** Textur des Batches, null fuer untexturierte Dreiecke */
+		private final Texture mTexture;
+
+		/** Verschraenkte Vertexdaten */
+		private final FloatBuffer mData;
+
+		/** Anzahl der Vertices */
+		private final int mVertexCount;
+
+		/** ID des Vertex-Buffer-Objekts, 0 solange nicht hochgeladen */
+		private int mBufferID = 0;
+
+		private Batch(final Texture texture, final FloatBuffer data,
+				final int vertexCount) {
+			mTexture = texture;
+			mData = data;
+			mVertexCount = vertexCount;
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+}
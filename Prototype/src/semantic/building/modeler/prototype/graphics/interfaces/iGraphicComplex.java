@@ -84,8 +84,9 @@ public interface iGraphicComplex extends Cloneable {
 	 *            Dateiname der Exportdatei
 	 * @param format
 	 *            Exportformat
+	 * @return True, falls der Export erfolgreich war, False sonst
 	 */
-	public void exportModelToFile(final String path, final String filename,
+	public boolean exportModelToFile(final String path, final String filename,
 			final ExportFormat format);
 
 	/**
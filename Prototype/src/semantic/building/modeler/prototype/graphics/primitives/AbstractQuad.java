@@ -25,7 +25,7 @@ import semantic.building.modeler.prototype.graphics.interfaces.iGraphicPrimitive
 import semantic.building.modeler.prototype.service.EdgeManager;
 import semantic.building.modeler.prototype.service.PrototypeHelper;
 import semantic.building.modeler.prototype.service.Texture;
-import semantic.building.modeler.tesselation.service.TesselationService;
+import semantic.building.modeler.tesselation.service.PolygonTesselator;
 
 /**
  * 
@@ -151,7 +151,7 @@ public abstract class AbstractQuad extends AbstractPrimitive {
 
 		// berechne die Tesselation
 		List<Vertex3d> tesselatedVertics = null;
-		tesselatedVertics = TesselationService.getInstance().tesselate(
+		tesselatedVertics = PolygonTesselator.getInstance().tesselate(
 				polygonContours);
 
 		Vertex3d currentVertex = null, currentCorner = null;
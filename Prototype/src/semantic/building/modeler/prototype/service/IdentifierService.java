@@ -34,7 +34,7 @@ public class IdentifierService {
 
 	// ------------------------------------------------------------------------------------------
 	/** Singleton-Getter */
-	public static IdentifierService getInstance() {
+	public static synchronized IdentifierService getInstance() {
 		if (instance == null)
 			instance = new IdentifierService();
 		return instance;
@@ -44,7 +44,7 @@ public class IdentifierService {
 	/**
 	 * generiert eine ID basierend auf der aktuellen Uhrzeit in Millisekunden
 	 */
-	public String generate() {
+	public synchronized String generate() {
 
 		Long longID = System.currentTimeMillis();
 
@@ -72,7 +72,7 @@ public class IdentifierService {
 	/**
 	 * Zuruecksetzen der Instanz
 	 */
-	public void reset() {
+	public synchronized void reset() {
 		usedIDs.clear();
 	}
 	// ------------------------------------------------------------------------------------------
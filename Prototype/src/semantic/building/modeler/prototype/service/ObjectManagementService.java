@@ -45,7 +45,7 @@ public class ObjectManagementService {
 	}
 
 	// ------------------------------------------------------------------------------------------
-	public static ObjectManagementService getInstance() {
+	public static synchronized ObjectManagementService getInstance() {
 		if (instance == null)
 			instance = new ObjectManagementService();
 		return instance;
@@ -56,7 +56,7 @@ public class ObjectManagementService {
 	 * Methode loescht saemtliche innerhalb der Objektverwaltung gespeicherten
 	 * Objekte, Referenzen etc.
 	 */
-	public void reset() {
+	public synchronized void reset() {
 		mObjects.clear();
 		mRenderableIDs.clear();
 	}
@@ -69,7 +69,7 @@ public class ObjectManagementService {
 	 * @param object
 	 *            Objekt, das zu den Verwaltungslisten hinzugefuegt wird
 	 */
-	public void addObjectToManagement(iElement object) {
+	public synchronized void addObjectToManagement(iElement object) {
 
 		LOGGER.debug("Fuege Objekt mit ID: " + object.getID()
 				+ " zur Objektverwaltung hinzu");
@@ -85,7 +85,7 @@ public class ObjectManagementService {
 	 * @param id
 	 *            ID des zu entfernenden Objekts
 	 */
-	public void removeObjectFromManagement(String id) {
+	public synchronized void removeObjectFromManagement(String id) {
 
 		LOGGER.debug("Entferne Objekt mit ID: " + id
 				+ " aus der Objektverwaltung");
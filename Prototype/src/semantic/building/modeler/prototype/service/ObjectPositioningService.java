@@ -5,6 +5,8 @@ import java.io.FilenameFilter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -99,6 +101,28 @@ public class ObjectPositioningService {
 	/** Zufallsgenerator */
 	final Random mRandom = new Random();
 
+	/** Standardanzahl der im Cache gehaltenen Modelle */
+	private static final int DEFAULT_MODEL_CACHE_SIZE = 32;
+
+	/** Maximale Anzahl der im Cache gehaltenen Modelle */
+	private int mModelCacheSize = DEFAULT_MODEL_CACHE_SIZE;
+
+	/**
+	 * LRU-Cache mit bereits geladenen und in den Ursprung verschobenen
+	 * Modellen, Schluessel ist der Dateipfad. Die Prototypen werden nie
+	 * herausgegeben, Aufrufer erhalten immer eine Kopie
+	 */
+	private transient final Map<String, AbstractComplex> mModelCache = new LinkedHashMap<String, AbstractComplex>(
+			16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(
+				final Map.Entry<String, AbstractComplex> eldest) {
+			return size() > mModelCacheSize;
+		}
+	};
+
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Singleton-Getter
@@ -133,6 +157,7 @@ public class ObjectPositioningService {
 	 */
 	public void init(final PApplet applet, final SystemConfiguration sysConf) {
 		mParentApplet = applet;
+		clearModelCache();
 
 		// baue die Normal-To-Direction-Map auf
 		mNormalToDirectionMap = new HashMap<MyVector3f, Side>(6);
@@ -1135,12 +1160,18 @@ public class ObjectPositioningService {
 		List<Vertex3d> correctPositionedPoints = new ArrayList<Vertex3d>(9);
 		Vertex3d currentVertex = null;
 
+		// alle Punkte in einem Durchlauf gegen das vorbereitete Polygon testen
+		final MyVector3f[] testPoints = new MyVector3f[projectedBBPoints.size()];
+		for (int i = 0; i < testPoints.length; i++)
+			testPoints[i] = projectedBBPoints.get(i).getPositionPtr();
+		final boolean[] pointsInPolygon = new boolean[testPoints.length];
+		poly.getPreparedPolygon().contains(testPoints, pointsInPolygon);
+
 		for (int i = 0; i < projectedBBPoints.size(); i++) {
 			currentVertex = projectedBBPoints.get(i);
 
 			// Punkt ist nicht innerhalb des Polygons
-			if (!mMathHelper
-					.isPointInPolygon(poly, currentVertex.getPosition())) {
+			if (!pointsInPolygon[i]) {
 
 				// Objekt soll aber innerhalb liegen, adde ihn zur Liste
 				// falscher Punkte
@@ -2609,6 +2640,84 @@ public class ObjectPositioningService {
 	 */
 	public AbstractComplex createObjectFrom3dModel(final String absolutePath) {
 
+		AbstractComplex prototype = null;
+		synchronized (mModelCache) {
+			prototype = mModelCache.get(absolutePath);
+		}
+
+		if (prototype == null) {
+			// Modelle werden ausserhalb der Sperre geladen, laden mehrere
+			// Threads dasselbe Modell gleichzeitig, gewinnt der erste Eintrag
+			final AbstractComplex loaded = loadObjectFrom3dModel(absolutePath);
+			synchronized (mModelCache) {
+				prototype = mModelCache.get(absolutePath);
+				if (prototype == null) {
+					prototype = loaded;
+					mModelCache.put(absolutePath, prototype);
+				}
+			}
+		} else {
+			LOGGER.debug("Model aus Cache: " + absolutePath);
+		}
+
+		// Kopien werden je Prototyp nacheinander erstellt
+		synchronized (prototype) {
+			return prototype.clone();
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode setzt die maximale Anzahl der im Cache gehaltenen Modelle. Bei
+	 * Werten <= 0 wird jedes Modell bei jeder Anfrage neu geladen
+	 * 
+	 * @param modelCacheSize
+	 *            Maximale Anzahl gecachter Modelle
+	 */
+	public void setModelCacheSize(final int modelCacheSize) {
+		synchronized (mModelCache) {
+			mModelCacheSize = Math.max(0, modelCacheSize);
+			final Iterator<String> keyIter = mModelCache.keySet()
+					.iterator();
+			while (mModelCache.size() > mModelCacheSize && keyIter.hasNext()) {
+				keyIter.next();
+				keyIter.remove();
+			}
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Maximale Anzahl der im Cache gehaltenen Modelle
+	 */
+	public int getModelCacheSize() {
+		synchronized (mModelCache) {
+			return mModelCacheSize;
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode entfernt alle geladenen Modelle aus dem Cache, bsw. nach
+	 * Aenderungen an den Modelldateien
+	 */
+	public void clearModelCache() {
+		synchronized (mModelCache) {
+			mModelCache.clear();
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode laedt ein 3D-Modell aus der uebergebenen Datei und verschiebt es
+	 * in den Ursprung. Das Ergebnis dient als Prototyp fuer den Modell-Cache
+	 * 
+	 * @param absolutePath
+	 *            Vollstaendiger Pfad des zu ladenden Modells
+	 * @return ImportedComplex-Instanz, die aus der Modell-Datei erstellt wurde
+	 */
+	private AbstractComplex loadObjectFrom3dModel(final String absolutePath) {
+
 		LOGGER.info("MODEL-PATH: " + absolutePath);
 		AbstractModelImport loader = null;
 
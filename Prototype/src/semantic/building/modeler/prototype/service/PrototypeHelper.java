@@ -17,6 +17,7 @@ import semantic.building.modeler.math.MyPolygon;
 import semantic.building.modeler.math.MyVector3f;
 import semantic.building.modeler.math.MyVectormath;
 import semantic.building.modeler.math.Plane;
+import semantic.building.modeler.math.PreparedPolygon;
 import semantic.building.modeler.math.Plane.CoordinatePlane;
 import semantic.building.modeler.math.Ray;
 import semantic.building.modeler.math.Vertex3d;
@@ -590,16 +591,16 @@ public class PrototypeHelper {
 
 			// wenn eine Kante getroffen wurde, addiere 0.5f => dann wird es
 			// auch weitere Kanten geben, die getroffen werden
-			if (mathHelper.isPointOnPolyEdge(currentPoly,
-					rayToPlaneIntersection)) {
+			final PreparedPolygon preparedPoly = currentPoly
+					.getPreparedPolygon();
+			if (preparedPoly.isPointOnEdge(rayToPlaneIntersection)) {
 				// System.out.println("HIT EDGE" + " Strahl: " + testRay +
 				// " Poly: " + currentPoly);
 				numberOfHits += 0.5f;
 			} else {
 				// wenn die Ebene getroffen wurde, teste, ob der Trefferpunkt im
 				// Polygon liegt
-				isPointInPoly = mathHelper.isPointInPolygon(currentPoly,
-						rayToPlaneIntersection);
+				isPointInPoly = preparedPoly.contains(rayToPlaneIntersection);
 				if (isPointInPoly)
 					numberOfHits++;
 			}
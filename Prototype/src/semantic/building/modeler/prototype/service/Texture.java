@@ -140,7 +140,7 @@ public class Texture {
 	 * Dekrementiere den Reference-Counter, wenn er auf 0 geht, gebe die
 	 * Texturdaten frei
 	 */
-	public void removeReference() {
+	public synchronized void removeReference() {
 		mReferenceCounter--;
 		if (mReferenceCounter == 0) {
 			unload();
@@ -151,7 +151,7 @@ public class Texture {
 	/**
 	 * Inkrementiert den Referenzzaehler
 	 */
-	public void addReference() {
+	public synchronized void addReference() {
 		mReferenceCounter++;
 	}
 
@@ -150,7 +150,7 @@ public class TextureManagement {
 	 * 
 	 * @return Referenz auf die einzige Instanz dieser Klasse
 	 */
-	public static TextureManagement getInstance() {
+	public static synchronized TextureManagement getInstance() {
 		if (mInstance == null) {
 			mInstance = new TextureManagement();
 		}
@@ -183,7 +183,7 @@ public class TextureManagement {
 	 *            Zielkategorie, aus der eine Textur geladen werden soll
 	 * @return Texturobjekt aus der angeforderten Kategorie
 	 */
-	public Texture getTextureForCategory(TextureCategory category) {
+	public synchronized Texture getTextureForCategory(TextureCategory category) {
 
 		assert mInitialized : "FEHLER: Die Texturverwaltung wurde nicht korrekt initialisiert!";
 
@@ -203,7 +203,9 @@ public class TextureManagement {
 		String key = category.toString() + randomID;
 		texture = mTextures.get(key);
 
-		if (!texture.isLoaded()) {
+		// ohne Parent (headless) werden nur die Texturzuordnungen verwaltet,
+		// die Bilddaten werden nicht geladen
+		if (!texture.isLoaded() && mParent != null) {
 			texture.loadAndScaleTexture();
 		}
 		return texture;
@@ -1,7 +1,9 @@
 package semantic.building.modeler.weightedstraightskeleton.algorithm;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -26,6 +28,11 @@ import semantic.building.modeler.math.MyVectormath;
  *         vorgesehen, wo nur die rechte und linke Seite unterschiedlich (aber
  *         untereinander gleich) gewichtet sind.
  * 
+ *         Fuer Richtungen in der xz-Ebene werden die gespeicherten
+ *         Ausrichtungen zusaetzlich in einer Winkeltabelle ueber dem Azimut
+ *         gefuehrt, so dass die Suche nach der naechstgelegenen Ausrichtung
+ *         nur benachbarte Tabelleneintraege pruefen muss.
+ * 
  */
 
 public class EdgeWeightService {
@@ -36,6 +43,30 @@ public class EdgeWeightService {
 	 */
 	private Map<MyVector3f, Float> mEdgeWeights = null;
 
+	/** Anzahl der Eintraege der Winkeltabelle */
+	private static final int NUMBER_OF_BINS = 360;
+
+	/** Winkelbereich eines Tabelleneintrags im Bogenmass */
+	private static final double BIN_WIDTH = 2.0 * Math.PI / NUMBER_OF_BINS;
+
+	/**
+	 * Maximaler Anteil der y-Komponente an der horizontalen Laenge, bis zu dem
+	 * eine Richtung als horizontal gilt
+	 */
+	private static final float HORIZONTAL_TOLERANCE = 1.0E-5f;
+
+	/**
+	 * Winkeltabelle: jeder Eintrag enthaelt die gespeicherten Ausrichtungen,
+	 * deren Azimut in den jeweiligen Winkelbereich faellt
+	 */
+	private List<List<DirectionEntry>> mDirectionTable = null;
+
+	/**
+	 * Anzahl gespeicherter Ausrichtungen, die nicht in der xz-Ebene liegen und
+	 * darum nicht ueber die Winkeltabelle gesucht werden koennen
+	 */
+	private int mNumberOfNonHorizontalDirections = 0;
+
 	/** Logger */
 	protected static Logger logger = Logger.getLogger(EdgeWeightService.class);
 
@@ -43,6 +74,9 @@ public class EdgeWeightService {
 
 	public EdgeWeightService() {
 		mEdgeWeights = new HashMap<MyVector3f, Float>();
+		mDirectionTable = new ArrayList<List<DirectionEntry>>(NUMBER_OF_BINS);
+		for (int i = 0; i < NUMBER_OF_BINS; i++)
+			mDirectionTable.add(new ArrayList<DirectionEntry>(1));
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -57,15 +91,90 @@ public class EdgeWeightService {
 	 *         Strahls
 	 */
 	public Float getWeight(final MyVector3f direction) {
-		final MyVectormath mathHelper = MyVectormath.getInstance();
 
 		// teste, ob bereits eine Ausrichtung existiert, die der uebergebenen
 		// exakt entspricht
-		if (mEdgeWeights.containsKey(direction))
-			return mEdgeWeights.get(direction);
+		final Float weight = mEdgeWeights.get(direction);
+		if (weight != null)
+			return weight;
+
+		// liegen alle Ausrichtungen in der xz-Ebene, entspricht der Winkel
+		// zwischen zwei Richtungen der Differenz ihrer Azimute
+		if (mNumberOfNonHorizontalDirections == 0 && isHorizontal(direction))
+			return getWeightFromTable(direction);
+		else
+			return getWeightLinear(direction);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode sucht die Ausrichtung mit der geringsten Azimutabweichung in der
+	 * Winkeltabelle. Ausgehend vom Eintrag der Eingaberichtung werden die
+	 * Nachbareintraege ringfoermig durchsucht, bis kein weiter entfernter
+	 * Eintrag eine geringere Abweichung enthalten kann.
+	 * 
+	 * @param direction
+	 *            Horizontaler Richtungsvektor, fuer den eine Gewichtung gesucht
+	 *            wird
+	 * @return Gewichtung der Ausrichtung mit der kleinsten Abweichung
+	 */
+	private Float getWeightFromTable(final MyVector3f direction) {
+
+		final double azimuth = Math.atan2(direction.z, direction.x);
+		final int bin = getBin(azimuth);
+
+		double minAngle = Double.MAX_VALUE;
+		DirectionEntry result = null;
+
+		for (int ring = 0; ring <= NUMBER_OF_BINS / 2; ring++) {
+
+			// Eintraege im Ring weichen mindestens um (ring - 1) Tabellenbreiten
+			// ab
+			if (result != null && (ring - 1) * BIN_WIDTH > minAngle)
+				break;
+
+			final int lower = (bin - ring + NUMBER_OF_BINS) % NUMBER_OF_BINS;
+			final int upper = (bin + ring) % NUMBER_OF_BINS;
+
+			for (DirectionEntry entry : mDirectionTable.get(lower)) {
+				final double angle = entry.getAngle(azimuth);
+				if (angle < minAngle) {
+					minAngle = angle;
+					result = entry;
+				}
+			}
+			if (upper == lower)
+				continue;
+			for (DirectionEntry entry : mDirectionTable.get(upper)) {
+				final double angle = entry.getAngle(azimuth);
+				if (angle < minAngle) {
+					minAngle = angle;
+					result = entry;
+				}
+			}
+		}
+
+		assert result != null : "FEHLER: Es konnte kein Kantengewicht fuer die uebergebene Ausrichtung ermittelt werden!";
+		if (result == null)
+			return null;
+		return mEdgeWeights.get(result.getDirection());
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode durchlaeuft alle gespeicherten Ausrichtungen und liefert die
+	 * Gewichtung derjenigen mit der geringsten Winkelabweichung. Wird fuer
+	 * Richtungen verwendet, die nicht in der xz-Ebene liegen.
+	 * 
+	 * @param direction
+	 *            Richtungsvektor, fuer den eine Gewichtung gesucht wird
+	 * @return Gewichtung der Ausrichtung mit der kleinsten Abweichung
+	 */
+	private Float getWeightLinear(final MyVector3f direction) {
+		final MyVectormath mathHelper = MyVectormath.getInstance();
 
-		// sonst durchlaufe alle bereits gespeicherten Ausrichtungen und
-		// verwende die mit der kleinsten Abweichung
+		// durchlaufe alle bereits gespeicherten Ausrichtungen und verwende die
+		// mit der kleinsten Abweichung
 		Float minAngle = Float.MAX_VALUE, currentAngle = null;
 		Float currentResultWeight = null;
 
@@ -117,8 +226,45 @@ public class EdgeWeightService {
 		if (mEdgeWeights.containsKey(direction))
 			return;
 
-		// sonst fuege einen neuen Eintrag zur Map hinzu
+		// sonst fuege einen neuen Eintrag zur Map und zur Winkeltabelle hinzu
 		mEdgeWeights.put(direction, weight);
+		if (isHorizontal(direction)) {
+			final double azimuth = Math.atan2(direction.z, direction.x);
+			mDirectionTable.get(getBin(azimuth)).add(
+					new DirectionEntry(direction, azimuth));
+		} else {
+			mNumberOfNonHorizontalDirections++;
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param direction
+	 *            Richtungsvektor
+	 * @return True, falls der Vektor in der xz-Ebene liegt und eine von 0
+	 *         verschiedene Laenge besitzt, False sonst
+	 */
+	private boolean isHorizontal(final MyVector3f direction) {
+		final double horizontalLength = Math.sqrt(direction.x * direction.x
+				+ direction.z * direction.z);
+		return horizontalLength > 0.0
+				&& Math.abs(direction.y) <= HORIZONTAL_TOLERANCE
+						* horizontalLength;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param azimuth
+	 *            Azimut im Bereich [-PI, PI]
+	 * @return Index des Tabelleneintrags fuer den uebergebenen Azimut
+	 */
+	private int getBin(final double azimuth) {
+		final int bin = (int) Math.floor((azimuth + Math.PI) / BIN_WIDTH);
+		if (bin < 0)
+			return 0;
+		if (bin >= NUMBER_OF_BINS)
+			return NUMBER_OF_BINS - 1;
+		return bin;
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -151,5 +297,49 @@ public class EdgeWeightService {
 
 	}
 	// ------------------------------------------------------------------------------------------
+	/**
+	 * Eintrag der Winkeltabelle, speichert den Schluessel der Ausrichtung in
+	 * der Gewichtsmap sowie ihren Azimut
+	 */
+	private static final class DirectionEntry {
+
+		/** Schluessel der Ausrichtung in mEdgeWeights */
+		private final MyVector3f mDirection;
+
+		/** Azimut der Ausrichtung im Bogenmass */
+		private final double mAzimuth;
+
+		// ------------------------------------------------------------------------------------------
+
+		private DirectionEntry(final MyVector3f direction, final double azimuth) {
+			mDirection = direction;
+			mAzimuth = azimuth;
+		}
+
+		// ------------------------------------------------------------------------------------------
+		/**
+		 * @param azimuth
+		 *            Azimut der Vergleichsrichtung
+		 * @return Winkel zwischen der gespeicherten und der Vergleichsrichtung
+		 *         im Bereich [0, PI]
+		 */
+		private double getAngle(final double azimuth) {
+			double angle = Math.abs(azimuth - mAzimuth);
+			if (angle > Math.PI)
+				angle = 2.0 * Math.PI - angle;
+			return angle;
+		}
+
+		// ------------------------------------------------------------------------------------------
+
+		private MyVector3f getDirection() {
+			return mDirection;
+		}
+
+		// ------------------------------------------------------------------------------------------
+
+	}
+
+	// ------------------------------------------------------------------------------------------
 
 }
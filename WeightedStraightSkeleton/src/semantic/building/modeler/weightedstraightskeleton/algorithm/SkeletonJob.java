@@ -1,10 +1,15 @@
 package semantic.building.modeler.weightedstraightskeleton.algorithm;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.Vector;
 
 import org.apache.log4j.Logger;
@@ -12,6 +17,8 @@ import org.apache.log4j.Logger;
 import semantic.building.modeler.math.MyVector3f;
 import semantic.building.modeler.math.Plane;
 import semantic.building.modeler.math.Ray;
+import semantic.building.modeler.math.RobustPredicates;
+import semantic.building.modeler.math.VectorKernel;
 import semantic.building.modeler.weightedstraightskeleton.exception.SquareCaseException;
 import semantic.building.modeler.weightedstraightskeleton.math.MySkeletonVectormath;
 
@@ -88,6 +95,13 @@ public class SkeletonJob implements Runnable {
 	 */
 	private final float mAccetableDistanceDelta = 0.1f;
 
+	/**
+	 * Zusaetzlicher Abstand, um den die untere Schranke einer Eventdistanz die
+	 * minimale Eventdistanz ueberschreiten muss, bevor ein Kandidat verworfen
+	 * wird. Deckt Rundungen und Toleranzen der exakten Berechnung ab
+	 */
+	private final float mEventBoundSlack = 0.1f;
+
 	/**
 	 * werden bei der ersten Iteration an den Startjob uebergeben, anschliessend
 	 * von Eltern zu Kindern weitergereicht
@@ -100,6 +114,32 @@ public class SkeletonJob implements Runnable {
 	/** Flag zeigt an, ob ein Slope-Event berechnet wurde */
 	private Boolean mProcessedSlopeEvent = false;
 
+	/**
+	 * Events, die waehrend der Iteration umgesetzt wurden. Werden erst nach
+	 * Abschluss des Jobs in den globalen Event-Buffer uebernommen, damit Jobs
+	 * unabhaengig voneinander berechnet werden koennen
+	 */
+	private List<iStraightSkeletonEvent> mProcessedEvents = null;
+
+	/**
+	 * Nachfolgejobs, die der Job am Ende seiner Iteration erzeugt hat. Werden
+	 * durch den Algorithmuscontroller in Erzeugungsreihenfolge zur Job-Queue
+	 * hinzugefuegt
+	 */
+	private List<SkeletonJob> mFollowUpJobs = null;
+
+	/**
+	 * Wiederverwendetes Gleichungssystem fuer die Schnittpunktberechnung dreier
+	 * Ebenen in der Eventsuche
+	 */
+	private final double[] mPlaneSystem = new double[VectorKernel.PLANE_SYSTEM_SIZE];
+
+	/**
+	 * Flag zeigt an, ob Reflex-Vertices und Seitentests der Event-Validierung
+	 * ueber exakte Praedikate bestimmt werden (siehe SkeletonRoofDescriptor)
+	 */
+	private final boolean mRobustPredicates;
+
 	// ------------------------------------------------------------------------------------------
 
 	/**
@@ -129,9 +169,13 @@ public class SkeletonJob implements Runnable {
 		this.mLevel = level;
 		mEvents = new Vector<iStraightSkeletonEvent>();
 		mChildBuffer = new Vector<SkeletonVertex>();
+		mProcessedEvents = new ArrayList<iStraightSkeletonEvent>();
+		mFollowUpJobs = new ArrayList<SkeletonJob>();
 		mCompletedFirstIteration = firstIteration;
 		mVirtualEdgeManager = new VirtualEdgeManager(this.mMathHelper);
 		mBuildDirection = extrusionNormal;
+		mRobustPredicates = algorithm.getConf() != null
+				&& algorithm.getConf().isRobustPredicates();
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -216,7 +260,7 @@ public class SkeletonJob implements Runnable {
 			b.setWinkelhalbierende(rWinkelhalbierende);
 
 			// speichere, ob es sich um ein Reflex-Vertex handelt
-			if (mMathHelper.isReflexVertex(eBA, eBC)) {
+			if (isReflexVertex(a, b, c, eBA, eBC)) {
 
 				// globale Steuervariable setzen => entscheidend, ob nach Split-
 				// und Vertex-Events gesucht wird
@@ -424,8 +468,9 @@ public class SkeletonJob implements Runnable {
 			assert !findIrregularSplitEvents() : "SquareCaseException";
 		}
 
-		// speichere alle zu berechnenden Events im globalen Event-Buffer
-		mAlgorithm.addToEventBuffer(mEvents);
+		// speichere alle zu berechnenden Events, diese werden nach Abschluss
+		// des Jobs in den globalen Event-Buffer uebernommen
+		mProcessedEvents.addAll(mEvents);
 
 		printEventBuffer("Umgesetzte Events: ");
 
@@ -534,6 +579,27 @@ public class SkeletonJob implements Runnable {
 		return mPolygon;
 	}
 
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode liefert alle Events, die waehrend der Iteration umgesetzt wurden
+	 * 
+	 * @return Liste mit den Events des Jobs in Verarbeitungsreihenfolge
+	 */
+	public List<iStraightSkeletonEvent> getProcessedEvents() {
+		return mProcessedEvents;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode liefert alle Jobs, die am Ende der Iteration fuer das
+	 * geschrumpfte bzw. gesplittete Polygon erzeugt wurden
+	 * 
+	 * @return Liste mit Nachfolgejobs in Erzeugungsreihenfolge
+	 */
+	public List<SkeletonJob> getFollowUpJobs() {
+		return mFollowUpJobs;
+	}
+
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Methode liefert alle innerhalb dieses Jobs berechneten virtuellen Kanten
@@ -549,70 +615,330 @@ public class SkeletonJob implements Runnable {
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * durchlaeuft alle Vertices und berechnet Schnittpunkte von je 2 adjazenten
-	 * Ebenen mit allen anderen Ebenen
+	 * Ebenen mit den Ebenen der Kanten, die ein gueltiges Event ausloesen
+	 * koennen. Fuer konvexe Vertices sind dies nur die beiden direkt
+	 * benachbarten Kanten (Edge-Events, vgl. isValidEvent()), nur fuer
+	 * Reflex-Vertices muessen alle Kanten getestet werden (Split-Events).
+	 * Diese Kandidaten werden nach einer unteren Schranke ihrer Eventdistanz
+	 * sortiert und nur so lange exakt berechnet, bis die Schranke die Distanz
+	 * des naechsten bereits gefundenen Events um mehr als die Toleranz
+	 * ueberschreitet. Alle uebersprungenen Events wuerden in
+	 * preprocessEventBuffer() ohnehin verworfen. Die gefundenen Events werden
+	 * in der Reihenfolge der vollstaendigen Vertex-Vertex-Iteration zum
+	 * Event-Buffer hinzugefuegt, dadurch bleibt die Sortierung gleich weit
+	 * entfernter Events unveraendert.
 	 */
 	private void computeIntersectionEvents() {
 
-		SkeletonVertex currentVertex = null, currentNeighbourVertex = null, testVertex = null;
-		Plane currentPlane = null, neighbourPlane = null, testPlane = null;
-		Iterator<SkeletonVertex> innerVertIter = null;
-		MyVector3f schnittpunkt = null;
-		iStraightSkeletonEvent event = null;
+		final List<SkeletonVertex> vertices = mPolygon.getVertices();
+		final int numberOfVertices = vertices.size();
 
-		Iterator<SkeletonVertex> vertIter = mPolygon.getVertices().iterator();
-		while (vertIter.hasNext()) {
+		// Indexstruktur fuer die Bestimmung der Iterationsreihenfolge
+		final Map<SkeletonVertex, Integer> vertexIndices = new IdentityHashMap<SkeletonVertex, Integer>(
+				numberOfVertices);
+		for (int i = 0; i < numberOfVertices; i++) {
+			vertexIndices.put(vertices.get(i), i);
+		}
 
-			currentVertex = vertIter.next();
+		// gefundene Events, Schluessel ist die Position in der vollstaendigen
+		// Iteration ueber alle Vertex-Paare
+		final SortedMap<Long, IntersectionEvent> foundEvents = new TreeMap<Long, IntersectionEvent>();
+		float minDistance = Float.MAX_VALUE;
+
+		SkeletonVertex currentVertex = null, currentNeighbourVertex = null, testVertex = null;
+		IntersectionEvent event = null;
+		Integer testIndex = null;
+		final List<Integer> reflexVertexIndices = new ArrayList<Integer>();
+
+		// Edge-Events: fuer konvexe Vertices sind nur die Kanten vor und nach
+		// dem Vertex gueltige Eventpartner
+		for (int i = 0; i < numberOfVertices; i++) {
+			currentVertex = vertices.get(i);
 			currentNeighbourVertex = currentVertex.getNeighbourByIndex(0);
-			currentPlane = currentVertex.getNeighbourEdgeByIndex(0).getPlane();
-			neighbourPlane = currentNeighbourVertex.getNeighbourEdgeByIndex(0)
-					.getPlane();
 
-			innerVertIter = mPolygon.getVertices().iterator();
-			while (innerVertIter.hasNext()) {
-				testVertex = innerVertIter.next();
+			if (currentNeighbourVertex.isReflexVertex()) {
+				reflexVertexIndices.add(i);
+				continue;
+			}
+
+			final SkeletonVertex[] edgeEventPartners = new SkeletonVertex[] {
+					currentNeighbourVertex.getNeighbourByIndex(0),
+					currentNeighbourVertex.getNeighbourByIndex(1)
+							.getNeighbourByIndex(1) };
+
+			for (SkeletonVertex partner : edgeEventPartners) {
+				testIndex = vertexIndices.get(partner);
+				if (testIndex == null)
+					continue;
+				testVertex = vertices.get(testIndex);
 
 				// ueberspringe das aktuelle und das Neighbourvertex
 				if (testVertex.equals(currentVertex)
 						|| testVertex.equals(currentNeighbourVertex))
 					continue;
 
-				testPlane = testVertex.getNeighbourEdgeByIndex(0).getPlane();
-				schnittpunkt = mMathHelper
-						.calculatePlanePlanePlaneIntersection(currentPlane,
-								neighbourPlane, testPlane);
+				final Long key = (long) i * numberOfVertices + testIndex;
+				if (foundEvents.containsKey(key))
+					continue;
 
-				// assert mMathHelper.isPointOnRay(schnittpunkt,
-				// currentNeighbourVertex.getRotatedWinkelhalbierende()) :
-				// "Der berechnete Schnittpunkt liegt nicht auf der Winkelhalbierenden!";
-				if (schnittpunkt != null) {
+				event = computeIntersectionEvent(currentVertex,
+						currentNeighbourVertex, testVertex);
+				if (event != null) {
+					foundEvents.put(key, event);
+					minDistance = Math.min(minDistance, event.getDistance());
+				}
+			}
+		}
 
-					mAlgorithm.addSingleSchnittpunkt(schnittpunkt);
-					// System.out.println("Teste Schnittpunkt " + schnittpunkt +
-					// " mit Testvertex: " + testVertex);
-					// handelt es sich um einen gueltigen Schnittpunkt?
+		// Split-Events: Reflex-Vertices werden gegen alle Kanten getestet
+		if (reflexVertexIndices.size() > 0) {
+			minDistance = computeSplitIntersectionEvents(vertices,
+					reflexVertexIndices, foundEvents, minDistance);
+		}
 
-					if (!isValidIntersection(schnittpunkt, testVertex)) {
-						// System.out.println("abgelehnt");
-						continue;
-					}
+		mEvents.addAll(foundEvents.values());
+	}
 
-					// runde den Schnittpunkt
-					schnittpunkt = mMathHelper.roundVector3f(schnittpunkt);
-					schnittpunkt.normalizeRange();
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode berechnet die Intersection-Events fuer alle Reflex-Vertices.
+	 * Fuer jedes Paar aus Reflex-Vertex und Testkante wird zunaechst eine
+	 * untere Schranke fuer die Hoehe des Schnittpunkts bestimmt: Der
+	 * Schnittpunkt liegt auf der rotierten Winkelhalbierenden des Vertex und
+	 * gleichzeitig auf der Ebene der Testkante. Beide entfernen sich pro
+	 * Hoeheneinheit um einen festen horizontalen Betrag von ihrem Ursprung,
+	 * der horizontale Abstand zwischen Vertex und Kantengerade begrenzt die
+	 * Hoehe darum nach unten. Die Kandidaten werden aufsteigend nach dieser
+	 * Schranke abgearbeitet.
+	 * 
+	 * @param vertices
+	 *            Vertices des Eingabepolygons
+	 * @param reflexVertexIndices
+	 *            Indices der Vertices, deren Nachbar 0 ein Reflex-Vertex ist
+	 * @param foundEvents
+	 *            Map mit allen bereits gefundenen Events, wird um die
+	 *            Split-Events ergaenzt
+	 * @param minDistance
+	 *            Minimale Distanz aller bereits gefundenen Events
+	 * @return Minimale Distanz aller gefundenen Events
+	 */
+	private float computeSplitIntersectionEvents(
+			final List<SkeletonVertex> vertices,
+			final List<Integer> reflexVertexIndices,
+			final SortedMap<Long, IntersectionEvent> foundEvents,
+			float minDistance) {
+
+		final int numberOfVertices = vertices.size();
+		final MyVector3f polygonNormal = mPolygon.getPlane().getNormal();
+		polygonNormal.normalize();
+
+		// Kantengeraden und horizontale Ausbreitung der Kantenebenen pro
+		// Hoeheneinheit vorberechnen
+		final float[] edgeStarts = new float[3 * numberOfVertices];
+		final float[] edgeDirections = new float[3 * numberOfVertices];
+		final float[] edgeSpread = new float[numberOfVertices];
+
+		final MyVector3f edgeDirection = new MyVector3f();
+		SkeletonVertex testVertex = null;
+		SkeletonEdge testEdge = null;
+		for (int j = 0; j < numberOfVertices; j++) {
+			testVertex = vertices.get(j);
+			testEdge = testVertex.getNeighbourEdgeByIndex(0);
+
+			final MyVector3f start = testVertex.getPositionPtr();
+			edgeStarts[3 * j] = start.x;
+			edgeStarts[3 * j + 1] = start.y;
+			edgeStarts[3 * j + 2] = start.z;
+
+			edgeDirection.set(testEdge.getDirectionPtr());
+			if (edgeDirection.lengthSquared() > 0.0f) {
+				edgeDirection.normalize();
+			}
+			edgeDirections[3 * j] = edgeDirection.x;
+			edgeDirections[3 * j + 1] = edgeDirection.y;
+			edgeDirections[3 * j + 2] = edgeDirection.z;
+
+			edgeSpread[j] = computeHorizontalSpread(testEdge.getPlane()
+					.getNormalPtr(), polygonNormal, true);
+		}
+
+		// untere Schranken fuer alle Kandidaten berechnen, Schranke und
+		// Kandidatenindex werden in einen long gepackt, damit primitiv
+		// sortiert werden kann (nicht-negative Floats sind als Integer-Bits
+		// monoton)
+		final long[] candidates = new long[reflexVertexIndices.size()
+				* numberOfVertices];
+		int numberOfCandidates = 0;
+
+		SkeletonVertex currentVertex = null, currentNeighbourVertex = null;
+		MyVector3f position = null;
+		for (Integer i : reflexVertexIndices) {
+			currentVertex = vertices.get(i);
+			currentNeighbourVertex = currentVertex.getNeighbourByIndex(0);
+			position = currentNeighbourVertex.getPositionPtr();
 
-					float distance = mMathHelper.calculatePointPlaneDistance(
-							schnittpunkt, mPolygon.getPlane());
-					distance = mMathHelper.round(distance);
-					// System.out.println(distance);
+			final float vertexSpread = computeHorizontalSpread(
+					currentNeighbourVertex.getRotatedWinkelhalbierende()
+							.getDirectionPtr(), polygonNormal, false);
 
-					event = new IntersectionEvent(currentNeighbourVertex,
-							schnittpunkt, distance, testVertex);
+			for (int j = 0; j < numberOfVertices; j++) {
+				testVertex = vertices.get(j);
 
-					mEvents.add(event);
+				// ueberspringe das aktuelle und das Neighbourvertex
+				if (testVertex.equals(currentVertex)
+						|| testVertex.equals(currentNeighbourVertex))
+					continue;
+
+				final float spread = vertexSpread + edgeSpread[j];
+				float lowerBound = 0.0f;
+				if (!Float.isInfinite(spread) && !Float.isNaN(spread)
+						&& spread > 0.0f) {
+					lowerBound = computePointLineDistance(position,
+							edgeStarts, edgeDirections, j) / spread;
 				}
+				candidates[numberOfCandidates++] = ((long) Float
+						.floatToIntBits(lowerBound) << 32)
+						| (i * numberOfVertices + j);
 			}
 		}
+		Arrays.sort(candidates, 0, numberOfCandidates);
+
+		IntersectionEvent event = null;
+		for (int c = 0; c < numberOfCandidates; c++) {
+
+			final float lowerBound = Float
+					.intBitsToFloat((int) (candidates[c] >>> 32));
+
+			// alle weiteren Kandidaten liegen sicher oberhalb der
+			// Akzeptanzgrenze
+			if (lowerBound > minDistance + mAccetableDistanceDelta
+					+ mEventBoundSlack * (1.0f + 0.01f * Math.abs(minDistance)))
+				break;
+
+			final int key = (int) candidates[c];
+			final int i = key / numberOfVertices;
+			final int j = key % numberOfVertices;
+
+			currentVertex = vertices.get(i);
+			event = computeIntersectionEvent(currentVertex,
+					currentVertex.getNeighbourByIndex(0), vertices.get(j));
+			if (event != null) {
+				foundEvents.put((long) key, event);
+				minDistance = Math.min(minDistance, event.getDistance());
+			}
+		}
+		return minDistance;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode berechnet den Schnittpunkt der Ebenen der Kanten mit Index 0 des
+	 * aktuellen Vertex, seines Nachbarn und des Testvertex und erzeugt ein
+	 * Event, sofern der Schnittpunkt gueltig ist
+	 * 
+	 * @param currentVertex
+	 *            Vertex, dessen Kante 0 die erste Ebene definiert
+	 * @param currentNeighbourVertex
+	 *            Nachbar 0 des aktuellen Vertex, Ausloeser des Events
+	 * @param testVertex
+	 *            Vertex, dessen Kante 0 die Testebene definiert
+	 * @return Event, falls ein gueltiger Schnittpunkt existiert, null sonst
+	 */
+	private IntersectionEvent computeIntersectionEvent(
+			final SkeletonVertex currentVertex,
+			final SkeletonVertex currentNeighbourVertex,
+			final SkeletonVertex testVertex) {
+
+		final Plane currentPlane = currentVertex.getNeighbourEdgeByIndex(0)
+				.getPlane();
+		final Plane neighbourPlane = currentNeighbourVertex
+				.getNeighbourEdgeByIndex(0).getPlane();
+		final Plane testPlane = testVertex.getNeighbourEdgeByIndex(0)
+				.getPlane();
+
+		// Gleichungssystem ueber das wiederverwendete Array loesen
+		MyVector3f schnittpunkt = new MyVector3f();
+		if (!VectorKernel.computePlanePlanePlaneIntersection(currentPlane,
+				neighbourPlane, testPlane, mPlaneSystem, schnittpunkt))
+			return null;
+
+		mAlgorithm.addSingleSchnittpunkt(schnittpunkt);
+
+		// handelt es sich um einen gueltigen Schnittpunkt?
+		if (!isValidIntersection(schnittpunkt, testVertex))
+			return null;
+
+		// runde den Schnittpunkt
+		schnittpunkt = mMathHelper.roundVector3f(schnittpunkt);
+		schnittpunkt.normalizeRange();
+
+		float distance = mMathHelper.calculatePointPlaneDistance(schnittpunkt,
+				mPolygon.getPlane());
+		distance = mMathHelper.round(distance);
+
+		return new IntersectionEvent(currentNeighbourVertex, schnittpunkt,
+				distance, testVertex);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode berechnet, um wieviel sich ein Richtungsvektor bzw. eine Ebene
+	 * pro Hoeheneinheit ueber dem Eingabepolygon horizontal ausbreitet. Fuer
+	 * Richtungsvektoren ist dies das Verhaeltnis von horizontalem zu
+	 * vertikalem Anteil, fuer Ebenennormalen das Verhaeltnis von vertikalem zu
+	 * horizontalem Anteil
+	 * 
+	 * @param vector
+	 *            Richtungsvektor oder Ebenennormale
+	 * @param polygonNormal
+	 *            Normierte Normale des Eingabepolygons
+	 * @param isPlaneNormal
+	 *            True, falls es sich um eine Ebenennormale handelt
+	 * @return Horizontale Ausbreitung pro Hoeheneinheit, Infinity, falls die
+	 *         Ausbreitung unbeschraenkt ist
+	 */
+	private float computeHorizontalSpread(final MyVector3f vector,
+			final MyVector3f polygonNormal, final boolean isPlaneNormal) {
+
+		final float vertical = Math.abs(vector.dot(polygonNormal));
+		final float horizontal = (float) Math.sqrt(Math.max(0.0f,
+				vector.lengthSquared() - vertical * vertical));
+		if (isPlaneNormal)
+			return vertical / horizontal;
+		else
+			return horizontal / vertical;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode berechnet den Abstand eines Punktes von der Geraden der Kante
+	 * mit dem uebergebenen Index
+	 * 
+	 * @param point
+	 *            Testpunkt
+	 * @param starts
+	 *            Startpunkte aller Kanten als x,y,z-Folge
+	 * @param directions
+	 *            Normierte Richtungen aller Kanten als x,y,z-Folge
+	 * @param index
+	 *            Index der Kante
+	 * @return Abstand des Punktes von der Kantengeraden
+	 */
+	private float computePointLineDistance(final MyVector3f point,
+			final float[] starts, final float[] directions, final int index) {
+
+		final int offset = 3 * index;
+		final float dx = point.x - starts[offset];
+		final float dy = point.y - starts[offset + 1];
+		final float dz = point.z - starts[offset + 2];
+		final float ux = directions[offset];
+		final float uy = directions[offset + 1];
+		final float uz = directions[offset + 2];
+
+		final float cx = dy * uz - dz * uy;
+		final float cy = dz * ux - dx * uz;
+		final float cz = dx * uy - dy * ux;
+		return (float) Math.sqrt(cx * cx + cy * cy + cz * cz);
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -1249,8 +1575,7 @@ public class SkeletonJob implements Runnable {
 		// der Referenzpunkt und der Schnittpunkt muessen auf der gleichen Seite
 		// liegen
 		if (!mMathHelper.isPointOnRay(schnittpunkt, edge)) {
-			if (!mMathHelper
-					.isSameSideOfRay(edge, referencePoint, schnittpunkt)) {
+			if (!isSameSideOfRay(edge, referencePoint, schnittpunkt)) {
 				LOGGER.trace("Abgelehnt: Schnittpunkt befindet sich unterhalb der Kante");
 				return false;
 
@@ -1273,7 +1598,7 @@ public class SkeletonJob implements Runnable {
 		// Schnittpunkt und Referenzpunkt muessen sich auf unterschiedlichen
 		// Seiten befinden
 		if (!mMathHelper.isPointOnRay(schnittpunkt, winkelhalbierendeVertex)) {
-			if (mMathHelper.isSameSideOfRay(winkelhalbierendeVertex,
+			if (isSameSideOfRay(winkelhalbierendeVertex,
 					referencePoint, schnittpunkt)) {
 				LOGGER.trace("Abgelehnt: Punkt befindet sich auf der gleichen Seite wie der Referenzpunkt "
 						+ referencePoint
@@ -1288,7 +1613,7 @@ public class SkeletonJob implements Runnable {
 		// hier muessen Schnittpunkt und Referenzpunkt auf der gleichen Seite
 		// liegen
 		if (!mMathHelper.isPointOnRay(schnittpunkt, winkelhalbierendeNeighbour)) {
-			if (!mMathHelper.isSameSideOfRay(winkelhalbierendeNeighbour,
+			if (!isSameSideOfRay(winkelhalbierendeNeighbour,
 					referencePoint, schnittpunkt)) {
 				LOGGER.trace("Abgelehnt: Punkt befindet sich nicht auf der gleichen Seite wie der Referenzpunkt "
 						+ referencePoint + " bzgl. der End-Winkelhalbierenden");
@@ -1307,7 +1632,7 @@ public class SkeletonJob implements Runnable {
 		// Referenz- und Schnittpunkt duerfen bzgl. der Winkelhalbierenden des
 		// Endvertex nicht auf der gleichen Seite liegen
 		if (!mMathHelper.isPointOnRay(schnittpunkt, winkelhalbierendeNeighbour)) {
-			if (mMathHelper.isSameSideOfRay(winkelhalbierendeNeighbour,
+			if (isSameSideOfRay(winkelhalbierendeNeighbour,
 					referencePoint, schnittpunkt)) {
 				LOGGER.trace("Abgelehnt:  Punkt befindet sich auf der gleichen Seite wie der Referenzpunkt "
 						+ referencePoint + " bzgl. der End-Winkelhalbierenden");
@@ -1320,7 +1645,7 @@ public class SkeletonJob implements Runnable {
 		// am Startvertex
 		// hier muessen beide Punkte auf der gleichen Seite liegen
 		if (!mMathHelper.isPointOnRay(schnittpunkt, winkelhalbierendeVertex)) {
-			if (!mMathHelper.isSameSideOfRay(winkelhalbierendeVertex,
+			if (!isSameSideOfRay(winkelhalbierendeVertex,
 					referencePoint, schnittpunkt)) {
 				LOGGER.trace("Abgelehnt:  Punkt befindet sich nicht auf der gleichen Seite wie der Referenzpunkt "
 						+ referencePoint
@@ -1335,6 +1660,58 @@ public class SkeletonJob implements Runnable {
 		return true;
 	}
 
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode prueft, ob sich die uebergebenen Punkte bzgl. des Strahls auf der
+	 * gleichen Seite befinden. Im robusten Modus wird das Vorzeichen exakt
+	 * bestimmt, Punkte auf der Geraden gelten wie in
+	 * MyVectormath.isSameSideOfRay() als auf der gleichen Seite liegend
+	 * 
+	 * @param ray
+	 *            Teststrahl
+	 * @param point1
+	 *            Referenzpunkt
+	 * @param point2
+	 *            Testpunkt
+	 * @return True, falls sich beide Punkte auf der gleichen Seite befinden,
+	 *         False sonst
+	 */
+	private boolean isSameSideOfRay(final Ray ray, final MyVector3f point1,
+			final MyVector3f point2) {
+		if (mRobustPredicates)
+			return RobustPredicates.sideOfRay(ray.getStartPtr(),
+					ray.getDirectionPtr(), point1, point2) >= 0;
+		return mMathHelper.isSameSideOfRay(ray, point1, point2);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode bestimmt, ob es sich bei Vertex b um ein Reflex-Vertex handelt.
+	 * Im robusten Modus entscheidet das exakte Vorzeichen von (c - b) x (a - b)
+	 * bzgl. der Extrusionsrichtung, sonst die Winkelberechnung aus
+	 * MyVectormath.isReflexVertex()
+	 * 
+	 * @param a
+	 *            Vorgaenger von b
+	 * @param b
+	 *            Testvertex
+	 * @param c
+	 *            Nachfolger von b
+	 * @param eBA
+	 *            Kante von b nach a
+	 * @param eBC
+	 *            Kante von b nach c
+	 * @return True, falls b ein Reflex-Vertex ist, False sonst
+	 */
+	private boolean isReflexVertex(final SkeletonVertex a,
+			final SkeletonVertex b, final SkeletonVertex c,
+			final SkeletonEdge eBA, final SkeletonEdge eBC) {
+		if (mRobustPredicates)
+			return RobustPredicates.orientation(b.getPositionPtr(),
+					c.getPositionPtr(), a.getPositionPtr(), mBuildDirection) < 0;
+		return mMathHelper.isReflexVertex(eBA, eBC);
+	}
+
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Methode testet, ob der berechnete Event gueltig ist => ein Event ist
@@ -2036,7 +2413,7 @@ public class SkeletonJob implements Runnable {
 		// abschliessende Berechnungen durchfuehren
 		for (SkeletonJob curJob : nextJobs) {
 			curJob.finalizeInitialization();
-			mAlgorithm.addJobToQueue(curJob);
+			mFollowUpJobs.add(curJob);
 		}
 	}
 
@@ -0,0 +1,158 @@
+package semantic.building.modeler.weightedstraightskeleton.algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.log4j.Logger;
+
+/**
+ *
+ * @author Patrick Gunia Klasse fuehrt eine Menge unabhaengiger Skeleton-Jobs
+ *         aus. Nach einem Split-Event zerfaellt das Eingabepolygon in mehrere
+ *         Teilpolygone, deren Jobs keine gemeinsamen Vertices besitzen und
+ *         darum auf unterschiedlichen Kernen berechnet werden koennen. Die
+ *         Ergebnisse (Events, Nachfolgejobs) verbleiben in den Jobs und werden
+ *         vom Aufrufer in der urspruenglichen Queue-Reihenfolge
+ *         zusammengefuehrt, dadurch ist das Ergebnis unabhaengig von der
+ *         Ausfuehrungsreihenfolge der Threads.
+ *
+ */
+
+public class SkeletonJobScheduler {
+
+	/** Logger */
+	protected static Logger LOGGER = Logger
+			.getLogger(SkeletonJobScheduler.class);
+
+	/** Anzahl der Worker-Threads */
+	private final int mNumberOfThreads;
+
+	/** Thread-Pool, wird erst bei der ersten parallelen Ausfuehrung erzeugt */
+	private ExecutorService mExecutor = null;
+
+	// ------------------------------------------------------------------------------------------
+
+	/**
+	 * @param numberOfThreads
+	 *            Anzahl der Threads, die fuer die parallele Berechnung
+	 *            verwendet werden. Bei Werten <= 1 werden alle Jobs im
+	 *            aufrufenden Thread berechnet
+	 */
+	public SkeletonJobScheduler(final int numberOfThreads) {
+		mNumberOfThreads = Math.max(1, numberOfThreads);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode liefert true, sofern der Scheduler mehr als einen Thread
+	 * verwendet
+	 *
+	 * @return True, falls Jobs parallel berechnet werden koennen
+	 */
+	public boolean isParallel() {
+		return mNumberOfThreads > 1;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode fuehrt alle uebergebenen Jobs aus und kehrt erst zurueck, wenn
+	 * saemtliche Jobs beendet sind. Tritt in einem Job ein Fehler auf, wird
+	 * der Fehler des in der Liste zuerst stehenden fehlgeschlagenen Jobs an
+	 * den Aufrufer durchgereicht, damit das Verhalten dem der sequentiellen
+	 * Verarbeitung entspricht.
+	 *
+	 * @param jobs
+	 *            Liste mit Jobs, die unabhaengig voneinander berechnet werden
+	 * @throws Exception
+	 *             Exceptions der Jobs werden unveraendert weitergegeben,
+	 *             AssertionErrors ebenfalls
+	 */
+	public void execute(final List<SkeletonJob> jobs) throws Exception {
+
+		// einzelne Jobs werden ohne Umweg ueber den Pool berechnet
+		if (!isParallel() || jobs.size() < 2) {
+			for (SkeletonJob job : jobs) {
+				job.run();
+			}
+			return;
+		}
+
+		LOGGER.debug("Berechne " + jobs.size() + " Jobs parallel auf "
+				+ mNumberOfThreads + " Threads");
+
+		final List<Future<?>> results = new ArrayList<Future<?>>(jobs.size());
+		for (SkeletonJob job : jobs) {
+			results.add(getExecutor().submit(job));
+		}
+
+		// auf alle Jobs warten, bevor ein Fehler weitergereicht wird, damit
+		// keine Berechnung im Hintergrund weiterlaeuft
+		Throwable firstFailure = null;
+		for (Future<?> result : results) {
+			try {
+				result.get();
+			} catch (ExecutionException e) {
+				if (firstFailure == null) {
+					firstFailure = e.getCause();
+				}
+			}
+		}
+
+		if (firstFailure == null) {
+			return;
+		}
+		if (firstFailure instanceof Exception) {
+			throw (Exception) firstFailure;
+		}
+		if (firstFailure instanceof Error) {
+			throw (Error) firstFailure;
+		}
+		throw new RuntimeException(firstFailure);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode beendet den Thread-Pool. Muss nach Abschluss der Berechnung
+	 * aufgerufen werden
+	 */
+	public void shutdown() {
+		if (mExecutor != null) {
+			mExecutor.shutdown();
+			mExecutor = null;
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode erzeugt den Thread-Pool bei Bedarf. Die Threads sind als
+	 * Daemon-Threads markiert, damit sie das Beenden der Anwendung nicht
+	 * verhindern
+	 *
+	 * @return Executor fuer die parallele Berechnung
+	 */
+	private ExecutorService getExecutor() {
+		if (mExecutor == null) {
+			mExecutor = Executors.newFixedThreadPool(mNumberOfThreads,
+					new ThreadFactory() {
+						private int mThreadCounter = 0;
+
+						@Override
+						public synchronized Thread newThread(final Runnable r) {
+							final Thread thread = new Thread(r,
+									"SkeletonJobWorker-" + mThreadCounter++);
+							thread.setDaemon(true);
+							return thread;
+						}
+					});
+		}
+		return mExecutor;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+}
@@ -48,6 +48,28 @@ public class SkeletonRoofDescriptor {
 	/** Minimale Dachhoehe ab der die Steigung geaendert wird */
 	private transient Integer mSlopeChangeHeight = null;
 
+	/**
+	 * Anzahl der Threads, auf denen die nach Split-Events entstehenden
+	 * Teilpolygone parallel berechnet werden. Standardmaessig wird sequentiell
+	 * gerechnet
+	 */
+	private transient int mNumberOfThreads = 1;
+
+	/**
+	 * Flag steuert, ob Orientierungs- und Seitentests waehrend der Berechnung
+	 * ueber exakte Praedikate (RobustPredicates) statt ueber
+	 * Gleitkommaberechnungen ausgewertet werden
+	 */
+	private transient boolean mRobustPredicates = false;
+
+	/**
+	 * Toleranz, innerhalb derer Ergebnisvertices beim Aufbau des Dachnetzes
+	 * verschweisst werden. Bei 0 werden nur positionsgleiche Vertices
+	 * zusammengefasst, bei Werten > 0 erfolgt der Vergleich ueber ein
+	 * raeumliches Gitter mit der Toleranz als Zellgroesse
+	 */
+	private transient float mVertexWeldingTolerance = 0.0f;
+
 	// ------------------------------------------------------------------------------------------
 
 	/**
@@ -242,4 +264,64 @@ public class SkeletonRoofDescriptor {
 	}
 	// ------------------------------------------------------------------------------------------
 
+	/**
+	 * @return the mNumberOfThreads
+	 */
+	public int getNumberOfThreads() {
+		return mNumberOfThreads;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+	/**
+	 * @param numberOfThreads
+	 *            Anzahl der Threads fuer die parallele Berechnung unabhaengiger
+	 *            Teilpolygone, Werte <= 1 fuehren zu sequentieller Berechnung
+	 */
+	public void setNumberOfThreads(final int numberOfThreads) {
+		this.mNumberOfThreads = numberOfThreads;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+	/**
+	 * @return the mRobustPredicates
+	 */
+	public boolean isRobustPredicates() {
+		return mRobustPredicates;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+	/**
+	 * @param robustPredicates
+	 *            True, falls Reflex-Vertex-Bestimmung und Event-Validierung
+	 *            ueber exakte Praedikate erfolgen sollen
+	 */
+	public void setRobustPredicates(final boolean robustPredicates) {
+		this.mRobustPredicates = robustPredicates;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+	/**
+	 * @return the mVertexWeldingTolerance
+	 */
+	public float getVertexWeldingTolerance() {
+		return mVertexWeldingTolerance;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+	/**
+	 * @param vertexWeldingTolerance
+	 *            Maximaler Abstand, innerhalb dessen Ergebnisvertices als
+	 *            identisch gelten, Werte <= 0 fuehren zu exaktem Vergleich
+	 */
+	public void setVertexWeldingTolerance(final float vertexWeldingTolerance) {
+		this.mVertexWeldingTolerance = vertexWeldingTolerance;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
 }
@@ -1,6 +1,7 @@
 package semantic.building.modeler.weightedstraightskeleton.algorithm;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -35,6 +36,12 @@ public class StraightSkeleton {
 	/** Logger */
 	protected static Logger LOGGER = Logger.getLogger(SkeletonVertex.class);
 
+	/**
+	 * Geschaetzte Anzahl unterschiedlicher Ergebnisvertices je Eingabevertex,
+	 * dient der Vorab-Dimensionierung des Vertex-Buffers im Ergebnisobjekt
+	 */
+	private static final int RESULT_VERTICES_PER_INPUT_VERTEX = 4;
+
 	/** Eingabepolygon, fuer das der Algorithmus ausgefuehrt wetrden soll */
 	private SkeletonPolygon mInputPolygon = null;
 
@@ -133,8 +140,9 @@ public class StraightSkeleton {
 		mEventBuffer = new ArrayList<iStraightSkeletonEvent>();
 		mJobQueue = new ArrayList<SkeletonJob>();
 		mJobBuffer = new ArrayList<SkeletonJob>();
-		mSchnittpunktBuffer = new HashSet<MyVector3f>();
-		mMessageBuffer = new ArrayList<String>();
+		mSchnittpunktBuffer = Collections
+				.synchronizedSet(new HashSet<MyVector3f>());
+		mMessageBuffer = Collections.synchronizedList(new ArrayList<String>());
 		mMathHelper = MySkeletonVectormath.getInstance();
 		mVirtualEdges = new ArrayList<Ray>();
 		mAllPolygons = new ArrayList<List<SkeletonPolygon>>();
@@ -162,7 +170,6 @@ public class StraightSkeleton {
 	public void process() throws Exception {
 
 		SkeletonVertex vert = null;
-		SkeletonJob currentJob = null;
 
 		String output;
 		final String lineBreak = System.getProperty("line.separator");
@@ -190,47 +197,78 @@ public class StraightSkeleton {
 		job.setEdgeWeights(mConf.getEdgeWeights());
 		addJobToQueue(job);
 
-		// starte die Verarbeitungsloop => hier kann man bei Split-Events
-		// parallel rechnen
-		while (mJobQueue.size() > 0) {
-
-			// hole den ersten Job in der Warteschlange
-			currentJob = mJobQueue.remove(0);
-
-			// und fuehre ihn aus
-			try {
-				currentJob.run();
-			} catch (Exception e) {
-				computeAccuracy();
-				LOGGER.error("Abweichung: " + maxAccuracyDeviation);
-				if (maxAccuracyDeviation > 0.1f)
-					throw new AccuracyException(
-							"Die Genauigkeitsabweichung betraegt "
-									+ maxAccuracyDeviation
-									+ ". Dies ist mit hoher Wahrscheinlichkeit ursaechlich fuer das Scheitern der Berechnung.");
-				throw e;
-			} catch (AssertionError e) {
-				// handelt es sich um eine Square-Case-Exception? => muss wegen
-				// Runnable ueber den Umweg der Assertion ausgegeben werden
-				if (e.getMessage().equals("SquareCaseException"))
-					throw new SquareCaseException();
-				else {
+		// starte die Verarbeitungsloop => alle Jobs in der Queue befinden sich
+		// auf dem gleichen Level und sind nach Split-Events voneinander
+		// unabhaengig, sie koennen darum parallel berechnet werden
+		final SkeletonJobScheduler scheduler = new SkeletonJobScheduler(
+				mConf.getNumberOfThreads());
+		final List<SkeletonJob> currentJobs = new ArrayList<SkeletonJob>();
+
+		try {
+			while (mJobQueue.size() > 0) {
+
+				currentJobs.clear();
+
+				// solange ein Slope-Event aussteht, muessen die Jobs
+				// nacheinander berechnet werden, da das erste verarbeitete
+				// Slope-Event die Kantengewichte fuer alle folgenden Jobs
+				// aendert
+				if (scheduler.isParallel() && !isSlopeEventPending()) {
+					currentJobs.addAll(mJobQueue);
+					mJobQueue.clear();
+				} else {
+					// hole den ersten Job in der Warteschlange
+					currentJobs.add(mJobQueue.remove(0));
+				}
+
+				// und fuehre ihn aus
+				try {
+					scheduler.execute(currentJobs);
+				} catch (Exception e) {
 					computeAccuracy();
 					LOGGER.error("Abweichung: " + maxAccuracyDeviation);
-					if (maxAccuracyDeviation > 0.2f)
+					if (maxAccuracyDeviation > 0.1f)
 						throw new AccuracyException(
 								"Die Genauigkeitsabweichung betraegt "
 										+ maxAccuracyDeviation
-										+ ". Dies ist mit hoher Wahrscheinlichkeit ursaechlich fuer das Scheitern der Berechnung");
+										+ ". Dies ist mit hoher Wahrscheinlichkeit ursaechlich fuer das Scheitern der Berechnung.");
+					throw e;
+				} catch (AssertionError e) {
+					// handelt es sich um eine Square-Case-Exception? => muss
+					// wegen Runnable ueber den Umweg der Assertion ausgegeben
+					// werden
+					if (e.getMessage().equals("SquareCaseException"))
+						throw new SquareCaseException();
+					else {
+						computeAccuracy();
+						LOGGER.error("Abweichung: " + maxAccuracyDeviation);
+						if (maxAccuracyDeviation > 0.2f)
+							throw new AccuracyException(
+									"Die Genauigkeitsabweichung betraegt "
+											+ maxAccuracyDeviation
+											+ ". Dies ist mit hoher Wahrscheinlichkeit ursaechlich fuer das Scheitern der Berechnung");
+					}
+					throw e;
 				}
-				throw e;
-			}
 
-			LOGGER.info("#Jobs in Queue: " + mJobQueue.size());
+				// fuehre die Ergebnisse in der Queue-Reihenfolge zusammen,
+				// dadurch entspricht die Reihenfolge in Event-, Job-Buffer und
+				// Queue exakt der sequentiellen Verarbeitung
+				for (SkeletonJob processedJob : currentJobs) {
+					addToEventBuffer(processedJob.getProcessedEvents());
+					for (SkeletonJob followUpJob : processedJob
+							.getFollowUpJobs()) {
+						addJobToQueue(followUpJob);
+					}
 
-			// fuege den verarbeiteten Job zum Job-Buffer hinzu
-			mJobBuffer.add(currentJob);
+					// fuege den verarbeiteten Job zum Job-Buffer hinzu
+					mJobBuffer.add(processedJob);
+				}
 
+				LOGGER.info("#Jobs in Queue: " + mJobQueue.size());
+			}
+		} finally {
+			scheduler.shutdown();
 		}
 
 		computeAccuracy();
@@ -450,7 +488,9 @@ public class StraightSkeleton {
 		String message;
 
 		// erzeuge das Basisobjekt fuer die Result-Speicherung
-		mResultComplex = new SkeletonResultComplex();
+		mResultComplex = new SkeletonResultComplex(
+				RESULT_VERTICES_PER_INPUT_VERTEX * vertices.size(),
+				mConf.getVertexWeldingTolerance());
 
 		LOGGER.debug("#VERTICES RESULT: " + vertices.size());
 		// durchlaufe alle Vertices und erzeuge fuer jede Kante ein ResultFace
@@ -1145,6 +1185,19 @@ public class StraightSkeleton {
 
 	// ------------------------------------------------------------------------------------------
 
+	/**
+	 * Methode testet, ob waehrend der weiteren Berechnung noch ein
+	 * Slope-Change-Event verarbeitet werden kann
+	 * 
+	 * @return True, falls eine Slope-Change-Hoehe definiert ist und noch kein
+	 *         entsprechendes Event umgesetzt wurde
+	 */
+	private boolean isSlopeEventPending() {
+		return mConf.getSlopeChangeHeight() != null && !mProcessedSlopeEvent;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
 	/**
 	 * @param mProcessedSlopeEvent
 	 *            the mProcessedSlopeEvent to set
@@ -37,6 +37,12 @@ public class VirtualEdge {
 	/** Enthaelt alle Vertices auf der virtuellen Kante */
 	private List<VirtualEdgeHelper> mVerticesOnEdge = null;
 
+	/**
+	 * Edge-Manager, deren raeumlicher Index bei jeder Aenderung des Strahls
+	 * aktualisiert werden muss
+	 */
+	private List<VirtualEdgeManager> mManagers = null;
+
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Konstruktor erzeugt aus den uebergebenen Vertices einen Strahl und fuegt
@@ -54,6 +60,7 @@ public class VirtualEdge {
 		mVerticesOnEdge.add(new VirtualEdgeHelper(end));
 
 		mMathHelper = mathHelper;
+		mManagers = new ArrayList<VirtualEdgeManager>(1);
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -88,6 +95,7 @@ public class VirtualEdge {
 		// der Kante
 		if (parameter < 0) {
 			mRay.setStart(vertex.getPosition());
+			notifyRayChanged();
 		}
 
 		VirtualEdgeHelper newVert = new VirtualEdgeHelper(vertex);
@@ -211,7 +219,31 @@ public class VirtualEdge {
 		MyVector3f direction = new MyVector3f();
 		direction.sub(end.getPosition(), start.getPosition());
 		mRay.setDirection(direction);
+		notifyRayChanged();
+
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Registriert einen Edge-Manager, der ueber Aenderungen des Strahls
+	 * informiert wird
+	 * 
+	 * @param manager
+	 *            Manager, der die Kante in seinem raeumlichen Index fuehrt
+	 */
+	void addManager(final VirtualEdgeManager manager) {
+		if (!mManagers.contains(manager))
+			mManagers.add(manager);
+	}
 
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode informiert alle registrierten Edge-Manager darueber, dass sich
+	 * Start oder Richtung des Strahls geaendert haben
+	 */
+	private void notifyRayChanged() {
+		for (int i = 0; i < mManagers.size(); i++)
+			mManagers.get(i).updateEdgeIndex(this);
 	}
 
 	// ------------------------------------------------------------------------------------------
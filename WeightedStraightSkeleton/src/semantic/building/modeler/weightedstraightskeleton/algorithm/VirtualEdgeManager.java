@@ -1,12 +1,18 @@
 package semantic.building.modeler.weightedstraightskeleton.algorithm;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Vector;
 
 import org.apache.log4j.Logger;
 
+import semantic.building.modeler.math.MyVector3f;
 import semantic.building.modeler.math.Ray;
 import semantic.building.modeler.weightedstraightskeleton.math.MySkeletonVectormath;
 
@@ -14,6 +20,12 @@ import semantic.building.modeler.weightedstraightskeleton.math.MySkeletonVectorm
  * @author Patrick Gunia
  * 
  *         Verwaltungsklasse fuer saemtliche berechneten VirtualEdge-Strukturen.
+ *         Die Kanten werden zusaetzlich in einem raeumlichen Hash-Index
+ *         gefuehrt, der jeder Gitterzelle die Kanten zuordnet, deren
+ *         Liniensegment die Zelle beruehrt. Da arePointsOnEdge() verlangt, dass
+ *         mindestens einer der Testpunkte auf dem Segment liegt, muss nur fuer
+ *         die Kanten in den Zellen der beiden Testpunkte die teure geometrische
+ *         Pruefung durchgefuehrt werden.
  * 
  */
 public class VirtualEdgeManager {
@@ -33,6 +45,49 @@ public class VirtualEdgeManager {
 	 */
 	private MySkeletonVectormath mMathHelper = null;
 
+	/** Kantenlaenge einer Zelle des raeumlichen Kantenindex */
+	private static final float CELL_SIZE = 32.0f;
+
+	/**
+	 * Maximale Anzahl an Zellen pro Kante, Kanten mit groesserer Bounding-Box
+	 * werden bei jeder Anfrage geprueft
+	 */
+	private static final int MAX_CELLS_PER_EDGE = 256;
+
+	/**
+	 * Absoluter Zuschlag auf die Bounding-Box einer Kante, deckt die
+	 * Distanztoleranz von isPointOnRay() ab
+	 */
+	private static final float DISTANCE_MARGIN = 0.02f;
+
+	/**
+	 * Zuschlag relativ zur Kantenlaenge, deckt die Rundung des Parameters in
+	 * isPointOnLineSegment() ab
+	 */
+	private static final float PARAMETER_MARGIN = 0.001f;
+
+	/** Raeumlicher Index: Zellschluessel => Kanten, die die Zelle beruehren */
+	private Map<Long, List<VirtualEdge>> mCellIndex = null;
+
+	/** Zellen, in denen eine Kante aktuell registriert ist */
+	private Map<VirtualEdge, long[]> mCellsForEdge = null;
+
+	/** Kanten, die aufgrund ihrer Ausdehnung nicht im Zellindex liegen */
+	private List<VirtualEdge> mUnindexedEdges = null;
+
+	/** Position jeder Kante in mVirtualEdges, bestimmt die Pruefreihenfolge */
+	private Map<VirtualEdge, Integer> mInsertionIndex = null;
+
+	/** Sortiert Kandidatenkanten nach ihrer Einfuegereihenfolge */
+	private final Comparator<VirtualEdge> mInsertionOrder = new Comparator<VirtualEdge>() {
+
+		@Override
+		public int compare(VirtualEdge edge1, VirtualEdge edge2) {
+			return mInsertionIndex.get(edge1).compareTo(
+					mInsertionIndex.get(edge2));
+		}
+	};
+
 	/**
 	 * Standardkonstruktor
 	 * 
@@ -41,6 +96,10 @@ public class VirtualEdgeManager {
 	public VirtualEdgeManager(MySkeletonVectormath mathHelper) {
 		mVirtualEdges = new Vector<VirtualEdge>();
 		mMathHelper = mathHelper;
+		mCellIndex = new HashMap<Long, List<VirtualEdge>>();
+		mCellsForEdge = new IdentityHashMap<VirtualEdge, long[]>();
+		mUnindexedEdges = new ArrayList<VirtualEdge>();
+		mInsertionIndex = new IdentityHashMap<VirtualEdge, Integer>();
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -60,31 +119,26 @@ public class VirtualEdgeManager {
 	public VirtualEdge addVertsToVirtualEdge(SkeletonVertex start,
 			SkeletonVertex end) {
 
-		VirtualEdge currentEdge = null;
 		String message;
 
-		// durchlaufe alle bereits vorhandenen Kanten und pruefe, ob bereits
-		// eine Kante fuer die beiden Vertices existiert
-		for (int i = 0; i < mVirtualEdges.size(); i++) {
-			currentEdge = mVirtualEdges.get(i);
+		// pruefe, ob bereits eine Kante fuer die beiden Vertices existiert
+		VirtualEdge currentEdge = getEdgeForVertices(start, end);
 
-			// wenn eine Kante gefunden wurde, fuege die Vertices hinzu und
-			// breche ab
-			if (currentEdge.arePointsOnEdge(start, end)) {
-				currentEdge.addVertexToEdge(start);
-				currentEdge.addVertexToEdge(end);
+		// wenn eine Kante gefunden wurde, fuege die Vertices hinzu
+		if (currentEdge != null) {
+			currentEdge.addVertexToEdge(start);
+			currentEdge.addVertexToEdge(end);
 
-				message = "Vertices start: " + start + " end: " + end
-						+ " wurden zur Kante " + currentEdge + " hinzugefuegt";
-				LOGGER.debug(message);
+			message = "Vertices start: " + start + " end: " + end
+					+ " wurden zur Kante " + currentEdge + " hinzugefuegt";
+			LOGGER.debug(message);
 
-				return currentEdge;
-			}
+			return currentEdge;
 		}
 
 		// es wurde keine Kante gefunden, erzeuge eine neue
 		VirtualEdge newEdge = new VirtualEdge(start, end, mMathHelper);
-		mVirtualEdges.add(newEdge);
+		addEdge(newEdge);
 
 		LOGGER.debug("Es wurde eine neue virtuelle Kante: " + newEdge
 				+ " erstellt");
@@ -293,8 +347,11 @@ public class VirtualEdgeManager {
 
 	// ------------------------------------------------------------------------------------------
 	/**
-	 * Methode durchlaeuft alle virtuellen Kanten im Kantenbuffer und sucht eine
-	 * Kante, auf der die beiden uebergebenen Vertices liegen
+	 * Methode sucht eine Kante, auf der die beiden uebergebenen Vertices
+	 * liegen. Geprueft werden nur die Kanten aus den Indexzellen der beiden
+	 * Vertices, und zwar in der Reihenfolge, in der sie zum Manager
+	 * hinzugefuegt wurden. Das Ergebnis entspricht damit dem Durchlauf ueber
+	 * alle Kanten.
 	 * 
 	 * @param vertex1
 	 *            Eingabevertex1
@@ -305,11 +362,27 @@ public class VirtualEdgeManager {
 	 */
 	public VirtualEdge getEdgeForVertices(SkeletonVertex vertex1,
 			SkeletonVertex vertex2) {
-		VirtualEdge currentEdge = null;
+
+		final MyVector3f position1 = vertex1.getPositionPtr();
+		final MyVector3f position2 = vertex2.getPositionPtr();
+
+		// fuer nicht endliche Positionen liefert der Zellindex keine
+		// verlaesslichen Kandidaten, pruefe alle Kanten
+		final List<VirtualEdge> candidates;
+		if (!isFinite(position1) || !isFinite(position2)) {
+			candidates = mVirtualEdges;
+		} else {
+			candidates = new ArrayList<VirtualEdge>(mUnindexedEdges);
+			addCandidates(position1, candidates);
+			addCandidates(position2, candidates);
+			if (candidates.size() > 1)
+				Collections.sort(candidates, mInsertionOrder);
+		}
 
 		// finde zunaechst die virtuelle Kante, auf der sich die beiden Vertices
 		// befinden
-		Iterator<VirtualEdge> edgeIter = mVirtualEdges.iterator();
+		VirtualEdge currentEdge = null;
+		Iterator<VirtualEdge> edgeIter = candidates.iterator();
 		while (edgeIter.hasNext()) {
 			currentEdge = edgeIter.next();
 			if (currentEdge.arePointsOnEdge(vertex1, vertex2)) {
@@ -332,7 +405,189 @@ public class VirtualEdgeManager {
 	 * 
 	 */
 	public void addVirtualEdges(List<VirtualEdge> edges) {
-		mVirtualEdges.addAll(edges);
+		for (int i = 0; i < edges.size(); i++)
+			addEdge(edges.get(i));
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode fuegt die uebergebene Kante zum Edge-Vektor und zum raeumlichen
+	 * Index hinzu
+	 * 
+	 * @param edge
+	 *            Virtuelle Kante, die vom Manager verwaltet werden soll
+	 */
+	private void addEdge(final VirtualEdge edge) {
+		if (!mInsertionIndex.containsKey(edge))
+			mInsertionIndex.put(edge, mVirtualEdges.size());
+		mVirtualEdges.add(edge);
+		edge.addManager(this);
+		updateEdgeIndex(edge);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode traegt die uebergebene Kante gemaess ihres aktuellen Strahls neu
+	 * in den raeumlichen Index ein. Wird von der Kante selber aufgerufen,
+	 * sobald sich Start oder Richtung ihres Strahls aendern.
+	 * 
+	 * @param edge
+	 *            Virtuelle Kante, deren Indexeintraege aktualisiert werden
+	 */
+	void updateEdgeIndex(final VirtualEdge edge) {
+
+		// alte Eintraege entfernen
+		if (mCellsForEdge.containsKey(edge)) {
+			final long[] oldCells = mCellsForEdge.remove(edge);
+			if (oldCells == null) {
+				mUnindexedEdges.remove(edge);
+			} else {
+				for (int i = 0; i < oldCells.length; i++) {
+					final List<VirtualEdge> cellEdges = mCellIndex
+							.get(oldCells[i]);
+					cellEdges.remove(edge);
+					if (cellEdges.isEmpty())
+						mCellIndex.remove(oldCells[i]);
+				}
+			}
+		}
+
+		final long[] cells = computeCells(edge.getRay());
+		mCellsForEdge.put(edge, cells);
+		if (cells == null) {
+			mUnindexedEdges.add(edge);
+			return;
+		}
+
+		for (int i = 0; i < cells.length; i++) {
+			List<VirtualEdge> cellEdges = mCellIndex.get(cells[i]);
+			if (cellEdges == null) {
+				cellEdges = new ArrayList<VirtualEdge>(2);
+				mCellIndex.put(cells[i], cellEdges);
+			}
+			cellEdges.add(edge);
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode bestimmt alle Zellen, die von der um die Testtoleranzen
+	 * erweiterten Bounding-Box des Liniensegments beruehrt werden. Jeder Punkt,
+	 * fuer den isPointOnRay() und isPointOnLineSegment() zutreffen, liegt
+	 * innerhalb dieser Box.
+	 * 
+	 * @param ray
+	 *            Strahl der virtuellen Kante
+	 * @return Zellschluessel, null, falls die Kante zu viele Zellen beruehrt,
+	 *         degeneriert ist oder nicht endliche Koordinaten besitzt
+	 */
+	private long[] computeCells(final Ray ray) {
+
+		final MyVector3f start = ray.getStartPtr();
+		final MyVector3f direction = ray.getDirectionPtr();
+
+		// bei Richtungsvektoren der Laenge 0 ist der Punkt-Strahl-Abstand NaN,
+		// der von isPointOnRay() akzeptiert wird => solche Kanten werden immer
+		// geprueft
+		if (!isFinite(start) || !isFinite(direction)
+				|| direction.lengthSquared() == 0.0f)
+			return null;
+
+		final float margin = DISTANCE_MARGIN + PARAMETER_MARGIN
+				* direction.length();
+
+		final float minX = Math.min(start.x, start.x + direction.x) - margin;
+		final float minY = Math.min(start.y, start.y + direction.y) - margin;
+		final float minZ = Math.min(start.z, start.z + direction.z) - margin;
+		final float maxX = Math.max(start.x, start.x + direction.x) + margin;
+		final float maxY = Math.max(start.y, start.y + direction.y) + margin;
+		final float maxZ = Math.max(start.z, start.z + direction.z) + margin;
+
+		if (Float.isInfinite(margin))
+			return null;
+
+		final long cellMinX = getCellCoordinate(minX);
+		final long cellMinY = getCellCoordinate(minY);
+		final long cellMinZ = getCellCoordinate(minZ);
+		final long cellMaxX = getCellCoordinate(maxX);
+		final long cellMaxY = getCellCoordinate(maxY);
+		final long cellMaxZ = getCellCoordinate(maxZ);
+
+		final long numberOfCells = (cellMaxX - cellMinX + 1)
+				* (cellMaxY - cellMinY + 1) * (cellMaxZ - cellMinZ + 1);
+		if (numberOfCells <= 0 || numberOfCells > MAX_CELLS_PER_EDGE)
+			return null;
+
+		final long[] cells = new long[(int) numberOfCells];
+		int index = 0;
+		for (long x = cellMinX; x <= cellMaxX; x++) {
+			for (long y = cellMinY; y <= cellMaxY; y++) {
+				for (long z = cellMinZ; z <= cellMaxZ; z++) {
+					cells[index++] = getCellKey(x, y, z);
+				}
+			}
+		}
+		return cells;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode fuegt alle Kanten aus der Zelle des uebergebenen Punktes zur
+	 * Kandidatenliste hinzu, sofern sie noch nicht enthalten sind
+	 * 
+	 * @param position
+	 *            Position des Testpunktes
+	 * @param candidates
+	 *            Kandidatenliste fuer die geometrische Pruefung
+	 */
+	private void addCandidates(final MyVector3f position,
+			final List<VirtualEdge> candidates) {
+
+		final List<VirtualEdge> cellEdges = mCellIndex.get(getCellKey(
+				getCellCoordinate(position.x), getCellCoordinate(position.y),
+				getCellCoordinate(position.z)));
+		if (cellEdges == null)
+			return;
+
+		for (int i = 0; i < cellEdges.size(); i++) {
+			final VirtualEdge edge = cellEdges.get(i);
+			if (!candidates.contains(edge))
+				candidates.add(edge);
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param vector
+	 *            Eingabevektor
+	 * @return True, falls alle Komponenten endlich sind, False sonst
+	 */
+	private static boolean isFinite(final MyVector3f vector) {
+		return !Float.isNaN(vector.x) && !Float.isInfinite(vector.x)
+				&& !Float.isNaN(vector.y) && !Float.isInfinite(vector.y)
+				&& !Float.isNaN(vector.z) && !Float.isInfinite(vector.z);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param value
+	 *            Koordinate
+	 * @return Index der Zelle entlang einer Achse
+	 */
+	private static long getCellCoordinate(final float value) {
+		return (long) Math.floor(value / CELL_SIZE);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode packt die Zellindices in einen Schluessel. Kollisionen bei sehr
+	 * grossen Koordinaten fuehren nur zu zusaetzlichen Kandidaten.
+	 * 
+	 * @return Schluessel der Zelle
+	 */
+	private static long getCellKey(final long x, final long y, final long z) {
+		return ((x & 0x1FFFFFL) << 42) | ((y & 0x1FFFFFL) << 21)
+				| (z & 0x1FFFFFL);
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -1,11 +1,14 @@
 package semantic.building.modeler.weightedstraightskeleton.result;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.log4j.Logger;
 
 import semantic.building.modeler.math.Vertex3d;
+import semantic.building.modeler.math.VertexWeldingIndex;
 
 /**
  * 
@@ -27,24 +30,48 @@ public class SkeletonResultComplex {
 	protected static Logger LOGGER = Logger
 			.getLogger(SkeletonResultComplex.class);
 
+	/** Standardgroesse des Vertex-Buffers */
+	private static final int DEFAULT_EXPECTED_SIZE = 64;
+
 	/** speichert saemtliche Faces des gesamten Daches */
 	private List<ResultFace> mFaces = null;
 
+	/** Menge der bereits hinzugefuegten Faces fuer den Duplikattest */
+	private Set<ResultFace> mFaceSet = null;
+
 	/**
 	 * speichert saemtliche Vertex3d-Datenstrukturen, die waehrend der
-	 * Berechnung erstellt wurden
+	 * Berechnung erstellt wurden, und ermittelt Positionsentsprechungen in
+	 * konstanter Zeit
 	 */
-	private List<Vertex3d> mVertexBuffer = null;
+	private VertexWeldingIndex mVertexBuffer = null;
 
+	/** Anzahl der ueber addVertex() angeforderten Vertices */
 	private int verticesGesamt = 0;
 
+	/** Anzahl der angeforderten Vertices, die bereits im Buffer lagen */
 	private int cached = 0;
 
 	// ------------------------------------------------------------------------------------------
 
 	public SkeletonResultComplex() {
+		this(DEFAULT_EXPECTED_SIZE, 0.0f);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param expectedSize
+	 *            Erwartete Anzahl unterschiedlicher Ergebnisvertices
+	 * @param weldingTolerance
+	 *            Maximaler Abstand, innerhalb dessen Vertices verschweisst
+	 *            werden, bei Werten <= 0 werden nur positionsgleiche Vertices
+	 *            zusammengefasst
+	 */
+	public SkeletonResultComplex(final int expectedSize,
+			final float weldingTolerance) {
 		mFaces = new ArrayList<ResultFace>();
-		mVertexBuffer = new ArrayList<Vertex3d>();
+		mFaceSet = new HashSet<ResultFace>();
+		mVertexBuffer = new VertexWeldingIndex(expectedSize, weldingTolerance);
 	}
 
 	// ------------------------------------------------------------------------------------------
@@ -52,7 +79,12 @@ public class SkeletonResultComplex {
 	 * Methode fuegt Vertices zum globalen Vertex-Buffer des Ergebnisobjekts
 	 * hinzu. Wenn das hinzugefuegte Vertex bereits vorhanden ist, so wird eine
 	 * Referenz auf das vorhandene Vertex zurueckgegeben, sonst wird das neue
-	 * Vertex hinzugefuegt und eine Referenz auf dieses dient als return-Wert
+	 * Vertex hinzugefuegt und eine Referenz auf dieses dient als return-Wert.
+	 * 
+	 * Im exakten Modus werden nur Vertices mit identischer Position
+	 * zusammengefasst, da Toleranzen bei der Texturberechnung inakzeptabel
+	 * sind. Die Suche erfolgt ueber einen Hash-Index, so dass der Aufbau des
+	 * Dachnetzes linear in der Anzahl der Ergebnisvertices bleibt.
 	 * 
 	 * @param vertex
 	 *            Vertex3d-Datenstruktur, die zum Vertex-Buffer hinzugefuegt
@@ -61,41 +93,17 @@ public class SkeletonResultComplex {
 	 */
 	public Vertex3d addVertex(final Vertex3d vertex) {
 
-		int index = -1;
 		verticesGesamt++;
-		index = isVertexInBuffer(vertex);
+		final int index = mVertexBuffer.indexOf(vertex);
 		if (index != -1) {
 			cached++;
-			return mVertexBuffer.get(index);
+			return mVertexBuffer.getVertices().get(index);
 		} else {
-			mVertexBuffer.add(vertex);
+			mVertexBuffer.append(vertex);
 			return vertex;
 		}
 	}
 
-	// ------------------------------------------------------------------------------------------
-	/**
-	 * Da die equals-Methode von Vertex3d Punkte mit einem Toleranzbereich
-	 * vergleicht, muss hier ein anderer Ansatz implementiert werden, da solche
-	 * Toleranz bei der Texturberechnung inakzeptabel sind. Darum vergleicht man
-	 * hier nur die Koordinatenvektoren miteinander. Wird ein Vertex gefunden,
-	 * das die gleiche Position besitzt, wie das Uebergabevertex, so wird sein
-	 * Index zurueckgereicht.
-	 * 
-	 * @param vertex
-	 *            Vertex, fuer das eine Positionsentsprechung im Buffer gesucht
-	 *            wird
-	 * @return Index des Vertex im Buffer, falls es bereits vorhanden war, -1
-	 *         sonst
-	 */
-	private int isVertexInBuffer(Vertex3d vertex) {
-		for (int i = 0; i < mVertexBuffer.size(); i++) {
-			if (mVertexBuffer.get(i).getPosition().equals(vertex.getPosition()))
-				return i;
-		}
-		return -1;
-	}
-
 	// ------------------------------------------------------------------------------------------
 	/**
 	 * Fuegt das uebergebene Face-Element zum Vector hinzu.
@@ -104,7 +112,7 @@ public class SkeletonResultComplex {
 	 *            ResultFace-Objekt, das zum Ergebnisvektor hinzugefuegt wird
 	 */
 	public void addFaceToResult(ResultFace face) {
-		if (mFaces.indexOf(face) == -1) {
+		if (mFaceSet.add(face)) {
 			mFaces.add(face);
 		}
 	}
@@ -115,6 +123,39 @@ public class SkeletonResultComplex {
 		return mFaces;
 	}
 
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Duplikatfreier Buffer aller Ergebnisvertices
+	 */
+	public List<Vertex3d> getVertexBuffer() {
+		return mVertexBuffer.getVertices();
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Anzahl der ueber addVertex() angeforderten Vertices
+	 */
+	public int getNumberOfRequestedVertices() {
+		return verticesGesamt;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Anzahl der Anforderungen, die durch ein bereits vorhandenes
+	 *         Vertex bedient wurden
+	 */
+	public int getNumberOfCachedVertices() {
+		return cached;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @return Anzahl unterschiedlicher Vertices im Vertex-Buffer
+	 */
+	public int getNumberOfVertices() {
+		return mVertexBuffer.size();
+	}
+
 	// ------------------------------------------------------------------------------------------
 	public void printStats() {
 		LOGGER.info("Insgesamt wurden "
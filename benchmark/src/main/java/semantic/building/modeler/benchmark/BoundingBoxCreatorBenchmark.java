@@ -0,0 +1,95 @@
+package semantic.building.modeler.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import semantic.building.modeler.math.Vertex3d;
+import semantic.building.modeler.prototype.algorithm.BoundingBoxCreator;
+import semantic.building.modeler.prototype.enums.OBBQuality;
+import semantic.building.modeler.prototype.graphics.complex.BoundingBox;
+
+/**
+ * 
+ * @author Patrick Gunia Benchmark fuer BoundingBoxCreator.computeOBB() auf
+ *         zufaelligen Punktwolken in allen Qualitaetsstufen. Punkte auf einer
+ *         Kugeloberflaeche liegen saemtlich auf der konvexen Huelle und
+ *         erzeugen damit die meisten Kandidatenrichtungen.
+ * 
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BoundingBoxCreatorBenchmark {
+
+	/** Kantenlaenge des Wuerfels bzw. Durchmesser der Kugel */
+	private static final float EXTENT = 500.0f;
+
+	/** Verteilung der Punktwolke, CUBE oder SPHERE */
+	@Param({ "CUBE", "SPHERE" })
+	public String distribution;
+
+	/** Anzahl der Punkte */
+	@Param({ "64", "1024" })
+	public int numberOfPoints;
+
+	/** Qualitaetsstufe der OBB-Berechnung */
+	@Param({ "FAST", "BALANCED", "EXACT" })
+	public String quality;
+
+	/** Eingabepunkte */
+	private List<Vertex3d> mVertices = null;
+
+	/** BB-Factory mit der zu messenden Qualitaetsstufe */
+	private BoundingBoxCreator mCreator = null;
+
+	// ------------------------------------------------------------------------------------------
+	@Setup
+	public void setup() {
+
+		mCreator = new BoundingBoxCreator(OBBQuality.valueOf(quality));
+
+		final Random random = new Random(Footprints.DEFAULT_SEED);
+		final boolean sphere = distribution.equals("SPHERE");
+		mVertices = new ArrayList<Vertex3d>(numberOfPoints);
+
+		for (int i = 0; i < numberOfPoints; i++) {
+			if (sphere) {
+				// gleichverteilte Richtung ueber normalverteilte Komponenten
+				double x = random.nextGaussian(), y = random.nextGaussian(), z = random
+						.nextGaussian();
+				final double scale = 0.5 * EXTENT / Math.sqrt(x * x + y * y + z * z);
+				mVertices.add(new Vertex3d((float) (x * scale),
+						(float) (y * scale), (float) (z * scale)));
+			} else {
+				mVertices.add(new Vertex3d(random.nextFloat() * EXTENT, random
+						.nextFloat() * EXTENT, random.nextFloat() * EXTENT));
+			}
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	@Benchmark
+	public BoundingBox computeOBB() {
+		return mCreator.computeOBB(mVertices);
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,139 @@
+package semantic.building.modeler.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import semantic.building.modeler.math.MyPolygon;
+import semantic.building.modeler.math.Vertex3d;
+
+/**
+ *
+ * @author Patrick Gunia Erzeugt parametrische Grundrisse fuer die Benchmarks.
+ *         Alle Grundrisse liegen in der xz-Ebene und besitzen ganzzahlige
+ *         Koordinaten, Zufallsanteile werden ausschliesslich ueber den
+ *         uebergebenen Startwert bestimmt, so dass jeder Lauf identische
+ *         Eingaben verarbeitet.
+ *
+ *         Grundrisse werden ueber Bezeichner der Form RECTANGLE, L_SHAPE,
+ *         U_SHAPE oder STAR_n angegeben, wobei n die Anzahl der Eckpunkte des
+ *         Sternpolygons ist.
+ *
+ */
+
+public final class Footprints {
+
+	/** Praefix fuer sternfoermige Grundrisse */
+	public static final String STAR_PREFIX = "STAR_";
+
+	/** Startwert, der von allen Benchmarks verwendet wird */
+	public static final long DEFAULT_SEED = 42L;
+
+	/** Kantenlaenge eines Sternzackens, bestimmt den Radius des Sterns */
+	private static final float STAR_EDGE_LENGTH = 40.0f;
+
+	/** Minimaler Innenradius relativ zum Aussenradius */
+	private static final double STAR_MIN_DEPTH = 0.85;
+
+	/** Wertebereich des zufaelligen Innenradius relativ zum Aussenradius */
+	private static final double STAR_DEPTH_RANGE = 0.1;
+
+	/** Minimaler Aussenradius eines Sternpolygons */
+	private static final float STAR_MIN_RADIUS = 200.0f;
+
+	// ------------------------------------------------------------------------------------------
+	private Footprints() {
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param footprint
+	 *            Bezeichner des Grundrisses
+	 * @param seed
+	 *            Startwert fuer zufallsbasierte Grundrisse
+	 * @return Eckpunkte des Grundrisses
+	 */
+	public static List<Vertex3d> create(final String footprint, final long seed) {
+
+		if (footprint.equals("RECTANGLE"))
+			return toVertices(new float[] { 0, 0, 400, 0, 400, 250, 0, 250 });
+		else if (footprint.equals("L_SHAPE"))
+			return toVertices(new float[] { 0, 0, 400, 0, 400, 130, 170, 130,
+					170, 300, 0, 300 });
+		else if (footprint.equals("U_SHAPE"))
+			return toVertices(new float[] { 0, 0, 420, 0, 420, 320, 310, 320,
+					310, 130, 115, 130, 115, 290, 0, 290 });
+		else if (footprint.startsWith(STAR_PREFIX))
+			return createStar(Integer.parseInt(footprint
+					.substring(STAR_PREFIX.length())), seed);
+
+		throw new IllegalArgumentException("Unbekannter Grundriss: "
+				+ footprint);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param footprint
+	 *            Bezeichner des Grundrisses
+	 * @param seed
+	 *            Startwert fuer zufallsbasierte Grundrisse
+	 * @return Polygon fuer den Grundriss
+	 */
+	public static MyPolygon createPolygon(final String footprint,
+			final long seed) {
+		return new MyPolygon(create(footprint, seed));
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode erzeugt ein sternfoermiges Polygon. Die Eckpunkte mit geradem
+	 * Index liegen auf dem Aussenradius, die uebrigen auf einem zufaelligen
+	 * Innenradius zwischen 85 und 95 Prozent des Aussenradius. Tiefere Zacken
+	 * fuehren im Straight-Skeleton bereits ab 32 Eckpunkten zu
+	 * Abbruechen (Square-Case, fehlende Schnittpunkte). Der Radius
+	 * waechst mit der Eckpunktanzahl, so dass die Kantenlaengen unabhaengig
+	 * von n in der gleichen Groessenordnung bleiben
+	 *
+	 * @param numberOfVertices
+	 *            Anzahl der Eckpunkte, muss gerade und mindestens 6 sein
+	 * @param seed
+	 *            Startwert fuer die Innenradien
+	 * @return Eckpunkte des Sternpolygons
+	 */
+	public static List<Vertex3d> createStar(final int numberOfVertices,
+			final long seed) {
+
+		assert numberOfVertices >= 6 && numberOfVertices % 2 == 0 : "FEHLER: Ungueltige Eckpunktanzahl: "
+				+ numberOfVertices;
+
+		final Random random = new Random(seed);
+		final float radius = Math.max(STAR_MIN_RADIUS, STAR_EDGE_LENGTH
+				* numberOfVertices / (float) (2 * Math.PI));
+		final float[] coords = new float[2 * numberOfVertices];
+
+		for (int i = 0; i < numberOfVertices; i++) {
+			final double angle = 2 * Math.PI * i / numberOfVertices;
+			final double currentRadius = (i % 2 == 0) ? radius : radius
+					* (STAR_MIN_DEPTH + STAR_DEPTH_RANGE * random.nextDouble());
+			coords[2 * i] = Math.round(currentRadius * Math.cos(angle));
+			coords[2 * i + 1] = Math.round(currentRadius * Math.sin(angle));
+		}
+		return toVertices(coords);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * @param coords
+	 *            Abwechselnd x- und z-Koordinaten der Eckpunkte
+	 * @return Eckpunkte in der xz-Ebene
+	 */
+	private static List<Vertex3d> toVertices(final float[] coords) {
+		final List<Vertex3d> result = new ArrayList<Vertex3d>(coords.length / 2);
+		for (int i = 0; i < coords.length; i += 2)
+			result.add(new Vertex3d(coords[i], 0.0f, coords[i + 1]));
+		return result;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,67 @@
+package semantic.building.modeler.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import semantic.building.modeler.configurationservice.model.ExampleBasedFootprintConfiguration;
+import semantic.building.modeler.math.MyPolygon;
+import semantic.building.modeler.modelsynthesis.controller.ModelSynthesisController;
+
+/**
+ *
+ * @author Patrick Gunia Benchmark fuer die beispielbasierte Grundrisssynthese.
+ *         SynthesisProcessing wird innerhalb des ModelSynthesisController
+ *         aufgebaut und berechnet, gemessen wird darum der vollstaendige
+ *         Controller-Lauf mit Regelberechnung, Rasteraufbau,
+ *         SynthesisProcessing.compute() und Extraktion des Ergebnisgrundrisses.
+ *         Der Startwert wird fest gesetzt, so dass jeder Aufruf die gleiche
+ *         Zustandsfolge berechnet.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelSynthesisBenchmark {
+
+	/** Bezeichner des Beispielgrundrisses, siehe Footprints */
+	@Param({ "RECTANGLE", "L_SHAPE", "U_SHAPE" })
+	public String footprint;
+
+	/** Beispielgrundriss */
+	private MyPolygon mExample = null;
+
+	/** Konfiguration mit Standardparametern und festem Startwert */
+	private ExampleBasedFootprintConfiguration mConfiguration = null;
+
+	// ------------------------------------------------------------------------------------------
+	@Setup
+	public void setup() {
+		mExample = Footprints.createPolygon(footprint, Footprints.DEFAULT_SEED);
+		mConfiguration = new ExampleBasedFootprintConfiguration();
+		mConfiguration.setSeed((int) Footprints.DEFAULT_SEED);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	@Benchmark
+	public MyPolygon synthesize() {
+		return new ModelSynthesisController(mExample, mConfiguration)
+				.getResultFootprint();
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+}
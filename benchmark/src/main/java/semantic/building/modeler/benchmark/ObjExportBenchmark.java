@@ -0,0 +1,119 @@
+package semantic.building.modeler.benchmark;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import semantic.building.modeler.math.Vertex3d;
+import semantic.building.modeler.prototype.exporter.ObjExport;
+import semantic.building.modeler.prototype.graphics.complex.AbstractComplex;
+import semantic.building.modeler.prototype.graphics.complex.CompositeComplex;
+import semantic.building.modeler.prototype.graphics.complex.FreeComplex;
+
+/**
+ *
+ * @author Patrick Gunia Benchmark fuer den OBJ-Export. Exportiert wird ein
+ *         Verbund aus extrudierten Sterngrundrissen, die einmalig erzeugt,
+ *         tesseliert und texturiert werden. Die Zieldatei wird in einem
+ *         temporaeren Verzeichnis bei jedem Aufruf ueberschrieben.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ObjExportBenchmark {
+
+	/** Eckpunktanzahl der extrudierten Sterngrundrisse */
+	private static final int VERTICES_PER_BUILDING = 32;
+
+	/** Hoehe der extrudierten Grundrisse */
+	private static final float BUILDING_HEIGHT = 40.0f;
+
+	/** Abstand zwischen den Grundrissen in x-Richtung */
+	private static final float BUILDING_DISTANCE = 500.0f;
+
+	/** Anzahl der exportierten Gebaeude */
+	@Param({ "1", "16", "64" })
+	public int numberOfBuildings;
+
+	/** Gzip-Kompression der Zieldatei */
+	@Param({ "false", "true" })
+	public boolean compressOutput;
+
+	/** Zu exportierendes Objekt */
+	private CompositeComplex mModel = null;
+
+	/** Temporaeres Zielverzeichnis */
+	private File mTargetDirectory = null;
+
+	// ------------------------------------------------------------------------------------------
+	@Setup
+	public void setup() throws Exception {
+
+		mModel = new CompositeComplex(null);
+		mModel.create();
+
+		for (int i = 0; i < numberOfBuildings; i++) {
+			final List<Vertex3d> footprint = Footprints.createStar(
+					VERTICES_PER_BUILDING, Footprints.DEFAULT_SEED + i);
+			final List<Vertex3d> translated = new ArrayList<Vertex3d>(
+					footprint.size());
+			for (Vertex3d vertex : footprint)
+				translated.add(new Vertex3d(vertex.getX() + i
+						* BUILDING_DISTANCE, vertex.getY(), vertex.getZ()));
+
+			final AbstractComplex building = new FreeComplex(null, translated,
+					BUILDING_HEIGHT, null, false);
+			building.create();
+			building.tesselate();
+			building.computeTextureCoordinates();
+			mModel.addComplex(building);
+		}
+
+		mTargetDirectory = File.createTempFile("objexport", "");
+		if (!mTargetDirectory.delete() || !mTargetDirectory.mkdir())
+			throw new IllegalStateException(
+					"FEHLER: Temporaeres Verzeichnis konnte nicht angelegt werden: "
+							+ mTargetDirectory);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	@TearDown
+	public void tearDown() {
+		final File[] files = mTargetDirectory.listFiles();
+		if (files != null) {
+			for (File file : files)
+				file.delete();
+		}
+		mTargetDirectory.delete();
+	}
+
+	// ------------------------------------------------------------------------------------------
+	@Benchmark
+	public File export() {
+		final ObjExport exporter = new ObjExport();
+		exporter.setCompressOutput(compressOutput);
+		exporter.export(mModel, mTargetDirectory.getAbsolutePath(), "model");
+		return mTargetDirectory;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+}
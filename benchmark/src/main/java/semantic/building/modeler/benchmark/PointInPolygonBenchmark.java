@@ -0,0 +1,115 @@
+package semantic.building.modeler.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import semantic.building.modeler.math.MyPolygon;
+import semantic.building.modeler.math.MyVector3f;
+import semantic.building.modeler.math.MyVectormath;
+import semantic.building.modeler.math.PreparedPolygon;
+import semantic.building.modeler.math.Vertex3d;
+
+/**
+ *
+ * @author Patrick Gunia Benchmark fuer Punkt-in-Polygon-Tests. Verglichen
+ *         werden MyVectormath.isPointInPolygon() und die vorbereitete Variante
+ *         ueber PreparedPolygon fuer eine feste Menge zufaelliger Testpunkte
+ *         innerhalb der Bounding-Box des Grundrisses.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PointInPolygonBenchmark {
+
+	/** Anzahl der Testpunkte pro Aufruf */
+	private static final int NUMBER_OF_POINTS = 1024;
+
+	/** Bezeichner des Grundrisses, siehe Footprints */
+	@Param({ "RECTANGLE", "U_SHAPE", "STAR_8", "STAR_32", "STAR_128",
+			"STAR_512" })
+	public String footprint;
+
+	/** Testpolygon */
+	private MyPolygon mPolygon = null;
+
+	/** Vorbereitete Repraesentation des Testpolygons */
+	private PreparedPolygon mPreparedPolygon = null;
+
+	/** Testpunkte */
+	private Vertex3d[] mPoints = null;
+
+	/** Testpunkte als Vektoren fuer die vorbereitete Variante */
+	private MyVector3f[] mPositions = null;
+
+	// ------------------------------------------------------------------------------------------
+	@Setup
+	public void setup() {
+
+		final List<Vertex3d> vertices = Footprints.create(footprint,
+				Footprints.DEFAULT_SEED);
+		mPolygon = new MyPolygon(vertices);
+		mPreparedPolygon = mPolygon.getPreparedPolygon();
+
+		float minX = Float.MAX_VALUE, maxX = -Float.MAX_VALUE;
+		float minZ = Float.MAX_VALUE, maxZ = -Float.MAX_VALUE;
+		for (Vertex3d vertex : vertices) {
+			minX = Math.min(minX, vertex.getX());
+			maxX = Math.max(maxX, vertex.getX());
+			minZ = Math.min(minZ, vertex.getZ());
+			maxZ = Math.max(maxZ, vertex.getZ());
+		}
+
+		final Random random = new Random(Footprints.DEFAULT_SEED);
+		mPoints = new Vertex3d[NUMBER_OF_POINTS];
+		mPositions = new MyVector3f[NUMBER_OF_POINTS];
+		for (int i = 0; i < NUMBER_OF_POINTS; i++) {
+			mPoints[i] = new Vertex3d(minX + random.nextFloat()
+					* (maxX - minX), 0.0f, minZ + random.nextFloat()
+					* (maxZ - minZ));
+			mPositions[i] = mPoints[i].getPositionPtr();
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	@Benchmark
+	public int isPointInPolygon() {
+		final MyVectormath mathHelper = MyVectormath.getInstance();
+		int count = 0;
+		for (int i = 0; i < mPoints.length; i++) {
+			if (mathHelper.isPointInPolygon(mPolygon, mPoints[i]))
+				count++;
+		}
+		return count;
+	}
+
+	// ------------------------------------------------------------------------------------------
+	@Benchmark
+	public int preparedContains() {
+		int count = 0;
+		for (int i = 0; i < mPositions.length; i++) {
+			if (mPreparedPolygon.contains(mPositions[i]))
+				count++;
+		}
+		return count;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,100 @@
+package semantic.building.modeler.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import semantic.building.modeler.math.Vertex3d;
+import semantic.building.modeler.objectplacement.algorithm.Quadtree;
+import semantic.building.modeler.objectplacement.model.AbstractComponent;
+import semantic.building.modeler.objectplacement.model.FreeComponent;
+
+/**
+ *
+ * @author Patrick Gunia Benchmark fuer Quadtree.setMarksForComponent(). Der
+ *         Quadtree ueberdeckt die Bounding-Box des Grundrisses zuzueglich eines
+ *         Randes und wird einmalig bis zur minimalen Knotengroesse unterteilt.
+ *         Da der Grundriss keine Subkomponente ist, setzt jeder Aufruf den Baum
+ *         zunaechst zurueck.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuadtreeBenchmark {
+
+	/** Rand zwischen Grundriss und Wurzelknoten */
+	private static final float MARGIN = 50.0f;
+
+	/** Bezeichner des Grundrisses, siehe Footprints */
+	@Param({ "L_SHAPE", "U_SHAPE", "STAR_32", "STAR_128", "STAR_512" })
+	public String footprint;
+
+	/** Quadtree ueber dem Grundriss */
+	private Quadtree mTree = null;
+
+	/** Zu markierende Komponente */
+	private AbstractComponent mComponent = null;
+
+	/** Liste aller positionierten Komponenten */
+	private List<AbstractComponent> mComponents = null;
+
+	// ------------------------------------------------------------------------------------------
+	@Setup
+	public void setup() {
+
+		final List<Vertex3d> vertices = Footprints.create(footprint,
+				Footprints.DEFAULT_SEED);
+
+		float minX = Float.MAX_VALUE, maxX = -Float.MAX_VALUE;
+		float minZ = Float.MAX_VALUE, maxZ = -Float.MAX_VALUE;
+		for (Vertex3d vertex : vertices) {
+			minX = Math.min(minX, vertex.getX());
+			maxX = Math.max(maxX, vertex.getX());
+			minZ = Math.min(minZ, vertex.getZ());
+			maxZ = Math.max(maxZ, vertex.getZ());
+		}
+		minX -= MARGIN;
+		minZ -= MARGIN;
+		maxX += MARGIN;
+		maxZ += MARGIN;
+
+		final List<Vertex3d> corners = new ArrayList<Vertex3d>(4);
+		corners.add(new Vertex3d(minX, 0.0f, minZ));
+		corners.add(new Vertex3d(maxX, 0.0f, minZ));
+		corners.add(new Vertex3d(maxX, 0.0f, maxZ));
+		corners.add(new Vertex3d(minX, 0.0f, maxZ));
+
+		mTree = new Quadtree(corners);
+		mTree.createSubdivision();
+
+		mComponent = new FreeComponent(vertices);
+		mComponents = new ArrayList<AbstractComponent>(1);
+		mComponents.add(mComponent);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	@Benchmark
+	public Quadtree setMarksForComponent() {
+		mTree.setMarksForComponent(mComponent, mComponents);
+		return mTree;
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+}
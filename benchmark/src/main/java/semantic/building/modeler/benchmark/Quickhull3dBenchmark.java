@@ -0,0 +1,146 @@
+package semantic.building.modeler.benchmark;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import semantic.building.modeler.math.MyPolygon;
+import semantic.building.modeler.math.Vertex3d;
+import semantic.building.modeler.prototype.algorithm.Quickhull3d;
+
+/**
+ *
+ * @author Patrick Gunia Benchmark fuer Quickhull3d.computeConvexHull() auf
+ *         zufaelligen Punktwolken. Bei gleichverteilten Punkten in einem
+ *         Wuerfel liegen nur wenige Punkte auf der Huelle, bei Punkten auf
+ *         einer Kugeloberflaeche gehoeren alle Punkte zur Huelle. Die
+ *         Verteilung OFFSET erzeugt eine kleine, weit vom Ursprung entfernte
+ *         Punktwolke, bei der viele Punkte nahezu koplanar zu Huellflaechen
+ *         liegen. Vor jeder Messung wird geprueft, ob die berechnete Huelle
+ *         geschlossen ist.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Quickhull3dBenchmark {
+
+	/** Kantenlaenge des Wuerfels bzw. Durchmesser der Kugel */
+	private static final float EXTENT = 500.0f;
+
+	/** Kantenlaenge der Punktwolke bei Verteilung OFFSET */
+	private static final float OFFSET_EXTENT = 0.5f;
+
+	/** Verteilung der Punktwolke, CUBE, SPHERE oder OFFSET */
+	@Param({ "CUBE", "SPHERE", "OFFSET" })
+	public String distribution;
+
+	/** Anzahl der Punkte */
+	@Param({ "16", "64", "1024", "16384" })
+	public int numberOfPoints;
+
+	/** Eingabepunkte */
+	private List<Vertex3d> mVertices = null;
+
+	// ------------------------------------------------------------------------------------------
+	@Setup
+	public void setup() {
+
+		final Random random = new Random(Footprints.DEFAULT_SEED);
+		final boolean sphere = distribution.equals("SPHERE");
+		final boolean offset = distribution.equals("OFFSET");
+		mVertices = new ArrayList<Vertex3d>(numberOfPoints);
+
+		for (int i = 0; i < numberOfPoints; i++) {
+			if (sphere) {
+				// gleichverteilte Richtung ueber normalverteilte Komponenten
+				double x = random.nextGaussian(), y = random.nextGaussian(), z = random
+						.nextGaussian();
+				final double scale = 0.5 * EXTENT / Math.sqrt(x * x + y * y + z * z);
+				mVertices.add(new Vertex3d((float) (x * scale),
+						(float) (y * scale), (float) (z * scale)));
+			} else if (offset) {
+				mVertices.add(new Vertex3d(1000.0f + random.nextFloat()
+						* OFFSET_EXTENT, 2000.0f + random.nextFloat()
+						* OFFSET_EXTENT, 3000.0f + random.nextFloat()
+						* OFFSET_EXTENT));
+			} else {
+				mVertices.add(new Vertex3d(random.nextFloat() * EXTENT, random
+						.nextFloat() * EXTENT, random.nextFloat() * EXTENT));
+			}
+		}
+
+		if (numberOfPoints > 3 && !isClosed(computeConvexHull())) {
+			throw new IllegalStateException("Die konvexe Huelle fuer "
+					+ distribution + " mit " + numberOfPoints
+					+ " Punkten ist nicht geschlossen!");
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode prueft, ob jede gerichtete Kante der Huelle genau einmal
+	 * vorkommt und genau eine entgegengesetzte Kante besitzt. Die Dreiecke der
+	 * Huelle teilen sich ihre Eckpunkte, daher erfolgt der Vergleich ueber
+	 * Objektidentitaet.
+	 *
+	 * @param hull
+	 *            Dreiecke der konvexen Huelle
+	 * @return True, falls die Huelle geschlossen ist, False sonst
+	 */
+	private boolean isClosed(final List<MyPolygon> hull) {
+
+		final Map<Vertex3d, List<Vertex3d>> outgoing = new IdentityHashMap<Vertex3d, List<Vertex3d>>();
+		for (MyPolygon triangle : hull) {
+			final List<Vertex3d> vertices = triangle.getVertices();
+			for (int i = 0; i < vertices.size(); i++) {
+				final Vertex3d tail = vertices.get(i);
+				final Vertex3d head = vertices.get((i + 1) % vertices.size());
+				List<Vertex3d> heads = outgoing.get(tail);
+				if (heads == null) {
+					heads = new ArrayList<Vertex3d>();
+					outgoing.put(tail, heads);
+				}
+				if (heads.contains(head))
+					return false;
+				heads.add(head);
+			}
+		}
+
+		for (Map.Entry<Vertex3d, List<Vertex3d>> entry : outgoing.entrySet()) {
+			for (Vertex3d head : entry.getValue()) {
+				final List<Vertex3d> reverse = outgoing.get(head);
+				if (reverse == null || !reverse.contains(entry.getKey()))
+					return false;
+			}
+		}
+		return !hull.isEmpty();
+	}
+
+	// ------------------------------------------------------------------------------------------
+	@Benchmark
+	public List<MyPolygon> computeConvexHull() {
+		return new Quickhull3d(mVertices).computeConvexHull();
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+}
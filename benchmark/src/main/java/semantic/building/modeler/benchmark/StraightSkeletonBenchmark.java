@@ -0,0 +1,105 @@
+package semantic.building.modeler.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import semantic.building.modeler.math.Vertex3d;
+import semantic.building.modeler.weightedstraightskeleton.algorithm.SkeletonRoofDescriptor;
+import semantic.building.modeler.weightedstraightskeleton.algorithm.StraightSkeleton;
+import semantic.building.modeler.weightedstraightskeleton.result.SkeletonResultComplex;
+
+/**
+ *
+ * @author Patrick Gunia Benchmark fuer StraightSkeleton.process() auf
+ *         parametrischen Grundrissen. Jeder Aufruf erzeugt eine neue
+ *         StraightSkeleton-Instanz, das Konfigurationsobjekt wird
+ *         wiederverwendet, da process() die Eingabevertices nur kopiert.
+ *
+ *         Sternpolygone mit mehr als 64 Eckpunkten werden vom Algorithmus
+ *         derzeit nicht zuverlaessig verarbeitet und sind darum nicht Teil der
+ *         Standardparameter, koennen aber ueber -p footprint=STAR_128 o.ae.
+ *         angefordert werden.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StraightSkeletonBenchmark {
+
+	/**
+	 * Anzahl der Startwerte, die fuer zufallsbasierte Grundrisse getestet
+	 * werden, bevor der Benchmark abgebrochen wird
+	 */
+	private static final int MAX_SEED_ATTEMPTS = 32;
+
+	/** Bezeichner des Grundrisses, siehe Footprints */
+	@Param({ "RECTANGLE", "L_SHAPE", "U_SHAPE", "STAR_8", "STAR_16",
+			"STAR_32", "STAR_64" })
+	public String footprint;
+
+	/** Anzahl der Threads fuer die Jobs einer Ebene */
+	@Param({ "1", "4" })
+	public int numberOfThreads;
+
+	/** Konfigurationsobjekt mit dem zu verarbeitenden Grundriss */
+	private SkeletonRoofDescriptor mDescriptor = null;
+
+	// ------------------------------------------------------------------------------------------
+	/**
+	 * Methode bestimmt ausgehend vom Standard-Startwert den ersten Grundriss,
+	 * fuer den der Algorithmus ohne Exception oder Assertion-Fehler
+	 * terminiert. Fuer feste Grundrisse wird nur ein Versuch unternommen
+	 */
+	@Setup
+	public void setup() {
+
+		final int attempts = footprint.startsWith(Footprints.STAR_PREFIX) ? MAX_SEED_ATTEMPTS
+				: 1;
+		Throwable lastError = null;
+
+		for (int i = 0; i < attempts; i++) {
+			final List<Vertex3d> vertices = Footprints.create(footprint,
+					Footprints.DEFAULT_SEED + i);
+			final SkeletonRoofDescriptor descriptor = new SkeletonRoofDescriptor();
+			descriptor.setVertices(vertices);
+			descriptor.setNumberOfThreads(numberOfThreads);
+
+			try {
+				new StraightSkeleton(descriptor).process();
+				mDescriptor = descriptor;
+				return;
+			} catch (Throwable e) {
+				lastError = e;
+			}
+		}
+		throw new IllegalStateException("FEHLER: Fuer den Grundriss "
+				+ footprint + " konnte kein Straight-Skeleton berechnet werden",
+				lastError);
+	}
+
+	// ------------------------------------------------------------------------------------------
+	@Benchmark
+	public SkeletonResultComplex process() throws Exception {
+		final StraightSkeleton skeleton = new StraightSkeleton(mDescriptor);
+		skeleton.process();
+		return skeleton.getResultComplex();
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+}